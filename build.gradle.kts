@@ -1,6 +1,7 @@
 plugins {
     id("java-library")
     id("com.gradleup.shadow") version "9.3.1"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = findProperty("pluginGroup") as String? ?: "com.nhulston"
@@ -12,6 +13,13 @@ repositories {
     mavenCentral()
 }
 
+// Headless load test harness, kept out of the plugin jar
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 dependencies {
     // Hytale Server API (provided by server at runtime)
     compileOnly(files("libs/HytaleServer.jar"))
@@ -24,7 +32,40 @@ dependencies {
     // Test dependencies
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Benchmarks run outside the server, so they need the server API on their runtime classpath
+    jmh(files("libs/HytaleServer.jar"))
+
+    // The load test compiles its server stand-ins over the real API, which stays last on the classpath
+    "loadtestCompileOnly"(files("libs/HytaleServer.jar"))
+    "loadtestRuntimeOnly"(files("libs/HytaleServer.jar"))
+}
+
+// Benchmarks (src/jmh): ./gradlew jmh, or -PjmhInclude=ColorUtil to run a subset.
+// Results are written as JSON per version, so runs can be compared between releases.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results-${project.version}.json"))
+    (findProperty("jmhInclude") as String?)?.let { includes.set(listOf(it)) }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
+// Load test (src/loadtest): ./gradlew loadTest -PloadTestArgs="players=2000 duration=60"
+// Runs the managers headless against stand-ins for the server's players, permissions and worlds.
+// ./gradlew loadTestReplay -PloadTestArgs="trace=<file> speed=0" replays a trace from /essentials trace.
+fun registerLoadTest(name: String, taskDescription: String, main: String) = tasks.register<JavaExec>(name) {
+    group = "verification"
+    description = taskDescription
+    classpath = loadtest.runtimeClasspath
+    mainClass.set(main)
+    args = (findProperty("loadTestArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
 }
+registerLoadTest("loadTest", "Runs the headless load test harness", "com.nhulston.essentials.loadtest.LoadTest")
+registerLoadTest("loadTestReplay", "Replays a recorded trace against the managers",
+    "com.nhulston.essentials.loadtest.TraceReplay")
 
 tasks {
     // Configure Java compilation
@@ -0,0 +1,96 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.protocol.packets.interface_.ServerMessage;
+import com.nhulston.essentials.util.ColorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One broadcast flush: a tick's worth of queued broadcasts written to every online player,
+ * with no filter, a permission filter (as /shout and staff broadcasts use) or a world filter
+ * (as the sleep skip message uses). Players are stand-ins whose writes are counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastBenchmark {
+    private static final int RECIPIENTS = 500;
+    private static final int BATCH = 4;
+    private static final String PERMISSION = "essentials.broadcast.staff";
+    private static final String[] WORLDS = {"default", "nether", "end", "creative"};
+
+    @Param({"none", "permission", "world"})
+    public String filter;
+
+    private List<StubPlayer> players;
+    private List<BroadcastManager.PendingBroadcast> batch;
+    private StubRecipients recipients;
+
+    @Setup
+    public void setup() {
+        players = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            // One in ten players has the permission, and players are spread over the worlds
+            Set<String> permissions = i % 10 == 0 ? Set.of(PERMISSION) : Set.of();
+            players.add(new StubPlayer(UUID.randomUUID(), "Player" + i, WORLDS[i % WORLDS.length], permissions));
+        }
+
+        batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            String worldName = filter.equals("world") ? WORLDS[i % WORLDS.length] : null;
+            String permission = filter.equals("permission") ? PERMISSION : null;
+            batch.add(new BroadcastManager.PendingBroadcast(
+                    ColorUtil.colorize("&6[Broadcast] &eServer restarting in " + (i + 1) + " minutes"),
+                    worldName, permission));
+        }
+        recipients = new StubRecipients();
+    }
+
+    @Benchmark
+    public int flush() {
+        return BroadcastManager.deliver(batch, players, recipients);
+    }
+
+    private record StubPlayer(@Nonnull UUID uuid, @Nonnull String name, @Nonnull String world,
+                              @Nonnull Set<String> permissions) {}
+
+    private static class StubRecipients implements BroadcastManager.Recipients<StubPlayer> {
+        private long written;
+
+        @Nonnull
+        @Override
+        public String getName(@Nonnull StubPlayer player) {
+            return player.name();
+        }
+
+        @Nullable
+        @Override
+        public String getWorldName(@Nonnull StubPlayer player) {
+            return player.world();
+        }
+
+        @Override
+        public boolean hasPermission(@Nonnull StubPlayer player, @Nonnull String permission) {
+            return player.permissions().contains(permission);
+        }
+
+        @Override
+        public void write(@Nonnull StubPlayer player, @Nonnull ServerMessage packet) {
+            written++;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nhulston.essentials.managers;
+
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.StorageManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ignore checks a chat line goes through with every recipient holding a large ignore list:
+ * the "is anyone ignoring the sender" shortcut, filtering the recipient list when someone is,
+ * and single isIgnoring lookups as /msg and /reply use them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IgnoreFilterBenchmark {
+    private static final int RECIPIENTS = 500;
+    private static final int LOOKUPS = 4_096;
+
+    @Param({"10", "100", "1000"})
+    public int ignoreListSize;
+
+    private IgnoreManager ignoreManager;
+    private List<UUID> recipients;
+    private UUID ignoredSender;    // ignored by one recipient in ten
+    private UUID unignoredSender;  // ignored by nobody
+    private UUID[] lookupPlayers;
+    private UUID[] lookupOthers;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        StorageManager storageManager = new StorageManager(Files.createTempDirectory("essentials-bench"));
+        ignoreManager = new IgnoreManager(storageManager);
+        Random random = new Random(42);
+        ignoredSender = new UUID(random.nextLong(), random.nextLong());
+        unignoredSender = new UUID(random.nextLong(), random.nextLong());
+
+        recipients = new ArrayList<>(RECIPIENTS);
+        List<List<UUID>> ignoreLists = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            Map<String, String> ignored = storageManager.getPlayerData(uuid).getIgnored();
+            List<UUID> ignoreList = new ArrayList<>(ignoreListSize);
+            for (int j = 0; j < ignoreListSize; j++) {
+                UUID other = new UUID(random.nextLong(), random.nextLong());
+                ignored.put(other.toString(), "Player" + j);
+                ignoreList.add(other);
+            }
+            if (i % 10 == 0) {
+                ignored.put(ignoredSender.toString(), "Spammer");
+            }
+            ignoreManager.onPlayerJoin(uuid);
+            recipients.add(uuid);
+            ignoreLists.add(ignoreList);
+        }
+
+        // Half the lookups hit an ignored player, half miss
+        lookupPlayers = new UUID[LOOKUPS];
+        lookupOthers = new UUID[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int recipient = random.nextInt(RECIPIENTS);
+            lookupPlayers[i] = recipients.get(recipient);
+            List<UUID> ignoreList = ignoreLists.get(recipient);
+            lookupOthers[i] = i % 2 == 0
+                    ? ignoreList.get(random.nextInt(ignoreList.size()))
+                    : new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    /**
+     * A chat line from a sender nobody ignores: the shortcut, then the recipients as they are.
+     */
+    @Benchmark
+    public List<UUID> chatFromUnignoredSender() {
+        return ignoreManager.isIgnoredByAnyone(unignoredSender)
+                ? ignoreManager.filterRecipients(unignoredSender, recipients, uuid -> uuid)
+                : recipients;
+    }
+
+    /**
+     * A chat line from a sender some recipients ignore, so every recipient is checked.
+     */
+    @Benchmark
+    public List<UUID> chatFromIgnoredSender() {
+        return ignoreManager.isIgnoredByAnyone(ignoredSender)
+                ? ignoreManager.filterRecipients(ignoredSender, recipients, uuid -> uuid)
+                : recipients;
+    }
+
+    @Benchmark
+    public boolean isIgnoring() {
+        int i = next++ & (LOOKUPS - 1);
+        return ignoreManager.isIgnoring(lookupPlayers[i], lookupOthers[i]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.nhulston.essentials.models.Region;
+import com.nhulston.essentials.models.RegionFlag;
+import com.nhulston.essentials.models.Spawn;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.StorageManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Region flag lookups, which run for every block break, place and mining tick and
+ * every player damage event. Replaces the old spawn protection area check, which
+ * is now the spawn region.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegionLookupBenchmark {
+    private static final String WORLD = "default";
+    private static final int SPREAD = 5_000;
+    private static final int POSITIONS = 4_096;
+
+    private static final Logger LOGGER = Logger.getLogger("Essentials");
+
+    @Param({"0", "100", "1000"})
+    public int regions;
+
+    private RegionManager regionManager;
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        LOGGER.setLevel(java.util.logging.Level.WARNING);
+        Path dataFolder = Files.createTempDirectory("essentials-bench");
+        ConfigManager configManager = new ConfigManager(dataFolder);
+        StorageManager storageManager = new StorageManager(dataFolder);
+        storageManager.load();
+        storageManager.setSpawn(new Spawn(WORLD, 0, 64, 0, 0f, 0f));
+        regionManager = new RegionManager(dataFolder, configManager, storageManager);
+
+        Random random = new Random(42);
+        for (int i = 0; i < regions; i++) {
+            int x = random.nextInt(2 * SPREAD) - SPREAD;
+            int z = random.nextInt(2 * SPREAD) - SPREAD;
+            int size = 8 + random.nextInt(64);
+            String name = "region" + i;
+            regionManager.createRegion(WORLD, name, Region.Shape.CUBOID,
+                    List.of(new Vector3i(x, 0, z), new Vector3i(x + size, 255, z + size)));
+            regionManager.setFlag(WORLD, name, RegionFlag.BUILD, false);
+        }
+
+        xs = new int[POSITIONS];
+        ys = new int[POSITIONS];
+        zs = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextInt(2 * SPREAD) - SPREAD;
+            ys[i] = random.nextInt(256);
+            zs[i] = random.nextInt(2 * SPREAD) - SPREAD;
+        }
+    }
+
+    @Benchmark
+    public Region getFlagRegion() {
+        int i = next++ & (POSITIONS - 1);
+        return regionManager.getFlagRegion(WORLD, xs[i], ys[i], zs[i], RegionFlag.BUILD);
+    }
+
+    @Benchmark
+    public Region getFlagRegionAtSpawn() {
+        int i = next++ & (POSITIONS - 1);
+        return regionManager.getFlagRegion(WORLD, xs[i] & 15, 64, zs[i] & 15, RegionFlag.BUILD);
+    }
+}
@@ -0,0 +1,72 @@
+package com.nhulston.essentials.managers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * TPA requests being created, accepted and dropped by many players at once,
+ * including the expiration task each request schedules and cancels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class TpaChurnBenchmark {
+    private static final int PLAYERS = 1_000;
+
+    // Keeps the "Essentials" logger quiet; TpaManager logs every request
+    private static final Logger LOGGER = Logger.getLogger("Essentials");
+
+    private TpaManager tpaManager;
+    private UUID[] uuids;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        LOGGER.setLevel(java.util.logging.Level.WARNING);
+        tpaManager = new TpaManager();
+        uuids = new UUID[PLAYERS];
+        names = new String[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            uuids[i] = UUID.randomUUID();
+            names[i] = "Player" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tpaManager.shutdown();
+    }
+
+    @Benchmark
+    public Object requestAndAccept() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int requester = random.nextInt(PLAYERS);
+        int target = random.nextInt(PLAYERS);
+        tpaManager.createRequest(uuids[requester], names[requester], uuids[target], names[target]);
+        return tpaManager.acceptRequest(uuids[target], names[target], names[requester]);
+    }
+
+    @Benchmark
+    public boolean requestAndQuit() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int requester = random.nextInt(PLAYERS);
+        int target = random.nextInt(PLAYERS);
+        boolean created = tpaManager.createRequest(uuids[requester], names[requester], uuids[target], names[target]);
+        tpaManager.onPlayerQuit(uuids[random.nextInt(PLAYERS)]);
+        return created;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.server.core.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The formatting work ChatManager.formatMessage does per chat line: filling in the group's
+ * template and colorizing the result. The permission and group lookups in front of it need
+ * a live PermissionsModule, so they aren't included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatFormatBenchmark {
+    private static final String FORMAT = "&7[&aMember&7] &f%player%&7: &f%message%";
+    private static final String PREFIX = "&e[Trade] ";
+    private static final String PLAYER = "Steve";
+    private static final String MESSAGE = "Selling 64 iron ingots, message me if you're interested";
+
+    private ChatTemplate template;
+
+    @Setup
+    public void setup() {
+        template = ChatTemplate.compile(FORMAT);
+    }
+
+    @Benchmark
+    public String applyTemplate() {
+        return template.apply("", PLAYER, MESSAGE);
+    }
+
+    @Benchmark
+    public Message formatMessage() {
+        return ColorUtil.colorize(template.apply("", PLAYER, MESSAGE));
+    }
+
+    @Benchmark
+    public Message formatChannelMessage() {
+        return ColorUtil.colorize(template.apply(PREFIX, PLAYER, MESSAGE));
+    }
+}
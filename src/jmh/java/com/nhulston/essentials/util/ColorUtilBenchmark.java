@@ -0,0 +1,32 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.server.core.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing color codes, which runs for every chat line, broadcast and MOTD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorUtilBenchmark {
+    @Param({
+            "Hello there, how is everyone doing today?",
+            "&7[&aMember&7] &fSteve&7: &fHello there, how is everyone doing today?",
+            "&#FF8800[&#FFD700VIP&#FF8800] &#FFFFFFSteve&#AAAAAA: &#FFFFFFHello &#55FF55there&#FFFFFF!"
+    })
+    public String text;
+
+    @Benchmark
+    public Message colorize() {
+        return ColorUtil.colorize(text);
+    }
+}
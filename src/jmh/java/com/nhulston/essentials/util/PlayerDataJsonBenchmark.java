@@ -0,0 +1,68 @@
+package com.nhulston.essentials.util;
+
+import com.nhulston.essentials.models.CooldownKey;
+import com.nhulston.essentials.models.Home;
+import com.nhulston.essentials.models.PlayerData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing player data the way StorageManager reads and writes player files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerDataJsonBenchmark {
+    @Param({"1", "10", "50"})
+    public int homes;
+
+    private StorageManager storageManager;
+    private PlayerData data;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        storageManager = new StorageManager(Files.createTempDirectory("essentials-bench"));
+
+        data = new PlayerData();
+        for (int i = 0; i < homes; i++) {
+            data.setHome("home" + i, new Home("world", i * 100.5, 64, -i * 50.25, 90f, 0f,
+                    System.currentTimeMillis()));
+        }
+        long expiry = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        data.setCooldownExpiry(CooldownKey.of("rtp"), expiry);
+        data.setCooldownExpiry(CooldownKey.of("kit.starter"), expiry);
+        data.setChatChannels(List.of("global", "trade"));
+        for (int i = 0; i < 5; i++) {
+            data.getIgnored().put(UUID.randomUUID().toString(), "Player" + i);
+        }
+        json = storageManager.toJson(data);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return storageManager.toJson(data);
+    }
+
+    @Benchmark
+    public PlayerData deserialize() {
+        return storageManager.fromJson(json);
+    }
+
+    @Benchmark
+    public PlayerData roundTrip() {
+        return storageManager.fromJson(storageManager.toJson(data));
+    }
+}
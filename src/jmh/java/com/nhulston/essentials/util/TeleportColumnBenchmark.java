@@ -0,0 +1,71 @@
+package com.nhulston.essentials.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The safe position column scans TeleportUtil runs for /rtp and spawn teleports,
+ * against a stub column instead of a loaded chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TeleportColumnBenchmark {
+    private static final int HEIGHT = 320;
+
+    /** Y of the highest solid block. Lower ground means a longer top-down scan. */
+    @Param({"150", "64", "10"})
+    public int groundY;
+
+    private StubColumn column;
+    private StubColumn cave;
+
+    @Setup
+    public void setup() {
+        column = new StubColumn(groundY, false);
+        cave = new StubColumn(groundY, true);
+    }
+
+    @Benchmark
+    public Double findSafeRtpY() {
+        return TeleportUtil.findSafeRtpY(column);
+    }
+
+    @Benchmark
+    public Integer findSafeYFromBelowGround() {
+        // Spawn points inside terrain search upward through solid blocks
+        return TeleportUtil.findSafeY(cave, 0);
+    }
+
+    /**
+     * Solid blocks up to groundY, air above, optionally with alternating one-block air
+     * gaps below ground so upward searches can't stop early.
+     */
+    private static final class StubColumn implements TeleportUtil.BlockColumn {
+        private final boolean[] solid = new boolean[HEIGHT];
+
+        StubColumn(int groundY, boolean gaps) {
+            for (int y = 0; y <= groundY; y++) {
+                solid[y] = !gaps || y % 2 == 0;
+            }
+        }
+
+        @Override
+        public boolean isSolid(int y) {
+            return y >= 0 && y < HEIGHT && solid[y];
+        }
+
+        @Override
+        public boolean hasFluid(int y) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hypixel.hytale.component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Load test stand-in for a command buffer. Deferred tasks are counted, not run, since
+ * they apply the teleport to the entity on the server.
+ */
+public class CommandBuffer<ECS_TYPE> {
+    private final LongAdder deferred = new LongAdder();
+
+    public void run(Consumer<Store<ECS_TYPE>> task) {
+        deferred.increment();
+    }
+
+    public long getDeferredCount() {
+        return deferred.sum();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Load test stand-in for an entity reference, valid while the player is online.
+ */
+public class Ref<ECS_TYPE> {
+    private volatile boolean valid = true;
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+}
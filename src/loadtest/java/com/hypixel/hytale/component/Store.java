@@ -0,0 +1,7 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Load test stand-in for an entity store. Nothing on the load-tested paths reads from it.
+ */
+public class Store<ECS_TYPE> {
+}
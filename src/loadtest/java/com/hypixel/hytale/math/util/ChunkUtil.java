@@ -0,0 +1,12 @@
+package com.hypixel.hytale.math.util;
+
+/**
+ * Load test stand-in for chunk index math (32 block chunks).
+ */
+public final class ChunkUtil {
+    private ChunkUtil() {}
+
+    public static long indexChunkFromBlock(int x, int z) {
+        return ((long) (x >> 5) << 32) | ((z >> 5) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hypixel.hytale.math.vector;
+
+/**
+ * Load test stand-in for a position.
+ */
+public class Vector3d {
+    private final double x;
+    private final double y;
+    private final double z;
+
+    public Vector3d(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getZ() {
+        return z;
+    }
+
+    public double distanceSquaredTo(Vector3d other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    @Override
+    public Vector3d clone() {
+        return new Vector3d(x, y, z);
+    }
+}
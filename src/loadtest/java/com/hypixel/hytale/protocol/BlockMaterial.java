@@ -0,0 +1,9 @@
+package com.hypixel.hytale.protocol;
+
+/**
+ * Load test stand-in for block materials.
+ */
+public enum BlockMaterial {
+    Empty,
+    Solid
+}
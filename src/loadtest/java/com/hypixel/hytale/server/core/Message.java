@@ -0,0 +1,33 @@
+package com.hypixel.hytale.server.core;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Load test stand-in for a chat message: text and color, with joined messages as children.
+ */
+public class Message {
+    private final String text;
+    private final Message[] children;
+    private String color;
+
+    private Message(String text, Message[] children) {
+        this.text = text;
+        this.children = children;
+    }
+
+    @Nonnull
+    public static Message raw(@Nonnull String text) {
+        return new Message(text, null);
+    }
+
+    @Nonnull
+    public static Message join(@Nonnull Message... messages) {
+        return new Message(null, messages);
+    }
+
+    @Nonnull
+    public Message color(@Nonnull String color) {
+        this.color = color;
+        return this;
+    }
+}
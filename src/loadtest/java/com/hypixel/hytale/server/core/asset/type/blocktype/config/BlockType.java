@@ -0,0 +1,20 @@
+package com.hypixel.hytale.server.core.asset.type.blocktype.config;
+
+import com.hypixel.hytale.protocol.BlockMaterial;
+
+/**
+ * Load test stand-in for a block type. Only solid stone exists; air is null, as on the server.
+ */
+public class BlockType {
+    public static final BlockType STONE = new BlockType(BlockMaterial.Solid);
+
+    private final BlockMaterial material;
+
+    private BlockType(BlockMaterial material) {
+        this.material = material;
+    }
+
+    public BlockMaterial getMaterial() {
+        return material;
+    }
+}
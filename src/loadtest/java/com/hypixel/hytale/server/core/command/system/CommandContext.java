@@ -0,0 +1,21 @@
+package com.hypixel.hytale.server.core.command.system;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Load test stand-in for a command invocation. Replies go to the sending player.
+ */
+public class CommandContext {
+    private final PlayerRef sender;
+
+    public CommandContext(@Nonnull PlayerRef sender) {
+        this.sender = sender;
+    }
+
+    public void sendMessage(@Nonnull Message message) {
+        sender.sendMessage(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hypixel.hytale.server.core.event.events.player;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+/**
+ * Load test stand-in, only so ChatManager's formatter type resolves.
+ */
+public class PlayerChatEvent {
+    public interface Formatter {
+        Message format(PlayerRef sender, String content);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hypixel.hytale.server.core.permissions;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load test stand-in for the server's permissions module. Permissions and groups are
+ * granted per player by the load driver; everything else is denied.
+ */
+public class PermissionsModule {
+    private static final PermissionsModule INSTANCE = new PermissionsModule();
+
+    private final Map<UUID, Set<String>> permissions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> groups = new ConcurrentHashMap<>();
+
+    public static PermissionsModule get() {
+        return INSTANCE;
+    }
+
+    public boolean hasPermission(@Nonnull UUID uuid, @Nonnull String permission) {
+        Set<String> granted = permissions.get(uuid);
+        return granted != null && granted.contains(permission);
+    }
+
+    @Nonnull
+    public Set<String> getGroupsForUser(@Nonnull UUID uuid) {
+        return groups.getOrDefault(uuid, Set.of());
+    }
+
+    public void setPlayer(@Nonnull UUID uuid, @Nonnull Set<String> permissions, @Nonnull Set<String> groups) {
+        this.permissions.put(uuid, Set.copyOf(permissions));
+        this.groups.put(uuid, Set.copyOf(groups));
+    }
+
+    public void removePlayer(@Nonnull UUID uuid) {
+        permissions.remove(uuid);
+        groups.remove(uuid);
+    }
+}
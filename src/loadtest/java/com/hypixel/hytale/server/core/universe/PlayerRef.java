@@ -0,0 +1,37 @@
+package com.hypixel.hytale.server.core.universe;
+
+import com.hypixel.hytale.server.core.Message;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test stand-in for a connected player. Messages are counted instead of sent.
+ */
+public class PlayerRef {
+    private final UUID uuid;
+    private final String username;
+    private final LongAdder messages = new LongAdder();
+
+    public PlayerRef(@Nonnull UUID uuid, @Nonnull String username) {
+        this.uuid = uuid;
+        this.username = username;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void sendMessage(@Nonnull Message message) {
+        messages.increment();
+    }
+
+    public long getMessageCount() {
+        return messages.sum();
+    }
+}
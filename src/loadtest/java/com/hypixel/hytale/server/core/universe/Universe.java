@@ -0,0 +1,52 @@
+package com.hypixel.hytale.server.core.universe;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load test stand-in for the server's universe: the online players and loaded worlds.
+ */
+public class Universe {
+    private static final Universe INSTANCE = new Universe();
+
+    private final Map<UUID, PlayerRef> players = new ConcurrentHashMap<>();
+    private final Map<String, World> worlds = new ConcurrentHashMap<>();
+
+    public static Universe get() {
+        return INSTANCE;
+    }
+
+    @Nullable
+    public PlayerRef getPlayer(@Nonnull UUID uuid) {
+        return players.get(uuid);
+    }
+
+    @Nonnull
+    public List<PlayerRef> getPlayers() {
+        return new ArrayList<>(players.values());
+    }
+
+    @Nullable
+    public World getWorld(@Nonnull String name) {
+        return worlds.get(name);
+    }
+
+    public void addPlayer(@Nonnull PlayerRef player) {
+        players.put(player.getUuid(), player);
+    }
+
+    public void removePlayer(@Nonnull UUID uuid) {
+        players.remove(uuid);
+    }
+
+    public void addWorld(@Nonnull World world) {
+        worlds.put(world.getName(), world);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hypixel.hytale.server.core.universe.world;
+
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Load test stand-in for a world. Chunks are generated on first access and stay loaded,
+ * and tasks run on the calling thread.
+ */
+public class World {
+    private final String name;
+    private final long seed;
+    private final Map<Long, WorldChunk> chunks = new ConcurrentHashMap<>();
+
+    public World(@Nonnull String name, long seed) {
+        this.name = name;
+        this.seed = seed;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void execute(@Nonnull Runnable task) {
+        task.run();
+    }
+
+    public WorldChunk getChunk(long index) {
+        return chunks.computeIfAbsent(index, i -> new WorldChunk(i, seed));
+    }
+
+    public CompletableFuture<WorldChunk> getChunkAsync(long index) {
+        return CompletableFuture.supplyAsync(() -> getChunk(index));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hypixel.hytale.server.core.universe.world.chunk;
+
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+
+/**
+ * Load test stand-in for a loaded chunk: rolling terrain from a hash of the column,
+ * with water up to sea level in the low spots.
+ */
+public class WorldChunk {
+    private static final int SEA_LEVEL = 62;
+
+    private final long index;
+    private final long seed;
+
+    public WorldChunk(long index, long seed) {
+        this.index = index;
+        this.seed = seed;
+    }
+
+    public BlockType getBlockType(int x, int y, int z) {
+        return y <= groundHeight(x, z) ? BlockType.STONE : null;
+    }
+
+    public int getFluidId(int x, int y, int z) {
+        return y > groundHeight(x, z) && y <= SEA_LEVEL ? 1 : 0;
+    }
+
+    private int groundHeight(int x, int z) {
+        long hash = (index * 31 + seed) ^ ((long) (x >> 3) * 0x9E3779B97F4A7C15L) ^ ((long) (z >> 3) * 0xC2B2AE3D27D4EB4FL);
+        hash ^= hash >>> 29;
+        return 50 + (int) Math.floorMod(hash, 40L);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hypixel.hytale.server.core.universe.world.storage;
+
+/**
+ * Load test stand-in for the entity store type parameter.
+ */
+public class EntityStore {
+}
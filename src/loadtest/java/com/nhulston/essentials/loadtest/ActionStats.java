@@ -0,0 +1,62 @@
+package com.nhulston.essentials.loadtest;
+
+import com.nhulston.essentials.util.LatencyHistogram;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measured results for one action.
+ */
+final class ActionStats {
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder allocated = new LongAdder();
+    final LongAdder errors = new LongAdder();
+
+    void record(long nanos, long allocatedBytes, boolean failed) {
+        latency.record(nanos);
+        allocated.add(allocatedBytes);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Prints one row per action with samples, busiest first, followed by the totals.
+     */
+    static void printTable(@Nonnull Map<String, ActionStats> stats, double seconds) {
+        long totalOps = 0;
+        long totalAllocated = 0;
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %8s %12s%n",
+                "action", "ops", "ops/s", "p50 us", "p99 us", "max us", "errors", "alloc B/op");
+        List<Map.Entry<String, ActionStats>> rows = new ArrayList<>(stats.entrySet());
+        rows.sort(Comparator.comparingLong(
+                (Map.Entry<String, ActionStats> row) -> row.getValue().latency.getCount()).reversed());
+        for (Map.Entry<String, ActionStats> row : rows) {
+            ActionStats action = row.getValue();
+            long ops = action.latency.getCount();
+            if (ops == 0) {
+                continue;
+            }
+            totalOps += ops;
+            totalAllocated += action.allocated.sum();
+            System.out.printf("%-10s %10d %10.0f %10.1f %10.1f %10.1f %8d %12d%n",
+                    row.getKey(), ops, ops / seconds,
+                    action.latency.getPercentileNanos(0.5) / 1000.0,
+                    action.latency.getPercentileNanos(0.99) / 1000.0,
+                    action.latency.getMaxNanos() / 1000.0,
+                    action.errors.sum(),
+                    action.allocated.sum() / ops);
+        }
+
+        System.out.println();
+        System.out.printf("Throughput: %.0f ops/s over %.1fs%n", totalOps / seconds, seconds);
+        System.out.printf("Allocation: %.1f MB/s%n", totalAllocated / seconds / (1024 * 1024));
+    }
+}
@@ -0,0 +1,158 @@
+package com.nhulston.essentials.loadtest;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.loadtest.Scenario.Action;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless load test: runs the plugin's managers against stand-ins for the server
+ * (see the com.hypixel.hytale classes in this source set) with many simulated players
+ * doing /home, /tpa, /kit, /rtp, chat and reconnects at once, then reports throughput,
+ * latency percentiles and allocation per action.
+ * Run with: ./gradlew loadTest -PloadTestArgs="players=1000 duration=60"
+ */
+public final class LoadTest {
+    // Keeps the "Essentials" logger quiet; managers log every TPA request and save
+    private static final Logger LOGGER = Logger.getLogger("Essentials");
+
+    private final Scenario scenario;
+    private final Workload workload;
+    private final SimulatedPlayer[] players;
+
+    private final Map<Action, ActionStats> stats = new EnumMap<>(Action.class);
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+    private long measuredNanos;
+
+    private LoadTest(@Nonnull Scenario scenario, @Nonnull Path dataFolder) {
+        this.scenario = scenario;
+        this.workload = new Workload(dataFolder, scenario.players, scenario.seed, true);
+        this.players = workload.getPlayers();
+
+        for (Action action : Action.values()) {
+            stats.put(action, new ActionStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LOGGER.setLevel(Level.WARNING);
+        Scenario scenario = Scenario.parse(args);
+        Path dataFolder = scenario.dataFolder != null
+                ? Files.createDirectories(Path.of(scenario.dataFolder))
+                : Files.createTempDirectory("essentials-loadtest");
+
+        System.out.println("Scenario: " + scenario);
+        LoadTest test = new LoadTest(scenario, dataFolder);
+        try {
+            test.run();
+            test.report();
+        } finally {
+            test.workload.shutdown();
+            if (scenario.dataFolder == null) {
+                Workload.deleteRecursively(dataFolder);
+            }
+        }
+    }
+
+    private void run() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(scenario.threads);
+        for (int t = 0; t < scenario.threads; t++) {
+            int slice = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    drive(slice);
+                } finally {
+                    done.countDown();
+                }
+            }, "LoadTest-" + t);
+            worker.start();
+        }
+
+        TimeUnit.SECONDS.sleep(scenario.warmupSeconds);
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(scenario.durationSeconds);
+        running = false;
+        done.await();
+        measuredNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Runs one driver thread over its slice of the players until the test ends.
+     */
+    private void drive(int slice) {
+        Random random = new Random(scenario.seed + slice);
+        List<SimulatedPlayer> own = new ArrayList<>();
+        for (int i = slice; i < players.length; i += scenario.threads) {
+            own.add(players[i]);
+        }
+        if (own.isEmpty()) {
+            return;
+        }
+
+        int totalWeight = scenario.mix.values().stream().mapToInt(Integer::intValue).sum();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CommandBuffer<EntityStore> buffer = new CommandBuffer<>();
+
+        while (running) {
+            SimulatedPlayer player = own.get(random.nextInt(own.size()));
+            Action action = pick(random, totalWeight);
+
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                workload.perform(action, player, random, buffer);
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            if (measuring) {
+                stats.get(action).record(elapsed, allocated, failed);
+            }
+            if (scenario.thinkMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(scenario.thinkMicros));
+            }
+        }
+        workload.teleportsCompleted.add(buffer.getDeferredCount());
+    }
+
+    @Nonnull
+    private Action pick(@Nonnull Random random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Action, Integer> entry : scenario.mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Action.CHAT;
+    }
+
+    private void report() {
+        Map<String, ActionStats> rows = new LinkedHashMap<>();
+        stats.forEach((action, actionStats) -> rows.put(action.key(), actionStats));
+        ActionStats.printTable(rows, measuredNanos / 1_000_000_000.0);
+        System.out.printf("Chat messages delivered: %d, teleports completed: %d%n",
+                workload.messagesDelivered.sum(), workload.teleportsCompleted.sum());
+    }
+}
@@ -0,0 +1,94 @@
+package com.nhulston.essentials.loadtest;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings for one load test run, from key=value arguments and an optional scenario file.
+ * Arguments override the file. Example:
+ * <pre>
+ * scenario=busy-evening.properties players=1000 duration=60 mix.chat=60 mix.quit=2
+ * </pre>
+ */
+final class Scenario {
+    enum Action {
+        CHAT(40),
+        HOME(15),
+        SETHOME(5),
+        TPA(10),
+        KIT(10),
+        RTP(5),
+        QUIT(2);
+
+        final int defaultWeight;
+
+        Action(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    final int players;
+    final int threads;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final long thinkMicros;
+    final long seed;
+    final String dataFolder;    // null = temporary folder, deleted afterwards
+    final Map<Action, Integer> mix = new EnumMap<>(Action.class);
+
+    private Scenario(@Nonnull Properties properties) {
+        players = intValue(properties, "players", 1000);
+        threads = intValue(properties, "threads", Runtime.getRuntime().availableProcessors());
+        warmupSeconds = intValue(properties, "warmup", 5);
+        durationSeconds = intValue(properties, "duration", 30);
+        thinkMicros = intValue(properties, "think-us", 0);
+        seed = Long.parseLong(properties.getProperty("seed", "42"));
+        dataFolder = properties.getProperty("data");
+        for (Action action : Action.values()) {
+            mix.put(action, intValue(properties, "mix." + action.key(), action.defaultWeight));
+        }
+    }
+
+    @Nonnull
+    static Scenario parse(@Nonnull String[] args) throws IOException {
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            overrides.setProperty(arg.substring(0, split), arg.substring(split + 1));
+        }
+
+        Properties properties = new Properties();
+        String file = overrides.getProperty("scenario");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file))) {
+                properties.load(reader);
+            }
+        }
+        properties.putAll(overrides);
+        return new Scenario(properties);
+    }
+
+    private static int intValue(@Nonnull Properties properties, @Nonnull String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return players + " players on " + threads + " threads, " + warmupSeconds + "s warm-up, "
+                + durationSeconds + "s measured, think " + thinkMicros + "us, seed " + seed + ", mix " + mix;
+    }
+}
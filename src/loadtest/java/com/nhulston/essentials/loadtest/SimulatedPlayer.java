@@ -0,0 +1,32 @@
+package com.nhulston.essentials.loadtest;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * One simulated player. Each player belongs to a single driver thread, the way an entity
+ * belongs to its world's thread on the server.
+ */
+final class SimulatedPlayer {
+    final UUID uuid;
+    final String name;
+    final PlayerRef playerRef;
+    final CommandContext context;
+    Ref<EntityStore> entityRef = new Ref<>();
+    Vector3d position;
+    volatile boolean online = true;
+
+    SimulatedPlayer(int index, @Nonnull Vector3d position) {
+        this.name = "Player" + index;
+        this.uuid = UUID.nameUUIDFromBytes(name.getBytes());
+        this.playerRef = new PlayerRef(uuid, name);
+        this.context = new CommandContext(playerRef);
+        this.position = position;
+    }
+}
@@ -0,0 +1,252 @@
+package com.nhulston.essentials.loadtest;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.loadtest.Scenario.Action;
+import com.nhulston.essentials.util.LatencyHistogram;
+import com.nhulston.essentials.util.TraceReader;
+import com.nhulston.essentials.util.TraceRecorder;
+
+import javax.annotation.Nonnull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replays a trace recorded with /essentials trace against the managers, on one thread so
+ * runs with the same trace and seed do the same work in the same order.
+ * speed=1 keeps the recorded timing, speed=10 plays it ten times faster and speed=0 as fast
+ * as possible. Commands are mapped to the load test's actions; anything else is listed as skipped.
+ * The report puts the latency each command had on the live server next to the replay's.
+ * Run with: ./gradlew loadTestReplay -PloadTestArgs="trace=traces/trace-2026-10-19_20-00-00.trace.gz speed=0"
+ */
+public final class TraceReplay {
+    private static final Logger LOGGER = Logger.getLogger("Essentials");
+    private static final Map<String, Action> COMMANDS = Map.of(
+            "/home", Action.HOME,
+            "/sethome", Action.SETHOME,
+            "/tpa", Action.TPA,
+            "/kit", Action.KIT,
+            "/rtp", Action.RTP
+    );
+
+    private final Workload workload;
+    private final SimulatedPlayer[] players;
+    private final Random random;
+    private final double speed;
+
+    private final Map<String, ActionStats> stats = new LinkedHashMap<>();
+    private final Map<String, LatencyHistogram> recorded = new HashMap<>();
+    private final Map<String, Integer> skipped = new TreeMap<>();
+    private long recordedTeleports;
+    private long maxLagMicros;
+    private long replayedNanos;
+    private long traceMicros;
+
+    private TraceReplay(@Nonnull Path dataFolder, int playerCount, long seed, double speed) {
+        this.workload = new Workload(dataFolder, playerCount, seed, false);
+        this.players = workload.getPlayers();
+        this.random = new Random(seed);
+        this.speed = speed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LOGGER.setLevel(Level.WARNING);
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+        String traceOption = options.get("trace");
+        if (traceOption == null) {
+            throw new IllegalArgumentException("Missing trace=<file>");
+        }
+
+        Path trace = Path.of(traceOption);
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String data = options.get("data");
+        Path dataFolder = data != null
+                ? Files.createDirectories(Path.of(data))
+                : Files.createTempDirectory("essentials-replay");
+
+        // First pass sizes the player table, since ids are handed out as players first appear
+        int playerCount = 0;
+        long start;
+        try (TraceReader reader = new TraceReader(trace)) {
+            start = reader.getStartEpochMillis();
+            TraceReader.Record record;
+            while ((record = readNext(reader)) != null) {
+                playerCount = Math.max(playerCount, record.player());
+            }
+        }
+
+        System.out.println("Trace: " + trace.getFileName() + " recorded " + Instant.ofEpochMilli(start)
+                + ", " + playerCount + " players, speed " + (speed > 0 ? speed + "x" : "max") + ", seed " + seed);
+        TraceReplay replay = new TraceReplay(dataFolder, playerCount, seed, speed);
+        try (TraceReader reader = new TraceReader(trace)) {
+            replay.run(reader);
+            replay.report();
+        } finally {
+            replay.workload.shutdown();
+            if (data == null) {
+                Workload.deleteRecursively(dataFolder);
+            }
+        }
+    }
+
+    private void run(@Nonnull TraceReader reader) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CommandBuffer<EntityStore> buffer = new CommandBuffer<>();
+        long startNanos = System.nanoTime();
+
+        TraceReader.Record record;
+        while ((record = readNext(reader)) != null) {
+            traceMicros = record.micros();
+            if (speed > 0) {
+                long due = startNanos + (long) (TimeUnit.MICROSECONDS.toNanos(record.micros()) / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                } else {
+                    maxLagMicros = Math.max(maxLagMicros, TimeUnit.NANOSECONDS.toMicros(-wait));
+                }
+            }
+            if (record.player() == 0) {
+                // Console commands have no player to replay them as
+                if (record.type() == TraceRecorder.Type.COMMAND) {
+                    skipped.merge(record.name(), 1, Integer::sum);
+                }
+                continue;
+            }
+
+            SimulatedPlayer player = players[record.player() - 1];
+            String key;
+            Runnable work;
+            switch (record.type()) {
+                case JOIN -> {
+                    if (player.online) {
+                        continue;
+                    }
+                    key = "join";
+                    work = () -> workload.join(player);
+                }
+                case QUIT -> {
+                    if (!player.online) {
+                        continue;
+                    }
+                    key = "quit";
+                    work = () -> workload.quit(player);
+                }
+                case CHAT -> {
+                    key = "chat";
+                    String line = chatLine((int) record.value());
+                    work = () -> workload.chat(player, line);
+                }
+                case COMMAND -> {
+                    Action action = COMMANDS.get(record.name());
+                    if (action == null) {
+                        skipped.merge(record.name(), 1, Integer::sum);
+                        continue;
+                    }
+                    key = action.key();
+                    recorded.computeIfAbsent(key, _ -> new LatencyHistogram())
+                            .record(TimeUnit.MICROSECONDS.toNanos(record.value()));
+                    work = () -> workload.perform(action, player, random, buffer);
+                }
+                case TELEPORT -> {
+                    recordedTeleports++;
+                    continue;
+                }
+                default -> {
+                    continue;
+                }
+            }
+
+            // Players who were online before recording started show up without a join
+            if (!player.online && record.type() != TraceRecorder.Type.JOIN) {
+                workload.join(player);
+            }
+
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long begin = System.nanoTime();
+            boolean failed = false;
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            long elapsed = System.nanoTime() - begin;
+            stats.computeIfAbsent(key, _ -> new ActionStats())
+                    .record(elapsed, threads.getCurrentThreadAllocatedBytes() - allocatedBefore, failed);
+        }
+
+        replayedNanos = System.nanoTime() - startNanos;
+        workload.teleportsCompleted.add(buffer.getDeferredCount());
+    }
+
+    /**
+     * Reads the next record, treating a cut-off trace (e.g., the server crashed) as its end.
+     */
+    private static TraceReader.Record readNext(@Nonnull TraceReader reader) throws IOException {
+        try {
+            return reader.next();
+        } catch (EOFException e) {
+            System.out.println("Trace ends early (" + e.getMessage() + "), replaying what was written.");
+            return null;
+        }
+    }
+
+    /**
+     * Builds a chat line of the recorded length, since traces keep no message text.
+     */
+    @Nonnull
+    private String chatLine(int length) {
+        String base = Workload.CHAT_LINES[random.nextInt(Workload.CHAT_LINES.length)];
+        if (length <= base.length()) {
+            return base.substring(0, Math.max(1, length));
+        }
+        return base + " " + "x".repeat(length - base.length() - 1);
+    }
+
+    private void report() {
+        ActionStats.printTable(stats, replayedNanos / 1_000_000_000.0);
+        System.out.printf("Trace covers %.1fs, replayed in %.1fs, max lag behind schedule %.1fms%n",
+                traceMicros / 1_000_000.0, replayedNanos / 1_000_000_000.0, maxLagMicros / 1000.0);
+        System.out.printf("Teleports recorded: %d, replayed: %d; chat messages delivered: %d%n",
+                recordedTeleports, workload.teleportsCompleted.sum(), workload.messagesDelivered.sum());
+
+        if (!recorded.isEmpty()) {
+            System.out.println();
+            System.out.printf("%-10s %14s %14s %14s %14s%n",
+                    "command", "live p50 us", "replay p50 us", "live p99 us", "replay p99 us");
+            recorded.forEach((key, live) -> {
+                LatencyHistogram replayed = stats.get(key).latency;
+                System.out.printf("%-10s %14.1f %14.1f %14.1f %14.1f%n", key,
+                        live.getPercentileNanos(0.5) / 1000.0, replayed.getPercentileNanos(0.5) / 1000.0,
+                        live.getPercentileNanos(0.99) / 1000.0, replayed.getPercentileNanos(0.99) / 1000.0);
+            });
+        }
+
+        if (!skipped.isEmpty()) {
+            System.out.println();
+            System.out.println("Skipped commands with no replay action: " + skipped);
+        }
+    }
+}
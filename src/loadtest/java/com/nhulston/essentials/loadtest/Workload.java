@@ -0,0 +1,234 @@
+package com.nhulston.essentials.loadtest;
+
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.loadtest.Scenario.Action;
+import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.CooldownManager;
+import com.nhulston.essentials.managers.HomeManager;
+import com.nhulston.essentials.managers.KitManager;
+import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.managers.TpaManager;
+import com.nhulston.essentials.models.Home;
+import com.nhulston.essentials.models.Kit;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.TeleportUtil;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * The plugin's managers wired up the way Essentials.setup() does, plus the simulated players
+ * and the code each action runs. Shared by the synthetic load test and trace replay.
+ */
+final class Workload {
+    static final String[] CHAT_LINES = {
+            "hello everyone",
+            "anyone want to trade &aemeralds&f for iron?",
+            "where is the nether portal",
+            "&#FF8800gg&f that was close",
+            "brb"
+    };
+
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final HomeManager homeManager;
+    private final TeleportManager teleportManager;
+    private final TpaManager tpaManager;
+    private final KitManager kitManager;
+    private final ChatManager chatManager;
+    private final World world;
+    private final Store<EntityStore> store = new Store<>();
+    private final SimulatedPlayer[] players;
+    private final Kit[] kits;
+
+    final LongAdder messagesDelivered = new LongAdder();
+    final LongAdder teleportsCompleted = new LongAdder();
+
+    /**
+     * @param online whether players start joined; trace replay joins them as the trace does
+     */
+    Workload(@Nonnull Path dataFolder, int playerCount, long seed, boolean online) {
+        configManager = new ConfigManager(dataFolder);
+        storageManager = new StorageManager(dataFolder);
+        storageManager.load();
+        CooldownManager cooldownManager = new CooldownManager(storageManager, configManager);
+        homeManager = new HomeManager(storageManager, configManager);
+        teleportManager = new TeleportManager(configManager, new BackManager(storageManager, configManager));
+        tpaManager = new TpaManager();
+        kitManager = new KitManager(dataFolder, cooldownManager);
+        chatManager = new ChatManager(configManager);
+        kits = kitManager.getKits().toArray(new Kit[0]);
+
+        world = new World(configManager.getRtpDefaultWorld(), seed);
+        Universe.get().addWorld(world);
+
+        Random random = new Random(seed);
+        players = new SimulatedPlayer[playerCount];
+        for (int i = 0; i < players.length; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(i,
+                    new Vector3d(random.nextInt(2000) - 1000, 80, random.nextInt(2000) - 1000));
+            players[i] = player;
+
+            // A few admins, some VIPs with color codes, everyone else on the default group
+            int roll = random.nextInt(100);
+            Set<String> groups = roll < 2 ? Set.of("OP") : Set.of("Adventure");
+            Set<String> permissions = roll < 2 ? Set.of("essentials.chat.color", "essentials.kit.cooldown.bypass")
+                    : roll < 12 ? Set.of("essentials.chat.color") : Set.of();
+            PermissionsModule.get().setPlayer(player.uuid, permissions, groups);
+            if (online) {
+                join(player);
+            } else {
+                player.online = false;
+            }
+        }
+    }
+
+    @Nonnull
+    SimulatedPlayer[] getPlayers() {
+        return players;
+    }
+
+    void perform(@Nonnull Action action, @Nonnull SimulatedPlayer player, @Nonnull Random random,
+                 @Nonnull CommandBuffer<EntityStore> buffer) {
+        switch (action) {
+            case CHAT -> chat(player, CHAT_LINES[random.nextInt(CHAT_LINES.length)]);
+            case SETHOME -> {
+                String error = homeManager.setHome(player.uuid, "home" + random.nextInt(3), world.getName(),
+                        player.position.getX(), player.position.getY(), player.position.getZ(), 0f, 0f);
+                if (error != null) {
+                    Msg.fail(player.context, error);
+                }
+            }
+            case HOME -> {
+                Home home = homeManager.getHome(player.uuid, "home0");
+                if (home == null) {
+                    Msg.fail(player.context, "Home 'home0' not found.");
+                    return;
+                }
+                teleportManager.queueTeleport(player.playerRef, player.entityRef, store, player.position,
+                        home.getWorld(), home.getX(), home.getY(), home.getZ(), home.getYaw(), home.getPitch(),
+                        "Teleported to home 'home0'.");
+                completeTeleport(player, buffer);
+            }
+            case TPA -> {
+                SimulatedPlayer target = players[random.nextInt(players.length)];
+                if (target == player || !target.online) {
+                    return;
+                }
+                if (!tpaManager.createRequest(player.uuid, player.name, target.uuid, target.name)) {
+                    Msg.fail(player.context, "You already have a pending request to " + target.name + ".");
+                    return;
+                }
+                if (tpaManager.acceptRequest(target.uuid, target.name, player.name) != null) {
+                    teleportManager.queueTeleportToPlayer(player.playerRef, world,
+                            player.position, target.playerRef, "Teleported to " + target.name + ".");
+                    completeTeleport(player, buffer);
+                }
+            }
+            case KIT -> {
+                if (kits.length == 0) {
+                    return;
+                }
+                Kit kit = kits[random.nextInt(kits.length)];
+                long remaining = kitManager.tryStartCooldown(player.uuid, kit);
+                if (remaining > 0) {
+                    Msg.fail(player.context, "This kit is on cooldown for " + remaining + "s.");
+                } else {
+                    Msg.success(player.context, "You received the " + kit.getDisplayName() + " kit!");
+                }
+            }
+            case RTP -> {
+                Integer radius = configManager.getRtpRadius(world.getName());
+                int range = radius != null ? radius : 5000;
+                double x = random.nextInt(2 * range) - range;
+                double z = random.nextInt(2 * range) - range;
+                Double y = TeleportUtil.findSafeRtpY(world, x, z);
+                if (y == null) {
+                    Msg.fail(player.context, "Could not find a safe location. Try again.");
+                    return;
+                }
+                teleportManager.queueTeleport(player.playerRef, player.entityRef, store, player.position,
+                        world.getName(), x, y, z, 0f, 0f, "Randomly teleported!");
+                completeTeleport(player, buffer);
+            }
+            case QUIT -> {
+                quit(player);
+                join(player);
+            }
+        }
+    }
+
+    /**
+     * Formats a chat line and delivers it to everyone online.
+     */
+    void chat(@Nonnull SimulatedPlayer player, @Nonnull String line) {
+        Message message = chatManager.formatMessage(player.playerRef, line);
+        for (SimulatedPlayer recipient : players) {
+            if (recipient.online) {
+                recipient.playerRef.sendMessage(message);
+                messagesDelivered.increment();
+            }
+        }
+    }
+
+    /**
+     * Ticks a queued teleport through its delay without the player moving.
+     */
+    private void completeTeleport(@Nonnull SimulatedPlayer player, @Nonnull CommandBuffer<EntityStore> buffer) {
+        if (teleportManager.hasPendingTeleport(player.uuid)) {
+            teleportManager.tick(player.uuid, player.entityRef, player.position,
+                    configManager.getTeleportDelay() + 1, buffer);
+        }
+    }
+
+    void join(@Nonnull SimulatedPlayer player) {
+        player.entityRef = new Ref<>();
+        Universe.get().addPlayer(player.playerRef);
+        storageManager.getPlayerData(player.uuid);
+        storageManager.updateUsername(player.uuid, player.name);
+        player.online = true;
+    }
+
+    void quit(@Nonnull SimulatedPlayer player) {
+        player.online = false;
+        player.entityRef.invalidate();
+        Universe.get().removePlayer(player.uuid);
+        tpaManager.onPlayerQuit(player.uuid);
+        teleportManager.onPlayerQuit(player.uuid);
+        storageManager.savePlayerData(player.uuid);
+        storageManager.unloadPlayer(player.uuid);
+    }
+
+    void shutdown() {
+        tpaManager.shutdown();
+        teleportManager.shutdown();
+        kitManager.shutdown();
+        storageManager.shutdown();
+    }
+
+    static void deleteRecursively(@Nonnull Path folder) throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
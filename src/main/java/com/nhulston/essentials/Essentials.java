@@ -4,6 +4,7 @@ import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.events.AllWorldsLoadedEvent;
 import com.nhulston.essentials.commands.back.BackCommand;
+import com.nhulston.essentials.commands.channel.ChannelCommand;
 import com.nhulston.essentials.commands.essentials.EssentialsCommand;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
 import com.nhulston.essentials.commands.god.GodCommand;
@@ -11,10 +12,14 @@ import com.nhulston.essentials.commands.heal.HealCommand;
 import com.nhulston.essentials.commands.home.DelHomeCommand;
 import com.nhulston.essentials.commands.home.HomeCommand;
 import com.nhulston.essentials.commands.home.SetHomeCommand;
+import com.nhulston.essentials.commands.ignore.IgnoreCommand;
+import com.nhulston.essentials.commands.ignore.UnignoreCommand;
 import com.nhulston.essentials.commands.kit.KitCommand;
 import com.nhulston.essentials.commands.list.ListCommand;
+import com.nhulston.essentials.commands.mail.MailCommand;
 import com.nhulston.essentials.commands.msg.MsgCommand;
 import com.nhulston.essentials.commands.msg.ReplyCommand;
+import com.nhulston.essentials.commands.region.RegionCommand;
 import com.nhulston.essentials.commands.repair.RepairCommand;
 import com.nhulston.essentials.commands.rtp.RtpCommand;
 import com.nhulston.essentials.commands.shout.ShoutCommand;
@@ -27,32 +32,51 @@ import com.nhulston.essentials.commands.tpa.TpacceptCommand;
 import com.nhulston.essentials.commands.warp.DelWarpCommand;
 import com.nhulston.essentials.commands.warp.SetWarpCommand;
 import com.nhulston.essentials.commands.warp.WarpCommand;
-import com.nhulston.essentials.events.BuildProtectionEvent;
+import com.nhulston.essentials.events.ChannelEvent;
 import com.nhulston.essentials.events.ChatEvent;
 import com.nhulston.essentials.events.DeathLocationEvent;
 import com.nhulston.essentials.events.MotdEvent;
+import com.nhulston.essentials.events.PlayerJoinEvent;
 import com.nhulston.essentials.events.PlayerQuitEvent;
-import com.nhulston.essentials.events.SpawnProtectionEvent;
-import com.nhulston.essentials.events.SpawnRegionTitleEvent;
+import com.nhulston.essentials.events.RegionPresenceEvent;
+import com.nhulston.essentials.events.RegionProtectionEvent;
+import com.nhulston.essentials.events.RegionTitleEvent;
 import com.nhulston.essentials.events.SpawnTeleportEvent;
 import com.nhulston.essentials.events.TeleportMovementEvent;
 import com.nhulston.essentials.events.SleepPercentageEvent;
 import com.nhulston.essentials.events.UpdateNotifyEvent;
+import com.nhulston.essentials.managers.AnnouncementManager;
 import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.BroadcastManager;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.ChatLogManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.HomeManager;
+import com.nhulston.essentials.managers.IgnoreManager;
 import com.nhulston.essentials.managers.KitManager;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.managers.PlayerArchiveManager;
+import com.nhulston.essentials.managers.RateLimitManager;
+import com.nhulston.essentials.managers.RegionManager;
 import com.nhulston.essentials.managers.SpawnManager;
-import com.nhulston.essentials.managers.SpawnProtectionManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.managers.WarpManager;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.ConfigWatcher;
 import com.nhulston.essentials.util.StorageManager;
 import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Tasks;
+import com.nhulston.essentials.util.TraceRecorder;
 import com.nhulston.essentials.util.VersionChecker;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class Essentials extends JavaPlugin {
     public static final String VERSION = "1.5.1";
@@ -65,11 +89,21 @@ public class Essentials extends JavaPlugin {
     private WarpManager warpManager;
     private SpawnManager spawnManager;
     private ChatManager chatManager;
-    private SpawnProtectionManager spawnProtectionManager;
+    private RegionManager regionManager;
     private TpaManager tpaManager;
     private TeleportManager teleportManager;
     private KitManager kitManager;
+    private CooldownManager cooldownManager;
+    private ConfigWatcher configWatcher;
     private BackManager backManager;
+    private RateLimitManager rateLimitManager;
+    private ChannelManager channelManager;
+    private BroadcastManager broadcastManager;
+    private AnnouncementManager announcementManager;
+    private ChatLogManager chatLogManager;
+    private IgnoreManager ignoreManager;
+    private MailManager mailManager;
+    private PlayerArchiveManager playerArchiveManager;
     private VersionChecker versionChecker;
 
     public Essentials(@Nonnull JavaPluginInit init) {
@@ -81,26 +115,99 @@ public class Essentials extends JavaPlugin {
         instance = this;
         Log.init(getLogger());
         Log.info("Essentials is starting...");
+        Tasks.start();
 
-        configManager = new ConfigManager(getDataDirectory());
-        storageManager = new StorageManager(getDataDirectory());
+        long setupStart = System.nanoTime();
+        Path dataFolder = getDataDirectory();
 
+        // Independent file loads run concurrently and are all joined before start()
+        storageManager = new StorageManager(dataFolder);
+        CompletableFuture<ConfigManager> configLoad = loadAsync("config", () -> new ConfigManager(dataFolder));
+        CompletableFuture<Void> storageLoad = loadAsync("storage", () -> {
+            storageManager.load();
+            return null;
+        });
+        // Kits declare their cooldowns while loading, and cooldown durations can come from the config
+        CompletableFuture<CooldownManager> cooldownLoad =
+                configLoad.thenApply(config -> new CooldownManager(storageManager, config));
+        CompletableFuture<KitManager> kitLoad = cooldownLoad.thenApplyAsync(
+                cooldowns -> timed("kits", () -> new KitManager(dataFolder, cooldowns)),
+                Tasks.executor(Tasks.Pool.CPU, "setup.kits"));
+        // Regions need the config and the spawn point for the spawn region
+        CompletableFuture<RegionManager> regionLoad = configLoad.thenCombineAsync(storageLoad,
+                (config, _) -> timed("regions", () -> new RegionManager(dataFolder, config, storageManager)),
+                Tasks.executor(Tasks.Pool.CPU, "setup.regions"));
+
+        configManager = join(configLoad);
+        cooldownManager = join(cooldownLoad);
+        kitManager = join(kitLoad);
+        regionManager = join(regionLoad);
+
+        long managersStart = System.nanoTime();
         homeManager = new HomeManager(storageManager, configManager);
         warpManager = new WarpManager(storageManager);
-        spawnManager = new SpawnManager(storageManager);
+        spawnManager = new SpawnManager(storageManager, regionManager);
         chatManager = new ChatManager(configManager);
-        spawnProtectionManager = new SpawnProtectionManager(configManager, storageManager);
         tpaManager = new TpaManager();
-        teleportManager = new TeleportManager(configManager);
-        kitManager = new KitManager(getDataDirectory(), storageManager);
-        backManager = new BackManager();
+        backManager = new BackManager(storageManager, configManager);
+        teleportManager = new TeleportManager(configManager, backManager);
+        rateLimitManager = new RateLimitManager(configManager);
+        channelManager = new ChannelManager(configManager, storageManager);
+        broadcastManager = new BroadcastManager();
+        announcementManager = new AnnouncementManager(configManager, broadcastManager);
+        chatLogManager = new ChatLogManager(dataFolder, configManager);
+        ignoreManager = new IgnoreManager(storageManager);
+        mailManager = new MailManager(storageManager);
+        playerArchiveManager = new PlayerArchiveManager(configManager, storageManager);
         versionChecker = new VersionChecker(VERSION);
+        Log.info("Created managers in " + millisSince(managersStart) + " ms");
+        Log.info("Setup finished in " + millisSince(setupStart) + " ms");
+    }
+
+    /**
+     * Runs a setup step on another thread, logging how long it took.
+     */
+    @Nonnull
+    private static <T> CompletableFuture<T> loadAsync(@Nonnull String component, @Nonnull Supplier<T> loader) {
+        return Tasks.supplyCpu("setup." + component, () -> timed(component, loader));
+    }
+
+    private static <T> T timed(@Nonnull String component, @Nonnull Supplier<T> loader) {
+        long start = System.nanoTime();
+        T result = loader.get();
+        Log.info("Loaded " + component + " in " + millisSince(start) + " ms");
+        return result;
+    }
+
+    /**
+     * Waits for a setup step, rethrowing its failure as if it had run on this thread.
+     */
+    private static <T> T join(@Nonnull CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 
     @Override
     protected void start() {
         registerCommands();
         registerEvents();
+
+        if (configManager.isWatchFilesEnabled()) {
+            configWatcher = new ConfigWatcher(getDataDirectory(), configManager.getReloadDebounceMs());
+            configWatcher.watch("config.toml", configManager::reload);
+            configWatcher.watch("kits.toml", kitManager::reload);
+            configWatcher.start();
+        }
         
         // Check for updates asynchronously
         versionChecker.checkForUpdatesAsync();
@@ -112,6 +219,27 @@ public class Essentials extends JavaPlugin {
     protected void shutdown() {
         Log.info("Essentials is shutting down...");
 
+        if (configWatcher != null) {
+            configWatcher.shutdown();
+        }
+
+        // Finish any trace still recording so the file is readable
+        TraceRecorder.stop();
+
+        // Stop archiving before player data is saved
+        if (playerArchiveManager != null) {
+            playerArchiveManager.shutdown();
+        }
+
+        // Finish queued mail writes before player data is saved
+        if (mailManager != null) {
+            mailManager.shutdown();
+        }
+
+        // Let in-flight async saves land before the managers write their final state over them.
+        // Anything submitted after this runs on the calling thread.
+        Tasks.shutdown(10, TimeUnit.SECONDS);
+
         if (storageManager != null) {
             storageManager.shutdown();
         }
@@ -124,6 +252,31 @@ public class Essentials extends JavaPlugin {
             teleportManager.shutdown();
         }
 
+        if (rateLimitManager != null) {
+            rateLimitManager.shutdown();
+        }
+
+        if (channelManager != null) {
+            channelManager.shutdown();
+        }
+
+        // Announcements still collecting go out with the last broadcast flush
+        if (announcementManager != null) {
+            announcementManager.shutdown();
+        }
+
+        if (broadcastManager != null) {
+            broadcastManager.shutdown();
+        }
+
+        if (chatLogManager != null) {
+            chatLogManager.shutdown();
+        }
+
+        if (kitManager != null) {
+            kitManager.shutdown();
+        }
+
         Log.info("Essentials shut down.");
     }
 
@@ -153,7 +306,7 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new BackCommand(backManager, teleportManager));
 
         // RTP command
-        getCommandRegistry().registerCommand(new RtpCommand(configManager, storageManager, teleportManager));
+        getCommandRegistry().registerCommand(new RtpCommand(configManager, cooldownManager, teleportManager));
 
         // List command
         getCommandRegistry().registerCommand(new ListCommand());
@@ -168,35 +321,51 @@ public class Essentials extends JavaPlugin {
         getCommandRegistry().registerCommand(new GodCommand());
 
         // Msg command (with aliases: m, message, whisper, pm)
-        getCommandRegistry().registerCommand(new MsgCommand());
+        getCommandRegistry().registerCommand(new MsgCommand(rateLimitManager, chatLogManager, ignoreManager));
 
         // Reply command (with alias: reply)
-        getCommandRegistry().registerCommand(new ReplyCommand());
+        getCommandRegistry().registerCommand(new ReplyCommand(rateLimitManager, chatLogManager, ignoreManager));
 
         // Tphere command
-        getCommandRegistry().registerCommand(new TphereCommand());
+        getCommandRegistry().registerCommand(new TphereCommand(teleportManager));
 
         // Top command
         getCommandRegistry().registerCommand(new TopCommand());
 
         // Essentials info command
-        getCommandRegistry().registerCommand(new EssentialsCommand());
+        getCommandRegistry().registerCommand(new EssentialsCommand(rateLimitManager, chatLogManager, getDataDirectory()));
 
         // Shout/broadcast command
-        getCommandRegistry().registerCommand(new ShoutCommand(configManager));
+        getCommandRegistry().registerCommand(new ShoutCommand(configManager, rateLimitManager, broadcastManager));
+
+        // Chat channel command (with alias: ch)
+        getCommandRegistry().registerCommand(new ChannelCommand(channelManager));
+
+        // Ignore commands
+        getCommandRegistry().registerCommand(new IgnoreCommand(ignoreManager));
+        getCommandRegistry().registerCommand(new UnignoreCommand(ignoreManager));
+
+        // Mail command
+        getCommandRegistry().registerCommand(new MailCommand(mailManager, storageManager, rateLimitManager, ignoreManager));
+
+        // Region command (with alias: rg)
+        getCommandRegistry().registerCommand(new RegionCommand(regionManager));
 
         // Repair command
-        getCommandRegistry().registerCommand(new RepairCommand(configManager, storageManager));
+        getCommandRegistry().registerCommand(new RepairCommand(configManager, cooldownManager));
     }
 
     private void registerEvents() {
-        new ChatEvent(chatManager).register(getEventRegistry());
-        new BuildProtectionEvent(configManager).register(getEntityStoreRegistry());
-        new SpawnProtectionEvent(spawnProtectionManager).register(getEntityStoreRegistry());
-        new SpawnRegionTitleEvent(spawnProtectionManager, configManager).register(getEntityStoreRegistry());
+        new ChatEvent(chatManager, rateLimitManager, channelManager, chatLogManager,
+                ignoreManager).register(getEventRegistry());
+        new ChannelEvent(channelManager).register(getEventRegistry());
+        new RegionProtectionEvent(regionManager).register(getEntityStoreRegistry());
+        new RegionPresenceEvent(regionManager).register(getEntityStoreRegistry());
+        new RegionTitleEvent(regionManager).register();
         new TeleportMovementEvent(teleportManager).register(getEntityStoreRegistry());
 
-        SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager);
+        SpawnTeleportEvent spawnTeleportEvent = new SpawnTeleportEvent(spawnManager, configManager, storageManager,
+                announcementManager);
         spawnTeleportEvent.registerEvents(getEventRegistry());
         spawnTeleportEvent.registerSystems(getEntityStoreRegistry());
 
@@ -204,24 +373,41 @@ public class Essentials extends JavaPlugin {
         new DeathLocationEvent(backManager).register(getEntityStoreRegistry());
 
         // MOTD on join
-        new MotdEvent(configManager).register(getEventRegistry());
+        new MotdEvent(configManager, mailManager).register(getEventRegistry());
 
         // Update notification for admins
         new UpdateNotifyEvent(versionChecker).register(getEventRegistry());
 
         // Sleep percentage system
-        new SleepPercentageEvent(configManager).register(getEntityStoreRegistry());
+        new SleepPercentageEvent(configManager, broadcastManager).register(getEntityStoreRegistry());
+
+        // Player connect setup
+        new PlayerJoinEvent(storageManager, ignoreManager, mailManager, announcementManager).register(getEventRegistry());
 
         // Player disconnect cleanup
-        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, backManager).register(getEventRegistry());
+        new PlayerQuitEvent(storageManager, tpaManager, teleportManager, rateLimitManager,
+                channelManager, ignoreManager, mailManager, regionManager, announcementManager).register(getEventRegistry());
 
         // Sync spawn provider with world config after all worlds are loaded
         // This updates the spawn marker on the map
         getEventRegistry().registerGlobal(AllWorldsLoadedEvent.class, event -> {
             spawnManager.syncWorldSpawnProvider();
+            warmUp();
         });
     }
 
+    /**
+     * Loads caches that players only need once they are online, in the background
+     * so they don't add to server boot time.
+     */
+    private void warmUp() {
+        Tasks.runIo("setup.warm-up", () -> timed("warm-up", () -> {
+            storageManager.warmUp();
+            kitManager.warmUp();
+            return null;
+        }));
+    }
+
     /**
      * Gets the plugin instance.
      */
@@ -234,6 +420,7 @@ public class Essentials extends JavaPlugin {
      * Reloads all configuration files.
      */
     public void reloadConfigs() {
+        // Managers that derive state from config.toml rebuild it through reload listeners
         configManager.reload();
         kitManager.reload();
         Log.info("All configurations reloaded.");
@@ -0,0 +1,291 @@
+package com.nhulston.essentials.commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Base class for player commands that do I/O or heavy work, so it stays off the world thread.
+ * start() runs on the world thread like run() does for other commands, and may return a chain of
+ * stages: off-thread stages run on the plugin's I/O executor (listed under the command's name in
+ * /essentials stats tasks), world stages re-enter the player's world thread. The base class handles the rest the same way for every command:
+ * - The whole chain times out after the command's timeout (10 seconds by default)
+ * - Remaining stages are skipped once the player disconnects or their entity goes away
+ * - Throwing Failure from any stage replies with its message; anything else is logged
+ *   and the player gets the command's failure message
+ * - The chain's time is recorded as the command's async phase
+ */
+public abstract class AsyncPlayerCommand extends TimedPlayerCommand {
+    private static final long DEFAULT_TIMEOUT_SECONDS = 10;
+    private static final String DEFAULT_FAILURE_MESSAGE = "Something went wrong. Please try again.";
+
+    private static final Map<UUID, Set<Flow>> RUNNING = new ConcurrentHashMap<>();
+
+    private long timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+    private String failureMessage = DEFAULT_FAILURE_MESSAGE;
+
+    protected AsyncPlayerCommand(@Nonnull String name, @Nonnull String description) {
+        super(name, description);
+    }
+
+    /**
+     * Creates a usage variant (e.g., /home with a name argument).
+     */
+    protected AsyncPlayerCommand(@Nonnull String description) {
+        super(description);
+    }
+
+    /**
+     * Starts the command on the world thread.
+     *
+     * @return the last stage of the work handed off, or null if the command finished here
+     */
+    @Nullable
+    protected abstract Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow);
+
+    @Override
+    protected final void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                             @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        Flow flow = new Flow(store, ref, playerRef, world, Tasks.executor(Tasks.Pool.IO, getStatsPath()));
+        Stage<?> last = start(context, flow);
+        if (last == null) {
+            return;
+        }
+
+        UUID playerUuid = playerRef.getUuid();
+        RUNNING.computeIfAbsent(playerUuid, _ -> ConcurrentHashMap.newKeySet()).add(flow);
+        flow.last = last.future;
+        trackAsync(last.future.orTimeout(timeoutSeconds, TimeUnit.SECONDS)).whenComplete((_, error) -> {
+            RUNNING.computeIfPresent(playerUuid, (_, flows) -> {
+                flows.remove(flow);
+                return flows.isEmpty() ? null : flows;
+            });
+            if (error != null) {
+                flow.cancelled = true;
+                report(playerRef, error);
+            }
+        });
+    }
+
+    /**
+     * Sets how long the stages may take in total before the command gives up.
+     */
+    protected void setTimeoutSeconds(long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Sets the reply for unexpected errors, e.g. "Failed to send mail."
+     */
+    protected void setFailureMessage(@Nonnull String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    private void report(@Nonnull PlayerRef playerRef, @Nonnull Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return;
+        }
+        if (cause instanceof Failure failure) {
+            Msg.fail(playerRef, failure.getMessage());
+            return;
+        }
+        if (cause instanceof TimeoutException) {
+            Log.warning(getStatsPath() + " timed out after " + timeoutSeconds + "s for " + playerRef.getUsername());
+            Msg.fail(playerRef, "That took too long. Please try again.");
+            return;
+        }
+        Log.error(getStatsPath() + " failed for " + playerRef.getUsername() + ": " + cause);
+        Msg.fail(playerRef, failureMessage);
+    }
+
+    /**
+     * Cancels a player's running commands when they disconnect.
+     */
+    public static void onPlayerQuit(@Nonnull UUID playerUuid) {
+        Set<Flow> flows = RUNNING.remove(playerUuid);
+        if (flows != null) {
+            for (Flow flow : flows) {
+                flow.cancel();
+            }
+        }
+    }
+
+    /**
+     * Thrown from a stage to stop the command and tell the player why.
+     */
+    public static class Failure extends RuntimeException {
+        public Failure(@Nonnull String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * One run of a command: the player it runs for, and where its stages start.
+     */
+    public static final class Flow {
+        private final Store<EntityStore> store;
+        private final Ref<EntityStore> ref;
+        private final PlayerRef playerRef;
+        private final World world;
+        private final Executor executor;
+        private volatile boolean cancelled;
+        private volatile CompletableFuture<?> last;
+
+        private Flow(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+                     @Nonnull PlayerRef playerRef, @Nonnull World world, @Nonnull Executor executor) {
+            this.store = store;
+            this.ref = ref;
+            this.playerRef = playerRef;
+            this.world = world;
+            this.executor = executor;
+        }
+
+        @Nonnull
+        public Store<EntityStore> getStore() {
+            return store;
+        }
+
+        @Nonnull
+        public Ref<EntityStore> getRef() {
+            return ref;
+        }
+
+        @Nonnull
+        public PlayerRef getPlayerRef() {
+            return playerRef;
+        }
+
+        @Nonnull
+        public World getWorld() {
+            return world;
+        }
+
+        /**
+         * Starts with work on the plugin's I/O executor.
+         */
+        @Nonnull
+        public <T> Stage<T> offThread(@Nonnull Supplier<T> work) {
+            return new Stage<>(this, CompletableFuture.supplyAsync(() -> {
+                ensureActive();
+                return work.get();
+            }, executor));
+        }
+
+        /**
+         * Starts with work that is already running elsewhere (e.g., async chunk loads or a manager's I/O).
+         */
+        @Nonnull
+        public <T> Stage<T> await(@Nonnull CompletableFuture<T> future) {
+            return new Stage<>(this, future);
+        }
+
+        private void ensureActive() {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            CompletableFuture<?> current = last;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * A step of a command's work. Each method adds a step that runs after this one succeeds.
+     */
+    public static final class Stage<T> {
+        private final Flow flow;
+        private final CompletableFuture<T> future;
+
+        private Stage(@Nonnull Flow flow, @Nonnull CompletableFuture<T> future) {
+            this.flow = flow;
+            this.future = future;
+        }
+
+        /**
+         * Runs the next step on the plugin's I/O executor.
+         */
+        @Nonnull
+        public <U> Stage<U> thenOffThread(@Nonnull Function<? super T, ? extends U> work) {
+            return new Stage<>(flow, future.thenApplyAsync(value -> {
+                flow.ensureActive();
+                return work.apply(value);
+            }, flow.executor));
+        }
+
+        /**
+         * Starts more async work and waits for it.
+         */
+        @Nonnull
+        public <U> Stage<U> thenAwait(@Nonnull Function<? super T, CompletableFuture<U>> work) {
+            return new Stage<>(flow, future.thenCompose(value -> {
+                flow.ensureActive();
+                return work.apply(value);
+            }));
+        }
+
+        /**
+         * Runs the next step on the player's world thread, if the player is still in that world.
+         */
+        @Nonnull
+        public <U> Stage<U> thenOnWorld(@Nonnull Function<? super T, ? extends U> work) {
+            return new Stage<>(flow, future.thenApplyAsync(value -> {
+                flow.ensureActive();
+                if (!flow.ref.isValid()) {
+                    throw new CancellationException();
+                }
+                return work.apply(value);
+            }, flow.world::execute));
+        }
+
+        /**
+         * Runs the last step on the player's world thread, if the player is still in that world.
+         */
+        @Nonnull
+        public Stage<Void> thenRunOnWorld(@Nonnull Consumer<? super T> work) {
+            return thenOnWorld(value -> {
+                work.accept(value);
+                return null;
+            });
+        }
+
+        /**
+         * Runs a quick last step (e.g., replies) on whichever thread finished this one.
+         */
+        @Nonnull
+        public Stage<Void> thenAccept(@Nonnull Consumer<? super T> work) {
+            return new Stage<>(flow, future.thenApply(value -> {
+                flow.ensureActive();
+                work.accept(value);
+                return null;
+            }));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nhulston.essentials.commands;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A command whose latency is recorded under its full path, e.g. "/essentials stats".
+ * Parents link their subcommands and usage variants when they are added.
+ */
+interface Timed {
+    @Nonnull
+    String getStatsPath();
+
+    void setStatsParent(@Nullable Timed parent);
+}
@@ -0,0 +1,72 @@
+package com.nhulston.essentials.commands;
+
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.nhulston.essentials.util.CommandMetrics;
+import com.nhulston.essentials.util.TraceRecorder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for non-player commands that records their latency in CommandMetrics.
+ * Subclasses implement run() instead of execute(). The returned future is timed as the async phase.
+ */
+public abstract class TimedCommand extends AbstractCommand implements Timed {
+    private final String commandName;
+    private Timed parent;
+    private CommandMetrics.Stats stats;
+
+    protected TimedCommand(@Nonnull String name, @Nonnull String description) {
+        super(name, description);
+        this.commandName = name;
+    }
+
+    @Override
+    protected final CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+        CommandMetrics.Stats commandStats = getStats();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            CompletableFuture<Void> result = run(context);
+            failed = false;
+            return result.isDone() ? result : commandStats.trackAsync(result);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            commandStats.recordSync(elapsed, failed);
+            TraceRecorder.command(null, getStatsPath(), elapsed, failed);
+        }
+    }
+
+    protected abstract CompletableFuture<Void> run(@Nonnull CommandContext context);
+
+    @Override
+    public void addSubCommand(@Nonnull AbstractCommand command) {
+        super.addSubCommand(command);
+        if (command instanceof Timed timed) {
+            timed.setStatsParent(this);
+        }
+    }
+
+    @Nonnull
+    private CommandMetrics.Stats getStats() {
+        CommandMetrics.Stats resolved = stats;
+        if (resolved == null) {
+            resolved = CommandMetrics.get(getStatsPath());
+            stats = resolved;
+        }
+        return resolved;
+    }
+
+    @Nonnull
+    @Override
+    public String getStatsPath() {
+        return parent != null ? parent.getStatsPath() + " " + commandName : "/" + commandName;
+    }
+
+    @Override
+    public void setStatsParent(@Nullable Timed parent) {
+        this.parent = parent;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nhulston.essentials.commands;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.util.CommandMetrics;
+import com.nhulston.essentials.util.TraceRecorder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for Essentials player commands that records their latency in CommandMetrics.
+ * Subclasses implement run() instead of execute(); its time on the world thread is the sync phase.
+ * Work handed off to another thread can be passed through trackAsync() to time the async phase.
+ * Runs are also recorded to the trace while /essentials trace is on.
+ */
+public abstract class TimedPlayerCommand extends AbstractPlayerCommand implements Timed {
+    private final String commandName;   // null for usage variants, which share their parent's path
+    private Timed parent;
+    private CommandMetrics.Stats stats;
+
+    protected TimedPlayerCommand(@Nonnull String name, @Nonnull String description) {
+        super(name, description);
+        this.commandName = name;
+    }
+
+    /**
+     * Creates a usage variant (e.g., /home with a name argument).
+     */
+    protected TimedPlayerCommand(@Nonnull String description) {
+        super(description);
+        this.commandName = null;
+    }
+
+    @Override
+    protected final void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                                 @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        CommandMetrics.Stats commandStats = getStats();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            run(context, store, ref, playerRef, world);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            commandStats.recordSync(elapsed, failed);
+            TraceRecorder.command(playerRef.getUuid(), getStatsPath(), elapsed, failed);
+        }
+    }
+
+    protected abstract void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                                @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world);
+
+    /**
+     * Times work this command handed off, from now until the future completes.
+     */
+    @Nonnull
+    protected <T> CompletableFuture<T> trackAsync(@Nonnull CompletableFuture<T> future) {
+        return getStats().trackAsync(future);
+    }
+
+    @Override
+    public void addSubCommand(@Nonnull AbstractCommand command) {
+        super.addSubCommand(command);
+        if (command instanceof Timed timed) {
+            timed.setStatsParent(this);
+        }
+    }
+
+    @Override
+    public void addUsageVariant(@Nonnull AbstractCommand command) {
+        super.addUsageVariant(command);
+        if (command instanceof Timed timed) {
+            timed.setStatsParent(this);
+        }
+    }
+
+    @Nonnull
+    private CommandMetrics.Stats getStats() {
+        CommandMetrics.Stats resolved = stats;
+        if (resolved == null) {
+            resolved = CommandMetrics.get(getStatsPath());
+            stats = resolved;
+        }
+        return resolved;
+    }
+
+    @Nonnull
+    @Override
+    public String getStatsPath() {
+        if (parent == null) {
+            return "/" + (commandName != null ? commandName : "?");
+        }
+        return commandName != null ? parent.getStatsPath() + " " + commandName : parent.getStatsPath();
+    }
+
+    @Override
+    public void setStatsParent(@Nullable Timed parent) {
+        this.parent = parent;
+    }
+}
@@ -4,55 +4,130 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.BackManager;
 import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.models.BackHistory;
+import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
- * Command to teleport back to the player's last death location.
- * Usage: /back
+ * Command to teleport back to where the player was before a teleport or death.
+ * Going back is a teleport too, so /back again returns to where the player used it.
+ * Usage: /back - Teleports to the most recent location
+ * Usage: /back <number> - Teleports to an older location, 1 being the most recent
+ * Usage: /back list - Lists the remembered locations
  */
-public class BackCommand extends AbstractPlayerCommand {
+public class BackCommand extends TimedPlayerCommand {
     private final BackManager backManager;
     private final TeleportManager teleportManager;
 
     public BackCommand(@Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager) {
-        super("back", "Teleport to your last death location");
+        super("back", "Teleport to where you were before your last teleport or death");
         this.backManager = backManager;
         this.teleportManager = teleportManager;
 
         requirePermission("essentials.back");
+        addUsageVariant(new BackNumberCommand(backManager, teleportManager));
+        addSubCommand(new BackListCommand(backManager));
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
-        java.util.UUID playerUuid = playerRef.getUuid();
-        BackManager.DeathLocation deathLocation = backManager.getDeathLocation(playerUuid);
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        teleportBack(context, store, ref, playerRef, backManager, teleportManager, 1);
+    }
 
-        if (deathLocation == null) {
-            Msg.fail(context, "You have no death location to return to.");
+    private static void teleportBack(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                                     @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef,
+                                     @Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager,
+                                     int number) {
+        BackHistory.Entry location = backManager.getLocation(playerRef.getUuid(), number);
+        if (location == null) {
+            Msg.fail(context, number == 1
+                    ? "You have no previous location to return to."
+                    : "You don't have a previous location #" + number + ". Use /back list to see them.");
             return;
         }
 
+        String message = location.cause() == BackHistory.Cause.DEATH
+                ? "Teleported to your death location."
+                : "Teleported back.";
         Vector3d startPosition = playerRef.getTransform().getPosition();
 
         teleportManager.queueTeleport(
             playerRef, ref, store, startPosition,
-            deathLocation.getWorldName(),
-            deathLocation.getX(),
-            deathLocation.getY(),
-            deathLocation.getZ(),
-            deathLocation.getYaw(),
-            deathLocation.getPitch(),
-            "Teleported to your last death location.",
-            () -> backManager.clearDeathLocation(playerUuid)
+            location.world(),
+            location.x(),
+            location.y(),
+            location.z(),
+            location.yaw(),
+            location.pitch(),
+            message
         );
     }
+
+    private static class BackNumberCommand extends TimedPlayerCommand {
+        private final BackManager backManager;
+        private final TeleportManager teleportManager;
+        private final RequiredArg<String> numberArg;
+
+        BackNumberCommand(@Nonnull BackManager backManager, @Nonnull TeleportManager teleportManager) {
+            super("Teleport to an older previous location");
+            this.backManager = backManager;
+            this.teleportManager = teleportManager;
+            this.numberArg = withRequiredArg("number", "Location number from /back list", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            int number;
+            try {
+                number = Integer.parseInt(context.get(numberArg));
+            } catch (NumberFormatException e) {
+                Msg.fail(context, "Usage: /back [number] or /back list");
+                return;
+            }
+
+            teleportBack(context, store, ref, playerRef, backManager, teleportManager, number);
+        }
+    }
+
+    private static class BackListCommand extends TimedPlayerCommand {
+        private final BackManager backManager;
+
+        BackListCommand(@Nonnull BackManager backManager) {
+            super("list", "List your previous locations");
+            this.backManager = backManager;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            List<BackHistory.Entry> locations = backManager.getLocations(playerRef.getUuid());
+            if (locations.isEmpty()) {
+                Msg.fail(context, "You have no previous locations.");
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < locations.size(); i++) {
+                BackHistory.Entry location = locations.get(i);
+                String cause = location.cause() == BackHistory.Cause.DEATH ? "Died" : "Teleported from";
+                String ago = CooldownUtil.formatCooldown(Math.max(1, (now - location.time()) / 1000));
+                Msg.prefix(context, "#" + (i + 1), cause + " " + location.world() + " at "
+                        + Math.round(location.x()) + ", " + Math.round(location.y()) + ", " + Math.round(location.z())
+                        + " (" + ago + " ago)");
+            }
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.nhulston.essentials.commands.channel;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.models.ChatChannel;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Command to manage chat channels.
+ * Usage: /channel - Lists channels
+ * Usage: /channel <name> - Talk in a channel (joins it if needed)
+ * Usage: /channel join <name> - Join a channel without talking in it
+ * Usage: /channel leave <name> - Leave a channel
+ * Aliases: /ch
+ */
+public class ChannelCommand extends TimedPlayerCommand {
+    private final ChannelManager channelManager;
+
+    public ChannelCommand(@Nonnull ChannelManager channelManager) {
+        super("channel", "Switch or list chat channels");
+        this.channelManager = channelManager;
+
+        addAliases("ch");
+        requirePermission("essentials.channel");
+        addUsageVariant(new ChannelSwitchCommand(channelManager));
+        addSubCommand(new ChannelJoinCommand(channelManager));
+        addSubCommand(new ChannelLeaveCommand(channelManager));
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        if (!channelManager.isEnabled()) {
+            Msg.fail(context, "Chat channels are disabled.");
+            return;
+        }
+
+        UUID uuid = playerRef.getUuid();
+        ChatChannel speaking = channelManager.getSpeakingChannel(uuid);
+
+        List<String> joined = new ArrayList<>();
+        List<String> available = new ArrayList<>();
+        for (ChatChannel channel : channelManager.getChannels()) {
+            if (channelManager.isInChannel(uuid, channel)) {
+                joined.add(channel.getId());
+            } else if (channelManager.canJoin(uuid, channel)) {
+                available.add(channel.getId());
+            }
+        }
+
+        Msg.prefix(context, "Talking in", speaking != null ? speaking.getId() : "none");
+        Msg.prefix(context, "Joined", joined.isEmpty() ? "none" : String.join(", ", joined));
+        if (!available.isEmpty()) {
+            Msg.prefix(context, "Available", String.join(", ", available));
+        }
+    }
+
+    private static class ChannelSwitchCommand extends TimedPlayerCommand {
+        private final ChannelManager channelManager;
+        private final RequiredArg<String> nameArg;
+
+        ChannelSwitchCommand(@Nonnull ChannelManager channelManager) {
+            super("Talk in a chat channel");
+            this.channelManager = channelManager;
+            this.nameArg = withRequiredArg("name", "Channel name", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            String error = channelManager.setSpeakingChannel(playerRef.getUuid(), name);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Now talking in " + name.toLowerCase() + ".");
+        }
+    }
+
+    private static class ChannelJoinCommand extends TimedPlayerCommand {
+        private final ChannelManager channelManager;
+        private final RequiredArg<String> nameArg;
+
+        ChannelJoinCommand(@Nonnull ChannelManager channelManager) {
+            super("join", "Join a chat channel");
+            this.channelManager = channelManager;
+            this.nameArg = withRequiredArg("name", "Channel name", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            String error = channelManager.joinChannel(playerRef.getUuid(), name);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Joined " + name.toLowerCase() + ".");
+        }
+    }
+
+    private static class ChannelLeaveCommand extends TimedPlayerCommand {
+        private final ChannelManager channelManager;
+        private final RequiredArg<String> nameArg;
+
+        ChannelLeaveCommand(@Nonnull ChannelManager channelManager) {
+            super("leave", "Leave a chat channel");
+            this.channelManager = channelManager;
+            this.nameArg = withRequiredArg("name", "Channel name", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            String error = channelManager.leaveChannel(playerRef.getUuid(), name);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Left " + name.toLowerCase() + ".");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
+import com.nhulston.essentials.managers.ChatLogManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Subcommand to look up a player's recent chat and private messages.
+ * Usage: /essentials chatlog <player>
+ * Requires: essentials.chatlog permission
+ */
+public class EssentialsChatLogCommand extends AsyncPlayerCommand {
+    private final ChatLogManager chatLogManager;
+    private final RequiredArg<String> playerArg;
+
+    public EssentialsChatLogCommand(@Nonnull ChatLogManager chatLogManager) {
+        super("chatlog", "Show a player's recent chat and private messages");
+        this.chatLogManager = chatLogManager;
+        this.playerArg = withRequiredArg("player", "Player name", ArgTypes.STRING);
+
+        requirePermission("essentials.chatlog");
+        // Older days may need decompressing, which can take a while on busy servers
+        setTimeoutSeconds(30);
+        setFailureMessage("Chat log lookup failed.");
+    }
+
+    @Nonnull
+    @Override
+    protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+        PlayerRef playerRef = flow.getPlayerRef();
+        String playerName = context.get(playerArg);
+        Msg.info(context, "Searching chat logs for " + playerName + "...");
+
+        // Log files can be large, so scan them off the world thread
+        return flow.await(chatLogManager.lookup(playerName)).thenAccept(lines -> {
+            if (lines.isEmpty()) {
+                Msg.fail(playerRef, "No recent messages found for " + playerName + ".");
+                return;
+            }
+            for (String line : lines) {
+                Msg.info(playerRef, line);
+            }
+            long dropped = chatLogManager.getDroppedCount();
+            if (dropped > 0) {
+                Msg.fail(playerRef, dropped + " messages were dropped from the log since startup.");
+            }
+        });
+    }
+}
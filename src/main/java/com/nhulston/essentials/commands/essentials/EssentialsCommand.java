@@ -5,31 +5,55 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.MaybeBool;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.ChatLogManager;
+import com.nhulston.essentials.managers.RateLimitManager;
 
 import javax.annotation.Nonnull;
+import java.nio.file.Path;
 
 /**
  * Main essentials command.
  * Usage: /essentials - Shows version info with clickable link
  * Usage: /essentials reload - Reloads configuration (requires essentials.reload permission)
+ * Usage: /essentials ratelimit - Shows rate limit statistics (requires essentials.ratelimit.stats permission)
+ * Usage: /essentials chatlog <player> - Shows a player's recent messages (requires essentials.chatlog permission)
+ * Usage: /essentials stats - Shows command latency statistics (requires essentials.stats permission)
+ * Usage: /essentials profile - Shows system tick costs when profiling is on (requires essentials.profile permission)
+ * Usage: /essentials trace start|stop - Records a replayable activity trace (requires essentials.trace permission)
  */
-public class EssentialsCommand extends AbstractPlayerCommand {
+public class EssentialsCommand extends TimedPlayerCommand {
     private static final String CURSEFORGE_URL = "https://www.curseforge.com/hytale/mods/essentials-core";
     private static final String GREEN = "#55FF55";
     private static final String GRAY = "#AAAAAA";
 
-    public EssentialsCommand() {
+    public EssentialsCommand(@Nonnull RateLimitManager rateLimitManager, @Nonnull ChatLogManager chatLogManager,
+                             @Nonnull Path dataFolder) {
         super("essentials", "Show EssentialsCore version information");
 
         addAliases("ess");
 
         // Add reload subcommand
         addSubCommand(new EssentialsReloadCommand());
+
+        // Add rate limit statistics subcommand
+        addSubCommand(new EssentialsRateLimitCommand(rateLimitManager));
+
+        // Add chat log lookup subcommand
+        addSubCommand(new EssentialsChatLogCommand(chatLogManager));
+
+        // Add command latency statistics subcommand
+        addSubCommand(new EssentialsStatsCommand());
+
+        // Add system tick profiler subcommand
+        addSubCommand(new EssentialsProfileCommand());
+
+        // Add activity trace recording subcommand
+        addSubCommand(new EssentialsTraceCommand(dataFolder));
     }
 
     @Override
@@ -38,8 +62,8 @@ public class EssentialsCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         Message prefix = Message.raw("Running ").color(GRAY);
         Message versionText = Message.raw("EssentialsCore v" + Essentials.VERSION)
                 .color(GREEN)
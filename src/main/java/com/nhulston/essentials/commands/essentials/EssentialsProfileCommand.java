@@ -0,0 +1,100 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.util.LatencyHistogram;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TickProfiler;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Subcommand to profile how much tick time each Essentials system costs per world.
+ * Profiling is off by default, and only costs a flag check per system call while off.
+ * Usage: /essentials profile - Shows calls, total time and p50/p99/max per system and world
+ * Usage: /essentials profile on - Starts profiling
+ * Usage: /essentials profile off - Stops profiling, keeping the results
+ * Usage: /essentials profile reset - Discards the results
+ * Requires: essentials.profile permission
+ */
+public class EssentialsProfileCommand extends TimedPlayerCommand {
+    public EssentialsProfileCommand() {
+        super("profile", "Show Essentials system tick costs");
+
+        requirePermission("essentials.profile");
+        addSubCommand(new ToggleCommand("on", true));
+        addSubCommand(new ToggleCommand("off", false));
+        addSubCommand(new ResetCommand());
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<TickProfiler.Entry> entries = TickProfiler.getEntries();
+        if (entries.isEmpty()) {
+            Msg.info(context, TickProfiler.isEnabled()
+                    ? "Profiling is on, but no systems have run yet."
+                    : "Profiling is off. Start it with /essentials profile on.");
+            return;
+        }
+
+        Msg.info(context, "Profiling is " + (TickProfiler.isEnabled() ? "on" : "off")
+                + ". Last " + TickProfiler.WINDOW_SECONDS + "s, then totals since reset:");
+        for (TickProfiler.Entry entry : entries) {
+            LatencyHistogram recent = entry.window().getRecent();
+            String text = recent.getCount() + " calls, " + formatMillis(recent.getTotalNanos()) + " total"
+                    + ", p50 " + formatMillis(recent.getPercentileNanos(0.5))
+                    + ", p99 " + formatMillis(recent.getPercentileNanos(0.99))
+                    + ", max " + formatMillis(recent.getMaxNanos())
+                    + "; " + entry.window().getLifetimeCalls() + " calls, "
+                    + formatMillis(entry.window().getLifetimeNanos()) + " total";
+            Msg.prefix(context, entry.system() + " (" + entry.world() + ")", text);
+        }
+    }
+
+    @Nonnull
+    private static String formatMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static class ToggleCommand extends TimedPlayerCommand {
+        private final boolean enable;
+
+        ToggleCommand(@Nonnull String name, boolean enable) {
+            super(name, enable ? "Start profiling Essentials systems" : "Stop profiling Essentials systems");
+            this.enable = enable;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            if (TickProfiler.isEnabled() == enable) {
+                Msg.fail(context, "Profiling is already " + (enable ? "on." : "off."));
+                return;
+            }
+            TickProfiler.setEnabled(enable);
+            Msg.success(context, enable
+                    ? "Profiling started. View results with /essentials profile."
+                    : "Profiling stopped. Results are kept until /essentials profile reset.");
+        }
+    }
+
+    private static class ResetCommand extends TimedPlayerCommand {
+        ResetCommand() {
+            super("reset", "Reset profiling results");
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            TickProfiler.reset();
+            Msg.success(context, "Profiling results reset.");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.RateLimitManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Subcommand to show rate limiter counters, for tuning limits during a spam attack.
+ * Usage: /essentials ratelimit - Shows allowed/rejected counts per bucket
+ * Usage: /essentials ratelimit reset - Resets the counters
+ * Requires: essentials.ratelimit.stats permission
+ */
+public class EssentialsRateLimitCommand extends TimedPlayerCommand {
+    private final RateLimitManager rateLimitManager;
+
+    public EssentialsRateLimitCommand(@Nonnull RateLimitManager rateLimitManager) {
+        super("ratelimit", "Show chat and command rate limit statistics");
+        this.rateLimitManager = rateLimitManager;
+
+        requirePermission("essentials.ratelimit.stats");
+        addSubCommand(new ResetCommand(rateLimitManager));
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        for (RateLimitManager.Bucket bucket : RateLimitManager.Bucket.values()) {
+            long allowed = rateLimitManager.getAllowedCount(bucket);
+            long rejected = rateLimitManager.getRejectedCount(bucket);
+            long total = allowed + rejected;
+            String rejectRate = total > 0 ? String.format("%.1f%%", rejected * 100.0 / total) : "0%";
+            Msg.prefix(context, bucket.getConfigKey(),
+                    allowed + " allowed, " + rejected + " rejected (" + rejectRate + ")");
+        }
+        Msg.prefix(context, "Mutes", rateLimitManager.getMutesIssued() + " issued, "
+                + rateLimitManager.getMutedPlayerCount() + " active");
+    }
+
+    private static class ResetCommand extends TimedPlayerCommand {
+        private final RateLimitManager rateLimitManager;
+
+        ResetCommand(@Nonnull RateLimitManager rateLimitManager) {
+            super("reset", "Reset rate limit statistics");
+            this.rateLimitManager = rateLimitManager;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            rateLimitManager.resetCounters();
+            Msg.success(context, "Rate limit statistics reset.");
+        }
+    }
+}
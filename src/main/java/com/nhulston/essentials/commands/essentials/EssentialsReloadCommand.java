@@ -3,11 +3,11 @@ package com.nhulston.essentials.commands.essentials;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.Essentials;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -17,7 +17,7 @@ import javax.annotation.Nonnull;
  * Usage: /essentials reload
  * Requires: essentials.reload permission
  */
-public class EssentialsReloadCommand extends AbstractPlayerCommand {
+public class EssentialsReloadCommand extends TimedPlayerCommand {
 
     public EssentialsReloadCommand() {
         super("reload", "Reload EssentialsCore configuration");
@@ -26,8 +26,8 @@ public class EssentialsReloadCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         Essentials.getInstance().reloadConfigs();
         Msg.success(context, "Configuration reloaded.");
     }
@@ -0,0 +1,121 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.util.CommandMetrics;
+import com.nhulston.essentials.util.LatencyHistogram;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Subcommand to show how long each command takes, for finding slow commands on a busy server.
+ * Usage: /essentials stats - Shows p50/p99/max latency, run counts and error rates per command
+ * Usage: /essentials stats tasks - Shows queue wait and run time per background task
+ * Usage: /essentials stats reset - Resets the statistics
+ * Requires: essentials.stats permission
+ */
+public class EssentialsStatsCommand extends TimedPlayerCommand {
+    private static final int MAX_SHOWN = 20;
+
+    public EssentialsStatsCommand() {
+        super("stats", "Show command latency statistics");
+
+        requirePermission("essentials.stats");
+        addSubCommand(new TasksCommand());
+        addSubCommand(new ResetCommand());
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<CommandMetrics.Stats> used = CommandMetrics.getUsed();
+        if (used.isEmpty()) {
+            Msg.info(context, "No commands have run since the statistics were reset.");
+            return;
+        }
+
+        for (int i = 0; i < Math.min(used.size(), MAX_SHOWN); i++) {
+            CommandMetrics.Stats stats = used.get(i);
+            String text = describe(stats.getSync(), stats.getSyncErrors(), "runs");
+            if (stats.getAsync().getCount() > 0) {
+                text += "; async " + describe(stats.getAsync(), stats.getAsyncErrors(), "tasks");
+            }
+            Msg.prefix(context, stats.getCommand(), text);
+        }
+        if (used.size() > MAX_SHOWN) {
+            Msg.info(context, (used.size() - MAX_SHOWN) + " less used commands not shown.");
+        }
+    }
+
+    @Nonnull
+    private static String describe(@Nonnull LatencyHistogram histogram, long errors, @Nonnull String unit) {
+        long count = histogram.getCount();
+        String errorRate = count > 0 ? String.format("%.1f%%", errors * 100.0 / count) : "0%";
+        return count + " " + unit
+                + ", p50 " + formatMillis(histogram.getPercentileNanos(0.5))
+                + ", p99 " + formatMillis(histogram.getPercentileNanos(0.99))
+                + ", max " + formatMillis(histogram.getMaxNanos())
+                + ", " + errorRate + " errors";
+    }
+
+    @Nonnull
+    private static String formatMillis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    private static class TasksCommand extends TimedPlayerCommand {
+        TasksCommand() {
+            super("tasks", "Show background task statistics");
+            requirePermission("essentials.stats.tasks");
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            List<Tasks.Stats> used = Tasks.getUsed();
+            if (used.isEmpty()) {
+                Msg.info(context, "No background tasks have run since the statistics were reset.");
+                return;
+            }
+
+            for (int i = 0; i < Math.min(used.size(), MAX_SHOWN); i++) {
+                Tasks.Stats stats = used.get(i);
+                LatencyHistogram wait = stats.getWait();
+                String text = stats.getPool().name().toLowerCase() + ", "
+                        + describe(stats.getRun(), stats.getFailed(), "runs")
+                        + "; waited p50 " + formatMillis(wait.getPercentileNanos(0.5))
+                        + ", p99 " + formatMillis(wait.getPercentileNanos(0.99));
+                if (stats.getRejected() > 0) {
+                    text += "; " + stats.getRejected() + " rejected";
+                }
+                Msg.prefix(context, stats.getTask(), text);
+            }
+            if (used.size() > MAX_SHOWN) {
+                Msg.info(context, (used.size() - MAX_SHOWN) + " less used tasks not shown.");
+            }
+        }
+    }
+
+    private static class ResetCommand extends TimedPlayerCommand {
+        ResetCommand() {
+            super("reset", "Reset command latency statistics");
+            requirePermission("essentials.stats.reset");
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            CommandMetrics.reset();
+            Tasks.reset();
+            Msg.success(context, "Command and task statistics reset.");
+        }
+    }
+}
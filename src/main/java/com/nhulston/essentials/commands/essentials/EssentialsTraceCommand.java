@@ -0,0 +1,83 @@
+package com.nhulston.essentials.commands.essentials;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TraceRecorder;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+
+/**
+ * Subcommand to record a trace of player activity for offline replay with the load test harness.
+ * Traces are written to the traces folder and contain no UUIDs, names or chat text.
+ * Usage: /essentials trace - Shows whether a trace is recording
+ * Usage: /essentials trace start - Starts recording a new trace
+ * Usage: /essentials trace stop - Stops recording and finishes the file
+ * Requires: essentials.trace permission
+ */
+public class EssentialsTraceCommand extends TimedPlayerCommand {
+    public EssentialsTraceCommand(@Nonnull Path dataFolder) {
+        super("trace", "Record player activity for offline replay");
+
+        requirePermission("essentials.trace");
+        addSubCommand(new StartCommand(dataFolder.resolve("traces")));
+        addSubCommand(new StopCommand());
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        TraceRecorder.Session session = TraceRecorder.getSession();
+        if (session == null) {
+            Msg.info(context, "No trace is recording. Start one with /essentials trace start.");
+            return;
+        }
+        Msg.info(context, "Recording " + session.getFile().getFileName() + " for " + session.getElapsedSeconds()
+                + "s: " + session.getRecordCount() + " records, " + session.getPlayerCount() + " players, "
+                + session.getDroppedCount() + " dropped.");
+    }
+
+    private static class StartCommand extends TimedPlayerCommand {
+        private final Path traceFolder;
+
+        StartCommand(@Nonnull Path traceFolder) {
+            super("start", "Start recording a trace");
+            this.traceFolder = traceFolder;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String error = TraceRecorder.start(traceFolder);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Trace started. Stop it with /essentials trace stop.");
+        }
+    }
+
+    private static class StopCommand extends TimedPlayerCommand {
+        StopCommand() {
+            super("stop", "Stop recording the trace");
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            TraceRecorder.Session session = TraceRecorder.stop();
+            if (session == null) {
+                Msg.fail(context, "No trace is recording.");
+                return;
+            }
+            Msg.success(context, "Trace saved to traces/" + session.getFile().getFileName() + " ("
+                    + session.getRecordCount() + " records, " + session.getDroppedCount() + " dropped).");
+        }
+    }
+}
@@ -4,10 +4,10 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.camera.SetFlyCameraMode;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -19,7 +19,7 @@ import java.util.UUID;
  * Command to toggle freecam mode (fly around freely, return to original position when disabled).
  * Usage: /freecam
  */
-public class FreecamCommand extends AbstractPlayerCommand {
+public class FreecamCommand extends TimedPlayerCommand {
     // Track players with freecam enabled
     private static final Set<UUID> freecamPlayers = new HashSet<>();
 
@@ -29,8 +29,8 @@ public class FreecamCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         UUID uuid = playerRef.getUuid();
         boolean enabling = !freecamPlayers.contains(uuid);
 
@@ -3,11 +3,11 @@ package com.nhulston.essentials.commands.god;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.modules.entity.component.Invulnerable;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -16,7 +16,7 @@ import javax.annotation.Nonnull;
  * Command to toggle god mode (invincibility).
  * Usage: /god
  */
-public class GodCommand extends AbstractPlayerCommand {
+public class GodCommand extends TimedPlayerCommand {
 
     public GodCommand() {
         super("god", "Toggle god mode (invincibility)");
@@ -24,8 +24,8 @@ public class GodCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Check if player already has Invulnerable component
         Invulnerable current = store.getComponent(ref, Invulnerable.getComponentType());
         
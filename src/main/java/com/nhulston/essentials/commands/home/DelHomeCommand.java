@@ -5,16 +5,16 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.HomeManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
 
-public class DelHomeCommand extends AbstractPlayerCommand {
+public class DelHomeCommand extends TimedPlayerCommand {
     private final HomeManager homeManager;
     private final RequiredArg<String> nameArg;
 
@@ -27,8 +27,8 @@ public class DelHomeCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         String homeName = context.get(nameArg);
 
         boolean deleted = homeManager.deleteHome(playerRef.getUuid(), homeName);
@@ -1,25 +1,22 @@
 package com.nhulston.essentials.commands.home;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
 import com.nhulston.essentials.managers.HomeManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.models.Home;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.UUID;
 
-public class HomeCommand extends AbstractPlayerCommand {
+public class HomeCommand extends AsyncPlayerCommand {
     private final HomeManager homeManager;
     private final TeleportManager teleportManager;
 
@@ -33,12 +30,21 @@ public class HomeCommand extends AbstractPlayerCommand {
         addUsageVariant(new HomeNamedCommand(homeManager, teleportManager));
     }
 
+    @Nullable
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World currentWorld) {
-        UUID playerUuid = playerRef.getUuid();
-        Map<String, Home> homes = homeManager.getHomes(playerUuid);
+    protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+        UUID playerUuid = flow.getPlayerRef().getUuid();
+        if (homeManager.isLoaded(playerUuid)) {
+            listOrTeleport(context, flow, homeManager.getHomes(playerUuid));
+            return null;
+        }
+
+        // First use since joining reads the player's file, so load it off the world thread
+        return flow.offThread(() -> homeManager.getHomes(playerUuid))
+                .thenRunOnWorld(homes -> listOrTeleport(context, flow, homes));
+    }
 
+    private void listOrTeleport(@Nonnull CommandContext context, @Nonnull Flow flow, @Nonnull Map<String, Home> homes) {
         if (homes.isEmpty()) {
             Msg.fail(context, "You don't have any homes set. Use /sethome to set one.");
             return;
@@ -46,32 +52,30 @@ public class HomeCommand extends AbstractPlayerCommand {
 
         if (homes.size() == 1) {
             String homeName = homes.keySet().iterator().next();
-            doTeleportToHome(context, store, ref, playerRef, homeName, homeManager, teleportManager);
+            doTeleportToHome(context, flow, homeName, homes.get(homeName), teleportManager);
         } else {
             Msg.prefix(context, "Homes", String.join(", ", homes.keySet()));
         }
     }
 
-    static void doTeleportToHome(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                                 @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef,
-                                 @Nonnull String homeName, @Nonnull HomeManager homeManager,
-                                 @Nonnull TeleportManager teleportManager) {
-        Home home = homeManager.getHome(playerRef.getUuid(), homeName);
+    private static void doTeleportToHome(@Nonnull CommandContext context, @Nonnull Flow flow, @Nonnull String homeName,
+                                 @Nullable Home home, @Nonnull TeleportManager teleportManager) {
         if (home == null) {
             Msg.fail(context, "Home '" + homeName + "' not found.");
             return;
         }
 
+        PlayerRef playerRef = flow.getPlayerRef();
         Vector3d startPosition = playerRef.getTransform().getPosition();
         
         teleportManager.queueTeleport(
-            playerRef, ref, store, startPosition,
+            playerRef, flow.getRef(), flow.getStore(), startPosition,
             home.getWorld(), home.getX(), home.getY(), home.getZ(), home.getYaw(), home.getPitch(),
             "Teleported to home '" + homeName + "'."
         );
     }
 
-    private static class HomeNamedCommand extends AbstractPlayerCommand {
+    private static class HomeNamedCommand extends AsyncPlayerCommand {
         private final HomeManager homeManager;
         private final TeleportManager teleportManager;
         private final RequiredArg<String> nameArg;
@@ -83,11 +87,18 @@ public class HomeCommand extends AbstractPlayerCommand {
             this.nameArg = withRequiredArg("name", "Home name", ArgTypes.STRING);
         }
 
+        @Nullable
         @Override
-        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
             String homeName = context.get(nameArg);
-            doTeleportToHome(context, store, ref, playerRef, homeName, homeManager, teleportManager);
+            UUID playerUuid = flow.getPlayerRef().getUuid();
+            if (homeManager.isLoaded(playerUuid)) {
+                doTeleportToHome(context, flow, homeName, homeManager.getHome(playerUuid, homeName), teleportManager);
+                return null;
+            }
+
+            return flow.offThread(() -> homeManager.getHome(playerUuid, homeName))
+                    .thenRunOnWorld(home -> doTeleportToHome(context, flow, homeName, home, teleportManager));
         }
     }
 }
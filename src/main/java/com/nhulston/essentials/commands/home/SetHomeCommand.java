@@ -7,18 +7,18 @@ import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.HomeManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
 
-public class SetHomeCommand extends AbstractPlayerCommand {
+public class SetHomeCommand extends TimedPlayerCommand {
     private final HomeManager homeManager;
 
     public SetHomeCommand(@Nonnull HomeManager homeManager) {
@@ -30,8 +30,8 @@ public class SetHomeCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // /sethome (no args) - use default name
         doSetHome(context, store, ref, playerRef, world, homeManager.getDefaultHomeName(), homeManager);
     }
@@ -69,7 +69,7 @@ public class SetHomeCommand extends AbstractPlayerCommand {
     }
 
     // Inner class for /sethome <name> variant
-    private static class SetHomeNamedCommand extends AbstractPlayerCommand {
+    private static class SetHomeNamedCommand extends TimedPlayerCommand {
         private final HomeManager homeManager;
         private final RequiredArg<String> nameArg;
 
@@ -80,8 +80,8 @@ public class SetHomeCommand extends AbstractPlayerCommand {
         }
 
         @Override
-        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
             String homeName = context.get(nameArg);
             doSetHome(context, store, ref, playerRef, world, homeName, homeManager);
         }
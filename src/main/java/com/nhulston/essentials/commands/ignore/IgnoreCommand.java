@@ -0,0 +1,76 @@
+package com.nhulston.essentials.commands.ignore;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Command to ignore chat and private messages from a player.
+ * Usage: /ignore - Lists ignored players
+ * Usage: /ignore <player> - Ignores a player
+ */
+public class IgnoreCommand extends TimedPlayerCommand {
+    private final IgnoreManager ignoreManager;
+
+    public IgnoreCommand(@Nonnull IgnoreManager ignoreManager) {
+        super("ignore", "Ignore messages from a player");
+        this.ignoreManager = ignoreManager;
+
+        requirePermission("essentials.ignore");
+        addUsageVariant(new IgnorePlayerCommand(ignoreManager));
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<String> ignored = ignoreManager.getIgnoredNames(playerRef.getUuid());
+
+        if (ignored.isEmpty()) {
+            Msg.fail(context, "You are not ignoring anyone.");
+            return;
+        }
+
+        Msg.prefix(context, "Ignored", String.join(", ", ignored));
+    }
+
+    private static class IgnorePlayerCommand extends TimedPlayerCommand {
+        private final IgnoreManager ignoreManager;
+        private final RequiredArg<PlayerRef> targetArg;
+
+        IgnorePlayerCommand(@Nonnull IgnoreManager ignoreManager) {
+            super("Ignore a player");
+            this.ignoreManager = ignoreManager;
+            this.targetArg = withRequiredArg("player", "Player to ignore", ArgTypes.PLAYER_REF);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            PlayerRef target = context.get(targetArg);
+
+            if (target == null) {
+                Msg.fail(context, "Player not found.");
+                return;
+            }
+
+            String error = ignoreManager.ignore(playerRef, target);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+
+            Msg.success(context, "You are now ignoring " + target.getUsername() + ".");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nhulston.essentials.commands.ignore;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Command to stop ignoring a player. Works for offline players.
+ * Usage: /unignore <player>
+ */
+public class UnignoreCommand extends TimedPlayerCommand {
+    private final IgnoreManager ignoreManager;
+    private final RequiredArg<String> nameArg;
+
+    public UnignoreCommand(@Nonnull IgnoreManager ignoreManager) {
+        super("unignore", "Stop ignoring a player");
+        this.ignoreManager = ignoreManager;
+        this.nameArg = withRequiredArg("player", "Player to stop ignoring", ArgTypes.STRING);
+
+        requirePermission("essentials.ignore");
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        String name = context.get(nameArg);
+        String removed = ignoreManager.unignore(playerRef.getUuid(), name);
+
+        if (removed == null) {
+            Msg.fail(context, "You are not ignoring '" + name + "'.");
+            return;
+        }
+
+        Msg.success(context, "You are no longer ignoring " + removed + ".");
+    }
+}
@@ -3,11 +3,11 @@ package com.nhulston.essentials.commands.kit;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.gui.KitPage;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.util.Msg;
@@ -20,7 +20,7 @@ import javax.annotation.Nonnull;
  * Usage: /kit create <name> - Creates a kit from current inventory
  * Usage: /kit delete <name> - Deletes a kit
  */
-public class KitCommand extends AbstractPlayerCommand {
+public class KitCommand extends TimedPlayerCommand {
     private final KitManager kitManager;
 
     public KitCommand(@Nonnull KitManager kitManager) {
@@ -36,8 +36,8 @@ public class KitCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Get the Player component to access PageManager
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
@@ -1,23 +1,20 @@
 package com.nhulston.essentials.commands.kit;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.models.KitItem;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,7 +22,7 @@ import java.util.List;
  * Subcommand to create a kit from the player's current inventory.
  * Usage: /kit create <name>
  */
-public class KitCreateCommand extends AbstractPlayerCommand {
+public class KitCreateCommand extends AsyncPlayerCommand {
     private final KitManager kitManager;
     private final RequiredArg<String> nameArg;
 
@@ -37,40 +34,40 @@ public class KitCreateCommand extends AbstractPlayerCommand {
         this.nameArg = withRequiredArg("name", "Kit name", ArgTypes.STRING);
     }
 
+    @Nullable
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
         String kitName = context.get(nameArg);
 
         // Validate kit name
         if (!kitName.matches("^[a-zA-Z0-9_-]+$")) {
             Msg.fail(context, "Kit name can only contain letters, numbers, underscores, and hyphens.");
-            return;
+            return null;
         }
 
         // Prevent reserved names
         if (kitName.equalsIgnoreCase("create") || kitName.equalsIgnoreCase("delete")) {
             Msg.fail(context, "Cannot create a kit named '" + kitName + "'. This is a reserved command.");
-            return;
+            return null;
         }
 
         // Check if kit already exists
         if (kitManager.getKit(kitName) != null) {
             Msg.fail(context, "A kit named '" + kitName + "' already exists.");
-            return;
+            return null;
         }
 
         // Get player's inventory
-        Player player = store.getComponent(ref, Player.getComponentType());
+        Player player = flow.getStore().getComponent(flow.getRef(), Player.getComponentType());
         if (player == null) {
             Msg.fail(context, "Could not access your inventory.");
-            return;
+            return null;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
             Msg.fail(context, "Could not access your inventory.");
-            return;
+            return null;
         }
 
         List<KitItem> items = new ArrayList<>();
@@ -92,14 +89,22 @@ public class KitCreateCommand extends AbstractPlayerCommand {
 
         if (items.isEmpty()) {
             Msg.fail(context, "Your inventory is empty. Add some items before creating a kit.");
-            return;
+            return null;
         }
 
-        // Create the kit
-        kitManager.createKit(kitName, items);
-
-        Msg.success(context, "Kit '" + kitName + "' created with " + items.size() + " items.");
-        Msg.info(context, "View kits.toml for additional configuration (cooldown, type, display name).");
+        // The inventory is read above on the world thread; compiling and saving the kit can happen off it
+        PlayerRef playerRef = flow.getPlayerRef();
+        return flow.offThread(() -> {
+            // Another /kit create may have added it while this one was queued
+            if (kitManager.getKit(kitName) != null) {
+                throw new Failure("A kit named '" + kitName + "' already exists.");
+            }
+            kitManager.createKit(kitName, items);
+            return items.size();
+        }).thenAccept(count -> {
+            Msg.success(playerRef, "Kit '" + kitName + "' created with " + count + " items.");
+            Msg.info(playerRef, "View kits.toml for additional configuration (cooldown, type, display name).");
+        });
     }
 
     /**
@@ -5,10 +5,10 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.util.Msg;
 
@@ -18,7 +18,7 @@ import javax.annotation.Nonnull;
  * Subcommand to delete a kit.
  * Usage: /kit delete <name>
  */
-public class KitDeleteCommand extends AbstractPlayerCommand {
+public class KitDeleteCommand extends TimedPlayerCommand {
     private final KitManager kitManager;
     private final RequiredArg<String> nameArg;
 
@@ -31,8 +31,8 @@ public class KitDeleteCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         String kitName = context.get(nameArg);
 
         // Check if kit exists
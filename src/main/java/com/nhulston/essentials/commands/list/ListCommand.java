@@ -1,9 +1,9 @@
 package com.nhulston.essentials.commands.list;
 
-import com.hypixel.hytale.server.core.command.system.AbstractCommand;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.commands.TimedCommand;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -15,7 +15,7 @@ import java.util.stream.Collectors;
  * Command to list all online players.
  * Usage: /list
  */
-public class ListCommand extends AbstractCommand {
+public class ListCommand extends TimedCommand {
 
     public ListCommand() {
         super("list", "List all online players");
@@ -23,7 +23,7 @@ public class ListCommand extends AbstractCommand {
     }
 
     @Override
-    protected CompletableFuture<Void> execute(@Nonnull CommandContext context) {
+    protected CompletableFuture<Void> run(@Nonnull CommandContext context) {
         List<PlayerRef> players = Universe.get().getPlayers();
         
         String playerNames = players.stream()
@@ -0,0 +1,158 @@
+package com.nhulston.essentials.commands.mail;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
+import com.nhulston.essentials.commands.msg.MsgCommand;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.managers.RateLimitManager;
+import com.nhulston.essentials.models.Mail;
+import com.nhulston.essentials.util.CooldownUtil;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Command to send mail to players, including offline players.
+ * Usage: /mail - Shows unread mail count
+ * Usage: /mail send <player> <message> - Sends mail
+ * Usage: /mail read - Reads all mail
+ * Usage: /mail clear - Deletes all mail
+ */
+public class MailCommand extends AsyncPlayerCommand {
+    private final MailManager mailManager;
+
+    public MailCommand(@Nonnull MailManager mailManager, @Nonnull StorageManager storageManager,
+                       @Nonnull RateLimitManager rateLimitManager, @Nonnull IgnoreManager ignoreManager) {
+        super("mail", "Send and read mail");
+        this.mailManager = mailManager;
+
+        requirePermission("essentials.mail");
+        addSubCommand(new MailSendCommand(mailManager, storageManager, rateLimitManager, ignoreManager));
+        addSubCommand(new MailReadCommand(mailManager));
+        addSubCommand(new MailClearCommand(mailManager));
+    }
+
+    @Nonnull
+    @Override
+    protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+        PlayerRef playerRef = flow.getPlayerRef();
+        return flow.await(mailManager.getUnreadCount(playerRef.getUuid())).thenAccept(unread ->
+                Msg.info(playerRef, "You have " + unread + " unread mail. Use /mail read, /mail send <player> <message> or /mail clear."));
+    }
+
+    private static class MailSendCommand extends AsyncPlayerCommand {
+        private final MailManager mailManager;
+        private final StorageManager storageManager;
+        private final RateLimitManager rateLimitManager;
+        private final IgnoreManager ignoreManager;
+
+        MailSendCommand(@Nonnull MailManager mailManager, @Nonnull StorageManager storageManager,
+                        @Nonnull RateLimitManager rateLimitManager, @Nonnull IgnoreManager ignoreManager) {
+            super("send", "Send mail to a player");
+            this.mailManager = mailManager;
+            this.storageManager = storageManager;
+            this.rateLimitManager = rateLimitManager;
+            this.ignoreManager = ignoreManager;
+
+            // Allow extra arguments since we parse them manually for multi-word messages
+            setAllowsExtraArguments(true);
+            setFailureMessage("Failed to send mail.");
+        }
+
+        @Nullable
+        @Override
+        protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+            PlayerRef playerRef = flow.getPlayerRef();
+            // Parse from raw input: "/mail send <player> <message...>"
+            String rawInput = context.getInputString();
+            String[] parts = rawInput.split("\\s+", 4); // Split into [command, send, player, message]
+
+            if (parts.length < 4) {
+                Msg.fail(context, "Usage: /mail send <player> <message>");
+                return null;
+            }
+
+            String limitError = rateLimitManager.tryAcquire(playerRef.getUuid(), RateLimitManager.Bucket.MSG);
+            if (limitError != null) {
+                Msg.fail(context, limitError);
+                return null;
+            }
+
+            String targetName = parts[2];
+            String message = parts[3];
+
+            // Online players first, then anyone who has joined before
+            PlayerRef online = MsgCommand.findPlayer(targetName);
+            UUID targetUuid = online != null ? online.getUuid() : storageManager.getUuidByUsername(targetName);
+            if (targetUuid == null) {
+                Msg.fail(context, "Player '" + targetName + "' has never joined the server.");
+                return null;
+            }
+            if (ignoreManager.isIgnoringOffline(targetUuid, playerRef.getUuid())) {
+                Msg.fail(context, targetName + " is not accepting your mail.");
+                return null;
+            }
+
+            return flow.await(mailManager.send(playerRef.getUsername(), targetUuid, message))
+                    .thenAccept(_ -> Msg.success(playerRef, "Mail sent to " + targetName + "."));
+        }
+    }
+
+    private static class MailReadCommand extends AsyncPlayerCommand {
+        private final MailManager mailManager;
+
+        MailReadCommand(@Nonnull MailManager mailManager) {
+            super("read", "Read your mail");
+            this.mailManager = mailManager;
+            setFailureMessage("Failed to read mail.");
+        }
+
+        @Nonnull
+        @Override
+        protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+            PlayerRef playerRef = flow.getPlayerRef();
+            return flow.await(mailManager.read(playerRef.getUuid())).thenAccept(result -> {
+                if (result.getMail().isEmpty()) {
+                    Msg.fail(playerRef, "You have no mail.");
+                    return;
+                }
+
+                long now = System.currentTimeMillis();
+                int firstUnread = result.getMail().size() - result.getUnread();
+                for (int i = 0; i < result.getMail().size(); i++) {
+                    Mail mail = result.getMail().get(i);
+                    String age = CooldownUtil.formatCooldown(Math.max(1, (now - mail.getSentAt()) / 1000));
+                    String line = "[" + mail.getFrom() + ", " + age + " ago] " + mail.getMessage();
+                    if (i >= firstUnread) {
+                        Msg.success(playerRef, line);
+                    } else {
+                        Msg.info(playerRef, line);
+                    }
+                }
+            });
+        }
+    }
+
+    private static class MailClearCommand extends AsyncPlayerCommand {
+        private final MailManager mailManager;
+
+        MailClearCommand(@Nonnull MailManager mailManager) {
+            super("clear", "Delete all your mail");
+            this.mailManager = mailManager;
+            setFailureMessage("Failed to clear mail.");
+        }
+
+        @Nonnull
+        @Override
+        protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+            PlayerRef playerRef = flow.getPlayerRef();
+            return flow.await(mailManager.clear(playerRef.getUuid()))
+                    .thenAccept(count -> Msg.success(playerRef, "Deleted " + count + " mail."));
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.nhulston.essentials.commands.msg;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.ChatLogManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.RateLimitManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -22,14 +25,22 @@ import java.util.concurrent.ConcurrentHashMap;
  * Usage: /msg <player> <message>
  * Aliases: /m, /message, /whisper, /pm
  */
-public class MsgCommand extends AbstractPlayerCommand {
+public class MsgCommand extends TimedPlayerCommand {
     // Track last conversation partner for /reply
     private static final Map<UUID, UUID> lastMessagePartner = new ConcurrentHashMap<>();
 
-    public MsgCommand() {
+    private final RateLimitManager rateLimitManager;
+    private final ChatLogManager chatLogManager;
+    private final IgnoreManager ignoreManager;
+
+    public MsgCommand(@Nonnull RateLimitManager rateLimitManager, @Nonnull ChatLogManager chatLogManager,
+                      @Nonnull IgnoreManager ignoreManager) {
         // Don't register any args - we'll parse everything from raw input
         // This allows multi-word messages without quotes
         super("msg", "Send a private message to a player");
+        this.rateLimitManager = rateLimitManager;
+        this.chatLogManager = chatLogManager;
+        this.ignoreManager = ignoreManager;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -39,8 +50,8 @@ public class MsgCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Parse from raw input: "/msg <player> <message...>"
         String rawInput = context.getInputString();
         String[] parts = rawInput.split("\\s+", 3); // Split into [command, player, message]
@@ -50,6 +61,12 @@ public class MsgCommand extends AbstractPlayerCommand {
             return;
         }
         
+        String limitError = rateLimitManager.tryAcquire(playerRef.getUuid(), RateLimitManager.Bucket.MSG);
+        if (limitError != null) {
+            Msg.fail(context, limitError);
+            return;
+        }
+
         String targetName = parts[1];
         String message = parts[2];
 
@@ -66,14 +83,33 @@ public class MsgCommand extends AbstractPlayerCommand {
             return;
         }
 
-        sendMessage(playerRef, target, message, context);
+        sendMessage(playerRef, target, message, context, chatLogManager, ignoreManager);
     }
 
     /**
-     * Send a private message and track for /reply.
+     * Send a private message, log it, and track for /reply.
+     * Messages are not delivered if either player ignores the other.
+     *
+     * @return true if the message was delivered
      */
-    public static void sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target, 
-                                   @Nonnull String message, @Nullable CommandContext context) {
+    public static boolean sendMessage(@Nonnull PlayerRef sender, @Nonnull PlayerRef target,
+                                      @Nonnull String message, @Nullable CommandContext context,
+                                      @Nonnull ChatLogManager chatLogManager, @Nonnull IgnoreManager ignoreManager) {
+        String blocked = null;
+        if (ignoreManager.isIgnoring(sender.getUuid(), target.getUuid())) {
+            blocked = "You are ignoring " + target.getUsername() + ". Use /unignore to message them.";
+        } else if (ignoreManager.isIgnoring(target.getUuid(), sender.getUuid())) {
+            blocked = target.getUsername() + " is not accepting your messages.";
+        }
+        if (blocked != null) {
+            if (context != null) {
+                Msg.fail(context, blocked);
+            } else {
+                Msg.fail(sender, blocked);
+            }
+            return false;
+        }
+
         // Send to target: [From PlayerName] message
         Msg.info(target, "[From " + sender.getUsername() + "] " + message);
         
@@ -84,9 +120,12 @@ public class MsgCommand extends AbstractPlayerCommand {
             Msg.info(sender, "[To " + target.getUsername() + "] " + message);
         }
 
+        chatLogManager.log(ChatLogManager.Type.MSG, sender.getUsername(), target.getUsername(), message);
+
         // Track last message partner for both players (for /reply)
         lastMessagePartner.put(sender.getUuid(), target.getUuid());
         lastMessagePartner.put(target.getUuid(), sender.getUuid());
+        return true;
     }
 
     /**
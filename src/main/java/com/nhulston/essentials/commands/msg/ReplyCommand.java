@@ -3,11 +3,14 @@ package com.nhulston.essentials.commands.msg;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.ChatLogManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.RateLimitManager;
 import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
@@ -18,10 +21,17 @@ import java.util.UUID;
  * Usage: /r <message>
  * Aliases: /reply
  */
-public class ReplyCommand extends AbstractPlayerCommand {
+public class ReplyCommand extends TimedPlayerCommand {
+    private final RateLimitManager rateLimitManager;
+    private final ChatLogManager chatLogManager;
+    private final IgnoreManager ignoreManager;
 
-    public ReplyCommand() {
+    public ReplyCommand(@Nonnull RateLimitManager rateLimitManager, @Nonnull ChatLogManager chatLogManager,
+                        @Nonnull IgnoreManager ignoreManager) {
         super("r", "Reply to your last message");
+        this.rateLimitManager = rateLimitManager;
+        this.chatLogManager = chatLogManager;
+        this.ignoreManager = ignoreManager;
         
         // Allow extra arguments since we parse them manually
         setAllowsExtraArguments(true);
@@ -31,8 +41,8 @@ public class ReplyCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Parse from raw input: "/r <message...>"
         String rawInput = context.getInputString();
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
@@ -42,6 +52,12 @@ public class ReplyCommand extends AbstractPlayerCommand {
             return;
         }
         
+        String limitError = rateLimitManager.tryAcquire(playerRef.getUuid(), RateLimitManager.Bucket.MSG);
+        if (limitError != null) {
+            Msg.fail(context, limitError);
+            return;
+        }
+
         String message = parts[1];
 
         // Get last message partner
@@ -58,6 +74,6 @@ public class ReplyCommand extends AbstractPlayerCommand {
             return;
         }
 
-        MsgCommand.sendMessage(playerRef, target, message, context);
+        MsgCommand.sendMessage(playerRef, target, message, context, chatLogManager, ignoreManager);
     }
 }
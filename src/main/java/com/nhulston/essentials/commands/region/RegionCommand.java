@@ -0,0 +1,299 @@
+package com.nhulston.essentials.commands.region;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.RegionManager;
+import com.nhulston.essentials.models.Region;
+import com.nhulston.essentials.models.RegionFlag;
+import com.nhulston.essentials.util.Msg;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command to manage protected regions in the current world.
+ * Usage: /region - Lists regions in this world
+ * Usage: /region info - Shows the regions at your position
+ * Usage: /region pos1 - Starts a selection at your position
+ * Usage: /region pos2 - Adds your position to the selection (repeat for polygon corners)
+ * Usage: /region create <name> <cuboid|cylinder|polygon> - Creates a region from the selection
+ * Usage: /region delete <name> - Deletes a region
+ * Usage: /region flag <name> <flag> <allow|deny|clear> - Sets a region flag
+ * Usage: /region priority <name> <priority> - Sets which region wins where regions overlap
+ * Aliases: /rg
+ */
+public class RegionCommand extends TimedPlayerCommand {
+    private final RegionManager regionManager;
+
+    public RegionCommand(@Nonnull RegionManager regionManager) {
+        super("region", "Manage protected regions");
+        this.regionManager = regionManager;
+
+        addAliases("rg");
+        requirePermission("essentials.region");
+        addSubCommand(new RegionInfoCommand(regionManager));
+        addSubCommand(new RegionPosCommand(regionManager, "pos1", "Start a selection at your position", true));
+        addSubCommand(new RegionPosCommand(regionManager, "pos2", "Add your position to the selection", false));
+        addSubCommand(new RegionCreateCommand(regionManager));
+        addSubCommand(new RegionDeleteCommand(regionManager));
+        addSubCommand(new RegionFlagCommand(regionManager));
+        addSubCommand(new RegionPriorityCommand(regionManager));
+    }
+
+    @Override
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        List<Region> regions = regionManager.getRegions(world.getName());
+        if (regions.isEmpty()) {
+            Msg.fail(context, "There are no regions in this world.");
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Region region : regions) {
+            names.add(region.getName());
+        }
+        Msg.prefix(context, "Regions", String.join(", ", names));
+    }
+
+    @Nullable
+    private static Vector3i getBlockPosition(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref) {
+        TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+        if (transform == null) {
+            return null;
+        }
+        Vector3d position = transform.getPosition();
+        return new Vector3i((int) Math.floor(position.getX()), (int) Math.floor(position.getY()),
+                (int) Math.floor(position.getZ()));
+    }
+
+    @Nonnull
+    private static String formatFlags(@Nonnull Region region) {
+        Map<RegionFlag, Boolean> flags = region.getFlags();
+        if (flags.isEmpty()) {
+            return "none";
+        }
+        List<String> parts = new ArrayList<>();
+        for (Map.Entry<RegionFlag, Boolean> entry : flags.entrySet()) {
+            parts.add(entry.getKey().name().toLowerCase() + "=" + (entry.getValue() ? "allow" : "deny"));
+        }
+        return String.join(", ", parts);
+    }
+
+    private static class RegionInfoCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+
+        RegionInfoCommand(@Nonnull RegionManager regionManager) {
+            super("info", "Show the regions at your position");
+            this.regionManager = regionManager;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            Vector3i block = getBlockPosition(store, ref);
+            if (block == null) {
+                Msg.fail(context, "Could not get your position. Try again.");
+                return;
+            }
+
+            boolean found = false;
+            for (Region region : regionManager.getRegionsAt(world.getName(), block.getX(), block.getZ())) {
+                if (region.contains(block.getX(), block.getY(), block.getZ())) {
+                    Msg.prefix(context, region.getName(), region.getShape().name().toLowerCase()
+                            + ", priority " + region.getPriority() + ", flags: " + formatFlags(region));
+                    found = true;
+                }
+            }
+            if (!found) {
+                Msg.fail(context, "You are not in any region.");
+            }
+        }
+    }
+
+    private static class RegionPosCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+        private final boolean start;
+
+        RegionPosCommand(@Nonnull RegionManager regionManager, @Nonnull String name, @Nonnull String description,
+                         boolean start) {
+            super(name, description);
+            this.regionManager = regionManager;
+            this.start = start;
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            Vector3i block = getBlockPosition(store, ref);
+            if (block == null) {
+                Msg.fail(context, "Could not get your position. Try again.");
+                return;
+            }
+
+            String position = block.getX() + ", " + block.getY() + ", " + block.getZ();
+            if (start) {
+                regionManager.startSelection(playerRef.getUuid(), block);
+                Msg.success(context, "Selection started at " + position + ".");
+                return;
+            }
+
+            int count = regionManager.addSelectionPoint(playerRef.getUuid(), block);
+            if (count == 0) {
+                Msg.fail(context, "Start a selection with /region pos1 first.");
+                return;
+            }
+            Msg.success(context, "Point " + count + " set at " + position + ".");
+        }
+    }
+
+    private static class RegionCreateCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+        private final RequiredArg<String> nameArg;
+        private final RequiredArg<String> shapeArg;
+
+        RegionCreateCommand(@Nonnull RegionManager regionManager) {
+            super("create", "Create a region from your selection");
+            this.regionManager = regionManager;
+            this.nameArg = withRequiredArg("name", "Region name", ArgTypes.STRING);
+            this.shapeArg = withRequiredArg("shape", "cuboid, cylinder or polygon", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            Region.Shape shape;
+            try {
+                shape = Region.Shape.valueOf(context.get(shapeArg).toUpperCase());
+            } catch (IllegalArgumentException e) {
+                Msg.fail(context, "Shape must be cuboid, cylinder or polygon.");
+                return;
+            }
+
+            String error = regionManager.createRegion(world.getName(), name, shape,
+                    regionManager.getSelection(playerRef.getUuid()));
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Region '" + name + "' created. Building and breaking are denied by default.");
+        }
+    }
+
+    private static class RegionDeleteCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+        private final RequiredArg<String> nameArg;
+
+        RegionDeleteCommand(@Nonnull RegionManager regionManager) {
+            super("delete", "Delete a region");
+            this.regionManager = regionManager;
+            this.nameArg = withRequiredArg("name", "Region name", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            String error = regionManager.deleteRegion(world.getName(), name);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Region '" + name + "' deleted.");
+        }
+    }
+
+    private static class RegionFlagCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+        private final RequiredArg<String> nameArg;
+        private final RequiredArg<String> flagArg;
+        private final RequiredArg<String> valueArg;
+
+        RegionFlagCommand(@Nonnull RegionManager regionManager) {
+            super("flag", "Set a region flag");
+            this.regionManager = regionManager;
+            this.nameArg = withRequiredArg("name", "Region name", ArgTypes.STRING);
+            this.flagArg = withRequiredArg("flag", "build, break, pvp, invulnerable or titles", ArgTypes.STRING);
+            this.valueArg = withRequiredArg("value", "allow, deny or clear", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            RegionFlag flag = RegionFlag.fromName(context.get(flagArg));
+            if (flag == null) {
+                Msg.fail(context, "Flag must be build, break, pvp, invulnerable or titles.");
+                return;
+            }
+
+            Boolean value;
+            switch (context.get(valueArg).toLowerCase()) {
+                case "allow", "true" -> value = true;
+                case "deny", "false" -> value = false;
+                case "clear" -> value = null;
+                default -> {
+                    Msg.fail(context, "Value must be allow, deny or clear.");
+                    return;
+                }
+            }
+
+            String error = regionManager.setFlag(world.getName(), name, flag, value);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            String flagName = flag.name().toLowerCase();
+            Msg.success(context, value == null
+                    ? "Cleared " + flagName + " on '" + name + "'."
+                    : "Set " + flagName + " to " + (value ? "allow" : "deny") + " on '" + name + "'.");
+        }
+    }
+
+    private static class RegionPriorityCommand extends TimedPlayerCommand {
+        private final RegionManager regionManager;
+        private final RequiredArg<String> nameArg;
+        private final RequiredArg<String> priorityArg;
+
+        RegionPriorityCommand(@Nonnull RegionManager regionManager) {
+            super("priority", "Set a region's priority");
+            this.regionManager = regionManager;
+            this.nameArg = withRequiredArg("name", "Region name", ArgTypes.STRING);
+            this.priorityArg = withRequiredArg("priority", "Higher wins where regions overlap", ArgTypes.STRING);
+        }
+
+        @Override
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+            String name = context.get(nameArg);
+            int priority;
+            try {
+                priority = Integer.parseInt(context.get(priorityArg));
+            } catch (NumberFormatException e) {
+                Msg.fail(context, "Priority must be a whole number.");
+                return;
+            }
+
+            String error = regionManager.setPriority(world.getName(), name, priority);
+            if (error != null) {
+                Msg.fail(context, error);
+                return;
+            }
+            Msg.success(context, "Set priority of '" + name + "' to " + priority + ".");
+        }
+    }
+}
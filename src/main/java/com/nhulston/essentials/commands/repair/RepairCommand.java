@@ -3,21 +3,20 @@ package com.nhulston.essentials.commands.repair;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.CooldownManager;
+import com.nhulston.essentials.models.CooldownKey;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.SoundUtil;
-import com.nhulston.essentials.util.StorageManager;
 
 import javax.annotation.Nonnull;
 import java.util.UUID;
@@ -27,40 +26,32 @@ import java.util.UUID;
  * Usage: /repair
  * Aliases: /fix
  */
-public class RepairCommand extends AbstractPlayerCommand {
+public class RepairCommand extends TimedPlayerCommand {
     private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.repair.cooldown.bypass";
 
-    private final ConfigManager configManager;
-    private final StorageManager storageManager;
+    private final CooldownManager cooldownManager;
+    private final CooldownKey cooldownKey;
 
-    public RepairCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager) {
+    public RepairCommand(@Nonnull ConfigManager configManager, @Nonnull CooldownManager cooldownManager) {
         super("repair", "Repair the item in your hand");
-        this.configManager = configManager;
-        this.storageManager = storageManager;
+        this.cooldownManager = cooldownManager;
+        this.cooldownKey = cooldownManager.declare("repair", COOLDOWN_BYPASS_PERMISSION,
+                configManager::getRepairCooldown);
 
         addAliases("fix");
         requirePermission("essentials.repair");
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         UUID playerUuid = playerRef.getUuid();
-        PlayerData data = storageManager.getPlayerData(playerUuid);
 
         // Check cooldown (skip if player has bypass permission)
-        int cooldownSeconds = configManager.getRepairCooldown();
-        boolean bypassCooldown = PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION);
-        if (cooldownSeconds > 0 && !bypassCooldown) {
-            Long lastUse = data.getLastRepairTime();
-            if (lastUse != null) {
-                long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
-                long remaining = cooldownSeconds - elapsed;
-                if (remaining > 0) {
-                    Msg.fail(context, "Repair is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
-                    return;
-                }
-            }
+        long remaining = cooldownManager.check(playerUuid, cooldownKey);
+        if (remaining > 0) {
+            Msg.fail(context, "Repair is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
+            return;
         }
 
         Player player = store.getComponent(ref, Player.getComponentType());
@@ -94,8 +85,11 @@ public class RepairCommand extends AbstractPlayerCommand {
         }
 
         // Set cooldown before repair
-        data.setLastRepairTime(System.currentTimeMillis());
-        storageManager.savePlayerData(playerUuid);
+        remaining = cooldownManager.tryAcquire(playerUuid, cooldownKey);
+        if (remaining > 0) {
+            Msg.fail(context, "Repair is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
+            return;
+        }
 
         // Create repaired item and replace in hotbar
         ItemStack repairedItem = heldItem.withDurability(maxDurability);
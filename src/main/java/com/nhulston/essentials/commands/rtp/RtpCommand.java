@@ -1,24 +1,21 @@
 package com.nhulston.essentials.commands.rtp;
 
-import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
-import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
+import com.nhulston.essentials.managers.CooldownManager;
 import com.nhulston.essentials.managers.TeleportManager;
-import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.models.CooldownKey;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
-import com.nhulston.essentials.util.StorageManager;
 import com.nhulston.essentials.util.TeleportUtil;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
@@ -27,47 +24,41 @@ import java.util.concurrent.ThreadLocalRandom;
  * Command to randomly teleport a player within a configured radius.
  * Usage: /rtp
  */
-public class RtpCommand extends AbstractPlayerCommand {
+public class RtpCommand extends AsyncPlayerCommand {
     private static final int MAX_ATTEMPTS = 5;
     private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.rtp.cooldown.bypass";
 
     private final ConfigManager configManager;
-    private final StorageManager storageManager;
+    private final CooldownManager cooldownManager;
     private final TeleportManager teleportManager;
+    private final CooldownKey cooldownKey;
 
-    public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager,
+    public RtpCommand(@Nonnull ConfigManager configManager, @Nonnull CooldownManager cooldownManager,
                       @Nonnull TeleportManager teleportManager) {
         super("rtp", "Randomly teleport to a location");
         this.configManager = configManager;
-        this.storageManager = storageManager;
+        this.cooldownManager = cooldownManager;
         this.teleportManager = teleportManager;
+        this.cooldownKey = cooldownManager.declare("rtp", COOLDOWN_BYPASS_PERMISSION, configManager::getRtpCooldown);
 
         requirePermission("essentials.rtp");
     }
 
+    @Nullable
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected Stage<?> start(@Nonnull CommandContext context, @Nonnull Flow flow) {
+        PlayerRef playerRef = flow.getPlayerRef();
         UUID playerUuid = playerRef.getUuid();
-        PlayerData data = storageManager.getPlayerData(playerUuid);
-
-        // Check cooldown (skip if player has bypass permission)
-        int cooldownSeconds = configManager.getRtpCooldown();
-        boolean bypassCooldown = PermissionsModule.get().hasPermission(playerUuid, COOLDOWN_BYPASS_PERMISSION);
-        if (cooldownSeconds > 0 && !bypassCooldown) {
-            Long lastUse = data.getLastRtpTime();
-            if (lastUse != null) {
-                long elapsed = (System.currentTimeMillis() - lastUse) / 1000;
-                long remaining = cooldownSeconds - elapsed;
-                if (remaining > 0) {
-                    Msg.fail(context, "RTP is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
-                    return;
-                }
-            }
+
+        // Check cooldown (skip if player has bypass permission); it starts once the teleport happens
+        long remaining = cooldownManager.check(playerUuid, cooldownKey);
+        if (remaining > 0) {
+            Msg.fail(context, "RTP is on cooldown. " + CooldownUtil.formatCooldown(remaining) + " remaining.");
+            return null;
         }
 
         // Determine which world to RTP in
-        String currentWorldName = world.getName();
+        String currentWorldName = flow.getWorld().getName();
         String rtpWorldName;
         Integer radius = configManager.getRtpRadius(currentWorldName);
         
@@ -81,7 +72,7 @@ public class RtpCommand extends AbstractPlayerCommand {
             
             if (radius == null) {
                 Msg.fail(context, "RTP is not enabled in this world.");
-                return;
+                return null;
             }
         }
 
@@ -89,83 +80,31 @@ public class RtpCommand extends AbstractPlayerCommand {
         World rtpWorld = Universe.get().getWorld(rtpWorldName);
         if (rtpWorld == null) {
             Msg.fail(context, "RTP world '" + rtpWorldName + "' is not loaded.");
-            return;
+            return null;
         }
 
-        boolean isCrossWorld = !rtpWorldName.equals(currentWorldName);
-        
-        if (isCrossWorld) {
-            // Cross-world RTP - use async chunk loading
-            // Capture start position now, on the correct thread
-            Vector3d startPosition = playerRef.getTransform().getPosition().clone();
-
-            findSafeLocationAsync(rtpWorld, radius, 0)
-                .thenAccept(result -> {
-                    if (result == null) {
-                        Msg.fail(playerRef, "Could not find a safe location after " + MAX_ATTEMPTS + " attempts. Try again.");
-                        return;
-                    }
-                    
-                    // Execute teleport back on the player's current world thread
-                    world.execute(() -> {
-                        teleportManager.queueTeleport(
-                            playerRef, ref, store, startPosition,
-                                rtpWorldName, result.x, result.y, result.z,
-                            0.0f, 0.0f,
-                            "Randomly teleported!",
-                            () -> {
-                                data.setLastRtpTime(System.currentTimeMillis());
-                                storageManager.savePlayerData(playerUuid);
-                            }
-                        );
-                    });
-                })
-                .exceptionally(ex -> {
-                    Msg.fail(playerRef, "RTP failed. Please try again.");
-                    return null;
-                });
-        } else {
-            // Same-world RTP - use sync chunk access
-            findSafeLocationSync(rtpWorld, radius, playerRef, ref, store, rtpWorldName, data, playerUuid);
-        }
-    }
-
-    /**
-     * Synchronously finds a safe RTP location (for same-world teleports).
-     */
-    private void findSafeLocationSync(World rtpWorld, int radius, PlayerRef playerRef, 
-                                       Ref<EntityStore> ref, Store<EntityStore> store,
-                                       String rtpWorldName, PlayerData data, UUID playerUuid) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        
-        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-            double x = random.nextDouble(-radius, radius);
-            double z = random.nextDouble(-radius, radius);
-
-            Double safeY = TeleportUtil.findSafeRtpY(rtpWorld, x, z);
-            
-            if (safeY != null) {
-                Vector3d startPosition = playerRef.getTransform().getPosition();
+        // Capture start position now, on the correct thread
+        Vector3d startPosition = playerRef.getTransform().getPosition().clone();
 
+        // Candidate chunks may not be loaded, so search without blocking the world thread,
+        // then teleport back on it
+        return flow.await(findSafeLocationAsync(rtpWorld, radius, 0))
+            .thenRunOnWorld(result -> {
+                if (result == null) {
+                    throw new Failure("Could not find a safe location after " + MAX_ATTEMPTS + " attempts. Try again.");
+                }
                 teleportManager.queueTeleport(
-                    playerRef, ref, store, startPosition,
-                    rtpWorldName, x, safeY, z,
+                    playerRef, flow.getRef(), flow.getStore(), startPosition,
+                    rtpWorldName, result.x, result.y, result.z,
                     0.0f, 0.0f,
                     "Randomly teleported!",
-                    () -> {
-                        data.setLastRtpTime(System.currentTimeMillis());
-                        storageManager.savePlayerData(playerUuid);
-                    }
+                    () -> cooldownManager.acquire(playerUuid, cooldownKey)
                 );
-                return;
-            }
-        }
-
-        Msg.fail(playerRef, "Could not find a safe location after " + MAX_ATTEMPTS + " attempts. Try again.");
+            });
     }
 
     /**
-     * Asynchronously finds a safe RTP location (for cross-world teleports).
+     * Asynchronously finds a safe RTP location.
      * Recursively tries up to MAX_ATTEMPTS locations.
      */
     private CompletableFuture<RtpLocation> findSafeLocationAsync(World rtpWorld, int radius, int attempt) {
@@ -3,11 +3,12 @@ package com.nhulston.essentials.commands.shout;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.BroadcastManager;
+import com.nhulston.essentials.managers.RateLimitManager;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Msg;
@@ -19,12 +20,17 @@ import javax.annotation.Nonnull;
  * Usage: /shout <message>
  * Aliases: /broadcast
  */
-public class ShoutCommand extends AbstractPlayerCommand {
+public class ShoutCommand extends TimedPlayerCommand {
     private final ConfigManager configManager;
+    private final RateLimitManager rateLimitManager;
+    private final BroadcastManager broadcastManager;
 
-    public ShoutCommand(@Nonnull ConfigManager configManager) {
+    public ShoutCommand(@Nonnull ConfigManager configManager, @Nonnull RateLimitManager rateLimitManager,
+                        @Nonnull BroadcastManager broadcastManager) {
         super("shout", "Broadcast a message to all players");
         this.configManager = configManager;
+        this.rateLimitManager = rateLimitManager;
+        this.broadcastManager = broadcastManager;
 
         addAliases("broadcast");
         requirePermission("essentials.shout");
@@ -34,8 +40,8 @@ public class ShoutCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Parse from raw input: "/shout <message...>"
         String rawInput = context.getInputString();
         String[] parts = rawInput.split("\\s+", 2); // Split into [command, message]
@@ -45,7 +51,13 @@ public class ShoutCommand extends AbstractPlayerCommand {
             return;
         }
         
+        String limitError = rateLimitManager.tryAcquire(playerRef.getUuid(), RateLimitManager.Bucket.SHOUT);
+        if (limitError != null) {
+            Msg.fail(context, limitError);
+            return;
+        }
+
         String message = configManager.getShoutPrefix() + parts[1];
-        Universe.get().sendMessage(ColorUtil.colorize(message));
+        broadcastManager.broadcast(ColorUtil.colorize(message));
     }
 }
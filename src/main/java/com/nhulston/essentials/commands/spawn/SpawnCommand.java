@@ -4,10 +4,10 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.SpawnManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.models.Spawn;
@@ -15,7 +15,7 @@ import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
 
-public class SpawnCommand extends AbstractPlayerCommand {
+public class SpawnCommand extends TimedPlayerCommand {
     private final SpawnManager spawnManager;
     private final TeleportManager teleportManager;
 
@@ -29,8 +29,8 @@ public class SpawnCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         Spawn spawn = spawnManager.getSpawn();
 
         if (spawn == null) {
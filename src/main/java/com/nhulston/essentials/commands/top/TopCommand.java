@@ -8,13 +8,13 @@ import com.hypixel.hytale.math.vector.Vector3f;
 import com.hypixel.hytale.protocol.BlockMaterial;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.TeleportUtil;
 
@@ -24,7 +24,7 @@ import javax.annotation.Nonnull;
  * Command to teleport to the highest block at current position.
  * Usage: /top
  */
-public class TopCommand extends AbstractPlayerCommand {
+public class TopCommand extends TimedPlayerCommand {
     private static final int MAX_HEIGHT = 256;
 
     public TopCommand() {
@@ -33,8 +33,8 @@ public class TopCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // Get player's current position
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) {
@@ -5,10 +5,10 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.SoundUtil;
@@ -19,7 +19,7 @@ import javax.annotation.Nonnull;
  * Command to request teleportation to another player.
  * Usage: /tpa <player>
  */
-public class TpaCommand extends AbstractPlayerCommand {
+public class TpaCommand extends TimedPlayerCommand {
     private final TpaManager tpaManager;
     private final RequiredArg<PlayerRef> targetArg;
 
@@ -32,8 +32,8 @@ public class TpaCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         PlayerRef target = context.get(targetArg);
 
         if (target == null) {
@@ -6,11 +6,11 @@ import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Msg;
@@ -21,7 +21,7 @@ import javax.annotation.Nonnull;
  * Command to accept a teleport request from another player.
  * Usage: /tpaccept <player>
  */
-public class TpacceptCommand extends AbstractPlayerCommand {
+public class TpacceptCommand extends TimedPlayerCommand {
     private final TpaManager tpaManager;
     private final TeleportManager teleportManager;
     private final RequiredArg<String> playerArg;
@@ -36,8 +36,8 @@ public class TpacceptCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         String requesterName = context.get(playerArg);
 
         TpaManager.TpaRequest request = tpaManager.acceptRequest(playerRef, requesterName);
@@ -53,13 +53,12 @@ public class TpacceptCommand extends AbstractPlayerCommand {
             return;
         }
 
-        // Get the requester's entity ref and store
+        // The requester may be in another world, so their entity is only touched on its own thread
         Ref<EntityStore> requesterRef = requester.getReference();
         if (requesterRef == null || !requesterRef.isValid()) {
             Msg.fail(context, requesterName + " is no longer available.");
             return;
         }
-        Store<EntityStore> requesterStore = requesterRef.getStore();
 
         // Notify the target that the request was accepted
         Msg.success(context, "Teleport request from " + requesterName + " accepted.");
@@ -68,7 +67,7 @@ public class TpacceptCommand extends AbstractPlayerCommand {
         Vector3d startPosition = requester.getTransform().getPosition();
         
         teleportManager.queueTeleportToPlayer(
-            requester, requesterRef, requesterStore, startPosition,
+            requester, world, startPosition,
             playerRef,  // target player
             "Teleported to " + playerRef.getUsername() + "."
         );
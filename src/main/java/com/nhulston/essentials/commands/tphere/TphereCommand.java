@@ -5,12 +5,12 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
+import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.util.Msg;
-import com.nhulston.essentials.util.TeleportUtil;
 
 import javax.annotation.Nonnull;
 
@@ -18,18 +18,20 @@ import javax.annotation.Nonnull;
  * Command to teleport another player to yourself.
  * Usage: /tphere <player>
  */
-public class TphereCommand extends AbstractPlayerCommand {
+public class TphereCommand extends TimedPlayerCommand {
+    private final TeleportManager teleportManager;
     private final RequiredArg<PlayerRef> targetArg;
 
-    public TphereCommand() {
+    public TphereCommand(@Nonnull TeleportManager teleportManager) {
         super("tphere", "Teleport a player to you");
+        this.teleportManager = teleportManager;
         this.targetArg = withRequiredArg("player", "Player to teleport", ArgTypes.PLAYER_REF);
         requirePermission("essentials.tphere");
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         PlayerRef target = context.get(targetArg);
 
         if (target == null) {
@@ -42,10 +44,10 @@ public class TphereCommand extends AbstractPlayerCommand {
             return;
         }
 
-        // Teleport target to the command sender
-        TeleportUtil.teleportToPlayer(target, playerRef);
+        // Teleport target to the command sender; the target may be in another world
+        teleportManager.teleportToPlayer(target, playerRef, world,
+                "You have been teleported to " + playerRef.getUsername() + ".");
 
-        Msg.success(context, "Teleported " + target.getUsername() + " to you.");
-        Msg.info(target, "You have been teleported to " + playerRef.getUsername() + ".");
+        Msg.success(context, "Teleporting " + target.getUsername() + " to you.");
     }
 }
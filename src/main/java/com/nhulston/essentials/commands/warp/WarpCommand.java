@@ -6,10 +6,10 @@ import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
-import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.commands.TimedPlayerCommand;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.WarpManager;
 import com.nhulston.essentials.models.Warp;
@@ -18,7 +18,7 @@ import com.nhulston.essentials.util.Msg;
 import javax.annotation.Nonnull;
 import java.util.Map;
 
-public class WarpCommand extends AbstractPlayerCommand {
+public class WarpCommand extends TimedPlayerCommand {
     private final WarpManager warpManager;
 
     public WarpCommand(@Nonnull WarpManager warpManager, @Nonnull TeleportManager teleportManager) {
@@ -30,8 +30,8 @@ public class WarpCommand extends AbstractPlayerCommand {
     }
 
     @Override
-    protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+    protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                       @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
         // /warp (no args) - list all warps
         Map<String, Warp> warps = warpManager.getWarps();
 
@@ -43,7 +43,7 @@ public class WarpCommand extends AbstractPlayerCommand {
         Msg.prefix(context, "Warps", String.join(", ", warps.keySet()));
     }
 
-    private static class WarpNamedCommand extends AbstractPlayerCommand {
+    private static class WarpNamedCommand extends TimedPlayerCommand {
         private final WarpManager warpManager;
         private final TeleportManager teleportManager;
         private final RequiredArg<String> nameArg;
@@ -56,8 +56,8 @@ public class WarpCommand extends AbstractPlayerCommand {
         }
 
         @Override
-        protected void execute(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
-                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
+        protected void run(@Nonnull CommandContext context, @Nonnull Store<EntityStore> store,
+                           @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef playerRef, @Nonnull World world) {
             String warpName = context.get(nameArg);
             Warp warp = warpManager.getWarp(warpName);
 
@@ -0,0 +1,31 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.AddPlayerToWorldEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.ChannelManager;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps chat channel recipient sets in sync as players join the server or change worlds.
+ * Disconnects are handled by PlayerQuitEvent.
+ */
+public class ChannelEvent {
+    private final ChannelManager channelManager;
+
+    public ChannelEvent(@Nonnull ChannelManager channelManager) {
+        this.channelManager = channelManager;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        // Fired when a player is added to a world, both on join and on world change
+        eventRegistry.<String, AddPlayerToWorldEvent>registerGlobal(AddPlayerToWorldEvent.class, event -> {
+            PlayerRef playerRef = event.getHolder().getComponent(PlayerRef.getComponentType());
+            if (playerRef == null) {
+                return;
+            }
+            channelManager.onPlayerEnterWorld(playerRef, event.getWorld().getName());
+        });
+    }
+}
@@ -2,23 +2,75 @@ package com.nhulston.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.ChatLogManager;
 import com.nhulston.essentials.managers.ChatManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.RateLimitManager;
+import com.nhulston.essentials.models.ChatChannel;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.TraceRecorder;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 public class ChatEvent {
     private final ChatManager chatManager;
+    private final RateLimitManager rateLimitManager;
+    private final ChannelManager channelManager;
+    private final ChatLogManager chatLogManager;
+    private final IgnoreManager ignoreManager;
 
-    public ChatEvent(@Nonnull ChatManager chatManager) {
+    public ChatEvent(@Nonnull ChatManager chatManager, @Nonnull RateLimitManager rateLimitManager,
+                     @Nonnull ChannelManager channelManager, @Nonnull ChatLogManager chatLogManager,
+                     @Nonnull IgnoreManager ignoreManager) {
         this.chatManager = chatManager;
+        this.rateLimitManager = rateLimitManager;
+        this.channelManager = channelManager;
+        this.chatLogManager = chatLogManager;
+        this.ignoreManager = ignoreManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.<String, PlayerChatEvent>registerAsyncGlobal(PlayerChatEvent.class, future ->
                 future.thenApply(event -> {
+                    // Reject spam before paying for formatting and fan-out
+                    PlayerRef sender = event.getSender();
+                    String error = rateLimitManager.tryAcquire(sender.getUuid(), RateLimitManager.Bucket.CHAT);
+                    if (error != null) {
+                        event.setCancelled(true);
+                        Msg.fail(sender, error);
+                        return event;
+                    }
+
+                    // Recipients are precomputed per channel, so this is just a lookup
+                    ChatChannel channel = null;
+                    if (channelManager.isEnabled()) {
+                        channel = channelManager.getSpeakingChannel(sender.getUuid());
+                        if (channel == null) {
+                            event.setCancelled(true);
+                            Msg.fail(sender, "You are not in any chat channel. Use /channel to join one.");
+                            return event;
+                        }
+                        List<PlayerRef> recipients = channelManager.getRecipients(sender.getUuid(), channel);
+                        if (recipients != null) {
+                            event.setTargets(recipients);
+                        }
+                    }
+
+                    // Only copy the recipient list when someone online actually ignores the sender
+                    if (ignoreManager.isIgnoredByAnyone(sender.getUuid())) {
+                        event.setTargets(ignoreManager.filterRecipients(sender.getUuid(), event.getTargets()));
+                    }
+
                     if (chatManager.isEnabled()) {
-                        event.setFormatter(chatManager.createFormatter());
+                        event.setFormatter(chatManager.createFormatter(channel));
                     }
+
+                    chatLogManager.log(ChatLogManager.Type.CHAT, sender.getUsername(),
+                            channel != null ? channel.getId() : "chat", event.getContent());
+                    TraceRecorder.chat(sender.getUuid(), event.getContent().length(), event.getTargets().size());
                     return event;
                 })
         );
@@ -16,6 +16,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.managers.BackManager;
 import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.TickProfiler;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -39,6 +40,8 @@ public class DeathLocationEvent {
      * System that records player death locations when DeathComponent is added.
      */
     private static class DeathLocationTrackingSystem extends RefChangeSystem<EntityStore, DeathComponent> {
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("DeathLocationTracking");
+
         private final BackManager backManager;
 
         DeathLocationTrackingSystem(BackManager backManager) {
@@ -58,34 +61,39 @@ public class DeathLocationEvent {
         @Override
         public void onComponentAdded(@NotNull Ref<EntityStore> ref, @NotNull DeathComponent component,
                                      @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            // Player died - record their death location
-            PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
-            if (playerRef == null) {
-                return;
-            }
+            long start = TickProfiler.start();
+            try {
+                // Player died - record their death location
+                PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+                if (playerRef == null) {
+                    return;
+                }
 
-            TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
-            if (transform == null) {
-                return;
-            }
+                TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+                if (transform == null) {
+                    return;
+                }
 
-            Vector3d position = transform.getPosition();
-            Vector3f rotation = transform.getRotation();
+                Vector3d position = transform.getPosition();
+                Vector3f rotation = transform.getRotation();
             
-            // Get the world name
-            EntityStore entityStore = store.getExternalData();
-            World world = entityStore.getWorld();
-            String worldName = world.getName();
-
-            backManager.setDeathLocation(
-                playerRef.getUuid(),
-                worldName,
-                position.getX(),
-                position.getY(),
-                position.getZ(),
-                rotation.getY(), // yaw
-                rotation.getX()  // pitch
-            );
+                // Get the world name
+                EntityStore entityStore = store.getExternalData();
+                World world = entityStore.getWorld();
+                String worldName = world.getName();
+
+                backManager.setDeathLocation(
+                    playerRef.getUuid(),
+                    worldName,
+                    position.getX(),
+                    position.getY(),
+                    position.getZ(),
+                    rotation.getY(), // yaw
+                    rotation.getX()  // pitch
+                );
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
         }
 
         @Override
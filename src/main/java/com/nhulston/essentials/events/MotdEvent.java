@@ -7,27 +7,27 @@ import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.MailManager;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Msg;
 
 import javax.annotation.Nonnull;
 
 /**
- * Displays the Message of the Day to players on join.
+ * Displays the Message of the Day and unread mail count to players on join.
  */
 public class MotdEvent {
     private final ConfigManager configManager;
+    private final MailManager mailManager;
 
-    public MotdEvent(@Nonnull ConfigManager configManager) {
+    public MotdEvent(@Nonnull ConfigManager configManager, @Nonnull MailManager mailManager) {
         this.configManager = configManager;
+        this.mailManager = mailManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.registerGlobal(PlayerReadyEvent.class, event -> {
-            if (!configManager.isMotdEnabled()) {
-                return;
-            }
-
             Ref<EntityStore> ref = event.getPlayerRef();
             if (!ref.isValid()) {
                 return;
@@ -50,23 +50,36 @@ public class MotdEvent {
                     return;
                 }
 
-                String message = configManager.getMotdMessage();
-                String playerName = playerRef.getUsername();
-
-                // Replace placeholder
-                message = message.replace("%player%", playerName);
-
-                // Normalize line endings (remove \r from Windows line endings)
-                message = message.replace("\r", "");
+                if (configManager.isMotdEnabled()) {
+                    sendMotd(playerRef);
+                }
 
-                // Split by newlines and send each line
-                String[] lines = message.split("\n");
-                for (String line : lines) {
-                    if (!line.trim().isEmpty()) {
-                        playerRef.sendMessage(ColorUtil.colorize(line));
+                // Counted off-thread when the player connected, usually done by now
+                mailManager.getUnreadCount(playerRef.getUuid()).thenAccept(unread -> {
+                    if (unread > 0) {
+                        Msg.info(playerRef, "You have " + unread + " unread mail. Use /mail read to view it.");
                     }
-                }
+                });
             });
         });
     }
+
+    private void sendMotd(@Nonnull PlayerRef playerRef) {
+        String message = configManager.getMotdMessage();
+        String playerName = playerRef.getUsername();
+
+        // Replace placeholder
+        message = message.replace("%player%", playerName);
+
+        // Normalize line endings (remove \r from Windows line endings)
+        message = message.replace("\r", "");
+
+        // Split by newlines and send each line
+        String[] lines = message.split("\n");
+        for (String line : lines) {
+            if (!line.trim().isEmpty()) {
+                playerRef.sendMessage(ColorUtil.colorize(line));
+            }
+        }
+    }
 }
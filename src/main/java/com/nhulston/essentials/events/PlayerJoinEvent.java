@@ -0,0 +1,51 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.managers.AnnouncementManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.TraceRecorder;
+
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * Handles player connect setup.
+ * Loads per-player state that must be in memory before the player can chat.
+ */
+public class PlayerJoinEvent {
+    private final StorageManager storageManager;
+    private final IgnoreManager ignoreManager;
+    private final MailManager mailManager;
+    private final AnnouncementManager announcementManager;
+
+    public PlayerJoinEvent(@Nonnull StorageManager storageManager,
+                           @Nonnull IgnoreManager ignoreManager,
+                           @Nonnull MailManager mailManager,
+                           @Nonnull AnnouncementManager announcementManager) {
+        this.storageManager = storageManager;
+        this.ignoreManager = ignoreManager;
+        this.mailManager = mailManager;
+        this.announcementManager = announcementManager;
+    }
+
+    public void register(@Nonnull EventRegistry eventRegistry) {
+        eventRegistry.registerGlobal(PlayerConnectEvent.class, event -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            UUID playerUuid = playerRef.getUuid();
+
+            // Remember the name so offline lookups (e.g., /mail send) can find this player
+            storageManager.updateUsername(playerUuid, playerRef.getUsername());
+            ignoreManager.onPlayerJoin(playerUuid);
+            mailManager.onPlayerJoin(playerUuid);
+            announcementManager.onPlayerJoin(playerUuid, playerRef.getUsername());
+            TraceRecorder.join(playerUuid);
+        });
+
+        Log.info("Player connect setup registered.");
+    }
+}
@@ -2,13 +2,20 @@ package com.nhulston.essentials.events;
 
 import com.hypixel.hytale.event.EventRegistry;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.nhulston.essentials.commands.AsyncPlayerCommand;
 import com.nhulston.essentials.commands.freecam.FreecamCommand;
 import com.nhulston.essentials.commands.msg.MsgCommand;
-import com.nhulston.essentials.managers.BackManager;
+import com.nhulston.essentials.managers.AnnouncementManager;
+import com.nhulston.essentials.managers.ChannelManager;
+import com.nhulston.essentials.managers.IgnoreManager;
+import com.nhulston.essentials.managers.MailManager;
+import com.nhulston.essentials.managers.RateLimitManager;
+import com.nhulston.essentials.managers.RegionManager;
 import com.nhulston.essentials.managers.TeleportManager;
 import com.nhulston.essentials.managers.TpaManager;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.TraceRecorder;
 
 import javax.annotation.Nonnull;
 import java.util.UUID;
@@ -21,33 +28,54 @@ public class PlayerQuitEvent {
     private final StorageManager storageManager;
     private final TpaManager tpaManager;
     private final TeleportManager teleportManager;
-    private final BackManager backManager;
+    private final RateLimitManager rateLimitManager;
+    private final ChannelManager channelManager;
+    private final IgnoreManager ignoreManager;
+    private final MailManager mailManager;
+    private final RegionManager regionManager;
+    private final AnnouncementManager announcementManager;
 
     public PlayerQuitEvent(@Nonnull StorageManager storageManager,
                            @Nonnull TpaManager tpaManager,
                            @Nonnull TeleportManager teleportManager,
-                           @Nonnull BackManager backManager) {
+                           @Nonnull RateLimitManager rateLimitManager,
+                           @Nonnull ChannelManager channelManager,
+                           @Nonnull IgnoreManager ignoreManager,
+                           @Nonnull MailManager mailManager,
+                           @Nonnull RegionManager regionManager,
+                           @Nonnull AnnouncementManager announcementManager) {
         this.storageManager = storageManager;
         this.tpaManager = tpaManager;
         this.teleportManager = teleportManager;
-        this.backManager = backManager;
+        this.rateLimitManager = rateLimitManager;
+        this.channelManager = channelManager;
+        this.ignoreManager = ignoreManager;
+        this.mailManager = mailManager;
+        this.regionManager = regionManager;
+        this.announcementManager = announcementManager;
     }
 
     public void register(@Nonnull EventRegistry eventRegistry) {
         eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event -> {
             UUID playerUuid = event.getPlayerRef().getUuid();
+            TraceRecorder.quit(playerUuid);
 
             // Save and clean up player data
             storageManager.savePlayerData(playerUuid);
             storageManager.unloadPlayer(playerUuid);
             tpaManager.onPlayerQuit(playerUuid);
             teleportManager.onPlayerQuit(playerUuid);
-            backManager.onPlayerQuit(playerUuid);
+            rateLimitManager.onPlayerQuit(playerUuid);
+            channelManager.onPlayerQuit(playerUuid);
+            ignoreManager.onPlayerQuit(playerUuid);
+            mailManager.onPlayerQuit(playerUuid);
+            regionManager.onPlayerQuit(playerUuid);
+            announcementManager.onPlayerQuit(playerUuid, event.getPlayerRef().getUsername());
 
             // Clean up static command/event data
             MsgCommand.onPlayerQuit(playerUuid);
             FreecamCommand.onPlayerQuit(playerUuid);
-            SpawnRegionTitleEvent.onPlayerQuit(playerUuid);
+            AsyncPlayerCommand.onPlayerQuit(playerUuid);
         });
         
         Log.info("Player disconnect cleanup registered.");
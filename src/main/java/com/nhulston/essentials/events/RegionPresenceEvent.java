@@ -0,0 +1,180 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.RegionManager;
+import com.nhulston.essentials.models.Region;
+import com.nhulston.essentials.util.TickProfiler;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks which regions each player is standing in and publishes enter/exit crossings
+ * to RegionManager listeners, so features like titles don't need their own tick systems.
+ * Each player carries a RegionPresence component holding their last block and the regions
+ * containing it. Membership is only recomputed when the player moves to a different block
+ * or a region changes; otherwise a tick is a transform read and three int comparisons.
+ */
+public class RegionPresenceEvent {
+    private static final Region[] NO_REGIONS = new Region[0];
+
+    private final RegionManager regionManager;
+
+    public RegionPresenceEvent(@Nonnull RegionManager regionManager) {
+        this.regionManager = regionManager;
+    }
+
+    public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        ComponentType<EntityStore, RegionPresence> presenceType =
+                registry.registerComponent(RegionPresence.class, RegionPresence::new);
+        registry.registerSystem(new RegionPresenceSystem(regionManager, presenceType));
+    }
+
+    /**
+     * Per-player region membership. Not persisted; rebuilt on the first tick after spawning.
+     */
+    private static class RegionPresence implements Component<EntityStore> {
+        String world;
+        int blockX;
+        int blockY;
+        int blockZ;
+        long version = -1;
+        Region[] regions = NO_REGIONS;      // regions containing the block, highest priority first
+
+        @Override
+        public Component<EntityStore> clone() {
+            RegionPresence copy = new RegionPresence();
+            copy.world = world;
+            copy.blockX = blockX;
+            copy.blockY = blockY;
+            copy.blockZ = blockZ;
+            copy.version = version;
+            copy.regions = regions;
+            return copy;
+        }
+    }
+
+    /**
+     * Detects block changes and diffs region membership when one happens.
+     */
+    private static class RegionPresenceSystem extends EntityTickingSystem<EntityStore> {
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("RegionPresence");
+
+        private final RegionManager manager;
+        private final ComponentType<EntityStore, RegionPresence> presenceType;
+        private final Query<EntityStore> query;
+
+        RegionPresenceSystem(@Nonnull RegionManager manager,
+                             @Nonnull ComponentType<EntityStore, RegionPresence> presenceType) {
+            this.manager = manager;
+            this.presenceType = presenceType;
+            this.query = Query.and(PlayerRef.getComponentType(), TransformComponent.getComponentType());
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return query;
+        }
+
+        @Override
+        public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
+                         @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
+            long start = TickProfiler.start();
+            try {
+                TransformComponent transform = chunk.getComponent(index, TransformComponent.getComponentType());
+                Vector3d position = transform.getPosition();
+                int x = (int) Math.floor(position.getX());
+                int y = (int) Math.floor(position.getY());
+                int z = (int) Math.floor(position.getZ());
+                String world = store.getExternalData().getWorld().getName();
+                long version = manager.getVersion();
+
+                RegionPresence presence = chunk.getComponent(index, presenceType);
+                if (presence == null) {
+                    // First tick for this player, record where they are without announcing it
+                    presence = new RegionPresence();
+                    update(presence, world, x, y, z, version, findRegions(world, x, y, z));
+                    buffer.putComponent(chunk.getReferenceTo(index), presenceType, presence);
+                    return;
+                }
+
+                if (x == presence.blockX && y == presence.blockY && z == presence.blockZ
+                        && version == presence.version && world.equals(presence.world)) {
+                    return;
+                }
+
+                Region[] previous = presence.regions;
+                Region[] current = findRegions(world, x, y, z);
+                update(presence, world, x, y, z, version, current);
+                if (previous.length == 0 && current.length == 0) {
+                    return;
+                }
+
+                PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                // Exits first, so an enter title replaces an exit title when crossing between regions
+                for (Region region : previous) {
+                    if (!containsRegion(current, region)) {
+                        manager.notifyExit(playerRef, region);
+                    }
+                }
+                for (Region region : current) {
+                    if (!containsRegion(previous, region)) {
+                        manager.notifyEnter(playerRef, region);
+                    }
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
+        }
+
+        @Nonnull
+        private Region[] findRegions(@Nonnull String world, int x, int y, int z) {
+            Region[] candidates = manager.getRegionsAt(world, x, z);
+            if (candidates.length == 0) {
+                return NO_REGIONS;
+            }
+            List<Region> containing = new ArrayList<>(candidates.length);
+            for (Region region : candidates) {
+                if (region.contains(x, y, z)) {
+                    containing.add(region);
+                }
+            }
+            return containing.isEmpty() ? NO_REGIONS : containing.toArray(NO_REGIONS);
+        }
+
+        private static void update(@Nonnull RegionPresence presence, @Nonnull String world, int x, int y, int z,
+                                   long version, @Nonnull Region[] regions) {
+            presence.world = world;
+            presence.blockX = x;
+            presence.blockY = y;
+            presence.blockZ = z;
+            presence.version = version;
+            presence.regions = regions;
+        }
+
+        /**
+         * Matches by world and name, since edits replace the region instance.
+         */
+        private static boolean containsRegion(@Nonnull Region[] regions, @Nonnull Region target) {
+            for (Region region : regions) {
+                if (region.getName().equals(target.getName()) && region.getWorld().equals(target.getWorld())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentRegistryProxy;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.SystemGroup;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
+import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.RegionManager;
+import com.nhulston.essentials.models.RegionFlag;
+import com.nhulston.essentials.util.TickProfiler;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Enforces region flags (including spawn protection and the global build toggle)
+ * on block breaking, placing and mining, and on damage to players.
+ */
+public class RegionProtectionEvent {
+    private static final String PROTECTED_COLOR = "#FF5555";
+    private static final String PVP_MESSAGE = "PvP is disabled here.";
+
+    private final RegionManager regionManager;
+
+    public RegionProtectionEvent(@Nonnull RegionManager regionManager) {
+        this.regionManager = regionManager;
+    }
+
+    private static void sendProtectedMessage(PlayerRef playerRef, String message) {
+        if (playerRef != null) {
+            playerRef.sendMessage(Message.raw(message).color(PROTECTED_COLOR));
+        }
+    }
+
+    @Nonnull
+    private static String getWorldName(@Nonnull Store<EntityStore> store) {
+        return store.getExternalData().getWorld().getName();
+    }
+
+    public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
+        registry.registerSystem(new BreakBlockProtectionSystem(regionManager));
+        registry.registerSystem(new PlaceBlockProtectionSystem(regionManager));
+        registry.registerSystem(new DamageBlockProtectionSystem(regionManager));
+        registry.registerSystem(new RegionDamageFilterSystem(regionManager));
+    }
+
+    /**
+     * Prevents block breaking where the BREAK flag is denied.
+     */
+    private static class BreakBlockProtectionSystem
+            extends EntityEventSystem<EntityStore, BreakBlockEvent> {
+
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("BreakBlockProtection");
+
+        private final RegionManager manager;
+
+        BreakBlockProtectionSystem(RegionManager manager) {
+            super(BreakBlockEvent.class);
+            this.manager = manager;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           @NotNull BreakBlockEvent event) {
+            long start = TickProfiler.start();
+            try {
+                if (event.isCancelled()) {
+                    return;
+                }
+
+                PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                String error = manager.checkBlockAction(playerRef, getWorldName(store), event.getTargetBlock(),
+                        RegionFlag.BREAK);
+                if (error != null) {
+                    event.setCancelled(true);
+                    sendProtectedMessage(playerRef, error);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
+        }
+    }
+
+    /**
+     * Prevents block placing where the BUILD flag is denied.
+     */
+    private static class PlaceBlockProtectionSystem
+            extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
+
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("PlaceBlockProtection");
+
+        private final RegionManager manager;
+
+        PlaceBlockProtectionSystem(RegionManager manager) {
+            super(PlaceBlockEvent.class);
+            this.manager = manager;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           @NotNull PlaceBlockEvent event) {
+            long start = TickProfiler.start();
+            try {
+                if (event.isCancelled()) {
+                    return;
+                }
+
+                PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                String error = manager.checkBlockAction(playerRef, getWorldName(store), event.getTargetBlock(),
+                        RegionFlag.BUILD);
+                if (error != null) {
+                    event.setCancelled(true);
+                    sendProtectedMessage(playerRef, error);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
+        }
+    }
+
+    /**
+     * Prevents block damage (mining progress) where the BREAK flag is denied.
+     */
+    private static class DamageBlockProtectionSystem
+            extends EntityEventSystem<EntityStore, DamageBlockEvent> {
+
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("DamageBlockProtection");
+
+        private final RegionManager manager;
+
+        DamageBlockProtectionSystem(RegionManager manager) {
+            super(DamageBlockEvent.class);
+            this.manager = manager;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           @NotNull DamageBlockEvent event) {
+            long start = TickProfiler.start();
+            try {
+                if (event.isCancelled()) {
+                    return;
+                }
+
+                PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                if (manager.checkBlockAction(playerRef, getWorldName(store), event.getTargetBlock(),
+                        RegionFlag.BREAK) != null) {
+                    event.setCancelled(true);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
+        }
+    }
+
+    /**
+     * Filters damage to players in regions with INVULNERABLE set or PVP denied.
+     * Runs in the FilterDamageGroup, before damage is actually applied.
+     */
+    private static class RegionDamageFilterSystem extends DamageEventSystem {
+
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("RegionDamageFilter");
+
+        private final RegionManager manager;
+
+        RegionDamageFilterSystem(RegionManager manager) {
+            super();
+            this.manager = manager;
+        }
+
+        @Override
+        public SystemGroup<EntityStore> getGroup() {
+            // Use the FilterDamageGroup to run in the filtering phase
+            return DamageModule.get().getFilterDamageGroup();
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return Query.any();
+        }
+
+        @Override
+        public void handle(int index, @NotNull ArchetypeChunk<EntityStore> chunk,
+                           @NotNull Store<EntityStore> store,
+                           @NotNull CommandBuffer<EntityStore> buffer,
+                           Damage event) {
+            long start = TickProfiler.start();
+            try {
+                if (event.isCancelled()) {
+                    return;
+                }
+
+                // Check if the victim is a player
+                PlayerRef victimRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                if (victimRef == null) {
+                    return;
+                }
+
+                String world = getWorldName(store);
+                Vector3d position = victimRef.getTransform().getPosition();
+                if (manager.getFlag(world, position, RegionFlag.INVULNERABLE)) {
+                    event.setCancelled(true);
+                    event.setAmount(0);
+                    return;
+                }
+
+                // Check if the attacker is a player (PVP only covers players, not NPCs or mobs)
+                Damage.Source source = event.getSource();
+                if (!(source instanceof Damage.EntitySource entitySource)) {
+                    return;
+                }
+
+                Ref<EntityStore> attackerRef = entitySource.getRef();
+                if (!attackerRef.isValid()) {
+                    return;
+                }
+
+                PlayerRef attackerPlayerRef = store.getComponent(attackerRef, PlayerRef.getComponentType());
+                if (attackerPlayerRef == null) {
+                    return;
+                }
+
+                if (!manager.getFlag(world, position, RegionFlag.PVP)) {
+                    event.setCancelled(true);
+                    event.setAmount(0);
+                    sendProtectedMessage(attackerPlayerRef, PVP_MESSAGE);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nhulston.essentials.events;
+
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.util.EventTitleUtil;
+import com.nhulston.essentials.managers.RegionManager;
+import com.nhulston.essentials.models.Region;
+import com.nhulston.essentials.models.RegionFlag;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Shows titles when players enter or leave regions with the titles flag set.
+ * Crossings come from RegionPresenceEvent, so this has no tick system of its own.
+ */
+public class RegionTitleEvent implements RegionManager.RegionListener {
+    private final RegionManager regionManager;
+
+    public RegionTitleEvent(@Nonnull RegionManager regionManager) {
+        this.regionManager = regionManager;
+    }
+
+    public void register() {
+        regionManager.addListener(this);
+    }
+
+    @Override
+    public void onEnter(@Nonnull PlayerRef player, @Nonnull Region region) {
+        if (Boolean.TRUE.equals(region.getFlag(RegionFlag.TITLES))) {
+            showTitle(player, region.getEnterTitle(), region.getEnterSubtitle(), true);
+        }
+    }
+
+    @Override
+    public void onExit(@Nonnull PlayerRef player, @Nonnull Region region) {
+        if (Boolean.TRUE.equals(region.getFlag(RegionFlag.TITLES))) {
+            showTitle(player, region.getExitTitle(), region.getExitSubtitle(), false);
+        }
+    }
+
+    private static void showTitle(@Nonnull PlayerRef player, @Nonnull String title, @Nonnull String subtitle,
+                                  boolean major) {
+        if (title.isEmpty() && subtitle.isEmpty()) {
+            return;
+        }
+        EventTitleUtil.hideEventTitleFromPlayer(player, 0);
+        EventTitleUtil.showEventTitleToPlayer(player, Message.raw(title), Message.raw(subtitle), major);
+    }
+}
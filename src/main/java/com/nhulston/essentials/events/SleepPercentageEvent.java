@@ -12,9 +12,11 @@ import com.hypixel.hytale.component.system.RefChangeSystem;
 import com.hypixel.hytale.server.core.modules.time.WorldTimeResource;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.BroadcastManager;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.TickProfiler;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -27,13 +29,15 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class SleepPercentageEvent {
     private final ConfigManager configManager;
+    private final BroadcastManager broadcastManager;
 
-    public SleepPercentageEvent(@Nonnull ConfigManager configManager) {
+    public SleepPercentageEvent(@Nonnull ConfigManager configManager, @Nonnull BroadcastManager broadcastManager) {
         this.configManager = configManager;
+        this.broadcastManager = broadcastManager;
     }
 
     public void register(@Nonnull ComponentRegistryProxy<EntityStore> registry) {
-        registry.registerSystem(new SleepTrackingSystem(configManager));
+        registry.registerSystem(new SleepTrackingSystem(configManager, broadcastManager));
     }
 
     /**
@@ -43,13 +47,16 @@ public class SleepPercentageEvent {
         private static final double MORNING_TIME = 0.25; // ~5:00 AM
         private static final double NIGHT_START = 0.875; // 9:00 PM
         private static final double NIGHT_END = 0.25; // ~6:00 AM
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("SleepTracking");
 
         private final ConfigManager config;
+        private final BroadcastManager broadcastManager;
         // Track sleeping players per world
         private final Map<String, AtomicInteger> sleepingCountPerWorld = new ConcurrentHashMap<>();
 
-        SleepTrackingSystem(ConfigManager config) {
+        SleepTrackingSystem(ConfigManager config, BroadcastManager broadcastManager) {
             this.config = config;
+            this.broadcastManager = broadcastManager;
         }
 
         @Override
@@ -65,11 +72,16 @@ public class SleepPercentageEvent {
         @Override
         public void onComponentAdded(@NotNull Ref<EntityStore> ref, @NotNull PlayerSomnolence somnolence,
                                      @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            if (!config.isSleepEnabled()) {
-                return;
-            }
-            if (isInBed(somnolence)) {
-                onPlayerEnteredBed(store);
+            long start = TickProfiler.start();
+            try {
+                if (!config.isSleepEnabled()) {
+                    return;
+                }
+                if (isInBed(somnolence)) {
+                    onPlayerEnteredBed(store);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
             }
         }
 
@@ -77,27 +89,37 @@ public class SleepPercentageEvent {
         public void onComponentSet(@NotNull Ref<EntityStore> ref, PlayerSomnolence oldSomnolence,
                                    @NotNull PlayerSomnolence newSomnolence,
                                    @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            if (!config.isSleepEnabled()) {
-                return;
-            }
-            boolean wasInBed = isInBed(oldSomnolence);
-            boolean isInBed = isInBed(newSomnolence);
+            long start = TickProfiler.start();
+            try {
+                if (!config.isSleepEnabled()) {
+                    return;
+                }
+                boolean wasInBed = isInBed(oldSomnolence);
+                boolean isInBed = isInBed(newSomnolence);
 
-            if (!wasInBed && isInBed) {
-                onPlayerEnteredBed(store);
-            } else if (wasInBed && !isInBed) {
-                onPlayerLeftBed(store);
+                if (!wasInBed && isInBed) {
+                    onPlayerEnteredBed(store);
+                } else if (wasInBed && !isInBed) {
+                    onPlayerLeftBed(store);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
             }
         }
 
         @Override
         public void onComponentRemoved(@NotNull Ref<EntityStore> ref, @NotNull PlayerSomnolence somnolence,
                                        @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            if (!config.isSleepEnabled()) {
-                return;
-            }
-            if (isInBed(somnolence)) {
-                onPlayerLeftBed(store);
+            long start = TickProfiler.start();
+            try {
+                if (!config.isSleepEnabled()) {
+                    return;
+                }
+                if (isInBed(somnolence)) {
+                    onPlayerLeftBed(store);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
             }
         }
 
@@ -171,7 +193,7 @@ public class SleepPercentageEvent {
             }
 
             // Broadcast message
-            world.sendMessage(ColorUtil.colorize("&eGoodnight! Skipping to morning..."));
+            broadcastManager.broadcastToWorld(world, ColorUtil.colorize("&eGoodnight! Skipping to morning..."));
             Log.info("Night skipped in world '" + worldName + "' due to sleep percentage.");
         }
     }
@@ -19,12 +19,13 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.managers.AnnouncementManager;
 import com.nhulston.essentials.managers.SpawnManager;
 import com.nhulston.essentials.models.Spawn;
-import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.StorageManager;
 import com.nhulston.essentials.util.TeleportUtil;
+import com.nhulston.essentials.util.TickProfiler;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -34,12 +35,14 @@ public class SpawnTeleportEvent {
     private final SpawnManager spawnManager;
     private final ConfigManager configManager;
     private final StorageManager storageManager;
+    private final AnnouncementManager announcementManager;
 
     public SpawnTeleportEvent(@Nonnull SpawnManager spawnManager, @Nonnull ConfigManager configManager,
-                              @Nonnull StorageManager storageManager) {
+                              @Nonnull StorageManager storageManager, @Nonnull AnnouncementManager announcementManager) {
         this.spawnManager = spawnManager;
         this.configManager = configManager;
         this.storageManager = storageManager;
+        this.announcementManager = announcementManager;
     }
 
     public void registerEvents(@Nonnull EventRegistry eventRegistry) {
@@ -63,12 +66,8 @@ public class SpawnTeleportEvent {
             if (!hasJoined) {
                 storageManager.markPlayerJoined(uuid);
                 
-                // Broadcast welcome message for first-time players
-                if (configManager.isWelcomeBroadcastEnabled()) {
-                    String message = configManager.getWelcomeBroadcastMessage()
-                            .replace("%player%", playerRef.getUsername());
-                    Universe.get().sendMessage(ColorUtil.colorize(message));
-                }
+                // Welcome first-time players; joins close together are announced as one message
+                announcementManager.onFirstJoin(uuid, playerRef.getUsername());
             }
             
             // Check if we should teleport to spawn
@@ -107,6 +106,8 @@ public class SpawnTeleportEvent {
      * System that teleports players to spawn when they respawn (DeathComponent removed).
      */
     private static class RespawnTeleportSystem extends RefChangeSystem<EntityStore, DeathComponent> {
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("RespawnTeleport");
+
         private final SpawnManager spawnManager;
         private final ConfigManager configManager;
 
@@ -140,13 +141,18 @@ public class SpawnTeleportEvent {
         @Override
         public void onComponentRemoved(@NotNull Ref<EntityStore> ref, @NotNull DeathComponent component,
                                        @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            if (!configManager.isDeathSpawnEnabled()) {
-                return;
-            }
+            long start = TickProfiler.start();
+            try {
+                if (!configManager.isDeathSpawnEnabled()) {
+                    return;
+                }
             
-            Spawn spawn = spawnManager.getSpawn();
-            if (spawn != null) {
-                TeleportUtil.teleportToSpawnBuffered(ref, buffer, spawn);
+                Spawn spawn = spawnManager.getSpawn();
+                if (spawn != null) {
+                    TeleportUtil.teleportToSpawnBuffered(ref, buffer, spawn);
+                }
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
             }
         }
     }
@@ -11,6 +11,7 @@ import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.managers.TeleportManager;
+import com.nhulston.essentials.util.TickProfiler;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
@@ -33,6 +34,8 @@ public class TeleportMovementEvent {
      * System that checks player movement for pending teleports.
      */
     private static class TeleportMovementCheckSystem extends EntityTickingSystem<EntityStore> {
+        private static final TickProfiler.Probe PROBE = TickProfiler.probe("TeleportMovementCheck");
+
         private final TeleportManager teleportManager;
 
         TeleportMovementCheckSystem(@Nonnull TeleportManager teleportManager) {
@@ -47,21 +50,26 @@ public class TeleportMovementEvent {
         @Override
         public void tick(float deltaTime, int index, ArchetypeChunk<EntityStore> chunk,
                          @NotNull Store<EntityStore> store, @NotNull CommandBuffer<EntityStore> buffer) {
-            PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (playerRef == null) {
-                return;
-            }
+            long start = TickProfiler.start();
+            try {
+                PlayerRef playerRef = chunk.getComponent(index, PlayerRef.getComponentType());
+                if (playerRef == null) {
+                    return;
+                }
 
-            // Only check if player has a pending teleport
-            if (!teleportManager.hasPendingTeleport(playerRef.getUuid())) {
-                return;
-            }
+                // Only check if player has a pending teleport
+                if (!teleportManager.hasPendingTeleport(playerRef.getUuid())) {
+                    return;
+                }
 
-            // Get the current entity ref from this tick (not the stored one from command time)
-            Ref<EntityStore> currentRef = chunk.getReferenceTo(index);
+                // Get the current entity ref from this tick (not the stored one from command time)
+                Ref<EntityStore> currentRef = chunk.getReferenceTo(index);
             
-            Vector3d currentPosition = playerRef.getTransform().getPosition();
-            teleportManager.tick(playerRef.getUuid(), currentRef, currentPosition, deltaTime, buffer);
+                Vector3d currentPosition = playerRef.getTransform().getPosition();
+                teleportManager.tick(playerRef.getUuid(), currentRef, currentPosition, deltaTime, buffer);
+            } finally {
+                TickProfiler.stop(PROBE, store, start);
+            }
         }
     }
 }
@@ -2,9 +2,11 @@ package com.nhulston.essentials.gui;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -13,105 +15,245 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
 import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
-import com.hypixel.hytale.server.core.entity.ItemUtils;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
 import com.hypixel.hytale.server.core.inventory.Inventory;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
-import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.nhulston.essentials.managers.KitManager;
 import com.nhulston.essentials.models.Kit;
-import com.nhulston.essentials.models.KitItem;
 import com.nhulston.essentials.util.CooldownUtil;
 import com.nhulston.essentials.util.Msg;
 
 /**
  * A GUI page for selecting kits.
+ * Kits are shown a page at a time, so only the visible cards are built no matter how many kits exist.
+ * While a visible kit is on cooldown, its status text counts down; only cards whose text changed are sent.
  */
 public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
-    private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.kit.cooldown.bypass";
+    private static final int KITS_PER_ROW = 3;
+    private static final int ROWS_PER_PAGE = 3;
+    private static final int KITS_PER_PAGE = KITS_PER_ROW * ROWS_PER_PAGE;
+    private static final long STATUS_UPDATE_SECONDS = 1;
+    private static final long NO_ACCESS = -1;
 
     private final KitManager kitManager;
+    private final List<Kit> kits;           // kits when the page was opened, in kits.toml order
+    private final int pageCount;
+    private int page;
+
+    // Cards on the current page
+    private final String[] cardSelectors = new String[KITS_PER_PAGE];
+    private final long[] readyAt = new long[KITS_PER_PAGE];     // millis when usable, 0 if ready, NO_ACCESS
+    private final String[] shownStatus = new String[KITS_PER_PAGE];
+    private int visibleCount;
+    private ScheduledFuture<?> statusTask;
 
     public KitPage(@Nonnull PlayerRef playerRef, @Nonnull KitManager kitManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, KitPageData.CODEC);
         this.kitManager = kitManager;
+        this.kits = new ArrayList<>(kitManager.getKits());
+        this.pageCount = Math.max(1, (kits.size() + KITS_PER_PAGE - 1) / KITS_PER_PAGE);
     }
 
     @Override
-    public void build(@Nonnull Ref<EntityStore> ref, @Nonnull UICommandBuilder commandBuilder,
-                      @Nonnull UIEventBuilder eventBuilder, @Nonnull Store<EntityStore> store) {
+    public synchronized void build(@Nonnull Ref<EntityStore> ref, @Nonnull UICommandBuilder commandBuilder,
+                                   @Nonnull UIEventBuilder eventBuilder, @Nonnull Store<EntityStore> store) {
         commandBuilder.append("Pages/Essentials_KitPage.ui");
 
-        List<Kit> allKits = new ArrayList<>(kitManager.getKits());
-        if (allKits.isEmpty()) {
+        if (kits.isEmpty()) {
             // No kits available - could add a "No kits available" message element
+            commandBuilder.set("#Pager.Visible", false);
             return;
         }
 
-        // Create a grid layout with 3 kits per row
-        int kitsPerRow = 3;
-        int totalRows = (int) Math.ceil((double) allKits.size() / kitsPerRow);
+        if (pageCount > 1) {
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#PrevPage",
+                    EventData.of("Page", "prev"));
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#NextPage",
+                    EventData.of("Page", "next"));
+        } else {
+            commandBuilder.set("#Pager.Visible", false);
+        }
+        buildPage(commandBuilder, eventBuilder);
+    }
+
+    /**
+     * Builds the cards for the current page into #KitRows and records their status.
+     */
+    private void buildPage(@Nonnull UICommandBuilder commandBuilder, @Nonnull UIEventBuilder eventBuilder) {
+        int start = page * KITS_PER_PAGE;
+        visibleCount = Math.min(KITS_PER_PAGE, kits.size() - start);
+        long now = System.currentTimeMillis();
+        boolean counting = false;
 
-        for (int row = 0; row < totalRows; row++) {
-            // Create a row group for this row
-            commandBuilder.appendInline("#KitRows", 
-                "Group { LayoutMode: Left; Anchor: (Height: 128); Padding: (Horizontal: 4); }");
-            
+        for (int i = 0; i < visibleCount; i++) {
+            int row = i / KITS_PER_ROW;
+            int col = i % KITS_PER_ROW;
             String rowSelector = "#KitRows[" + row + "]";
-            
-            // Calculate start and end index for this row
-            int startIdx = row * kitsPerRow;
-            int endIdx = Math.min(startIdx + kitsPerRow, allKits.size());
-            
-            for (int col = 0; col < (endIdx - startIdx); col++) {
-                int kitIdx = startIdx + col;
-                Kit kit = allKits.get(kitIdx);
-                
-                // Append kit entry to this row
-                commandBuilder.append(rowSelector, "Pages/Essentials_KitEntry.ui");
-                
-                // Select the kit card within the row
-                String cardSelector = rowSelector + "[" + col + "]";
-                
-                commandBuilder.set(cardSelector + " #Name.Text", kit.getDisplayName());
-
-                // Check permission and cooldown status
-                String permission = "essentials.kit." + kit.getId();
-                boolean hasPermission = PermissionsModule.get().hasPermission(playerRef.getUuid(), permission);
-
-                String status;
-                if (!hasPermission) {
-                    status = "No access";
-                } else {
-                    long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
-                    if (remainingCooldown > 0) {
-                        status = CooldownUtil.formatCooldown(remainingCooldown);
-                    } else {
-                        status = "Ready";
-                    }
-                }
-                commandBuilder.set(cardSelector + " #Status.Text", status);
-
-                eventBuilder.addEventBinding(
-                        CustomUIEventBindingType.Activating,
-                        cardSelector,
-                        EventData.of("Kit", kit.getId())
-                );
+            if (col == 0) {
+                // Create a row group for this row
+                commandBuilder.appendInline("#KitRows",
+                    "Group { LayoutMode: Left; Anchor: (Height: 128); Padding: (Horizontal: 4); }");
+            }
+
+            Kit kit = kits.get(start + i);
+
+            // Append kit entry to this row
+            commandBuilder.append(rowSelector, "Pages/Essentials_KitEntry.ui");
+
+            // Select the kit card within the row
+            String cardSelector = rowSelector + "[" + col + "]";
+            cardSelectors[i] = cardSelector;
+
+            commandBuilder.set(cardSelector + " #Name.Text", kit.getDisplayName());
+
+            // Check permission and cooldown status once; the countdown is computed from readyAt
+            String permission = "essentials.kit." + kit.getId();
+            if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
+                readyAt[i] = NO_ACCESS;
+            } else {
+                long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit);
+                readyAt[i] = remainingCooldown > 0 ? now + remainingCooldown * 1000 : 0;
+                counting |= remainingCooldown > 0;
+            }
+            shownStatus[i] = getStatus(i, now);
+            commandBuilder.set(cardSelector + " #Status.Text", shownStatus[i]);
+
+            eventBuilder.addEventBinding(
+                    CustomUIEventBindingType.Activating,
+                    cardSelector,
+                    EventData.of("Kit", kit.getId())
+            );
+        }
+
+        commandBuilder.set("#PageLabel.Text", "Page " + (page + 1) + " / " + pageCount);
+        if (counting) {
+            startStatusUpdates();
+        } else {
+            stopStatusUpdates();
+        }
+    }
+
+    @Nonnull
+    private String getStatus(int card, long now) {
+        long ready = readyAt[card];
+        if (ready == NO_ACCESS) {
+            return "No access";
+        }
+        long remainingMillis = ready - now;
+        return remainingMillis > 0 ? CooldownUtil.formatCooldown((remainingMillis + 999) / 1000) : "Ready";
+    }
+
+    private synchronized void changePage(int delta) {
+        int target = Math.floorMod(page + delta, pageCount);
+        if (target == page) {
+            return;
+        }
+        page = target;
+
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        commandBuilder.clear("#KitRows");
+        buildPage(commandBuilder, eventBuilder);
+        sendUpdate(commandBuilder, eventBuilder, false);
+    }
+
+    private void startStatusUpdates() {
+        if (statusTask == null) {
+            statusTask = kitManager.getPageScheduler().scheduleAtFixedRate(this::updateStatuses,
+                    STATUS_UPDATE_SECONDS, STATUS_UPDATE_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void stopStatusUpdates() {
+        if (statusTask != null) {
+            statusTask.cancel(false);
+            statusTask = null;
+        }
+    }
+
+    /**
+     * Runs on the page scheduler and hands the update to the player's world thread, where pages are sent.
+     */
+    private void updateStatuses() {
+        UUID worldUuid = playerRef.getWorldUuid();
+        World world = worldUuid != null ? Universe.get().getWorld(worldUuid) : null;
+        if (world == null) {
+            stopStatusUpdates();
+            return;
+        }
+        world.execute(this::sendStatuses);
+    }
+
+    /**
+     * Sends the status text of cards whose countdown changed. Stops once every visible kit is ready,
+     * or once this is no longer the page the player has open.
+     */
+    private synchronized void sendStatuses() {
+        if (statusTask == null) {
+            return;  // Stopped while this update was queued
+        }
+        Ref<EntityStore> ref = playerRef.getReference();
+        if (ref == null || !ref.isValid()) {
+            stopStatusUpdates();
+            return;
+        }
+        Player player = ref.getStore().getComponent(ref, Player.getComponentType());
+        if (player == null || player.getPageManager().getCustomPage() != this) {
+            stopStatusUpdates();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        UICommandBuilder commandBuilder = null;
+        boolean counting = false;
+        for (int i = 0; i < visibleCount; i++) {
+            String status = getStatus(i, now);
+            counting |= readyAt[i] > now;
+            if (status.equals(shownStatus[i])) {
+                continue;
+            }
+            if (commandBuilder == null) {
+                commandBuilder = new UICommandBuilder();
             }
+            commandBuilder.set(cardSelectors[i] + " #Status.Text", status);
+            shownStatus[i] = status;
+        }
+
+        if (commandBuilder != null) {
+            sendUpdate(commandBuilder, false);
+        }
+        if (!counting) {
+            stopStatusUpdates();
         }
     }
 
+    @Override
+    public void onDismiss(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        stopStatusUpdates();
+        super.onDismiss(ref, store);
+    }
+
+    private void closePage() {
+        stopStatusUpdates();
+        this.close();
+    }
+
     @Override
     public void handleDataEvent(@Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store,
                                 @Nonnull KitPageData data) {
+        if (data.page != null) {
+            changePage("prev".equals(data.page) ? -1 : 1);
+            return;
+        }
+
         if (data.kit == null || data.kit.isEmpty()) {
             return;
         }
@@ -119,7 +261,7 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         Kit kit = kitManager.getKit(data.kit);
         if (kit == null) {
             Msg.fail(playerRef, "Kit not found.");
-            this.close();
+            closePage();
             return;
         }
 
@@ -127,119 +269,41 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         String permission = "essentials.kit." + kit.getId();
         if (!PermissionsModule.get().hasPermission(playerRef.getUuid(), permission)) {
             Msg.fail(playerRef, "You don't have permission to use this kit.");
-            this.close();
+            closePage();
             return;
         }
 
-        // Check cooldown (unless player has bypass permission)
-        boolean canBypassCooldown = PermissionsModule.get().hasPermission(playerRef.getUuid(), COOLDOWN_BYPASS_PERMISSION);
-        if (!canBypassCooldown) {
-            long remainingCooldown = kitManager.getRemainingCooldown(playerRef.getUuid(), kit.getId());
-            if (remainingCooldown > 0) {
-                Msg.fail(playerRef, "This kit is on cooldown. " + CooldownUtil.formatCooldown(remainingCooldown) + " remaining.");
-                this.close();
-                return;
-            }
-        }
-
         // Get player inventory
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
             Msg.fail(playerRef, "Could not access your inventory.");
-            this.close();
+            closePage();
             return;
         }
 
         Inventory inventory = player.getInventory();
         if (inventory == null) {
             Msg.fail(playerRef, "Could not access your inventory.");
-            this.close();
+            closePage();
+            return;
+        }
+
+        // Check and start the cooldown in one step (unless player has bypass permission)
+        long remainingCooldown = kitManager.tryStartCooldown(playerRef.getUuid(), kit);
+        if (remainingCooldown > 0) {
+            Msg.fail(playerRef, "This kit is on cooldown. " + CooldownUtil.formatCooldown(remainingCooldown) + " remaining.");
+            closePage();
             return;
         }
 
         // Apply kit (overflow items will be dropped on the ground)
-        applyKit(kit, inventory, ref, store);
+        kit.getPlan().apply(inventory, ref, store);
 
         // Sync inventory changes to client
         player.sendInventory();
 
-        // Set cooldown
-        if (kit.getCooldown() > 0) {
-            kitManager.setKitUsed(playerRef.getUuid(), kit.getId());
-        }
-
         Msg.success(playerRef, "You received the " + kit.getDisplayName() + " kit!");
-        this.close();
-    }
-
-    /**
-     * Applies a kit to the player's inventory. Overflow items are dropped on the ground.
-     */
-    private void applyKit(@Nonnull Kit kit, @Nonnull Inventory inventory,
-                          @Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
-        // Clear inventory if replace mode
-        if (kit.isReplaceMode()) {
-            inventory.clear();
-        }
-
-        // Add items to inventory
-        for (KitItem kitItem : kit.getItems()) {
-            ItemStack itemStack = new ItemStack(kitItem.itemId(), kitItem.quantity());
-            ItemStack remainder = addItemWithOverflow(inventory, kitItem, itemStack);
-            
-            // Drop any overflow items on the ground
-            if (remainder != null && !remainder.isEmpty()) {
-                ItemUtils.dropItem(ref, remainder, store);
-            }
-        }
-    }
-
-    /**
-     * Adds an item to inventory and returns any remainder that couldn't fit
-     */
-    @Nullable
-    private ItemStack addItemWithOverflow(@Nonnull Inventory inventory, @Nonnull KitItem kitItem, @Nonnull ItemStack itemStack) {
-        ItemContainer container = getContainerBySection(inventory, kitItem.section());
-        
-        if (container != null) {
-            // Try to add to specific slot first
-            short slot = (short) kitItem.slot();
-            if (slot >= 0 && slot < container.getCapacity()) {
-                ItemStack existing = container.getItemStack(slot);
-                if (existing == null || existing.isEmpty()) {
-                    container.setItemStackForSlot(slot, itemStack);
-                    return null;
-                }
-            }
-            // Slot occupied or invalid - for armor/utility/tools, fall back to hotbar/storage
-            // (these containers don't support arbitrary item placement like hotbar/storage do)
-            String section = kitItem.section().toLowerCase();
-            if (section.equals("armor") || section.equals("utility") || section.equals("tools")) {
-                ItemStackTransaction transaction = inventory.getCombinedHotbarFirst().addItemStack(itemStack);
-                return transaction.getRemainder();
-            }
-            // For hotbar/storage, try adding anywhere in that container
-            ItemStackTransaction transaction = container.addItemStack(itemStack);
-            return transaction.getRemainder();
-        } else {
-            // Unknown section, try adding to combined hotbar/storage
-            ItemStackTransaction transaction = inventory.getCombinedHotbarFirst().addItemStack(itemStack);
-            return transaction.getRemainder();
-        }
-    }
-
-    /**
-     * Gets the appropriate item container by section name
-     */
-    private ItemContainer getContainerBySection(@Nonnull Inventory inventory, @Nonnull String section) {
-        return switch (section.toLowerCase()) {
-            case "hotbar" -> inventory.getHotbar();
-            case "storage" -> inventory.getStorage();
-            case "armor" -> inventory.getArmor();
-            case "utility" -> inventory.getUtility();
-            case "tools" -> inventory.getTools();
-            default -> null;
-        };
+        closePage();
     }
 
     /**
@@ -249,12 +313,19 @@ public class KitPage extends InteractiveCustomUIPage<KitPage.KitPageData> {
         public static final BuilderCodec<KitPageData> CODEC = BuilderCodec.builder(KitPageData.class, KitPageData::new)
                 .append(new KeyedCodec<>("Kit", Codec.STRING), (data, s) -> data.kit = s, data -> data.kit)
                 .add()
+                .append(new KeyedCodec<>("Page", Codec.STRING), (data, s) -> data.page = s, data -> data.page)
+                .add()
                 .build();
 
         private String kit;
+        private String page;
 
         public String getKit() {
             return kit;
         }
+
+        public String getPage() {
+            return page;
+        }
     }
 }
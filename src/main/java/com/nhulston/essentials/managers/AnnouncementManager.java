@@ -0,0 +1,155 @@
+package com.nhulston.essentials.managers;
+
+import com.nhulston.essentials.util.ColorUtil;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Announces first joins, joins and quits in chat.
+ * Announcements are collected for a short window (announcements.window-ms) and sent as one
+ * broadcast, so a connect storm after a restart costs one message per window instead of one per
+ * player. Within a window, a few of one kind are announced one by one; more are summed up as
+ * "Alice, Bob and 37 others joined the server for the first time!".
+ */
+public class AnnouncementManager {
+    private final ConfigManager configManager;
+    private final BroadcastManager broadcastManager;
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("Announcements");
+    private final ConcurrentLinkedQueue<Announcement> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public AnnouncementManager(@Nonnull ConfigManager configManager, @Nonnull BroadcastManager broadcastManager) {
+        this.configManager = configManager;
+        this.broadcastManager = broadcastManager;
+    }
+
+    public void onFirstJoin(@Nonnull UUID playerUuid, @Nonnull String username) {
+        if (configManager.isWelcomeBroadcastEnabled()) {
+            announce(new Announcement(Kind.FIRST_JOIN, playerUuid, username));
+        }
+    }
+
+    public void onPlayerJoin(@Nonnull UUID playerUuid, @Nonnull String username) {
+        if (configManager.isJoinAnnouncementsEnabled()) {
+            announce(new Announcement(Kind.JOIN, playerUuid, username));
+        }
+    }
+
+    public void onPlayerQuit(@Nonnull UUID playerUuid, @Nonnull String username) {
+        if (configManager.isQuitAnnouncementsEnabled()) {
+            announce(new Announcement(Kind.QUIT, playerUuid, username));
+        }
+    }
+
+    private void announce(@Nonnull Announcement announcement) {
+        pending.add(announcement);
+        // The first announcement of a window starts its timer
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::flush, configManager.getAnnouncementWindowMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush();  // Shutting down
+            }
+        }
+    }
+
+    /**
+     * Sends everything collected in the window as one broadcast.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        Map<Kind, Map<UUID, String>> byKind = new LinkedHashMap<>();
+        for (Kind kind : Kind.values()) {
+            byKind.put(kind, new LinkedHashMap<>());
+        }
+        Announcement next;
+        while ((next = pending.poll()) != null) {
+            byKind.get(next.kind).put(next.playerUuid, next.username);
+        }
+        // A first join is also a join; only announce it once
+        byKind.get(Kind.JOIN).keySet().removeAll(byKind.get(Kind.FIRST_JOIN).keySet());
+
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Kind, Map<UUID, String>> entry : byKind.entrySet()) {
+            addLines(lines, entry.getKey(), entry.getValue().values());
+        }
+        if (!lines.isEmpty()) {
+            broadcastManager.broadcast(ColorUtil.colorize(String.join("\n", lines)));
+        }
+    }
+
+    private void addLines(@Nonnull List<String> lines, @Nonnull Kind kind, @Nonnull Iterable<String> usernames) {
+        List<String> names = new ArrayList<>();
+        usernames.forEach(names::add);
+        if (names.isEmpty()) {
+            return;
+        }
+
+        if (names.size() <= configManager.getAnnouncementIndividualLimit()) {
+            String message = switch (kind) {
+                case FIRST_JOIN -> configManager.getWelcomeBroadcastMessage();
+                case JOIN -> configManager.getJoinAnnouncementMessage();
+                case QUIT -> configManager.getQuitAnnouncementMessage();
+            };
+            for (String name : names) {
+                lines.add(message.replace("%player%", name));
+            }
+            return;
+        }
+
+        String summary = switch (kind) {
+            case FIRST_JOIN -> configManager.getFirstJoinSummary();
+            case JOIN -> configManager.getJoinSummary();
+            case QUIT -> configManager.getQuitSummary();
+        };
+        lines.add(summary.replace("%players%", describe(names, configManager.getAnnouncementSummaryNames())));
+    }
+
+    /**
+     * Lists names as "Alice, Bob and Carol", or "Alice, Bob and 37 others" past the limit.
+     */
+    @Nonnull
+    private static String describe(@Nonnull List<String> names, int shown) {
+        if (names.size() <= shown + 1) {
+            if (names.size() == 1) {
+                return names.getFirst();
+            }
+            return String.join(", ", names.subList(0, names.size() - 1)) + " and " + names.getLast();
+        }
+
+        int others = names.size() - shown;
+        if (shown == 0) {
+            return others + " players";
+        }
+        return String.join(", ", names.subList(0, shown)) + " and " + others + " others";
+    }
+
+    /**
+     * Sends anything still collected and stops the window timer. Call before the broadcast manager shuts down.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private enum Kind {
+        FIRST_JOIN,
+        JOIN,
+        QUIT
+    }
+
+    private record Announcement(@Nonnull Kind kind, @Nonnull UUID playerUuid, @Nonnull String username) {}
+}
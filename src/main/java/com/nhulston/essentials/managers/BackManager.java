@@ -1,87 +1,62 @@
 package com.nhulston.essentials.managers;
 
+import com.nhulston.essentials.models.BackHistory;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.StorageManager;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Manages death locations for the /back command.
- * Stores locations in memory only - not persisted across restarts.
+ * Manages previous locations for the /back command: where players were before each teleport,
+ * and where they died. Each player keeps a fixed number of them, saved with their player data.
  */
 public class BackManager {
-    private final ConcurrentHashMap<UUID, DeathLocation> deathLocations = new ConcurrentHashMap<>();
+    private final StorageManager storageManager;
+    private final ConfigManager configManager;
 
-    /**
-     * Records a player's death location.
-     */
-    public void setDeathLocation(@Nonnull UUID playerUuid, @Nonnull String worldName,
-                                  double x, double y, double z, float yaw, float pitch) {
-        deathLocations.put(playerUuid, new DeathLocation(worldName, x, y, z, yaw, pitch));
+    public BackManager(@Nonnull StorageManager storageManager, @Nonnull ConfigManager configManager) {
+        this.storageManager = storageManager;
+        this.configManager = configManager;
     }
 
     /**
-     * Gets a player's death location without clearing it.
-     * Returns null if no death location is stored.
+     * Records where a player was before a teleport or death.
      */
-    @Nullable
-    public DeathLocation getDeathLocation(@Nonnull UUID playerUuid) {
-        return deathLocations.get(playerUuid);
+    public void addLocation(@Nonnull UUID playerUuid, @Nonnull BackHistory.Entry entry) {
+        getHistory(playerUuid).add(entry);
     }
 
     /**
-     * Clears a player's death location.
+     * Records a player's death location.
      */
-    public void clearDeathLocation(@Nonnull UUID playerUuid) {
-        deathLocations.remove(playerUuid);
+    public void setDeathLocation(@Nonnull UUID playerUuid, @Nonnull String worldName,
+                                  double x, double y, double z, float yaw, float pitch) {
+        addLocation(playerUuid, new BackHistory.Entry(BackHistory.Cause.DEATH, worldName, x, y, z, yaw, pitch,
+                System.currentTimeMillis()));
     }
 
     /**
-     * Cleans up death location for a player when they disconnect.
+     * Gets a previous location, 1 being the most recent.
+     * Returns null if the player doesn't have that many.
      */
-    public void onPlayerQuit(@Nonnull UUID playerUuid) {
-        deathLocations.remove(playerUuid);
+    @Nullable
+    public BackHistory.Entry getLocation(@Nonnull UUID playerUuid, int number) {
+        return getHistory(playerUuid).get(number);
     }
 
     /**
-     * Stores death location data.
+     * Gets a player's previous locations, most recent first.
      */
-    public static class DeathLocation {
-        private final String worldName;
-        private final double x, y, z;
-        private final float yaw, pitch;
-
-        DeathLocation(String worldName, double x, double y, double z, float yaw, float pitch) {
-            this.worldName = worldName;
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.yaw = yaw;
-            this.pitch = pitch;
-        }
-
-        public String getWorldName() {
-            return worldName;
-        }
-
-        public double getX() {
-            return x;
-        }
-
-        public double getY() {
-            return y;
-        }
-
-        public double getZ() {
-            return z;
-        }
-
-        public float getYaw() {
-            return yaw;
-        }
+    @Nonnull
+    public List<BackHistory.Entry> getLocations(@Nonnull UUID playerUuid) {
+        return getHistory(playerUuid).getAll();
+    }
 
-        public float getPitch() {
-            return pitch;
-        }
+    @Nonnull
+    private BackHistory getHistory(@Nonnull UUID playerUuid) {
+        return storageManager.getPlayerData(playerUuid).getBackHistory(configManager.getBackHistorySize());
     }
 }
@@ -0,0 +1,186 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.protocol.packets.interface_.ChatType;
+import com.hypixel.hytale.protocol.packets.interface_.ServerMessage;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends server-wide and world-wide messages.
+ * Each broadcast is turned into a single chat packet when it is queued, and that same
+ * packet instance is written to every recipient. Broadcasts queued during a tick are
+ * flushed together so the player list is walked once per tick rather than once per message.
+ */
+public class BroadcastManager {
+    private static final long FLUSH_INTERVAL_MILLIS = 50;
+
+    private final ConcurrentLinkedQueue<PendingBroadcast> pending = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("Broadcast");
+
+    public BroadcastManager() {
+        scheduler.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends a message to every online player.
+     */
+    public void broadcast(@Nonnull Message message) {
+        broadcast(message, null, null);
+    }
+
+    /**
+     * Sends a message to every player in a world.
+     */
+    public void broadcastToWorld(@Nonnull World world, @Nonnull Message message) {
+        broadcast(message, world, null);
+    }
+
+    /**
+     * Sends a message to online players, optionally limited to one world and/or a permission.
+     *
+     * @param world      only send to players in this world, or null for all worlds
+     * @param permission only send to players with this permission, or null for everyone
+     */
+    public void broadcast(@Nonnull Message message, @Nullable World world, @Nullable String permission) {
+        pending.add(new PendingBroadcast(message, world != null ? world.getName() : null, permission));
+    }
+
+    /**
+     * Writes all queued broadcasts to their recipients.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingBroadcast> batch = new ArrayList<>();
+        PendingBroadcast next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+        }
+
+        List<PlayerRef> players;
+        try {
+            players = Universe.get().getPlayers();
+        } catch (Exception e) {
+            Log.error("Failed to flush broadcasts: " + e.getMessage());
+            return;
+        }
+        deliver(batch, players, SERVER);
+    }
+
+    /**
+     * Writes a batch of broadcasts to each player they're meant for. A player that fails
+     * (e.g., disconnected mid-write) is skipped, and the rest still get the batch.
+     * Package-private, along with Recipients, so benchmarks run it against stand-in players.
+     *
+     * @return how many packets were written
+     */
+    static <P> int deliver(@Nonnull List<PendingBroadcast> batch, @Nonnull List<P> players,
+                           @Nonnull Recipients<P> recipients) {
+        boolean needsWorld = false;
+        for (PendingBroadcast broadcast : batch) {
+            needsWorld |= broadcast.worldName != null;
+        }
+
+        int written = 0;
+        for (P player : players) {
+            try {
+                String playerWorld = needsWorld ? recipients.getWorldName(player) : null;
+                for (PendingBroadcast broadcast : batch) {
+                    if (broadcast.worldName != null && !broadcast.worldName.equals(playerWorld)) {
+                        continue;
+                    }
+                    if (broadcast.permission != null && !recipients.hasPermission(player, broadcast.permission)) {
+                        continue;
+                    }
+                    recipients.write(player, broadcast.packet);
+                    written++;
+                }
+            } catch (Exception e) {
+                Log.warning("Failed to send broadcasts to " + recipients.getName(player) + ": " + e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Flushes anything still queued and stops the flush task.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * What delivering a broadcast needs from a player.
+     */
+    interface Recipients<P> {
+        @Nonnull
+        String getName(@Nonnull P player);
+
+        @Nullable
+        String getWorldName(@Nonnull P player);
+
+        boolean hasPermission(@Nonnull P player, @Nonnull String permission);
+
+        void write(@Nonnull P player, @Nonnull ServerMessage packet);
+    }
+
+    private static final Recipients<PlayerRef> SERVER = new Recipients<>() {
+        @Nonnull
+        @Override
+        public String getName(@Nonnull PlayerRef player) {
+            return player.getUsername();
+        }
+
+        // Runs on the broadcast thread, so the world comes from the player's world UUID rather than
+        // from the entity store, which may only be read on the world's own thread
+        @Nullable
+        @Override
+        public String getWorldName(@Nonnull PlayerRef player) {
+            UUID worldUuid = player.getWorldUuid();
+            if (worldUuid == null) {
+                return null;
+            }
+            World world = Universe.get().getWorld(worldUuid);
+            return world != null ? world.getName() : null;
+        }
+
+        @Override
+        public boolean hasPermission(@Nonnull PlayerRef player, @Nonnull String permission) {
+            return PermissionsModule.get().hasPermission(player.getUuid(), permission);
+        }
+
+        @Override
+        public void write(@Nonnull PlayerRef player, @Nonnull ServerMessage packet) {
+            player.getPacketHandler().write(packet);
+        }
+    };
+
+    static class PendingBroadcast {
+        final ServerMessage packet;
+        final String worldName;     // null = all worlds
+        final String permission;    // null = everyone
+
+        PendingBroadcast(@Nonnull Message message, @Nullable String worldName, @Nullable String permission) {
+            this.packet = new ServerMessage(ChatType.Chat, message.getFormattedMessage());
+            this.worldName = worldName;
+            this.permission = permission;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.ChatChannel;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manages chat channels and their recipient sets.
+ * Each channel keeps a copy-on-write recipient list that is updated when a player joins,
+ * quits, changes world, joins or leaves the channel, or gains or loses the channel permission.
+ * Delivering a chat line is a read of the current list with no per-message filtering.
+ */
+public class ChannelManager {
+    private static final long PERMISSION_RESYNC_SECONDS = 10;
+
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final ConcurrentHashMap<UUID, Member> members = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("Channels");
+
+    // Swapped as a whole on reload, once every member is already in the new recipient sets
+    private volatile Channels snapshot;
+    // The channels refresh() puts members in; a reload sets it before moving members over
+    private volatile ChannelState[] memberChannels = new ChannelState[0];
+
+    public ChannelManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager) {
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        reload();
+        configManager.addReloadListener((previous, current) -> {
+            if (current.sectionChanged(previous, "chat")) {
+                reload();
+            }
+        });
+
+        // Permission changes have no event, so re-check permission-gated channels periodically
+        scheduler.scheduleAtFixedRate(this::resyncPermissions,
+                PERMISSION_RESYNC_SECONDS, PERMISSION_RESYNC_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Rebuilds all channels from the config and re-adds online players.
+     * Online players are put in the new channels' recipient sets before the channels are published,
+     * so chat sent during a reload goes to the old, still complete sets and then to the new, complete ones.
+     */
+    public synchronized void reload() {
+        Map<String, ChatChannel> configured = configManager.getChatChannels();
+        ChannelState[] newChannels = new ChannelState[configured.size()];
+        Map<String, ChannelState> newById = new HashMap<>();
+        int index = 0;
+        for (ChatChannel channel : configured.values()) {
+            ChannelState state = new ChannelState(channel, index);
+            newChannels[index++] = state;
+            newById.put(channel.getId(), state);
+        }
+        Channels next = new Channels(newChannels, newById,
+                newById.getOrDefault(configManager.getDefaultChatChannel(), newChannels[0]),
+                configManager.isChatChannelsEnabled());
+
+        memberChannels = newChannels;
+        for (Member member : members.values()) {
+            synchronized (member) {
+                refresh(member);
+            }
+        }
+        snapshot = next;
+    }
+
+    public boolean isEnabled() {
+        return snapshot.enabled;
+    }
+
+    /**
+     * Tracks a player entering a world. Handles both joining the server and changing worlds.
+     */
+    public void onPlayerEnterWorld(@Nonnull PlayerRef playerRef, @Nonnull String worldName) {
+        Member member = members.get(playerRef.getUuid());
+        if (member == null) {
+            // Read the player's data before touching the map, so no map lock is held during I/O
+            Member loaded = loadMember(playerRef);
+            member = members.computeIfAbsent(playerRef.getUuid(), _ -> loaded);
+        }
+        synchronized (member) {
+            member.world = worldName;
+            refresh(member);
+        }
+    }
+
+    /**
+     * Removes a player from every recipient set when they disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        Member member = members.remove(playerUuid);
+        if (member == null) {
+            return;
+        }
+        synchronized (member) {
+            RecipientSet[] sets = member.membership.sets;
+            for (int i = 0; i < sets.length; i++) {
+                if (sets[i] != null) {
+                    sets[i].remove(member.playerRef);
+                    sets[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the channel a player is talking in.
+     *
+     * @return the channel, or null if the player is not in any channel they can talk in
+     */
+    @Nullable
+    public ChatChannel getSpeakingChannel(@Nonnull UUID playerUuid) {
+        Member member = members.get(playerUuid);
+        if (member == null) {
+            return snapshot.defaultChannel.channel;
+        }
+        // Read from one membership, so a reload in progress can't mix old and new channels
+        Membership membership = member.membership;
+        String active = member.active;
+        ChatChannel fallback = null;
+        for (int i = 0; i < membership.channels.length; i++) {
+            if (membership.sets[i] == null) {
+                continue;
+            }
+            ChatChannel channel = membership.channels[i].channel;
+            if (channel.getId().equals(active)) {
+                return channel;
+            }
+            // Active channel was left or its permission was lost - fall back to any channel they're in
+            if (fallback == null) {
+                fallback = channel;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Gets the players who receive a message sent by a player to a channel.
+     * The returned list is a shared snapshot and must not be modified.
+     *
+     * @return the recipients, or null if the sender has not entered a world yet
+     */
+    @Nullable
+    public List<PlayerRef> getRecipients(@Nonnull UUID senderUuid, @Nonnull ChatChannel channel) {
+        Member member = members.get(senderUuid);
+        if (member == null) {
+            return null;
+        }
+        ChannelState state = snapshot.byId.get(channel.getId());
+        if (state == null) {
+            return List.of();
+        }
+        RecipientSet set = state.getSet(member.world);
+        return set != null ? set.list : List.of();
+    }
+
+    /**
+     * Switches the channel a player talks in, joining it if needed.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public String setSpeakingChannel(@Nonnull UUID playerUuid, @Nonnull String channelId) {
+        ChannelState state = snapshot.byId.get(channelId.toLowerCase());
+        if (state == null) {
+            return "Channel '" + channelId + "' does not exist.";
+        }
+        Member member = members.get(playerUuid);
+        if (member == null) {
+            return "You are not in a world yet.";
+        }
+        if (!canJoin(playerUuid, state.channel)) {
+            return "You don't have permission to join " + state.channel.getId() + ".";
+        }
+        synchronized (member) {
+            member.joined.add(state.channel.getId());
+            member.active = state.channel.getId();
+            refresh(member);
+        }
+        save(member);
+        return null;
+    }
+
+    /**
+     * Joins a channel without talking in it.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public String joinChannel(@Nonnull UUID playerUuid, @Nonnull String channelId) {
+        ChannelState state = snapshot.byId.get(channelId.toLowerCase());
+        if (state == null) {
+            return "Channel '" + channelId + "' does not exist.";
+        }
+        Member member = members.get(playerUuid);
+        if (member == null) {
+            return "You are not in a world yet.";
+        }
+        if (!canJoin(playerUuid, state.channel)) {
+            return "You don't have permission to join " + state.channel.getId() + ".";
+        }
+        synchronized (member) {
+            if (!member.joined.add(state.channel.getId())) {
+                return "You are already in " + state.channel.getId() + ".";
+            }
+            refresh(member);
+        }
+        save(member);
+        return null;
+    }
+
+    /**
+     * Leaves a channel. Players stop receiving its messages.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public String leaveChannel(@Nonnull UUID playerUuid, @Nonnull String channelId) {
+        ChannelState state = snapshot.byId.get(channelId.toLowerCase());
+        if (state == null) {
+            return "Channel '" + channelId + "' does not exist.";
+        }
+        Member member = members.get(playerUuid);
+        if (member == null) {
+            return "You are not in a world yet.";
+        }
+        synchronized (member) {
+            if (!member.joined.remove(state.channel.getId())) {
+                return "You are not in " + state.channel.getId() + ".";
+            }
+            refresh(member);
+        }
+        save(member);
+        return null;
+    }
+
+    /**
+     * Gets all configured channels, in config order.
+     */
+    @Nonnull
+    public List<ChatChannel> getChannels() {
+        ChannelState[] states = snapshot.states;
+        List<ChatChannel> result = new ArrayList<>(states.length);
+        for (ChannelState state : states) {
+            result.add(state.channel);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a player currently receives messages from a channel.
+     */
+    public boolean isInChannel(@Nonnull UUID playerUuid, @Nonnull ChatChannel channel) {
+        Member member = members.get(playerUuid);
+        if (member == null) {
+            return false;
+        }
+        Membership membership = member.membership;
+        for (int i = 0; i < membership.channels.length; i++) {
+            if (membership.sets[i] != null && membership.channels[i].channel.getId().equals(channel.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean canJoin(@Nonnull UUID playerUuid, @Nonnull ChatChannel channel) {
+        String permission = channel.getPermission();
+        return permission == null || PermissionsModule.get().hasPermission(playerUuid, permission);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Moves a player into the recipient sets they belong in and out of the rest.
+     * After a reload, this is also what moves the player onto the new channels.
+     * Must be called while holding the member's lock.
+     */
+    private void refresh(@Nonnull Member member) {
+        ChannelState[] states = memberChannels;
+        Membership membership = member.membership;
+        if (membership.channels != states) {
+            // The old channels are gone with their sets, so the new membership starts empty
+            // and is only published once it's filled in
+            membership = new Membership(states, new RecipientSet[states.length]);
+        }
+        RecipientSet[] sets = membership.sets;
+
+        for (ChannelState state : states) {
+            ChatChannel channel = state.channel;
+            boolean belongs = member.world != null
+                    && member.joined.contains(channel.getId())
+                    && canJoin(member.playerRef.getUuid(), channel);
+            RecipientSet target = belongs ? state.getOrCreateSet(member.world) : null;
+            RecipientSet current = sets[state.index];
+            if (current == target) {
+                continue;
+            }
+            if (current != null) {
+                current.remove(member.playerRef);
+            }
+            if (target != null) {
+                target.add(member.playerRef);
+            }
+            sets[state.index] = target;
+        }
+        member.membership = membership;
+    }
+
+    private void resyncPermissions() {
+        try {
+            for (Member member : members.values()) {
+                synchronized (member) {
+                    for (ChannelState state : memberChannels) {
+                        if (state.channel.getPermission() == null) {
+                            continue;
+                        }
+                        boolean belongs = member.joined.contains(state.channel.getId())
+                                && canJoin(member.playerRef.getUuid(), state.channel);
+                        if (belongs != (member.getSet(state) != null)) {
+                            refresh(member);
+                            break;
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            Log.error("Failed to resync channel permissions: " + e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private Member loadMember(@Nonnull PlayerRef playerRef) {
+        PlayerData data = storageManager.getPlayerData(playerRef.getUuid());
+        Member member = new Member(playerRef);
+
+        List<String> saved = data.getChatChannels();
+        if (saved != null) {
+            member.joined.addAll(saved);
+        } else {
+            for (ChannelState state : snapshot.states) {
+                if (state.channel.isAutoJoin()) {
+                    member.joined.add(state.channel.getId());
+                }
+            }
+        }
+
+        String active = data.getChatChannel();
+        member.active = active != null ? active : snapshot.defaultChannel.channel.getId();
+        return member;
+    }
+
+    private void save(@Nonnull Member member) {
+        UUID uuid = member.playerRef.getUuid();
+        PlayerData data = storageManager.getPlayerData(uuid);
+        data.setChatChannel(member.active);
+        data.setChatChannels(new ArrayList<>(member.joined));
+        storageManager.savePlayerData(uuid);
+    }
+
+    /**
+     * The configured channels, published together on reload.
+     */
+    private record Channels(@Nonnull ChannelState[] states, @Nonnull Map<String, ChannelState> byId,
+                            @Nonnull ChannelState defaultChannel, boolean enabled) {}
+
+    /**
+     * A configured channel and its recipient sets.
+     */
+    private static class ChannelState {
+        final ChatChannel channel;
+        final int index;
+        final RecipientSet serverSet;                              // SERVER scope
+        final ConcurrentHashMap<String, RecipientSet> worldSets;   // WORLD scope, by world name
+
+        ChannelState(@Nonnull ChatChannel channel, int index) {
+            this.channel = channel;
+            this.index = index;
+            boolean worldScoped = channel.getScope() == ChatChannel.Scope.WORLD;
+            this.serverSet = worldScoped ? null : new RecipientSet();
+            this.worldSets = worldScoped ? new ConcurrentHashMap<>() : null;
+        }
+
+        @Nullable
+        RecipientSet getSet(@Nullable String worldName) {
+            if (serverSet != null) {
+                return serverSet;
+            }
+            return worldName != null ? worldSets.get(worldName) : null;
+        }
+
+        @Nonnull
+        RecipientSet getOrCreateSet(@Nonnull String worldName) {
+            if (serverSet != null) {
+                return serverSet;
+            }
+            return worldSets.computeIfAbsent(worldName, _ -> new RecipientSet());
+        }
+    }
+
+    /**
+     * Copy-on-write list of recipients. Writes are rare (membership changes),
+     * reads happen on every chat line and never lock.
+     */
+    private static class RecipientSet {
+        volatile List<PlayerRef> list = List.of();
+
+        synchronized void add(@Nonnull PlayerRef playerRef) {
+            PlayerRef[] current = list.toArray(new PlayerRef[0]);
+            PlayerRef[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = playerRef;
+            list = Collections.unmodifiableList(Arrays.asList(next));
+        }
+
+        synchronized void remove(@Nonnull PlayerRef playerRef) {
+            List<PlayerRef> next = new ArrayList<>(list);
+            if (next.remove(playerRef)) {
+                list = Collections.unmodifiableList(next);
+            }
+        }
+    }
+
+    /**
+     * The recipient sets a player is in, along with the channels they were built for.
+     * Kept together so a reader never indexes one channel list's sets with another's indexes.
+     */
+    private static class Membership {
+        static final Membership EMPTY = new Membership(new ChannelState[0], new RecipientSet[0]);
+
+        final ChannelState[] channels;
+        final RecipientSet[] sets;  // set the player is in, per channel index
+
+        Membership(@Nonnull ChannelState[] channels, @Nonnull RecipientSet[] sets) {
+            this.channels = channels;
+            this.sets = sets;
+        }
+    }
+
+    /**
+     * Channel state for an online player.
+     */
+    private static class Member {
+        final PlayerRef playerRef;
+        final Set<String> joined = ConcurrentHashMap.newKeySet();
+        volatile String active;
+        volatile String world;
+        volatile Membership membership = Membership.EMPTY;  // replaced under the member's lock
+
+        Member(@Nonnull PlayerRef playerRef) {
+            this.playerRef = playerRef;
+        }
+
+        /**
+         * Gets the set the player is in for a channel, or null if they aren't in it
+         * or haven't been moved onto the channel's config yet.
+         */
+        @Nullable
+        RecipientSet getSet(@Nonnull ChannelState state) {
+            Membership current = membership;
+            int index = state.index;
+            return index < current.channels.length && current.channels[index] == state ? current.sets[index] : null;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.nhulston.essentials.managers;
+
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records public chat and private messages to daily log files for moderation.
+ * Chat threads only claim a slot in a fixed-size lock-free ring buffer. A single writer thread
+ * drains the buffer every flush interval and writes the whole batch with one flush.
+ * When the buffer is full, entries are dropped and counted so chat never waits on disk.
+ * Files are named chatlogs/yyyy-MM-dd.log and are gzipped once the day rolls over.
+ */
+public class ChatLogManager {
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+    private static final long COMPRESS_DELAY_MILLIS = 60_000;  // lets late entries land before a day is gzipped
+    private static final int LOOKUP_LIMIT = 20;
+    private static final String LOG_SUFFIX = ".log";
+    private static final String GZIP_SUFFIX = ".log.gz";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    /**
+     * Kinds of logged messages.
+     */
+    public enum Type {
+        CHAT,  // public chat, target is the channel
+        MSG    // private message, target is the receiving player
+    }
+
+    private final ConfigManager configManager;
+    private final Path logFolder;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Multi-producer, single-consumer ring buffer
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    // Only touched by the writer thread
+    private BufferedWriter writer;
+    private LocalDate currentDate;
+    private long reportedDrops;
+    private final Map<LocalDate, StringBuilder> lateLines = new HashMap<>();  // entries for days before currentDate
+    private final Map<LocalDate, Long> compressAt = new HashMap<>();          // finished days -> when to gzip them
+
+    // Held while a previous day's plain log is appended to or compressed, so neither sees half of the other
+    private final Object pastLogLock = new Object();
+
+    public ChatLogManager(@Nonnull Path dataFolder, @Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        this.logFolder = dataFolder.resolve("chatlogs");
+
+        int capacity = Integer.highestOneBit(Math.max(64, configManager.getChatLogBufferSize()));  // power of two
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        try {
+            Files.createDirectories(logFolder);
+        } catch (IOException e) {
+            Log.error("Failed to create chat log folder: " + e.getMessage());
+        }
+
+        writerThread = new Thread(this::runWriter, "Essentials-ChatLog");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a message for logging. Never blocks.
+     *
+     * @param target channel id for chat, receiving player name for private messages
+     */
+    public void log(@Nonnull Type type, @Nonnull String sender, @Nonnull String target, @Nonnull String message) {
+        if (!configManager.isChatLogEnabled()) {
+            return;
+        }
+
+        Entry entry = new Entry(System.currentTimeMillis(), type, sender, target, message);
+        while (true) {
+            long slot = tail.get();
+            if (slot - head > mask) {
+                dropped.increment();
+                return;
+            }
+            if (tail.compareAndSet(slot, slot + 1)) {
+                slots.set((int) (slot & mask), entry);
+                return;
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * Finds the most recent log lines sent by or to a player, newest day first.
+     * Runs off-thread since it reads (and possibly decompresses) log files.
+     */
+    @Nonnull
+    public CompletableFuture<List<String>> lookup(@Nonnull String playerName) {
+        return Tasks.supplyIo("chatlog.lookup", () -> {
+            Deque<String> results = new ArrayDeque<>();
+            LocalDate date = LocalDate.now(zone);
+            int days = Math.max(1, configManager.getChatLogLookupDays());
+
+            for (int i = 0; i < days && results.size() < LOOKUP_LIMIT; i++, date = date.minusDays(1)) {
+                List<String> dayMatches = scanDay(date, playerName);
+                // Add this day's newest matches in front of the newer days already collected
+                for (int j = dayMatches.size() - 1; j >= 0 && results.size() < LOOKUP_LIMIT; j--) {
+                    results.addFirst(dayMatches.get(j));
+                }
+            }
+            return new ArrayList<>(results);
+        });
+    }
+
+    /**
+     * Stops the writer thread after it writes everything still buffered.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        // Leftovers from earlier runs are gzipped in the background, so the first writes don't wait on them
+        Tasks.runCpu("chatlog.compress-old", this::compressOldLogs);
+        StringBuilder batch = new StringBuilder(4096);
+
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MILLIS));
+            drain(batch);
+        }
+        drain(batch);
+        closeWriter();
+    }
+
+    /**
+     * Writes every published entry as one group commit.
+     */
+    private void drain(@Nonnull StringBuilder batch) {
+        int count = 0;
+        long next = head;
+        Entry entry;
+        while ((entry = slots.get((int) (next & mask))) != null) {
+            slots.set((int) (next & mask), null);
+            next++;
+            head = next;
+
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp), zone);
+            LocalDate date = time.toLocalDate();
+            if (currentDate == null || date.isAfter(currentDate)) {
+                // Day rolled over mid-batch - finish the old file before switching
+                write(batch);
+                rotate(date);
+            }
+            if (date.isBefore(currentDate)) {
+                // Slots are claimed out of order, so a message from just before midnight can come
+                // after one from just after it. It still belongs in its own day's file.
+                appendLine(lateLines.computeIfAbsent(date, _ -> new StringBuilder()), time, entry);
+            } else {
+                appendLine(batch, time, entry);
+            }
+            count++;
+        }
+
+        if (count > 0) {
+            write(batch);
+            writeLateLines();
+            written.add(count);
+        }
+        compressFinishedDays();
+
+        long drops = dropped.sum();
+        if (drops > reportedDrops) {
+            Log.warning("Chat log buffer full, dropped " + (drops - reportedDrops) + " entries.");
+            reportedDrops = drops;
+        }
+    }
+
+    private void appendLine(@Nonnull StringBuilder batch, @Nonnull LocalDateTime time, @Nonnull Entry entry) {
+        batch.append(TIME_FORMAT.format(time)).append('\t')
+                .append(entry.type.name()).append('\t')
+                .append(entry.sender).append('\t')
+                .append(entry.target).append('\t');
+        // Keep one entry per line
+        String message = entry.message;
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            batch.append(c == '\n' || c == '\r' || c == '\t' ? ' ' : c);
+        }
+        batch.append('\n');
+    }
+
+    private void write(@Nonnull StringBuilder batch) {
+        if (batch.isEmpty() || writer == null) {
+            batch.setLength(0);
+            return;
+        }
+        try {
+            writer.append(batch);
+            writer.flush();
+        } catch (IOException e) {
+            Log.error("Failed to write chat log: " + e.getMessage());
+        }
+        batch.setLength(0);
+    }
+
+    private void rotate(@Nonnull LocalDate date) {
+        LocalDate previous = currentDate;
+        closeWriter();
+        currentDate = date;
+
+        try {
+            writer = Files.newBufferedWriter(logFile(date), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            Log.error("Failed to open chat log: " + e.getMessage());
+            writer = null;
+        }
+
+        if (previous != null) {
+            scheduleCompress(previous);
+        }
+    }
+
+    /**
+     * Appends entries that arrived after their day's file was closed to that file.
+     */
+    private void writeLateLines() {
+        if (lateLines.isEmpty()) {
+            return;
+        }
+        synchronized (pastLogLock) {
+            for (Map.Entry<LocalDate, StringBuilder> day : lateLines.entrySet()) {
+                try {
+                    Files.writeString(logFile(day.getKey()), day.getValue(), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    Log.error("Failed to write chat log: " + e.getMessage());
+                }
+                // If the day was already gzipped, these lines are added to it as another member
+                scheduleCompress(day.getKey());
+            }
+        }
+        lateLines.clear();
+    }
+
+    /**
+     * Gzips a finished day's log once late entries have had time to land.
+     */
+    private void scheduleCompress(@Nonnull LocalDate date) {
+        if (configManager.isChatLogCompressEnabled()) {
+            compressAt.put(date, System.currentTimeMillis() + COMPRESS_DELAY_MILLIS);
+        }
+    }
+
+    private void compressFinishedDays() {
+        if (compressAt.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        compressAt.entrySet().removeIf(day -> {
+            if (day.getValue() > now) {
+                return false;
+            }
+            Path rolled = logFile(day.getKey());
+            Tasks.runCpu("chatlog.compress", () -> compress(rolled));
+            return true;
+        });
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            Log.error("Failed to close chat log: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * Compresses plain logs left over from previous days (e.g., the server stopped before midnight).
+     */
+    private void compressOldLogs() {
+        if (!configManager.isChatLogCompressEnabled()) {
+            return;
+        }
+        String today = LocalDate.now(zone) + LOG_SUFFIX;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(logFolder, "*" + LOG_SUFFIX)) {
+            for (Path file : stream) {
+                if (!file.getFileName().toString().equals(today)) {
+                    compress(file);
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to compress old chat logs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gzips a plain log. If the day already has a .gz (the day's file was written to again after
+     * it was compressed), the new part is added to the end as another gzip member, which readers
+     * decompress as one stream, instead of replacing what's there.
+     */
+    private void compress(@Nonnull Path file) {
+        synchronized (pastLogLock) {
+            compressLocked(file);
+        }
+    }
+
+    private void compressLocked(@Nonnull Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Path target = file.resolveSibling(file.getFileName().toString().replace(LOG_SUFFIX, GZIP_SUFFIX));
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                in.transferTo(out);
+            }
+            // Only complete members are added, so a crash mid-compress never damages the archive
+            if (Files.exists(target)) {
+                try (InputStream in = Files.newInputStream(temp);
+                     OutputStream out = Files.newOutputStream(target, StandardOpenOption.APPEND)) {
+                    in.transferTo(out);
+                }
+                Files.delete(temp);
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            Log.error("Failed to compress chat log " + file.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            Log.warning("Failed to delete compressed chat log " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private List<String> scanDay(@Nonnull LocalDate date, @Nonnull String playerName) {
+        List<String> matches = new ArrayList<>();
+        BufferedReader reader = openForRead(date);
+        if (reader == null) {
+            return matches;
+        }
+
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", 5);
+                if (parts.length < 5) {
+                    continue;
+                }
+                boolean isMsg = parts[1].equals(Type.MSG.name());
+                if (parts[2].equalsIgnoreCase(playerName) || (isMsg && parts[3].equalsIgnoreCase(playerName))) {
+                    matches.add(formatLine(date, parts, isMsg));
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to read chat log for " + date + ": " + e.getMessage());
+        }
+        return matches;
+    }
+
+    @Nullable
+    private BufferedReader openForRead(@Nonnull LocalDate date) {
+        try {
+            Path plain = logFile(date);
+            if (Files.exists(plain)) {
+                return Files.newBufferedReader(plain, StandardCharsets.UTF_8);
+            }
+            Path gzip = logFolder.resolve(date + GZIP_SUFFIX);
+            if (Files.exists(gzip)) {
+                return new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(gzip)), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to open chat log for " + date + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static String formatLine(@Nonnull LocalDate date, @Nonnull String[] parts, boolean isMsg) {
+        if (isMsg) {
+            return date + " " + parts[0] + " [MSG] " + parts[2] + " -> " + parts[3] + ": " + parts[4];
+        }
+        return date + " " + parts[0] + " [" + parts[3] + "] " + parts[2] + ": " + parts[4];
+    }
+
+    @Nonnull
+    private Path logFile(@Nonnull LocalDate date) {
+        return logFolder.resolve(date + LOG_SUFFIX);
+    }
+
+    private static class Entry {
+        final long timestamp;
+        final Type type;
+        final String sender;
+        final String target;
+        final String message;
+
+        Entry(long timestamp, @Nonnull Type type, @Nonnull String sender, @Nonnull String target,
+              @Nonnull String message) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.sender = sender;
+            this.target = target;
+            this.message = message;
+        }
+    }
+}
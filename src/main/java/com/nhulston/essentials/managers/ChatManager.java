@@ -4,10 +4,13 @@ import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.ChatChannel;
+import com.nhulston.essentials.util.ChatTemplate;
 import com.nhulston.essentials.util.ColorUtil;
 import com.nhulston.essentials.util.ConfigManager;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -31,12 +34,31 @@ public class ChatManager {
         return this::formatMessage;
     }
 
+    /**
+     * Creates a formatter that prepends the channel prefix to the player's group format.
+     */
+    @Nonnull
+    public PlayerChatEvent.Formatter createFormatter(@Nullable ChatChannel channel) {
+        if (channel == null || channel.getPrefix().isEmpty()) {
+            return this::formatMessage;
+        }
+        return (sender, content) -> formatMessage(sender, content, channel.getPrefix());
+    }
+
     /**
      * Formats a chat message for a player based on their permission groups.
      */
     @Nonnull
     public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content) {
-        String format = getFormatForPlayer(sender.getUuid());
+        return formatMessage(sender, content, "");
+    }
+
+    /**
+     * Formats a chat message with a prefix in front of the player's group format.
+     */
+    @Nonnull
+    public Message formatMessage(@Nonnull PlayerRef sender, @Nonnull String content, @Nonnull String prefix) {
+        ChatTemplate template = getTemplateForPlayer(sender.getUuid());
 
         // Strip color codes from message unless player has permission
         String sanitizedContent = content;
@@ -44,10 +66,7 @@ public class ChatManager {
             sanitizedContent = stripColorCodes(content);
         }
 
-        String formatted = format
-                .replace("%player%", sender.getUsername())
-                .replace("%message%", sanitizedContent);
-
+        String formatted = template.apply(prefix, sender.getUsername(), sanitizedContent);
         return ColorUtil.colorize(formatted);
     }
 
@@ -64,17 +83,17 @@ public class ChatManager {
      * Returns the first matching group format, or the fallback if no groups match.
      */
     @Nonnull
-    private String getFormatForPlayer(@Nonnull UUID playerUuid) {
-        Map<String, String> formats = configManager.getChatFormats();
+    private ChatTemplate getTemplateForPlayer(@Nonnull UUID playerUuid) {
+        Map<String, ChatTemplate> formats = configManager.getChatTemplates();
 
         if (formats.isEmpty()) {
-            return configManager.getChatFallbackFormat();
+            return configManager.getChatFallbackTemplate();
         }
 
         Set<String> playerGroups = PermissionsModule.get().getGroupsForUser(playerUuid);
 
         // Check each configured format in order (LinkedHashMap preserves insertion order)
-        for (Map.Entry<String, String> entry : formats.entrySet()) {
+        for (Map.Entry<String, ChatTemplate> entry : formats.entrySet()) {
             String groupName = entry.getKey();
             // Check if player is in this group (case-insensitive)
             for (String playerGroup : playerGroups) {
@@ -84,7 +103,7 @@ public class ChatManager {
             }
         }
 
-        return configManager.getChatFallbackFormat();
+        return configManager.getChatFallbackTemplate();
     }
 
     /**
@@ -0,0 +1,152 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.nhulston.essentials.models.CooldownKey;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Tracks per-player cooldowns for commands and features.
+ * A feature declares its cooldown once with a default duration and a bypass permission;
+ * the [cooldowns] config section can override any declared duration by name.
+ * Expiry times are kept per player as primitive longs in PlayerData and pruned when it is saved.
+ */
+public class CooldownManager {
+    private final StorageManager storageManager;
+    private final ConfigManager configManager;
+    private final ConcurrentHashMap<CooldownKey, Declaration> declarations = new ConcurrentHashMap<>();
+
+    private static class Declaration {
+        final String bypassPermission;
+        final IntSupplier defaultSeconds;
+
+        Declaration(@Nullable String bypassPermission, @Nonnull IntSupplier defaultSeconds) {
+            this.bypassPermission = bypassPermission;
+            this.defaultSeconds = defaultSeconds;
+        }
+    }
+
+    public CooldownManager(@Nonnull StorageManager storageManager, @Nonnull ConfigManager configManager) {
+        this.storageManager = storageManager;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Declares a cooldown, replacing any earlier declaration with the same name.
+     *
+     * @param bypassPermission permission that skips the cooldown, or null for none
+     * @param defaultSeconds duration used unless [cooldowns] sets one; read on every use, 0 = no cooldown
+     */
+    @Nonnull
+    public CooldownKey declare(@Nonnull String name, @Nullable String bypassPermission,
+                               @Nonnull IntSupplier defaultSeconds) {
+        CooldownKey key = CooldownKey.of(name);
+        declarations.put(key, new Declaration(bypassPermission, defaultSeconds));
+        return key;
+    }
+
+    /**
+     * Gets a cooldown's duration in seconds.
+     */
+    public int getDuration(@Nonnull CooldownKey key) {
+        Integer configured = configManager.getCooldowns().get(key.getName());
+        if (configured != null) {
+            return configured;
+        }
+        Declaration declaration = declarations.get(key);
+        return declaration != null ? declaration.defaultSeconds.getAsInt() : 0;
+    }
+
+    /**
+     * Gets the remaining cooldown in seconds, ignoring bypass permissions.
+     */
+    public long getRemaining(@Nonnull UUID playerUuid, @Nonnull CooldownKey key) {
+        long expiry = getData(playerUuid).getCooldownExpiry(key);
+        return toSeconds(expiry - System.currentTimeMillis());
+    }
+
+    /**
+     * Checks a cooldown without starting it.
+     * @return remaining seconds, or 0 if the player may go ahead
+     */
+    public long check(@Nonnull UUID playerUuid, @Nonnull CooldownKey key) {
+        long remaining = getRemaining(playerUuid, key);
+        return remaining > 0 && !canBypass(playerUuid, key) ? remaining : 0;
+    }
+
+    /**
+     * Checks a cooldown and, if the player may go ahead, starts it in the same step.
+     * @return remaining seconds if the player is still on cooldown, or 0 if the cooldown was started
+     */
+    public long tryAcquire(@Nonnull UUID playerUuid, @Nonnull CooldownKey key) {
+        int duration = getDuration(key);
+        if (duration <= 0) {
+            return 0;
+        }
+
+        PlayerData data = getData(playerUuid);
+        long now = System.currentTimeMillis();
+        synchronized (data) {
+            long remainingMillis = data.getCooldownExpiry(key) - now;
+            if (remainingMillis > 0 && !canBypass(playerUuid, key)) {
+                return toSeconds(remainingMillis);
+            }
+            data.setCooldownExpiry(key, now + duration * 1000L);
+        }
+        storageManager.savePlayerData(playerUuid);
+        return 0;
+    }
+
+    /**
+     * Starts a cooldown without checking it, e.g. once a delayed action actually happened.
+     */
+    public void acquire(@Nonnull UUID playerUuid, @Nonnull CooldownKey key) {
+        int duration = getDuration(key);
+        if (duration <= 0) {
+            return;
+        }
+        getData(playerUuid).setCooldownExpiry(key, System.currentTimeMillis() + duration * 1000L);
+        storageManager.savePlayerData(playerUuid);
+    }
+
+    private boolean canBypass(@Nonnull UUID playerUuid, @Nonnull CooldownKey key) {
+        Declaration declaration = declarations.get(key);
+        return declaration != null && declaration.bypassPermission != null
+                && PermissionsModule.get().hasPermission(playerUuid, declaration.bypassPermission);
+    }
+
+    @Nonnull
+    private PlayerData getData(@Nonnull UUID playerUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        if (data.hasLegacyCooldowns()) {
+            migrateLegacyCooldowns(data);
+        }
+        return data;
+    }
+
+    /**
+     * Converts last-use timestamps saved by older versions into expiry times, using current durations.
+     */
+    private void migrateLegacyCooldowns(@Nonnull PlayerData data) {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : data.takeLegacyCooldowns().entrySet()) {
+            CooldownKey key = CooldownKey.of(entry.getKey());
+            long expiry = entry.getValue() + getDuration(key) * 1000L;
+            if (expiry > now) {
+                data.setCooldownExpiry(key, expiry);
+            }
+        }
+    }
+
+    private static long toSeconds(long millis) {
+        return millis > 0 ? (millis + 999) / 1000 : 0;
+    }
+}
@@ -99,6 +99,13 @@ public class HomeManager {
         return storageManager.getPlayerData(playerUuid).getHomes();
     }
 
+    /**
+     * Checks if a player's homes are in memory, so getting them won't read their file.
+     */
+    public boolean isLoaded(@Nonnull UUID playerUuid) {
+        return storageManager.isPlayerDataLoaded(playerUuid);
+    }
+
     public boolean deleteHome(@Nonnull UUID playerUuid, @Nonnull String name) {
         PlayerData data = storageManager.getPlayerData(playerUuid);
         if (data.getHome(name) == null) {
@@ -0,0 +1,252 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Manages player ignore lists.
+ * Ignore lists are stored in PlayerData and kept in memory for online players as
+ * open-addressed hash sets of raw UUID bits, so a membership check is O(1) and allocates nothing.
+ * A count of online players ignoring each sender lets chat skip filtering entirely
+ * for the common case where nobody ignores the sender.
+ */
+public class IgnoreManager {
+    private static final String EXEMPT_PERMISSION = "essentials.ignore.exempt";
+
+    private final StorageManager storageManager;
+    private final ConcurrentHashMap<UUID, IgnoreSet> ignoreSets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Integer> ignoredByCount = new ConcurrentHashMap<>();
+
+    public IgnoreManager(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    /**
+     * Loads a player's ignore list when they connect.
+     */
+    public void onPlayerJoin(@Nonnull UUID playerUuid) {
+        loadSet(playerUuid);
+    }
+
+    /**
+     * Drops a player's ignore list from memory when they disconnect.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        replace(playerUuid, null);
+    }
+
+    private void loadSet(@Nonnull UUID playerUuid) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        List<UUID> uuids = new ArrayList<>();
+        for (String key : data.getIgnored().keySet()) {
+            try {
+                uuids.add(UUID.fromString(key));
+            } catch (IllegalArgumentException e) {
+                Log.warning("Invalid ignored UUID '" + key + "' for " + playerUuid);
+            }
+        }
+        replace(playerUuid, IgnoreSet.of(uuids));
+    }
+
+    /**
+     * Checks if a player ignores another player. O(1), no allocation.
+     */
+    public boolean isIgnoring(@Nonnull UUID playerUuid, @Nonnull UUID otherUuid) {
+        IgnoreSet set = ignoreSets.get(playerUuid);
+        return set != null && set.contains(otherUuid);
+    }
+
+    /**
+     * Checks if a player ignores another player, whether or not they're online.
+     * An offline player's ignore list is read from their saved data.
+     */
+    public boolean isIgnoringOffline(@Nonnull UUID playerUuid, @Nonnull UUID otherUuid) {
+        IgnoreSet set = ignoreSets.get(playerUuid);
+        if (set != null) {
+            return set.contains(otherUuid);
+        }
+        return storageManager.getPlayerData(playerUuid).getIgnored().containsKey(otherUuid.toString());
+    }
+
+    /**
+     * Checks if any online player ignores the sender.
+     */
+    public boolean isIgnoredByAnyone(@Nonnull UUID senderUuid) {
+        return ignoredByCount.containsKey(senderUuid);
+    }
+
+    /**
+     * Removes recipients who ignore the sender.
+     * Only call when isIgnoredByAnyone is true; otherwise the recipients can be used as-is.
+     */
+    @Nonnull
+    public List<PlayerRef> filterRecipients(@Nonnull UUID senderUuid, @Nonnull Collection<PlayerRef> recipients) {
+        return filterRecipients(senderUuid, recipients, PlayerRef::getUuid);
+    }
+
+    /**
+     * Removes recipients who ignore the sender, for any kind of recipient.
+     * Package-private so benchmarks run the chat filter against stand-in players.
+     */
+    @Nonnull
+    <P> List<P> filterRecipients(@Nonnull UUID senderUuid, @Nonnull Collection<P> recipients,
+                                 @Nonnull Function<P, UUID> uuidOf) {
+        List<P> filtered = new ArrayList<>(recipients.size());
+        for (P recipient : recipients) {
+            if (!isIgnoring(uuidOf.apply(recipient), senderUuid)) {
+                filtered.add(recipient);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Adds a player to another player's ignore list.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public String ignore(@Nonnull PlayerRef player, @Nonnull PlayerRef target) {
+        UUID uuid = player.getUuid();
+        UUID targetUuid = target.getUuid();
+        if (uuid.equals(targetUuid)) {
+            return "You cannot ignore yourself.";
+        }
+        if (PermissionsModule.get().hasPermission(targetUuid, EXEMPT_PERMISSION)) {
+            return "You cannot ignore " + target.getUsername() + ".";
+        }
+
+        PlayerData data = storageManager.getPlayerData(uuid);
+        if (data.getIgnored().containsKey(targetUuid.toString())) {
+            return "You are already ignoring " + target.getUsername() + ".";
+        }
+        Map<String, String> ignored = new HashMap<>(data.getIgnored());
+        ignored.put(targetUuid.toString(), target.getUsername());
+        data.setIgnored(ignored);
+        storageManager.savePlayerData(uuid);
+        loadSet(uuid);
+        return null;
+    }
+
+    /**
+     * Removes a player from an ignore list by name (the player may be offline).
+     *
+     * @return the removed player's name, or null if they were not ignored
+     */
+    @Nullable
+    public String unignore(@Nonnull UUID playerUuid, @Nonnull String targetName) {
+        PlayerData data = storageManager.getPlayerData(playerUuid);
+        for (Map.Entry<String, String> entry : data.getIgnored().entrySet()) {
+            if (entry.getValue().equalsIgnoreCase(targetName)) {
+                String name = entry.getValue();
+                Map<String, String> ignored = new HashMap<>(data.getIgnored());
+                ignored.remove(entry.getKey());
+                data.setIgnored(ignored);
+                storageManager.savePlayerData(playerUuid);
+                loadSet(playerUuid);
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the names of players a player ignores.
+     */
+    @Nonnull
+    public List<String> getIgnoredNames(@Nonnull UUID playerUuid) {
+        return new ArrayList<>(storageManager.getPlayerData(playerUuid).getIgnored().values());
+    }
+
+    /**
+     * Swaps a player's in-memory set and keeps the ignored-by counts in step.
+     */
+    private synchronized void replace(@Nonnull UUID playerUuid, @Nullable IgnoreSet next) {
+        IgnoreSet previous = next != null ? ignoreSets.put(playerUuid, next) : ignoreSets.remove(playerUuid);
+        if (previous != null) {
+            for (UUID ignored : previous.members) {
+                ignoredByCount.computeIfPresent(ignored, (_, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+        if (next != null) {
+            for (UUID ignored : next.members) {
+                ignoredByCount.merge(ignored, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Immutable open-addressed hash set of UUIDs stored as two parallel long arrays.
+     * The all-zero UUID marks an empty slot; it is never a real player UUID.
+     */
+    private static final class IgnoreSet {
+        final List<UUID> members;
+        private final long[] most;
+        private final long[] least;
+        private final int mask;
+
+        private IgnoreSet(@Nonnull List<UUID> members) {
+            this.members = members;
+            // Keep the load factor at or below 0.5 so probe chains stay short
+            int capacity = Integer.highestOneBit(Math.max(2, members.size() * 2 - 1)) << 1;
+            this.most = new long[capacity];
+            this.least = new long[capacity];
+            this.mask = capacity - 1;
+            for (UUID uuid : members) {
+                insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            }
+        }
+
+        @Nonnull
+        static IgnoreSet of(@Nonnull List<UUID> members) {
+            return new IgnoreSet(List.copyOf(members));
+        }
+
+        boolean contains(@Nonnull UUID uuid) {
+            long msb = uuid.getMostSignificantBits();
+            long lsb = uuid.getLeastSignificantBits();
+            int slot = hash(msb, lsb) & mask;
+            while (most[slot] != 0 || least[slot] != 0) {
+                if (most[slot] == msb && least[slot] == lsb) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        private void insert(long msb, long lsb) {
+            int slot = hash(msb, lsb) & mask;
+            while (most[slot] != 0 || least[slot] != 0) {
+                if (most[slot] == msb && least[slot] == lsb) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            most[slot] = msb;
+            least[slot] = lsb;
+        }
+
+        private static int hash(long msb, long lsb) {
+            long h = msb ^ lsb;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+}
@@ -2,9 +2,8 @@ package com.nhulston.essentials.managers;
 
 import com.nhulston.essentials.models.Kit;
 import com.nhulston.essentials.models.KitItem;
-import com.nhulston.essentials.models.PlayerData;
 import com.nhulston.essentials.util.Log;
-import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.Tasks;
 import org.tomlj.Toml;
 import org.tomlj.TomlArray;
 import org.tomlj.TomlParseResult;
@@ -18,33 +17,40 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Manages kit loading, saving, and application.
+ * The kit map is never modified in place: loads and edits build a new map and swap it in,
+ * so readers always see either the old or the new set of kits.
  */
 public class KitManager {
     private final Path kitsPath;
-    private final StorageManager storageManager;
-    private final Map<String, Kit> kits;
-    private String fileHeader;
+    private static final String COOLDOWN_BYPASS_PERMISSION = "essentials.kit.cooldown.bypass";
 
-    public KitManager(@Nonnull Path dataFolder, @Nonnull StorageManager storageManager) {
+    private final CooldownManager cooldownManager;
+    private volatile Map<String, Kit> kits;
+    private volatile String fileHeader;
+    private volatile boolean assetsLoaded;     // item assets exist, so kit plans can be compiled
+    private final ScheduledExecutorService pageScheduler = Tasks.newScheduler("KitPages");
+
+    public KitManager(@Nonnull Path dataFolder, @Nonnull CooldownManager cooldownManager) {
         this.kitsPath = dataFolder.resolve("kits.toml");
-        this.storageManager = storageManager;
-        this.kits = new LinkedHashMap<>();
+        this.cooldownManager = cooldownManager;
+        this.kits = Map.of();
         this.fileHeader = "";
         load();
     }
 
     /**
-     * Loads kits from kits.toml
+     * Loads kits from kits.toml, keeping the current kit instances for kits that did not change.
      */
-    private void load() {
+    private synchronized void load() {
         if (!Files.exists(kitsPath)) {
             createDefault();
         }
@@ -57,7 +63,7 @@ public class KitManager {
                 fileHeader = fileContent.substring(0, kitsIndex);
             }
 
-            TomlParseResult config = Toml.parse(kitsPath);
+            TomlParseResult config = Toml.parse(fileContent);
 
             if (config.hasErrors()) {
                 config.errors().forEach(error -> Log.error("Kits config error: " + error.toString()));
@@ -71,7 +77,10 @@ public class KitManager {
                 return;
             }
 
-            kits.clear();
+            Map<String, Kit> previous = kits;
+            Map<String, Kit> loaded = new LinkedHashMap<>();
+            List<String> added = new ArrayList<>();
+            List<String> changed = new ArrayList<>();
             for (String kitId : kitsTable.keySet()) {
                 TomlTable kitTable = kitsTable.getTable(kitId);
                 if (kitTable == null) continue;
@@ -98,25 +107,101 @@ public class KitManager {
                     }
                 }
 
-                Kit kit = new Kit(kitId.toLowerCase(), displayName, cooldown, type, items);
-                kits.put(kitId.toLowerCase(), kit);
-                Log.info("Loaded kit: " + kitId + " with " + items.size() + " items");
+                String id = kitId.toLowerCase();
+                Kit kit = new Kit(id, displayName, cooldown, type, items);
+                Kit old = previous.get(id);
+                if (old == null) {
+                    added.add(id);
+                } else if (isSameKit(old, kit)) {
+                    kit = old;
+                } else {
+                    changed.add(id);
+                }
+                loaded.put(id, kit);
+                declareCooldown(kit);
+            }
+
+            List<String> removed = new ArrayList<>();
+            for (String id : previous.keySet()) {
+                if (!loaded.containsKey(id)) {
+                    removed.add(id);
+                }
             }
 
-            Log.info("Loaded " + kits.size() + " kits from kits.toml");
+            kits = Collections.unmodifiableMap(loaded);
+            if (assetsLoaded) {
+                compilePlans(added);
+                compilePlans(changed);
+            }
+
+            if (previous.isEmpty()) {
+                Log.info("Loaded " + loaded.size() + " kits from kits.toml");
+            } else if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+                Log.info("Kits reloaded, no changes.");
+            } else {
+                Log.info("Kits reloaded: " + summarize("added", added) + summarize("changed", changed)
+                        + summarize("removed", removed) + loaded.size() + " total");
+            }
         } catch (IOException e) {
             Log.error("Failed to load kits: " + e.getMessage());
         }
     }
 
     /**
-     * Reloads kits from kits.toml
+     * Reloads kits from kits.toml. Safe to call from any thread.
      */
     public void reload() {
-        Log.info("Reloading kits...");
         load();
     }
 
+    /**
+     * Compiles every kit's plan once the item assets are loaded, so claims don't pay for it
+     * and unknown item IDs are reported at startup instead of when someone claims the kit.
+     */
+    public void warmUp() {
+        assetsLoaded = true;
+        compilePlans(kits.keySet());
+    }
+
+    private void compilePlans(@Nonnull Collection<String> kitIds) {
+        Map<String, Kit> current = kits;
+        for (String id : kitIds) {
+            Kit kit = current.get(id);
+            if (kit == null) {
+                continue;
+            }
+            List<String> invalidItems = kit.getPlan().getInvalidItems();
+            if (!invalidItems.isEmpty()) {
+                Log.warning("Kit '" + id + "' has unknown items that will be skipped: "
+                        + String.join(", ", invalidItems));
+            }
+        }
+    }
+
+    /**
+     * Gets the scheduler open kit pages use to refresh cooldown countdowns.
+     */
+    @Nonnull
+    public ScheduledExecutorService getPageScheduler() {
+        return pageScheduler;
+    }
+
+    public void shutdown() {
+        pageScheduler.shutdownNow();
+    }
+
+    private static boolean isSameKit(@Nonnull Kit a, @Nonnull Kit b) {
+        return a.getDisplayName().equals(b.getDisplayName())
+                && a.getCooldown() == b.getCooldown()
+                && a.getType().equals(b.getType())
+                && a.getItems().equals(b.getItems());
+    }
+
+    @Nonnull
+    private static String summarize(@Nonnull String label, @Nonnull List<String> ids) {
+        return ids.isEmpty() ? "" : label + " " + String.join(", ", ids) + "; ";
+    }
+
     /**
      * Creates default kits.toml from resources
      */
@@ -145,7 +230,15 @@ public class KitManager {
         String displayName = capitalize(kitId);
         
         Kit kit = new Kit(id, displayName, 0, "add", items);
-        kits.put(id, kit);
+        declareCooldown(kit);
+        synchronized (this) {
+            Map<String, Kit> updated = new LinkedHashMap<>(kits);
+            updated.put(id, kit);
+            kits = Collections.unmodifiableMap(updated);
+        }
+        if (assetsLoaded) {
+            kit.getPlan();
+        }
         
         saveKitAsync(kit);
     }
@@ -154,7 +247,7 @@ public class KitManager {
      * Saves a kit to kits.toml (appends to existing file)
      */
     private void saveKitAsync(@Nonnull Kit kit) {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("kits.save", () -> {
             try {
                 StringBuilder toml = new StringBuilder();
                 
@@ -208,7 +301,11 @@ public class KitManager {
      */
     public void deleteKit(@Nonnull String kitId) {
         String id = kitId.toLowerCase();
-        kits.remove(id);
+        synchronized (this) {
+            Map<String, Kit> updated = new LinkedHashMap<>(kits);
+            updated.remove(id);
+            kits = Collections.unmodifiableMap(updated);
+        }
         
         // Rewrite the entire kits.toml file without the deleted kit
         saveAllKitsAsync();
@@ -218,13 +315,13 @@ public class KitManager {
      * Saves all kits to kits.toml (rewrites entire file)
      */
     private void saveAllKitsAsync() {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("kits.save", () -> {
             try {
                 StringBuilder toml = new StringBuilder();
                 toml.append(fileHeader);
                 toml.append("[kits]\n");
 
-                for (Kit kit : kits.values()) {
+                for (Kit kit : getKits()) {
                     toml.append("\n[kits.").append(kit.getId()).append("]\n");
                     toml.append("display-name = \"").append(escapeToml(kit.getDisplayName())).append("\"\n");
                     toml.append("cooldown = ").append(kit.getCooldown()).append("\n");
@@ -248,33 +345,26 @@ public class KitManager {
     }
 
     /**
-     * Checks if a player is on cooldown for a kit
-     * @return remaining cooldown in seconds, or 0 if not on cooldown
+     * Declares a kit's cooldown, so [cooldowns] can override it as "kit.<id>".
      */
-    public long getRemainingCooldown(@Nonnull UUID playerUuid, @Nonnull String kitId) {
-        Kit kit = getKit(kitId);
-        if (kit == null || kit.getCooldown() <= 0) {
-            return 0;
-        }
-
-        PlayerData data = storageManager.getPlayerData(playerUuid);
-        Long lastUsed = data.getKitCooldown(kitId.toLowerCase());
-        if (lastUsed == null) {
-            return 0;
-        }
+    private void declareCooldown(@Nonnull Kit kit) {
+        cooldownManager.declare(kit.getCooldownKey().getName(), COOLDOWN_BYPASS_PERMISSION, kit::getCooldown);
+    }
 
-        long elapsed = (System.currentTimeMillis() - lastUsed) / 1000;
-        long remaining = kit.getCooldown() - elapsed;
-        return Math.max(0, remaining);
+    /**
+     * Checks if a player is on cooldown for a kit, ignoring bypass permissions
+     * @return remaining cooldown in seconds, or 0 if not on cooldown
+     */
+    public long getRemainingCooldown(@Nonnull UUID playerUuid, @Nonnull Kit kit) {
+        return cooldownManager.getRemaining(playerUuid, kit.getCooldownKey());
     }
 
     /**
-     * Sets the cooldown timestamp for a player's kit usage
+     * Starts a player's cooldown for a kit unless they are still on it (or can bypass it).
+     * @return remaining cooldown in seconds, or 0 if the kit can be claimed
      */
-    public void setKitUsed(@Nonnull UUID playerUuid, @Nonnull String kitId) {
-        PlayerData data = storageManager.getPlayerData(playerUuid);
-        data.setKitCooldown(kitId.toLowerCase(), System.currentTimeMillis());
-        storageManager.savePlayerData(playerUuid);
+    public long tryStartCooldown(@Nonnull UUID playerUuid, @Nonnull Kit kit) {
+        return cooldownManager.tryAcquire(playerUuid, kit.getCooldownKey());
     }
 
     private static String capitalize(String str) {
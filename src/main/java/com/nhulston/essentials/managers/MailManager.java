@@ -0,0 +1,254 @@
+package com.nhulston.essentials.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.models.Mail;
+import com.nhulston.essentials.models.PlayerData;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Manages offline mail.
+ * Each player's mailbox is an append-only file of JSON lines stored next to their
+ * player data (players/<uuid>.mail). Sending only appends one line, so it never loads the
+ * recipient's PlayerData. The recipient's read position is a byte offset in their PlayerData,
+ * so counting unread mail on join only scans the unread tail of the file.
+ * All mailbox I/O runs on one thread, which keeps appends to the same file ordered.
+ */
+public class MailManager {
+    private final StorageManager storageManager;
+    private final Gson gson = new Gson();
+    private final ExecutorService ioExecutor = Tasks.newSerialIo("Mail");
+
+    // Unread counts for online players
+    private final ConcurrentHashMap<UUID, CompletableFuture<AtomicInteger>> unreadCounts = new ConcurrentHashMap<>();
+
+    public MailManager(@Nonnull StorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    /**
+     * Starts counting a player's unread mail when they connect.
+     */
+    public void onPlayerJoin(@Nonnull UUID playerUuid) {
+        long readOffset = storageManager.getPlayerData(playerUuid).getMailReadOffset();
+        unreadCounts.put(playerUuid, CompletableFuture.supplyAsync(
+                () -> new AtomicInteger(countLines(getMailboxFile(playerUuid), readOffset)), ioExecutor));
+    }
+
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        unreadCounts.remove(playerUuid);
+    }
+
+    /**
+     * Gets a player's unread mail count. Completes once the count has been loaded.
+     */
+    @Nonnull
+    public CompletableFuture<Integer> getUnreadCount(@Nonnull UUID playerUuid) {
+        CompletableFuture<AtomicInteger> count = unreadCounts.get(playerUuid);
+        if (count == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return count.thenApply(AtomicInteger::get);
+    }
+
+    /**
+     * Appends a message to a player's mailbox. Works whether or not the recipient is online.
+     */
+    @Nonnull
+    public CompletableFuture<Void> send(@Nonnull String senderName, @Nonnull UUID recipientUuid, @Nonnull String message) {
+        String line = gson.toJson(new Mail(senderName, System.currentTimeMillis(), message)) + "\n";
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.writeString(getMailboxFile(recipientUuid), line, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                Log.error("Failed to write mail for " + recipientUuid + ": " + e.getMessage());
+                throw new IllegalStateException(e);
+            }
+
+            CompletableFuture<AtomicInteger> count = unreadCounts.get(recipientUuid);
+            if (count != null) {
+                count.thenAccept(AtomicInteger::incrementAndGet);
+                PlayerRef recipient = Universe.get().getPlayer(recipientUuid);
+                if (recipient != null) {
+                    Msg.info(recipient, "You have new mail from " + senderName + ". Use /mail read to view it.");
+                }
+            }
+        }, ioExecutor);
+    }
+
+    /**
+     * Reads a player's whole mailbox and marks it as read.
+     * The player must be online (their PlayerData is loaded).
+     *
+     * @return all mail, oldest first, and how many of them were unread
+     */
+    @Nonnull
+    public CompletableFuture<ReadResult> read(@Nonnull UUID playerUuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = getMailboxFile(playerUuid);
+            PlayerData data = storageManager.getPlayerData(playerUuid);
+            long readOffset = data.getMailReadOffset();
+
+            List<Mail> mail = new ArrayList<>();
+            int unread = 0;
+            long end = 0;
+            if (Files.exists(file)) {
+                try {
+                    byte[] bytes = Files.readAllBytes(file);
+                    end = bytes.length;
+                    int lineStart = 0;
+                    for (int i = 0; i < bytes.length; i++) {
+                        if (bytes[i] != '\n') {
+                            continue;
+                        }
+                        Mail parsed = parse(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                        if (parsed != null) {
+                            mail.add(parsed);
+                            if (lineStart >= readOffset) {
+                                unread++;
+                            }
+                        }
+                        lineStart = i + 1;
+                    }
+                } catch (IOException e) {
+                    Log.error("Failed to read mail for " + playerUuid + ": " + e.getMessage());
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            if (end != readOffset) {
+                data.setMailReadOffset(end);
+                storageManager.savePlayerData(playerUuid);
+            }
+            resetUnread(playerUuid);
+            return new ReadResult(mail, unread);
+        }, ioExecutor);
+    }
+
+    /**
+     * Deletes all mail in a player's mailbox.
+     *
+     * @return the number of messages deleted
+     */
+    @Nonnull
+    public CompletableFuture<Integer> clear(@Nonnull UUID playerUuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            Path file = getMailboxFile(playerUuid);
+            int count = countLines(file, 0);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                Log.error("Failed to clear mail for " + playerUuid + ": " + e.getMessage());
+                throw new IllegalStateException(e);
+            }
+
+            storageManager.getPlayerData(playerUuid).setMailReadOffset(0);
+            storageManager.savePlayerData(playerUuid);
+            resetUnread(playerUuid);
+            return count;
+        }, ioExecutor);
+    }
+
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                Log.warning("Mail writes did not finish before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void resetUnread(@Nonnull UUID playerUuid) {
+        unreadCounts.computeIfPresent(playerUuid, (_, _) -> CompletableFuture.completedFuture(new AtomicInteger()));
+    }
+
+    /**
+     * Counts complete lines in a file after the given byte offset.
+     */
+    private int countLines(@Nonnull Path file, long offset) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int lines = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            in.skipNBytes(Math.min(offset, Files.size(file)));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Failed to count mail in " + file.getFileName() + ": " + e.getMessage());
+        }
+        return lines;
+    }
+
+    @Nullable
+    private Mail parse(@Nonnull String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return gson.fromJson(line, Mail.class);
+        } catch (JsonParseException e) {
+            Log.warning("Skipping corrupt mail entry: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Nonnull
+    private Path getMailboxFile(@Nonnull UUID playerUuid) {
+        return storageManager.getPlayersFolder().resolve(playerUuid + ".mail");
+    }
+
+    /**
+     * Result of reading a mailbox.
+     */
+    public static class ReadResult {
+        private final List<Mail> mail;
+        private final int unread;
+
+        ReadResult(@Nonnull List<Mail> mail, int unread) {
+            this.mail = mail;
+            this.unread = unread;
+        }
+
+        @Nonnull
+        public List<Mail> getMail() {
+            return mail;
+        }
+
+        public int getUnread() {
+            return unread;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Archives the data of players who haven't played in a while (player-archive.inactive-days).
+ * A pass runs in the background every player-archive.interval-hours, walks players/ and moves
+ * each old data file into the archive at no more than player-archive.files-per-second, then logs
+ * how much space it freed. Archived players are restored by StorageManager when they're loaded.
+ */
+public class PlayerArchiveManager {
+    private static final long FIRST_PASS_DELAY_MINUTES = 5;
+
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("PlayerArchive");
+    private volatile ScheduledFuture<?> nextPass;
+    private volatile boolean stopped;
+
+    public PlayerArchiveManager(@Nonnull ConfigManager configManager, @Nonnull StorageManager storageManager) {
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        nextPass = scheduler.schedule(this::runPass, FIRST_PASS_DELAY_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private void runPass() {
+        try {
+            if (configManager.isPlayerArchiveEnabled()) {
+                archiveInactivePlayers();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            Log.error("Player archive pass failed: " + e.getMessage());
+        }
+
+        // Scheduled one pass at a time, so an interval change in the config applies to the next one
+        if (stopped) {
+            return;
+        }
+        try {
+            nextPass = scheduler.schedule(this::runPass, configManager.getPlayerArchiveIntervalHours(), TimeUnit.HOURS);
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down
+        }
+    }
+
+    private void archiveInactivePlayers() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        long inactiveSince = start - TimeUnit.DAYS.toMillis(configManager.getPlayerArchiveInactiveDays());
+        long pauseMillis = Math.max(1, 1000L / configManager.getPlayerArchiveFilesPerSecond());
+
+        int scanned = 0;
+        int archived = 0;
+        long dataBytes = 0;
+        long archivedBytes = 0;
+
+        // Streamed rather than listed, so a huge folder is never held in memory
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(storageManager.getPlayersFolder(), "*.json")) {
+            for (Path file : files) {
+                if (stopped) {
+                    break;
+                }
+                scanned++;
+
+                UUID playerUuid = parseUuid(file);
+                if (playerUuid == null || Universe.get().getPlayer(playerUuid) != null
+                        || Files.getLastModifiedTime(file).toMillis() >= inactiveSince) {
+                    continue;
+                }
+
+                StorageManager.ArchivedPlayer result = storageManager.archivePlayerData(playerUuid, inactiveSince);
+                if (result != null) {
+                    archived++;
+                    dataBytes += result.dataBytes();
+                    archivedBytes += result.archivedBytes();
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Failed to scan player data for archiving: " + e.getMessage());
+        }
+
+        if (archived > 0) {
+            Log.info("Archived " + archived + " inactive players out of " + scanned + " in "
+                    + (System.currentTimeMillis() - start) / 1000 + "s: " + formatBytes(dataBytes) + " of player data now takes "
+                    + formatBytes(archivedBytes) + ", freeing " + formatBytes(dataBytes - archivedBytes) + ". "
+                    + storageManager.getArchivedPlayerCount() + " players are archived.");
+        }
+    }
+
+    @Nullable
+    private static UUID parseUuid(@Nonnull Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return UUID.fromString(name.substring(0, name.length() - ".json".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nonnull
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * Stops the current pass after the player it's on, without interrupting a file move.
+     * Call before the storage manager shuts down.
+     */
+    public void shutdown() {
+        stopped = true;
+        ScheduledFuture<?> next = nextPass;
+        if (next != null) {
+            next.cancel(false);
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                Log.warning("Player archive pass did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.nhulston.essentials.managers;
+
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.CooldownUtil;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player token-bucket rate limiter for chat and spammy commands.
+ * Each bucket is a single packed long: the high 40 bits hold the last refill time
+ * (ms since the manager started) and the low 24 bits hold the token count in thousandths.
+ * Checks are a CAS loop with no locks and no allocation once the player's state exists.
+ * Players who keep hitting the limit are muted for escalating durations. Offenses are remembered
+ * across reconnects until rate-limit.mute-reset passes without a mute, then dropped in the background.
+ */
+public class RateLimitManager {
+    private static final String BYPASS_PERMISSION = "essentials.ratelimit.bypass";
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long TOKEN_SCALE = 1000;
+    private static final long MAX_CAPACITY = TOKEN_MASK / TOKEN_SCALE;
+
+    private static final int STRIKE_BITS = 16;
+    private static final long STRIKE_MASK = (1L << STRIKE_BITS) - 1;
+
+    private static final long PRUNE_INTERVAL_SECONDS = 60;
+
+    /**
+     * Rate-limited actions. Each one has its own bucket per player.
+     */
+    public enum Bucket {
+        CHAT("chat"),
+        MSG("msg"),
+        SHOUT("shout");
+
+        private final String configKey;
+
+        Bucket(String configKey) {
+            this.configKey = configKey;
+        }
+
+        @Nonnull
+        public String getConfigKey() {
+            return configKey;
+        }
+    }
+
+    private static final Bucket[] BUCKETS = Bucket.values();
+
+    private final ConfigManager configManager;
+    private final long startMillis = System.currentTimeMillis();
+    private final ConcurrentHashMap<UUID, PlayerLimiter> limiters = new ConcurrentHashMap<>();
+
+    private final LongAdder[] allowed = new LongAdder[BUCKETS.length];
+    private final LongAdder[] rejected = new LongAdder[BUCKETS.length];
+    private final LongAdder mutesIssued = new LongAdder();
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("RateLimit");
+
+    // Cached from config so the hot path never touches ConfigManager
+    private volatile boolean enabled;
+    private volatile long[] capacities = new long[BUCKETS.length];      // in thousandths of a token
+    private volatile long[] refillRates = new long[BUCKETS.length];     // thousandths of a token per second
+    private volatile int muteAfter;
+    private volatile long strikeWindowMillis;
+    private volatile long[] muteDurationsMillis = new long[0];
+    private volatile long muteResetMillis;
+
+    public RateLimitManager(@Nonnull ConfigManager configManager) {
+        this.configManager = configManager;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            allowed[i] = new LongAdder();
+            rejected[i] = new LongAdder();
+        }
+        reload();
+        configManager.addReloadListener((previous, current) -> {
+            if (current.sectionChanged(previous, "rate-limit")) {
+                reload();
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::pruneOffline, PRUNE_INTERVAL_SECONDS, PRUNE_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Re-reads limits from the config. Existing buckets keep their tokens, clamped to the new capacity.
+     */
+    public void reload() {
+        long[] newCapacities = new long[BUCKETS.length];
+        long[] newRates = new long[BUCKETS.length];
+        for (Bucket bucket : BUCKETS) {
+            long capacity = Math.max(1, Math.min(MAX_CAPACITY, configManager.getRateLimitCapacity(bucket.getConfigKey())));
+            double refill = Math.max(0.0, configManager.getRateLimitRefill(bucket.getConfigKey()));
+            newCapacities[bucket.ordinal()] = capacity * TOKEN_SCALE;
+            newRates[bucket.ordinal()] = Math.round(refill * TOKEN_SCALE);
+        }
+
+        int[] durations = configManager.getRateLimitMuteDurations();
+        long[] newDurations = new long[durations.length];
+        for (int i = 0; i < durations.length; i++) {
+            newDurations[i] = Math.max(0, durations[i]) * 1000L;
+        }
+
+        capacities = newCapacities;
+        refillRates = newRates;
+        muteAfter = configManager.getRateLimitMuteAfter();
+        strikeWindowMillis = Math.max(1, configManager.getRateLimitStrikeWindow()) * 1000L;
+        muteDurationsMillis = newDurations;
+        muteResetMillis = configManager.getRateLimitMuteReset() * 1000L;
+        enabled = configManager.isRateLimitEnabled();
+    }
+
+    /**
+     * Takes one token from the player's bucket.
+     *
+     * @return null if the action is allowed, otherwise a message explaining why it was rejected
+     */
+    @Nullable
+    public String tryAcquire(@Nonnull UUID playerUuid, @Nonnull Bucket bucket) {
+        if (!enabled) {
+            return null;
+        }
+
+        int index = bucket.ordinal();
+        long now = System.currentTimeMillis() - startMillis;
+        PlayerLimiter limiter = getLimiter(playerUuid, now);
+
+        long mutedUntil = limiter.mutedUntil;
+        if (mutedUntil > now) {
+            rejected[index].increment();
+            long remaining = (mutedUntil - now + 999) / 1000;
+            return "You are muted for spamming. " + CooldownUtil.formatCooldown(remaining) + " remaining.";
+        }
+
+        if (takeToken(limiter.buckets, index, now)) {
+            allowed[index].increment();
+            return null;
+        }
+
+        if (PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
+            allowed[index].increment();
+            return null;
+        }
+
+        rejected[index].increment();
+        if (recordStrike(playerUuid, limiter, now)) {
+            long duration = limiter.mutedUntil - now;
+            return "You have been muted for spamming for " + CooldownUtil.formatCooldown(duration / 1000) + ".";
+        }
+        return "You are sending messages too quickly. Slow down.";
+    }
+
+    @Nonnull
+    private PlayerLimiter getLimiter(@Nonnull UUID playerUuid, long now) {
+        PlayerLimiter limiter = limiters.get(playerUuid);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(playerUuid, _ -> new PlayerLimiter(now, capacities));
+        } else if (limiter.offline) {
+            limiter.offline = false;
+        }
+        return limiter;
+    }
+
+    /**
+     * Refills and takes one token from a packed bucket.
+     */
+    private boolean takeToken(@Nonnull AtomicLongArray buckets, int index, long now) {
+        long capacity = capacities[index];
+        long rate = refillRates[index];
+
+        while (true) {
+            long packed = buckets.get(index);
+            long last = packed >>> TOKEN_BITS;
+            long tokens = Math.min(capacity, packed & TOKEN_MASK);
+
+            long elapsed = now - last;
+            if (elapsed > 0 && rate > 0 && tokens < capacity) {
+                long gained = elapsed * rate / 1000;
+                if (tokens + gained >= capacity) {
+                    tokens = capacity;
+                    last = now;
+                } else if (gained > 0) {
+                    tokens += gained;
+                    // Only consume the time that produced whole thousandths so slow rates still accrue
+                    last += gained * 1000 / rate;
+                }
+            } else if (tokens >= capacity) {
+                last = now;
+            }
+
+            if (tokens < TOKEN_SCALE) {
+                return false;
+            }
+
+            long next = (last << TOKEN_BITS) | (tokens - TOKEN_SCALE);
+            if (buckets.compareAndSet(index, packed, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records a rejection. Mutes the player once they reach the strike limit within the window.
+     *
+     * @return true if this strike caused a mute
+     */
+    private boolean recordStrike(@Nonnull UUID playerUuid, @Nonnull PlayerLimiter limiter, long now) {
+        if (muteAfter <= 0 || muteDurationsMillis.length == 0) {
+            return false;
+        }
+
+        while (true) {
+            long packed = limiter.strikes.get();
+            long windowStart = packed >>> STRIKE_BITS;
+            long count = packed & STRIKE_MASK;
+
+            if (now - windowStart > strikeWindowMillis) {
+                windowStart = now;
+                count = 0;
+            }
+            count = Math.min(STRIKE_MASK, count + 1);
+
+            boolean mute = count >= muteAfter;
+            long next = mute ? (now << STRIKE_BITS) : ((windowStart << STRIKE_BITS) | count);
+            if (limiter.strikes.compareAndSet(packed, next)) {
+                if (mute) {
+                    applyMute(playerUuid, limiter, now);
+                }
+                return mute;
+            }
+        }
+    }
+
+    private void applyMute(@Nonnull UUID playerUuid, @Nonnull PlayerLimiter limiter, long now) {
+        long[] durations = muteDurationsMillis;
+        if (limiter.muteLevel.get() > 0 && now - limiter.mutedUntil >= muteResetMillis) {
+            limiter.muteLevel.set(0);  // Behaved long enough since the last mute
+        }
+        int level = limiter.muteLevel.getAndIncrement();
+        long duration = durations[Math.min(level, durations.length - 1)];
+        limiter.mutedUntil = now + duration;
+        mutesIssued.increment();
+        Log.info("Rate limit: muted " + playerUuid + " for " + (duration / 1000) + "s (level " + (level + 1) + ").");
+    }
+
+    /**
+     * Checks if a player is currently muted by the rate limiter.
+     */
+    public boolean isMuted(@Nonnull UUID playerUuid) {
+        PlayerLimiter limiter = limiters.get(playerUuid);
+        return limiter != null && limiter.mutedUntil > System.currentTimeMillis() - startMillis;
+    }
+
+    /**
+     * Lifts a rate limit mute and resets the player's escalation level.
+     */
+    public void clearMute(@Nonnull UUID playerUuid) {
+        limiters.remove(playerUuid);
+    }
+
+    public long getAllowedCount(@Nonnull Bucket bucket) {
+        return allowed[bucket.ordinal()].sum();
+    }
+
+    public long getRejectedCount(@Nonnull Bucket bucket) {
+        return rejected[bucket.ordinal()].sum();
+    }
+
+    public long getMutesIssued() {
+        return mutesIssued.sum();
+    }
+
+    /**
+     * Counts players who are muted right now.
+     */
+    public int getMutedPlayerCount() {
+        long now = System.currentTimeMillis() - startMillis;
+        int count = 0;
+        for (PlayerLimiter limiter : limiters.values()) {
+            if (limiter.mutedUntil > now) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resets all rejection counters. Player buckets and mutes are kept.
+     */
+    public void resetCounters() {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            allowed[i].reset();
+            rejected[i].reset();
+        }
+        mutesIssued.reset();
+    }
+
+    /**
+     * Cleans up limiter state for a player when they disconnect.
+     * Active mutes, strikes and the mute escalation level survive a reconnect until they wear off,
+     * so reconnecting between mutes doesn't start a spammer over at the shortest one.
+     */
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        long now = System.currentTimeMillis() - startMillis;
+        limiters.computeIfPresent(playerUuid, (_, limiter) -> {
+            if (isSpent(limiter, now)) {
+                return null;
+            }
+            limiter.offline = true;
+            return limiter;
+        });
+    }
+
+    /**
+     * Drops limiters of players who left, once nothing in them matters anymore.
+     */
+    private void pruneOffline() {
+        long now = System.currentTimeMillis() - startMillis;
+        limiters.values().removeIf(limiter -> limiter.offline && isSpent(limiter, now));
+    }
+
+    /**
+     * Checks if a limiter holds nothing a fresh one wouldn't: no mute, no strikes in the current
+     * window and no escalation level still within the reset time.
+     */
+    private boolean isSpent(@Nonnull PlayerLimiter limiter, long now) {
+        long mutedUntil = limiter.mutedUntil;
+        if (mutedUntil > now) {
+            return false;
+        }
+        if (limiter.muteLevel.get() > 0 && now - mutedUntil < muteResetMillis) {
+            return false;
+        }
+        long strikes = limiter.strikes.get();
+        return (strikes & STRIKE_MASK) == 0 || now - (strikes >>> STRIKE_BITS) > strikeWindowMillis;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Per-player limiter state.
+     */
+    private static class PlayerLimiter {
+        final AtomicLongArray buckets;
+        final AtomicLong strikes;        // (windowStart << 16) | strikeCount
+        final AtomicInteger muteLevel = new AtomicInteger();
+        volatile long mutedUntil;
+        volatile boolean offline;
+
+        PlayerLimiter(long now, long[] capacities) {
+            this.buckets = new AtomicLongArray(capacities.length);
+            for (int i = 0; i < capacities.length; i++) {
+                buckets.set(i, (now << TOKEN_BITS) | capacities[i]);
+            }
+            this.strikes = new AtomicLong(now << STRIKE_BITS);
+        }
+    }
+}
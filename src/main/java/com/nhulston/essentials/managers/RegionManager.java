@@ -0,0 +1,711 @@
+package com.nhulston.essentials.managers;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.permissions.PermissionsModule;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.nhulston.essentials.models.Region;
+import com.nhulston.essentials.models.RegionFlag;
+import com.nhulston.essentials.models.Spawn;
+import com.nhulston.essentials.util.ConfigManager;
+import com.nhulston.essentials.util.Log;
+import com.nhulston.essentials.util.StorageManager;
+import com.nhulston.essentials.util.Tasks;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Manages protected regions and answers protection checks.
+ * Each world keeps a chunk-keyed index holding, for every chunk a region touches, the regions
+ * overlapping that chunk sorted by priority. A check is one probe of a primitive long-keyed table,
+ * which allocates nothing, plus a containment test against the few regions in that chunk.
+ * Editing a region recomputes only the chunks it covers and publishes a new table.
+ * Spawn protection from config.toml is the built-in "spawn" region; it is never saved to regions.json.
+ * Features that react to players entering or leaving regions subscribe with addListener.
+ */
+public class RegionManager {
+    /**
+     * Receives region boundary crossings. Called on the player's world thread.
+     */
+    public interface RegionListener {
+        default void onEnter(@Nonnull PlayerRef player, @Nonnull Region region) {
+        }
+
+        default void onExit(@Nonnull PlayerRef player, @Nonnull Region region) {
+        }
+    }
+
+    public static final String SPAWN_REGION = "spawn";
+
+    private static final int CHUNK_SHIFT = 5;                  // 32x32 block chunks
+    private static final int MAX_REGION_CHUNKS = 250_000;
+    private static final Region[] NO_REGIONS = new Region[0];
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+    private static final String BYPASS_PERMISSION = "essentials.region.bypass";
+    private static final String SPAWN_BYPASS_PERMISSION = "essentials.spawn.bypass";
+    private static final String BUILD_BYPASS_PERMISSION = "essentials.build.bypass";
+    private static final String PROTECTED_MESSAGE = "This area is protected.";
+    private static final String BUILDING_DISABLED_MESSAGE = "Building is disabled.";
+    private static final Type REGIONS_TYPE = new TypeToken<List<Region>>(){}.getType();
+
+    // Highest priority first, name as a stable tie-breaker
+    private static final Comparator<Region> BY_PRIORITY =
+            Comparator.comparingInt(Region::getPriority).reversed().thenComparing(Region::getName);
+
+    private final Path regionsFile;
+    private final ConfigManager configManager;
+    private final StorageManager storageManager;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final ConcurrentHashMap<String, WorldIndex> worlds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, List<Vector3i>> selections = new ConcurrentHashMap<>();
+    private final List<RegionListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile long version;      // bumped on every region change
+    private Region spawnRegion;
+
+    public RegionManager(@Nonnull Path dataFolder, @Nonnull ConfigManager configManager,
+                         @Nonnull StorageManager storageManager) {
+        this.regionsFile = dataFolder.resolve("regions.json");
+        this.configManager = configManager;
+        this.storageManager = storageManager;
+        loadRegions();
+        refreshSpawnRegion();
+
+        // Spawn protection bounds come from the config
+        configManager.addReloadListener((previous, current) -> {
+            if (current.sectionChanged(previous, "spawn-protection")) {
+                refreshSpawnRegion();
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the spawn region from the current spawn point and spawn-protection config.
+     * Call whenever either changes.
+     */
+    public synchronized void refreshSpawnRegion() {
+        if (spawnRegion != null) {
+            remove(spawnRegion);
+            spawnRegion = null;
+        }
+
+        Spawn spawn = storageManager.getSpawn();
+        if (!configManager.isSpawnProtectionEnabled() || spawn == null) {
+            return;
+        }
+
+        int radius = configManager.getSpawnProtectionRadius();
+        int minY = configManager.getSpawnProtectionMinY();
+        int maxY = configManager.getSpawnProtectionMaxY();
+        Region region = Region.cuboid(SPAWN_REGION, spawn.getWorld(),
+                        (int) Math.ceil(spawn.getX() - radius), minY == -1 ? Integer.MIN_VALUE : minY,
+                        (int) Math.ceil(spawn.getZ() - radius),
+                        (int) Math.floor(spawn.getX() + radius), maxY == -1 ? Integer.MAX_VALUE : maxY,
+                        (int) Math.floor(spawn.getZ() + radius))
+                .withFlag(RegionFlag.BUILD, false)
+                .withFlag(RegionFlag.BREAK, false)
+                .withFlag(RegionFlag.TITLES, configManager.isSpawnProtectionShowTitles())
+                .withTitles(configManager.getSpawnProtectionEnterTitle(), configManager.getSpawnProtectionEnterSubtitle(),
+                        configManager.getSpawnProtectionExitTitle(), configManager.getSpawnProtectionExitSubtitle());
+        if (configManager.isSpawnProtectionInvulnerable()) {
+            region = region.withFlag(RegionFlag.PVP, false);
+        }
+        if (countChunks(region) > MAX_REGION_CHUNKS) {
+            Log.warning("Spawn protection radius is too large, spawn protection is disabled.");
+            return;
+        }
+
+        spawnRegion = region;
+        put(region);
+    }
+
+    // Lookups
+
+    /**
+     * Gets the regions overlapping the chunk containing a block, highest priority first.
+     * The returned array is shared and must not be modified.
+     */
+    @Nonnull
+    public Region[] getRegionsAt(@Nonnull String world, int x, int z) {
+        WorldIndex index = worlds.get(world);
+        if (index == null) {
+            return NO_REGIONS;
+        }
+        Region[] regions = index.chunks.get(chunkKey(x >> CHUNK_SHIFT, z >> CHUNK_SHIFT));
+        return regions != null ? regions : NO_REGIONS;
+    }
+
+    /**
+     * Gets the highest priority region containing a block that sets a flag.
+     */
+    @Nullable
+    public Region getFlagRegion(@Nonnull String world, int x, int y, int z, @Nonnull RegionFlag flag) {
+        for (Region region : getRegionsAt(world, x, z)) {
+            if (region.getFlag(flag) != null && region.contains(x, y, z)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value of a flag at a position, falling back to its default outside any region setting it.
+     */
+    public boolean getFlag(@Nonnull String world, @Nonnull Vector3d position, @Nonnull RegionFlag flag) {
+        int x = (int) Math.floor(position.getX());
+        int y = (int) Math.floor(position.getY());
+        int z = (int) Math.floor(position.getZ());
+        Region region = getFlagRegion(world, x, y, z, flag);
+        if (region != null) {
+            return region.getFlag(flag);
+        }
+        return getDefault(flag);
+    }
+
+    /**
+     * Checks whether a player may place (BUILD) or break (BREAK) a block.
+     * The region's flag and the global disable-building setting are checked separately, each with
+     * its own bypass permission, so a region bypass never lets a player build where building is disabled.
+     *
+     * @param player the acting player, or null for non-player entities
+     * @return null if allowed, otherwise the message to show the player
+     */
+    @Nullable
+    public String checkBlockAction(@Nullable PlayerRef player, @Nonnull String world,
+                                   @Nonnull Vector3i block, @Nonnull RegionFlag flag) {
+        Region region = getFlagRegion(world, block.getX(), block.getY(), block.getZ(), flag);
+        if (region != null && !region.getFlag(flag) && !canBypass(player, getBypassPermission(region))) {
+            return PROTECTED_MESSAGE;
+        }
+
+        if (!configManager.isBuildingDisabled() || canBypass(player, BUILD_BYPASS_PERMISSION)) {
+            return null;
+        }
+        return BUILDING_DISABLED_MESSAGE;
+    }
+
+    private boolean getDefault(@Nonnull RegionFlag flag) {
+        return switch (flag) {
+            case BUILD, BREAK -> !configManager.isBuildingDisabled();
+            case PVP -> true;
+            case INVULNERABLE, TITLES -> false;
+        };
+    }
+
+    private static boolean canBypass(@Nullable PlayerRef player, @Nonnull String permission) {
+        return player != null && PermissionsModule.get().hasPermission(player.getUuid(), permission);
+    }
+
+    @Nonnull
+    private static String getBypassPermission(@Nonnull Region region) {
+        return region.getName().equals(SPAWN_REGION) ? SPAWN_BYPASS_PERMISSION : BYPASS_PERMISSION;
+    }
+
+    /**
+     * Gets a counter that changes whenever any region is added, edited or removed.
+     * Lets cached membership know when it must be recomputed even if the player has not moved.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // Boundary crossing listeners
+
+    public void addListener(@Nonnull RegionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void notifyEnter(@Nonnull PlayerRef player, @Nonnull Region region) {
+        for (RegionListener listener : listeners) {
+            listener.onEnter(player, region);
+        }
+    }
+
+    public void notifyExit(@Nonnull PlayerRef player, @Nonnull Region region) {
+        for (RegionListener listener : listeners) {
+            listener.onExit(player, region);
+        }
+    }
+
+    // Region editing
+
+    @Nullable
+    public Region getRegion(@Nonnull String world, @Nonnull String name) {
+        WorldIndex index = worlds.get(world);
+        return index != null ? index.regions.get(name.toLowerCase()) : null;
+    }
+
+    /**
+     * Gets all regions in a world, highest priority first.
+     */
+    @Nonnull
+    public List<Region> getRegions(@Nonnull String world) {
+        WorldIndex index = worlds.get(world);
+        if (index == null) {
+            return List.of();
+        }
+        List<Region> regions = new ArrayList<>(index.regions.values());
+        regions.sort(BY_PRIORITY);
+        return regions;
+    }
+
+    /**
+     * Creates a region from a player's selection.
+     * Cuboids use the bounding box of the points, cylinders are centered on the first point and
+     * reach the farthest other point, and polygons use every point as a corner.
+     * The Y range always spans the lowest to highest point.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public synchronized String createRegion(@Nonnull String world, @Nonnull String name, @Nonnull Region.Shape shape,
+                                            @Nonnull List<Vector3i> points) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            return "Region names may only contain letters, numbers, '-' and '_'.";
+        }
+        if (name.equalsIgnoreCase(SPAWN_REGION)) {
+            return "The spawn region is configured in config.toml.";
+        }
+        if (getRegion(world, name) != null) {
+            return "Region '" + name + "' already exists.";
+        }
+        int required = shape == Region.Shape.POLYGON ? 3 : 2;
+        if (points.size() < required) {
+            return "A " + shape.name().toLowerCase() + " region needs at least " + required + " selected points.";
+        }
+
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (Vector3i point : points) {
+            minY = Math.min(minY, point.getY());
+            maxY = Math.max(maxY, point.getY());
+        }
+
+        Region region = switch (shape) {
+            case CUBOID -> {
+                int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+                int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+                for (Vector3i point : points) {
+                    minX = Math.min(minX, point.getX());
+                    maxX = Math.max(maxX, point.getX());
+                    minZ = Math.min(minZ, point.getZ());
+                    maxZ = Math.max(maxZ, point.getZ());
+                }
+                yield Region.cuboid(name, world, minX, minY, minZ, maxX, maxY, maxZ);
+            }
+            case CYLINDER -> {
+                Vector3i center = points.getFirst();
+                double radius = 0;
+                for (Vector3i point : points) {
+                    double dx = point.getX() - center.getX();
+                    double dz = point.getZ() - center.getZ();
+                    radius = Math.max(radius, Math.sqrt(dx * dx + dz * dz));
+                }
+                yield Region.cylinder(name, world, center.getX() + 0.5, center.getZ() + 0.5, radius, minY, maxY);
+            }
+            case POLYGON -> {
+                int[] xs = new int[points.size()];
+                int[] zs = new int[points.size()];
+                for (int i = 0; i < points.size(); i++) {
+                    xs[i] = points.get(i).getX();
+                    zs[i] = points.get(i).getZ();
+                }
+                yield Region.polygon(name, world, xs, zs, minY, maxY);
+            }
+        };
+
+        if (countChunks(region) > MAX_REGION_CHUNKS) {
+            return "That region is too large.";
+        }
+
+        // Protect by default, like spawn
+        put(region.withFlag(RegionFlag.BUILD, false).withFlag(RegionFlag.BREAK, false));
+        saveRegionsAsync();
+        return null;
+    }
+
+    /**
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public synchronized String deleteRegion(@Nonnull String world, @Nonnull String name) {
+        Region region = getEditableRegion(world, name);
+        if (region == null) {
+            return getEditError(name);
+        }
+        remove(region);
+        saveRegionsAsync();
+        return null;
+    }
+
+    /**
+     * Sets a flag on a region, or clears it when value is null.
+     *
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public synchronized String setFlag(@Nonnull String world, @Nonnull String name, @Nonnull RegionFlag flag,
+                                       @Nullable Boolean value) {
+        Region region = getEditableRegion(world, name);
+        if (region == null) {
+            return getEditError(name);
+        }
+        put(region.withFlag(flag, value));
+        saveRegionsAsync();
+        return null;
+    }
+
+    /**
+     * @return null on success, otherwise an error message
+     */
+    @Nullable
+    public synchronized String setPriority(@Nonnull String world, @Nonnull String name, int priority) {
+        Region region = getEditableRegion(world, name);
+        if (region == null) {
+            return getEditError(name);
+        }
+        put(region.withPriority(priority));
+        saveRegionsAsync();
+        return null;
+    }
+
+    @Nullable
+    private Region getEditableRegion(@Nonnull String world, @Nonnull String name) {
+        return name.equalsIgnoreCase(SPAWN_REGION) ? null : getRegion(world, name);
+    }
+
+    @Nonnull
+    private static String getEditError(@Nonnull String name) {
+        if (name.equalsIgnoreCase(SPAWN_REGION)) {
+            return "The spawn region is configured in config.toml.";
+        }
+        return "Region '" + name + "' not found in this world.";
+    }
+
+    // Selections
+
+    /**
+     * Starts a new selection at a block.
+     */
+    public void startSelection(@Nonnull UUID playerUuid, @Nonnull Vector3i point) {
+        List<Vector3i> points = new ArrayList<>();
+        points.add(point);
+        selections.put(playerUuid, points);
+    }
+
+    /**
+     * Adds a block to a player's selection.
+     *
+     * @return the number of selected points, or 0 if no selection has been started
+     */
+    public int addSelectionPoint(@Nonnull UUID playerUuid, @Nonnull Vector3i point) {
+        List<Vector3i> points = selections.get(playerUuid);
+        if (points == null) {
+            return 0;
+        }
+        points.add(point);
+        return points.size();
+    }
+
+    @Nonnull
+    public List<Vector3i> getSelection(@Nonnull UUID playerUuid) {
+        List<Vector3i> points = selections.get(playerUuid);
+        return points != null ? List.copyOf(points) : List.of();
+    }
+
+    public void onPlayerQuit(@Nonnull UUID playerUuid) {
+        selections.remove(playerUuid);
+    }
+
+    // Chunk index
+
+    /**
+     * Adds or replaces a region and rewrites the chunks covered by the old and new versions.
+     */
+    private void put(@Nonnull Region region) {
+        putAll(List.of(region));
+    }
+
+    /**
+     * Adds or replaces regions, publishing each world's chunk table once for the whole batch.
+     */
+    private void putAll(@Nonnull List<Region> regions) {
+        Map<WorldIndex, ChunkTable> edited = new HashMap<>();
+        for (Region region : regions) {
+            WorldIndex index = worlds.computeIfAbsent(region.getWorld(), _ -> new WorldIndex());
+            ChunkTable chunks = edited.computeIfAbsent(index, _ -> index.chunks.copy());
+            Region previous = index.regions.put(region.getName().toLowerCase(), region);
+            updateChunks(chunks, previous, region);
+        }
+        for (Map.Entry<WorldIndex, ChunkTable> entry : edited.entrySet()) {
+            entry.getKey().chunks = entry.getValue();
+        }
+        version++;
+    }
+
+    private void remove(@Nonnull Region region) {
+        WorldIndex index = worlds.get(region.getWorld());
+        if (index == null || index.regions.remove(region.getName().toLowerCase()) == null) {
+            return;
+        }
+        ChunkTable chunks = index.chunks.copy();
+        updateChunks(chunks, region, null);
+        index.chunks = chunks;
+        version++;
+    }
+
+    /**
+     * Rewrites only the chunks under a region's old and new bounds, in a table that isn't published yet:
+     * the old version is dropped from every chunk it covered, then the new one is added to every chunk it touches.
+     */
+    private static void updateChunks(@Nonnull ChunkTable chunks, @Nullable Region previous, @Nullable Region region) {
+        if (previous != null) {
+            for (int cx = previous.getMinX() >> CHUNK_SHIFT; cx <= previous.getMaxX() >> CHUNK_SHIFT; cx++) {
+                for (int cz = previous.getMinZ() >> CHUNK_SHIFT; cz <= previous.getMaxZ() >> CHUNK_SHIFT; cz++) {
+                    long key = chunkKey(cx, cz);
+                    Region[] current = chunks.get(key);
+                    if (current != null) {
+                        chunks.put(key, without(current, previous));
+                    }
+                }
+            }
+        }
+        if (region != null) {
+            for (int cx = region.getMinX() >> CHUNK_SHIFT; cx <= region.getMaxX() >> CHUNK_SHIFT; cx++) {
+                for (int cz = region.getMinZ() >> CHUNK_SHIFT; cz <= region.getMaxZ() >> CHUNK_SHIFT; cz++) {
+                    int fromX = cx << CHUNK_SHIFT;
+                    int fromZ = cz << CHUNK_SHIFT;
+                    if (region.intersects(fromX, fromZ, fromX + (1 << CHUNK_SHIFT) - 1, fromZ + (1 << CHUNK_SHIFT) - 1)) {
+                        long key = chunkKey(cx, cz);
+                        chunks.put(key, with(chunks.get(key), region));
+                    }
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static Region[] without(@Nonnull Region[] regions, @Nonnull Region region) {
+        for (int i = 0; i < regions.length; i++) {
+            if (regions[i] == region) {
+                if (regions.length == 1) {
+                    return null;
+                }
+                Region[] next = new Region[regions.length - 1];
+                System.arraycopy(regions, 0, next, 0, i);
+                System.arraycopy(regions, i + 1, next, i, next.length - i);
+                return next;
+            }
+        }
+        return regions;
+    }
+
+    @Nonnull
+    private static Region[] with(@Nullable Region[] regions, @Nonnull Region region) {
+        if (regions == null) {
+            return new Region[] {region};
+        }
+        Region[] next = Arrays.copyOf(regions, regions.length + 1);
+        next[regions.length] = region;
+        Arrays.sort(next, BY_PRIORITY);
+        return next;
+    }
+
+    private static long countChunks(@Nonnull Region region) {
+        long width = (long) (region.getMaxX() >> CHUNK_SHIFT) - (region.getMinX() >> CHUNK_SHIFT) + 1;
+        long depth = (long) (region.getMaxZ() >> CHUNK_SHIFT) - (region.getMinZ() >> CHUNK_SHIFT) + 1;
+        return width * depth;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    // Storage
+
+    private void loadRegions() {
+        if (!Files.exists(regionsFile)) {
+            return;
+        }
+        try {
+            List<Region> loaded = gson.fromJson(Files.readString(regionsFile), REGIONS_TYPE);
+            if (loaded == null) {
+                return;
+            }
+            List<Region> valid = new ArrayList<>(loaded.size());
+            for (Region region : loaded) {
+                if (region == null || !region.isValid()) {
+                    Log.warning("Skipping invalid region in regions.json.");
+                    continue;
+                }
+                if (countChunks(region) > MAX_REGION_CHUNKS) {
+                    Log.warning("Skipping region '" + region.getName() + "': it is too large.");
+                    continue;
+                }
+                valid.add(region);
+            }
+            putAll(valid);
+            Log.info("Loaded " + loaded.size() + " regions.");
+        } catch (IOException | JsonParseException e) {
+            Log.error("Failed to load regions: " + e.getMessage());
+        }
+    }
+
+    private void saveRegionsAsync() {
+        List<Region> regions = new ArrayList<>();
+        for (WorldIndex index : worlds.values()) {
+            for (Region region : index.regions.values()) {
+                if (region != spawnRegion) {
+                    regions.add(region);
+                }
+            }
+        }
+        String json = gson.toJson(regions, REGIONS_TYPE);
+        Tasks.runIo("regions.save", () -> {
+            try {
+                Files.writeString(regionsFile, json);
+            } catch (IOException e) {
+                Log.error("Failed to save regions: " + e.getMessage());
+            }
+        });
+    }
+
+    private static class WorldIndex {
+        final Map<String, Region> regions = new ConcurrentHashMap<>();  // lowercase name -> region
+        volatile ChunkTable chunks = ChunkTable.EMPTY;                   // chunk key -> regions by priority
+    }
+
+    /**
+     * Open-addressed map from chunk key to regions, stored as parallel arrays so a lookup never
+     * boxes its key. A published table is never changed: an edit copies it, rewrites the chunks it
+     * touches in the copy and publishes that, so readers never lock.
+     */
+    private static final class ChunkTable {
+        static final ChunkTable EMPTY = new ChunkTable(new long[2], new Region[2][], 0);
+
+        private long[] keys;
+        private Region[][] values;  // null = empty slot
+        private int mask;
+        private int size;
+
+        private ChunkTable(@Nonnull long[] keys, @Nonnull Region[][] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.mask = values.length - 1;
+            this.size = size;
+        }
+
+        @Nullable
+        Region[] get(long key) {
+            int slot = hash(key) & mask;
+            Region[] value;
+            while ((value = values[slot]) != null) {
+                if (keys[slot] == key) {
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Copies the table for an edit. The copy may be changed until it's published.
+         */
+        @Nonnull
+        ChunkTable copy() {
+            return new ChunkTable(keys.clone(), values.clone(), size);
+        }
+
+        /**
+         * Sets a chunk's regions, or removes the chunk for null. Only for unpublished copies.
+         */
+        void put(long key, @Nullable Region[] value) {
+            if (value == null) {
+                remove(key);
+                return;
+            }
+            int slot = hash(key) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            // Keep the load factor at or below 0.5 so probe chains stay short
+            if (++size * 2 > values.length) {
+                resize(values.length * 2);
+            }
+        }
+
+        private void remove(long key) {
+            int slot = hash(key) & mask;
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == null) {
+                return;
+            }
+            values[slot] = null;
+            size--;
+
+            // Shift later entries of the probe chain back so lookups don't stop at the gap
+            int next = (slot + 1) & mask;
+            while (values[next] != null) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    values[slot] = values[next];
+                    values[next] = null;
+                    slot = next;
+                }
+                next = (next + 1) & mask;
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Region[][] oldValues = values;
+            keys = new long[capacity];
+            values = new Region[capacity][];
+            mask = capacity - 1;
+            for (int slot = 0; slot < oldValues.length; slot++) {
+                if (oldValues[slot] != null) {
+                    int target = hash(oldKeys[slot]) & mask;
+                    while (values[target] != null) {
+                        target = (target + 1) & mask;
+                    }
+                    keys[target] = oldKeys[slot];
+                    values[target] = oldValues[slot];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+}
@@ -15,14 +15,19 @@ import javax.annotation.Nullable;
 
 public class SpawnManager {
     private final StorageManager storageManager;
+    private final RegionManager regionManager;
 
-    public SpawnManager(@Nonnull StorageManager storageManager) {
+    public SpawnManager(@Nonnull StorageManager storageManager, @Nonnull RegionManager regionManager) {
         this.storageManager = storageManager;
+        this.regionManager = regionManager;
     }
 
     public void setSpawn(@Nonnull String world, double x, double y, double z, float yaw, float pitch) {
         Spawn spawn = new Spawn(world, x, y, z, yaw, pitch);
         storageManager.setSpawn(spawn);
+
+        // Spawn protection follows the spawn point
+        regionManager.refreshSpawnRegion();
     }
 
     @Nullable
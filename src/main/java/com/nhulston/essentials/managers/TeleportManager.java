@@ -4,33 +4,43 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.permissions.PermissionsModule;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.nhulston.essentials.models.BackHistory;
 import com.nhulston.essentials.util.ConfigManager;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.Msg;
 import com.nhulston.essentials.util.TeleportUtil;
+import com.nhulston.essentials.util.TraceRecorder;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages delayed teleports with movement cancellation.
  * Players must stand still during the teleport delay or the teleport is canceled.
  * Teleport destinations are stored as data and executed via buffer.run() callback.
+ * Each successful teleport records where the player left from for /back.
  */
 public class TeleportManager {
     private static final String BYPASS_PERMISSION = "essentials.teleport.bypass";
     private static final double CANCEL_DISTANCE = 2.0;
 
     private final ConfigManager configManager;
+    private final BackManager backManager;
     private final ConcurrentHashMap<UUID, PendingTeleport> pendingTeleports = new ConcurrentHashMap<>();
 
-    public TeleportManager(@Nonnull ConfigManager configManager) {
+    public TeleportManager(@Nonnull ConfigManager configManager, @Nonnull BackManager backManager) {
         this.configManager = configManager;
+        this.backManager = backManager;
     }
 
     /**
@@ -57,10 +67,13 @@ public class TeleportManager {
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
+            BackHistory.Entry origin = locate(store, entityRef);
             String error = TeleportUtil.teleportSafe(store, entityRef, worldName, x, y, z, yaw, pitch);
             if (error != null) {
                 Msg.fail(playerRef, error);
             } else {
+                recordBack(playerUuid, origin);
+                TraceRecorder.teleport(playerUuid, 0);
                 if (successMessage != null) {
                     Msg.success(playerRef, successMessage);
                 }
@@ -86,21 +99,20 @@ public class TeleportManager {
     }
 
     /**
-     * Queues a player-to-player teleport (for TPA).
+     * Queues a player-to-player teleport (for TPA). The players may be in different worlds.
+     *
+     * @param currentWorld The world whose thread is calling (e.g., the accepting player's)
      */
-    public void queueTeleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull Ref<EntityStore> entityRef,
-                                      @Nonnull Store<EntityStore> store, @Nonnull Vector3d startPosition,
-                                      @Nonnull PlayerRef targetPlayer, @Nullable String successMessage) {
+    public void queueTeleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull World currentWorld,
+                                      @Nonnull Vector3d startPosition, @Nonnull PlayerRef targetPlayer,
+                                      @Nullable String successMessage) {
         UUID playerUuid = playerRef.getUuid();
         int delay = configManager.getTeleportDelay();
 
         // Check bypass permission or if delay is 0
         if (delay <= 0 || PermissionsModule.get().hasPermission(playerUuid, BYPASS_PERMISSION)) {
             // Execute immediately
-            TeleportUtil.teleportToPlayer(playerRef, targetPlayer);
-            if (successMessage != null) {
-                Msg.success(playerRef, successMessage);
-            }
+            teleportToPlayer(playerRef, targetPlayer, currentWorld, successMessage, 0);
             return;
         }
 
@@ -163,20 +175,29 @@ public class TeleportManager {
                     return;
                 }
 
-                String error = null;
                 if (pending.isPlayerTeleport()) {
-                    // Teleport to another player
-                    error = TeleportUtil.teleportToPlayerByUuid(store, currentRef, pending.getTargetPlayerUuid());
-                } else {
-                    // Teleport to coordinates
-                    TeleportDestination dest = pending.getDestination();
-                    error = TeleportUtil.teleportSafe(store, currentRef, dest.worldName,
-                            dest.x, dest.y, dest.z, dest.yaw, dest.pitch);
+                    // Teleport to another player, who may be in another world
+                    PlayerRef target = Universe.get().getPlayer(pending.getTargetPlayerUuid());
+                    if (target == null) {
+                        Msg.fail(pending.getPlayerRef(), "Target player is no longer online.");
+                        return;
+                    }
+                    teleportToPlayer(pending.getPlayerRef(), target, store.getExternalData().getWorld(),
+                            pending.getSuccessMessage(), pending.getQueuedNanos());
+                    return;
                 }
 
+                // Teleport to coordinates
+                BackHistory.Entry origin = locate(store, currentRef);
+                TeleportDestination dest = pending.getDestination();
+                String error = TeleportUtil.teleportSafe(store, currentRef, dest.worldName,
+                        dest.x, dest.y, dest.z, dest.yaw, dest.pitch);
+
                 if (error != null) {
                     Msg.fail(pending.getPlayerRef(), error);
                 } else {
+                    recordBack(playerUuid, origin);
+                    TraceRecorder.teleport(playerUuid, pending.getQueuedNanos());
                     if (pending.getSuccessMessage() != null) {
                         Msg.success(pending.getPlayerRef(), pending.getSuccessMessage());
                     }
@@ -191,6 +212,79 @@ public class TeleportManager {
         });
     }
 
+    /**
+     * Teleports a player to another player right away, without a delay (e.g., /tphere).
+     * The players may be in different worlds.
+     *
+     * @param currentWorld The world whose thread is calling
+     */
+    public void teleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull PlayerRef targetPlayer,
+                                 @Nonnull World currentWorld, @Nullable String successMessage) {
+        teleportToPlayer(playerRef, targetPlayer, currentWorld, successMessage, 0);
+    }
+
+    /**
+     * Reads the target's position on the target's world thread, then moves the player on their own
+     * world thread, so neither thread waits on the other or touches the other world's entities.
+     * Same-world steps run right away. The target may move in the tick or so between the two steps;
+     * if they disconnect first, the player is told instead.
+     */
+    private void teleportToPlayer(@Nonnull PlayerRef playerRef, @Nonnull PlayerRef targetPlayer,
+                                  @Nonnull World currentWorld, @Nullable String successMessage, long queuedNanos) {
+        CompletableFuture<TeleportUtil.PlayerPosition> snapshot =
+                TeleportUtil.snapshotPosition(targetPlayer, currentWorld);
+        // Still on the current world's thread only if the position was read right here
+        World commitWorld = snapshot.isDone() ? currentWorld : null;
+
+        snapshot.thenAccept(destination -> {
+            if (destination == null) {
+                Msg.fail(playerRef, targetPlayer.getUsername() + " is no longer online.");
+                return;
+            }
+            TeleportUtil.runForPlayer(playerRef, commitWorld, (store, ref) -> {
+                UUID playerUuid = playerRef.getUuid();
+                BackHistory.Entry origin = locate(store, ref);
+                TeleportUtil.teleport(store, ref, destination);
+                recordBack(playerUuid, origin);
+                TraceRecorder.teleport(playerUuid, queuedNanos);
+                if (successMessage != null) {
+                    Msg.success(playerRef, successMessage);
+                }
+            }, () -> {});  // The player left; nobody to tell
+        }).exceptionally(error -> {
+            Log.error("Failed to teleport " + playerRef.getUsername() + " to " + targetPlayer.getUsername()
+                    + ": " + error.getMessage());
+            Msg.fail(playerRef, "Teleport failed.");
+            return null;
+        });
+    }
+
+    /**
+     * Gets where a player is standing. Read before teleporting, since the teleport may move them right away.
+     */
+    @Nullable
+    private static BackHistory.Entry locate(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref) {
+        TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+        if (transform == null) {
+            return null;
+        }
+
+        Vector3d position = transform.getPosition();
+        Vector3f rotation = transform.getRotation();
+        String worldName = store.getExternalData().getWorld().getName();
+        return new BackHistory.Entry(BackHistory.Cause.TELEPORT, worldName,
+                position.getX(), position.getY(), position.getZ(),
+                rotation.getY(), // yaw
+                rotation.getX(), // pitch
+                System.currentTimeMillis());
+    }
+
+    private void recordBack(@Nonnull UUID playerUuid, @Nullable BackHistory.Entry origin) {
+        if (origin != null) {
+            backManager.addLocation(playerUuid, origin);
+        }
+    }
+
     /**
      * Cancels a pending teleport for a player.
      */
@@ -252,6 +346,7 @@ public class TeleportManager {
         private final String successMessage;
         private final Runnable onSuccess;
         private final float delaySeconds;
+        private final long queuedNanos = System.nanoTime();
         private float elapsedTime;
 
         // Constructor for coordinate teleport
@@ -312,6 +407,10 @@ public class TeleportManager {
             return onSuccess;
         }
 
+        long getQueuedNanos() {
+            return queuedNanos;
+        }
+
         void addElapsedTime(float deltaTime) {
             this.elapsedTime += deltaTime;
         }
@@ -4,6 +4,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.nhulston.essentials.util.Log;
 import com.nhulston.essentials.util.Msg;
+import com.nhulston.essentials.util.Tasks;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -18,7 +19,7 @@ import java.util.concurrent.*;
 public class TpaManager {
     // Map of target player UUID -> Map of requester UUID -> request
     private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, TpaRequest>> pendingRequests = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService scheduler = Tasks.newScheduler("Tpa");
     
     private static final long EXPIRATION_SECONDS = 20;
 
@@ -29,9 +30,15 @@ public class TpaManager {
      * @return true if request was created, false if there's already a pending request from this requester
      */
     public boolean createRequest(@Nonnull PlayerRef requester, @Nonnull PlayerRef target) {
-        UUID targetUuid = target.getUuid();
-        UUID requesterUuid = requester.getUuid();
-        
+        return createRequest(requester.getUuid(), requester.getUsername(), target.getUuid(), target.getUsername());
+    }
+
+    /**
+     * Creates a teleport request between two players by UUID and username.
+     * @return true if request was created, false if there's already a pending request from this requester
+     */
+    public boolean createRequest(@Nonnull UUID requesterUuid, @Nonnull String requesterName,
+                                 @Nonnull UUID targetUuid, @Nonnull String targetName) {
         // Get or create the map of requests for this target
         ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.computeIfAbsent(
             targetUuid, _ -> new ConcurrentHashMap<>()
@@ -43,7 +50,7 @@ public class TpaManager {
         }
         
         // Create new request
-        TpaRequest request = new TpaRequest(requesterUuid, requester.getUsername(), target.getUsername());
+        TpaRequest request = new TpaRequest(requesterUuid, requesterName, targetName);
         targetRequests.put(requesterUuid, request);
         
         // Schedule expiration
@@ -52,7 +59,7 @@ public class TpaManager {
         }, EXPIRATION_SECONDS, TimeUnit.SECONDS);
         request.setExpirationFuture(future);
         
-        Log.info("TPA request created: " + requester.getUsername() + " -> " + target.getUsername());
+        Log.info("TPA request created: " + requesterName + " -> " + targetName);
         return true;
     }
 
@@ -64,7 +71,16 @@ public class TpaManager {
      */
     @Nullable
     public TpaRequest acceptRequest(@Nonnull PlayerRef target, @Nonnull String requesterName) {
-        UUID targetUuid = target.getUuid();
+        return acceptRequest(target.getUuid(), target.getUsername(), requesterName);
+    }
+
+    /**
+     * Accepts a teleport request by the target's UUID and username.
+     * @return The TpaRequest if found and valid, null otherwise
+     */
+    @Nullable
+    public TpaRequest acceptRequest(@Nonnull UUID targetUuid, @Nonnull String targetName,
+                                    @Nonnull String requesterName) {
         ConcurrentHashMap<UUID, TpaRequest> targetRequests = pendingRequests.get(targetUuid);
         
         if (targetRequests == null || targetRequests.isEmpty()) {
@@ -96,7 +112,7 @@ public class TpaManager {
             pendingRequests.remove(targetUuid);
         }
         
-        Log.info("TPA request accepted: " + foundRequest.getRequesterName() + " -> " + target.getUsername());
+        Log.info("TPA request accepted: " + foundRequest.getRequesterName() + " -> " + targetName);
         return foundRequest;
     }
 
@@ -0,0 +1,214 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A player's previous locations for /back, in a fixed-size ring that overwrites the oldest entry.
+ * Entries are kept in parallel primitive arrays, and worlds as indexes into a small per-player
+ * table of names shared across players, so a history costs the same memory however often the
+ * player teleports. Saved with the player's data as one Base64 string.
+ */
+public final class BackHistory {
+    private static final int MAX_CAPACITY = 64;
+    private static final byte FORMAT_VERSION = 1;
+
+    // World names are the same few strings for every player, so each history points at one copy
+    private static final Map<String, String> WORLD_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Why the player left a location.
+     */
+    public enum Cause {
+        TELEPORT,
+        DEATH
+    }
+
+    /**
+     * One previous location.
+     */
+    public record Entry(@Nonnull Cause cause, @Nonnull String world, double x, double y, double z,
+                        float yaw, float pitch, long time) {}
+
+    private final String[] worldNames;  // world table, indexed by worlds[]
+    private final byte[] worlds;
+    private final byte[] causes;
+    private final long[] times;
+    private final double[] xs, ys, zs;
+    private final float[] yaws, pitches;
+    private int head;  // slot the next entry goes in
+    private int size;
+
+    public BackHistory(int capacity) {
+        int slots = Math.max(1, Math.min(capacity, MAX_CAPACITY));
+        worldNames = new String[slots];
+        worlds = new byte[slots];
+        causes = new byte[slots];
+        times = new long[slots];
+        xs = new double[slots];
+        ys = new double[slots];
+        zs = new double[slots];
+        yaws = new float[slots];
+        pitches = new float[slots];
+    }
+
+    public int getCapacity() {
+        return xs.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void add(@Nonnull Entry entry) {
+        // When full, the new entry replaces the oldest, which is the one at head
+        int world = worldIndex(entry.world(), size == xs.length ? head : -1);
+        worlds[head] = (byte) world;
+        causes[head] = (byte) entry.cause().ordinal();
+        times[head] = entry.time();
+        xs[head] = entry.x();
+        ys[head] = entry.y();
+        zs[head] = entry.z();
+        yaws[head] = entry.yaw();
+        pitches[head] = entry.pitch();
+        head = (head + 1) % xs.length;
+        size = Math.min(size + 1, xs.length);
+    }
+
+    /**
+     * Gets an entry, 1 being the most recent.
+     */
+    @Nullable
+    public synchronized Entry get(int number) {
+        if (number < 1 || number > size) {
+            return null;
+        }
+        int slot = Math.floorMod(head - number, xs.length);
+        return new Entry(Cause.values()[causes[slot]], worldNames[worlds[slot]], xs[slot], ys[slot], zs[slot],
+                yaws[slot], pitches[slot], times[slot]);
+    }
+
+    /**
+     * Gets every entry, most recent first.
+     */
+    @Nonnull
+    public synchronized List<Entry> getAll() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int number = 1; number <= size; number++) {
+            entries.add(get(number));
+        }
+        return entries;
+    }
+
+    /**
+     * Copies the most recent entries into a history of another size (e.g., the config changed).
+     */
+    @Nonnull
+    public synchronized BackHistory resize(int capacity) {
+        BackHistory resized = new BackHistory(capacity);
+        for (int number = Math.min(size, resized.getCapacity()); number >= 1; number--) {
+            resized.add(get(number));
+        }
+        return resized;
+    }
+
+    /**
+     * Finds or adds a world in the table. Every entry has one table slot at most, so there is
+     * always a free slot once the entry being overwritten is left out.
+     */
+    private int worldIndex(@Nonnull String world, int overwritten) {
+        boolean[] used = new boolean[worldNames.length];
+        for (int number = 1; number <= size; number++) {
+            int slot = Math.floorMod(head - number, xs.length);
+            if (slot == overwritten) {
+                continue;
+            }
+            if (world.equals(worldNames[worlds[slot]])) {
+                return worlds[slot];
+            }
+            used[worlds[slot]] = true;
+        }
+        for (int i = 0; i < worldNames.length; i++) {
+            if (!used[i]) {
+                worldNames[i] = WORLD_NAMES.computeIfAbsent(world, name -> name);
+                return i;
+            }
+        }
+        throw new IllegalStateException("No free world slot");
+    }
+
+    /**
+     * Packs the history for saving: the world table, then each entry oldest first.
+     */
+    @Nonnull
+    public synchronized String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + size * 50);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(worldNames.length);
+            for (String name : worldNames) {
+                out.writeUTF(name != null ? name : "");
+            }
+            out.writeByte(size);
+            for (int number = size; number >= 1; number--) {
+                int slot = Math.floorMod(head - number, xs.length);
+                out.writeByte(worlds[slot]);
+                out.writeByte(causes[slot]);
+                out.writeLong(times[slot]);
+                out.writeDouble(xs[slot]);
+                out.writeDouble(ys[slot]);
+                out.writeDouble(zs[slot]);
+                out.writeFloat(yaws[slot]);
+                out.writeFloat(pitches[slot]);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);  // Can't happen writing to memory
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Unpacks a saved history, keeping the most recent entries that fit.
+     *
+     * @return the history, or null if the saved form is damaged or from a newer version
+     */
+    @Nullable
+    public static BackHistory decode(@Nonnull String encoded, int capacity) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            String[] names = new String[in.readUnsignedByte()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+            int count = in.readUnsignedByte();
+            BackHistory history = new BackHistory(capacity);
+            Cause[] causes = Cause.values();
+            for (int i = 0; i < count; i++) {
+                int world = in.readUnsignedByte();
+                int cause = in.readUnsignedByte();
+                long time = in.readLong();
+                Entry entry = new Entry(causes[cause], names[world],
+                        in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat(), time);
+                // Oldest first, so only the last entries that fit are kept
+                if (i >= count - history.getCapacity()) {
+                    history.add(entry);
+                }
+            }
+            return history;
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
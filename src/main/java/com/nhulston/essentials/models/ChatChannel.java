@@ -0,0 +1,59 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a chat channel configured in config.toml.
+ */
+public class ChatChannel {
+    /**
+     * Who receives messages sent to a channel.
+     */
+    public enum Scope {
+        SERVER,  // every member of the channel
+        WORLD    // only members in the sender's world
+    }
+
+    private final String id;
+    private final String prefix;
+    private final Scope scope;
+    private final String permission;  // null = everyone can join
+    private final boolean autoJoin;
+
+    public ChatChannel(@Nonnull String id, @Nonnull String prefix, @Nonnull Scope scope,
+                       @Nullable String permission, boolean autoJoin) {
+        this.id = id;
+        this.prefix = prefix;
+        this.scope = scope;
+        this.permission = permission;
+        this.autoJoin = autoJoin;
+    }
+
+    @Nonnull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the prefix prepended to the player's chat format.
+     */
+    @Nonnull
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Nonnull
+    public Scope getScope() {
+        return scope;
+    }
+
+    @Nullable
+    public String getPermission() {
+        return permission;
+    }
+
+    public boolean isAutoJoin() {
+        return autoJoin;
+    }
+}
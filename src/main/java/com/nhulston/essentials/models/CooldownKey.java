@@ -0,0 +1,72 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Interned name of a cooldown (e.g., "rtp" or "kit.starter").
+ * Each name gets one instance with a small index, so player cooldowns can be kept in a long array.
+ */
+public final class CooldownKey {
+    private static final ConcurrentHashMap<String, CooldownKey> KEYS = new ConcurrentHashMap<>();
+    private static final CopyOnWriteArrayList<CooldownKey> BY_INDEX = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int index;
+
+    private CooldownKey(@Nonnull String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Gets the key for a name (case-insensitive), creating it on first use.
+     */
+    @Nonnull
+    public static CooldownKey of(@Nonnull String name) {
+        String normalized = name.toLowerCase();
+        CooldownKey key = KEYS.get(normalized);
+        if (key != null) {
+            return key;
+        }
+        synchronized (BY_INDEX) {
+            key = KEYS.get(normalized);
+            if (key == null) {
+                key = new CooldownKey(normalized, BY_INDEX.size());
+                BY_INDEX.add(key);
+                KEYS.put(normalized, key);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Gets the key with an index.
+     */
+    @Nonnull
+    public static CooldownKey byIndex(int index) {
+        return BY_INDEX.get(index);
+    }
+
+    /**
+     * Gets the number of keys created so far; every index is below this.
+     */
+    public static int count() {
+        return BY_INDEX.size();
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
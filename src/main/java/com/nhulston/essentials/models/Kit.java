@@ -13,6 +13,8 @@ public class Kit {
     private final int cooldown;  // in seconds, 0 = no cooldown
     private final String type;   // "add" or "replace"
     private final List<KitItem> items;
+    private final CooldownKey cooldownKey;
+    private volatile KitPlan plan;
 
     public Kit(@Nonnull String id, @Nonnull String displayName, int cooldown,
                @Nonnull String type, @Nonnull List<KitItem> items) {
@@ -21,6 +23,7 @@ public class Kit {
         this.cooldown = cooldown;
         this.type = type;
         this.items = new ArrayList<>(items);
+        this.cooldownKey = CooldownKey.of("kit." + id);
     }
 
     @Nonnull
@@ -42,6 +45,14 @@ public class Kit {
         return type;
     }
 
+    /**
+     * Gets the key this kit's cooldown is tracked under ("kit.<id>").
+     */
+    @Nonnull
+    public CooldownKey getCooldownKey() {
+        return cooldownKey;
+    }
+
     public boolean isReplaceMode() {
         return "replace".equalsIgnoreCase(type);
     }
@@ -50,4 +61,18 @@ public class Kit {
     public List<KitItem> getItems() {
         return items;
     }
+
+    /**
+     * Gets the compiled plan used to hand out this kit, compiling it on first use.
+     * Needs the item assets to be loaded.
+     */
+    @Nonnull
+    public KitPlan getPlan() {
+        KitPlan compiled = plan;
+        if (compiled == null) {
+            compiled = KitPlan.compile(this);
+            plan = compiled;
+        }
+        return compiled;
+    }
 }
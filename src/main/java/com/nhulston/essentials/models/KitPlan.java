@@ -0,0 +1,169 @@
+package com.nhulston.essentials.models;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.asset.type.item.config.Item;
+import com.hypixel.hytale.server.core.entity.ItemUtils;
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A kit compiled for claiming: item IDs checked against the item assets, sections resolved,
+ * and item stacks built once. Item stacks are immutable, so the same prototypes are placed
+ * into every claiming player's inventory.
+ */
+public class KitPlan {
+    /**
+     * Inventory section an item goes to. ANY is used for unknown section names.
+     */
+    public enum Section {
+        HOTBAR, STORAGE, ARMOR, UTILITY, TOOLS, ANY;
+
+        @Nonnull
+        static Section fromName(@Nonnull String name) {
+            return switch (name.toLowerCase()) {
+                case "hotbar" -> HOTBAR;
+                case "storage" -> STORAGE;
+                case "armor" -> ARMOR;
+                case "utility" -> UTILITY;
+                case "tools" -> TOOLS;
+                default -> ANY;
+            };
+        }
+
+        @Nullable
+        ItemContainer getContainer(@Nonnull Inventory inventory) {
+            return switch (this) {
+                case HOTBAR -> inventory.getHotbar();
+                case STORAGE -> inventory.getStorage();
+                case ARMOR -> inventory.getArmor();
+                case UTILITY -> inventory.getUtility();
+                case TOOLS -> inventory.getTools();
+                case ANY -> null;
+            };
+        }
+
+        /**
+         * Armor, utility and tools only accept specific items, so overflow goes to hotbar/storage.
+         */
+        boolean isRestricted() {
+            return this == ARMOR || this == UTILITY || this == TOOLS;
+        }
+    }
+
+    private static class Entry {
+        final Section section;
+        final short slot;               // preferred slot, or -1 to add anywhere
+        final ItemStack prototype;
+
+        Entry(@Nonnull Section section, short slot, @Nonnull ItemStack prototype) {
+            this.section = section;
+            this.slot = slot;
+            this.prototype = prototype;
+        }
+    }
+
+    private final Entry[] entries;
+    private final boolean replace;
+    private final List<String> invalidItems;
+
+    private KitPlan(@Nonnull Entry[] entries, boolean replace, @Nonnull List<String> invalidItems) {
+        this.entries = entries;
+        this.replace = replace;
+        this.invalidItems = invalidItems;
+    }
+
+    /**
+     * Compiles a kit. Items whose IDs are not known item assets are left out and listed in
+     * {@link #getInvalidItems()}. A slot used by an earlier item of the same kit becomes "add anywhere",
+     * since only the first item could ever land there.
+     */
+    @Nonnull
+    public static KitPlan compile(@Nonnull Kit kit) {
+        List<Entry> entries = new ArrayList<>(kit.getItems().size());
+        List<String> invalidItems = new ArrayList<>();
+        Set<Integer> usedSlots = new HashSet<>();
+        for (KitItem item : kit.getItems()) {
+            if (item.quantity() <= 0 || Item.getAssetMap().getAsset(item.itemId()) == null) {
+                invalidItems.add(item.itemId());
+                continue;
+            }
+
+            Section section = Section.fromName(item.section());
+            short slot = -1;
+            if (section != Section.ANY && item.slot() >= 0 && item.slot() <= Short.MAX_VALUE
+                    && usedSlots.add(section.ordinal() << 16 | item.slot())) {
+                slot = (short) item.slot();
+            }
+            entries.add(new Entry(section, slot, new ItemStack(item.itemId(), item.quantity())));
+        }
+        return new KitPlan(entries.toArray(new Entry[0]), kit.isReplaceMode(),
+                Collections.unmodifiableList(invalidItems));
+    }
+
+    /**
+     * Gets the item IDs that were left out because they don't exist.
+     */
+    @Nonnull
+    public List<String> getInvalidItems() {
+        return invalidItems;
+    }
+
+    /**
+     * Gets the number of item stacks a claim hands out.
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Puts the kit into an inventory. Items that don't fit are dropped on the ground.
+     * The caller syncs the inventory to the client afterwards.
+     */
+    public void apply(@Nonnull Inventory inventory, @Nonnull Ref<EntityStore> ref, @Nonnull Store<EntityStore> store) {
+        if (replace) {
+            inventory.clear();
+        }
+
+        ItemContainer combined = null;
+        for (Entry entry : entries) {
+            ItemContainer container = entry.section.getContainer(inventory);
+            ItemStack remainder;
+            if (container == null) {
+                if (combined == null) {
+                    combined = inventory.getCombinedHotbarFirst();
+                }
+                remainder = combined.addItemStack(entry.prototype).getRemainder();
+            } else if (entry.slot >= 0 && entry.slot < container.getCapacity()
+                    && isEmpty(container.getItemStack(entry.slot))) {
+                container.setItemStackForSlot(entry.slot, entry.prototype);
+                continue;
+            } else if (entry.section.isRestricted()) {
+                if (combined == null) {
+                    combined = inventory.getCombinedHotbarFirst();
+                }
+                remainder = combined.addItemStack(entry.prototype).getRemainder();
+            } else {
+                remainder = container.addItemStack(entry.prototype).getRemainder();
+            }
+
+            if (!isEmpty(remainder)) {
+                ItemUtils.dropItem(ref, remainder, store);
+            }
+        }
+    }
+
+    private static boolean isEmpty(@Nullable ItemStack stack) {
+        return stack == null || stack.isEmpty();
+    }
+}
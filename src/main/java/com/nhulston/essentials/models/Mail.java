@@ -0,0 +1,32 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A mail message stored in a player's mailbox.
+ */
+public class Mail {
+    private final String from;
+    private final long sentAt;
+    private final String message;
+
+    public Mail(@Nonnull String from, long sentAt, @Nonnull String message) {
+        this.from = from;
+        this.sentAt = sentAt;
+        this.message = message;
+    }
+
+    @Nonnull
+    public String getFrom() {
+        return from;
+    }
+
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    @Nonnull
+    public String getMessage() {
+        return message;
+    }
+}
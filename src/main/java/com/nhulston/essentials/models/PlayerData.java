@@ -2,18 +2,29 @@ package com.nhulston.essentials.models;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class PlayerData {
     private Map<String, Home> homes;
-    private Map<String, Long> kitCooldowns;  // kitId -> lastUsedTimestamp
-    private Long lastRepairTime;
-    private Long lastRtpTime;
+    private Map<String, Long> cooldowns;     // cooldown name -> expiry timestamp, as saved
+    private transient long[] cooldownExpiries;  // expiry by CooldownKey index, built from cooldowns on first use
+    private Map<String, Long> kitCooldowns;  // legacy: kitId -> lastUsedTimestamp
+    private Long lastRepairTime;             // legacy
+    private Long lastRtpTime;                // legacy
+    private String chatChannel;         // channel the player talks in, null = default
+    private List<String> chatChannels;  // channels the player is in, null = auto-join channels
+    private Map<String, String> ignored;  // ignored player UUID -> last known name
+    private Long mailReadOffset;          // bytes of the mailbox already read
+    private String backHistory;           // packed /back history, as saved
+    private transient BackHistory back;   // built from backHistory on first use
 
     public PlayerData() {
         this.homes = new HashMap<>();
-        this.kitCooldowns = new HashMap<>();
+        this.cooldowns = new HashMap<>();
+        this.ignored = new HashMap<>();
     }
 
     // Ensure maps are initialized after Gson deserialization
@@ -21,8 +32,11 @@ public class PlayerData {
         if (homes == null) {
             homes = new HashMap<>();
         }
-        if (kitCooldowns == null) {
-            kitCooldowns = new HashMap<>();
+        if (cooldowns == null) {
+            cooldowns = new HashMap<>();
+        }
+        if (ignored == null) {
+            ignored = new HashMap<>();
         }
     }
 
@@ -53,39 +67,175 @@ public class PlayerData {
         return homes.size();
     }
 
-    // Kit cooldown methods
+    // Cooldown methods, used through CooldownManager
 
-    @Nullable
-    public Long getKitCooldown(@Nonnull String kitId) {
-        ensureInitialized();
-        return kitCooldowns.get(kitId.toLowerCase());
+    /**
+     * Gets when a cooldown expires, or 0 if it was never started.
+     */
+    public synchronized long getCooldownExpiry(@Nonnull CooldownKey key) {
+        long[] expiries = getCooldownExpiries(key);
+        return expiries[key.getIndex()];
+    }
+
+    public synchronized void setCooldownExpiry(@Nonnull CooldownKey key, long expiry) {
+        long[] expiries = getCooldownExpiries(key);
+        expiries[key.getIndex()] = expiry;
     }
 
-    public void setKitCooldown(@Nonnull String kitId, long timestamp) {
+    @Nonnull
+    private long[] getCooldownExpiries(@Nonnull CooldownKey key) {
+        if (cooldownExpiries == null) {
+            ensureInitialized();
+            cooldownExpiries = new long[Math.max(key.getIndex() + 1, CooldownKey.count())];
+            for (Map.Entry<String, Long> entry : cooldowns.entrySet()) {
+                CooldownKey loaded = CooldownKey.of(entry.getKey());
+                if (loaded.getIndex() >= cooldownExpiries.length) {
+                    cooldownExpiries = Arrays.copyOf(cooldownExpiries, CooldownKey.count());
+                }
+                cooldownExpiries[loaded.getIndex()] = entry.getValue();
+            }
+        } else if (key.getIndex() >= cooldownExpiries.length) {
+            cooldownExpiries = Arrays.copyOf(cooldownExpiries, Math.max(key.getIndex() + 1, CooldownKey.count()));
+        }
+        return cooldownExpiries;
+    }
+
+    /**
+     * Drops expired cooldowns and updates the saved form. Called before the data is saved.
+     * The saved form is replaced with a new map rather than changed in place, since an earlier
+     * save may still be serializing the old one on another thread.
+     */
+    public synchronized void pruneCooldowns(long now) {
         ensureInitialized();
-        kitCooldowns.put(kitId.toLowerCase(), timestamp);
+        Map<String, Long> pruned = new HashMap<>();
+        if (cooldownExpiries == null) {
+            for (Map.Entry<String, Long> entry : cooldowns.entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > now) {
+                    pruned.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } else {
+            for (int i = 0; i < cooldownExpiries.length; i++) {
+                if (cooldownExpiries[i] > now) {
+                    pruned.put(CooldownKey.byIndex(i).getName(), cooldownExpiries[i]);
+                } else {
+                    cooldownExpiries[i] = 0;
+                }
+            }
+        }
+        cooldowns = pruned;
     }
 
-    // Repair cooldown methods
+    /**
+     * Checks for cooldowns saved by older versions, as last-use timestamps.
+     */
+    public boolean hasLegacyCooldowns() {
+        return kitCooldowns != null || lastRepairTime != null || lastRtpTime != null;
+    }
 
-    @Nullable
-    public Long getLastRepairTime() {
-        return lastRepairTime;
+    /**
+     * Removes and returns cooldowns saved by older versions, as cooldown name -> last-use timestamp.
+     */
+    @Nonnull
+    public synchronized Map<String, Long> takeLegacyCooldowns() {
+        Map<String, Long> legacy = new HashMap<>();
+        if (kitCooldowns != null) {
+            for (Map.Entry<String, Long> entry : kitCooldowns.entrySet()) {
+                legacy.put("kit." + entry.getKey(), entry.getValue());
+            }
+        }
+        if (lastRepairTime != null) {
+            legacy.put("repair", lastRepairTime);
+        }
+        if (lastRtpTime != null) {
+            legacy.put("rtp", lastRtpTime);
+        }
+        kitCooldowns = null;
+        lastRepairTime = null;
+        lastRtpTime = null;
+        return legacy;
     }
 
-    public void setLastRepairTime(long timestamp) {
-        this.lastRepairTime = timestamp;
+    // Chat channel methods
+
+    @Nullable
+    public String getChatChannel() {
+        return chatChannel;
     }
 
-    // RTP cooldown methods
+    public void setChatChannel(@Nullable String channelId) {
+        this.chatChannel = channelId;
+    }
 
+    /**
+     * Gets the channels the player has joined, or null if they never changed them.
+     */
     @Nullable
-    public Long getLastRtpTime() {
-        return lastRtpTime;
+    public List<String> getChatChannels() {
+        return chatChannels;
     }
 
-    public void setLastRtpTime(long timestamp) {
-        this.lastRtpTime = timestamp;
+    public void setChatChannels(@Nullable List<String> channelIds) {
+        this.chatChannels = channelIds;
     }
 
+    // Ignore methods
+
+    /**
+     * Gets ignored players as UUID string -> last known username.
+     * Don't change the map in place; build a new one and pass it to setIgnored.
+     */
+    public Map<String, String> getIgnored() {
+        ensureInitialized();
+        return ignored;
+    }
+
+    /**
+     * Replaces the ignore list. A new map is swapped in rather than the old one edited,
+     * since an earlier save may still be serializing the old one on another thread.
+     */
+    public void setIgnored(@Nonnull Map<String, String> ignored) {
+        this.ignored = ignored;
+    }
+
+    // Mail methods
+
+    /**
+     * Gets how far into the mailbox file the player has read, in bytes.
+     */
+    public long getMailReadOffset() {
+        return mailReadOffset != null ? mailReadOffset : 0L;
+    }
+
+    public void setMailReadOffset(long offset) {
+        this.mailReadOffset = offset;
+    }
+
+    // Back methods, used through BackManager
+
+    /**
+     * Gets the player's /back history, resized if the configured size changed.
+     */
+    @Nonnull
+    public synchronized BackHistory getBackHistory(int capacity) {
+        if (back == null) {
+            // A damaged saved history is dropped rather than blocking /back
+            back = backHistory != null ? BackHistory.decode(backHistory, capacity) : null;
+            if (back == null) {
+                back = new BackHistory(capacity);
+            }
+        } else if (back.getCapacity() != capacity) {
+            back = back.resize(capacity);
+        }
+        return back;
+    }
+
+    /**
+     * Updates the saved form of the /back history. Called before the data is saved.
+     */
+    public synchronized void packBackHistory() {
+        if (back != null) {
+            backHistory = back.size() > 0 ? back.encode() : null;
+        }
+    }
 }
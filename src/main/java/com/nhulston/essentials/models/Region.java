@@ -0,0 +1,298 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A named protected area in one world.
+ * Regions are immutable; edits create a copy so lookups never see a half-updated region.
+ * Every shape keeps an inclusive block bounding box, which is all the chunk index needs.
+ */
+public class Region {
+    public enum Shape {
+        CUBOID,
+        CYLINDER,
+        POLYGON     // vertical prism over a polygon in the X/Z plane
+    }
+
+    private final String name;
+    private final String world;
+    private final Shape shape;
+    private final int priority;
+    private final Map<RegionFlag, Boolean> flags;
+
+    // Inclusive block bounds
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    // Cylinder only
+    private final double centerX;
+    private final double centerZ;
+    private final double radius;
+
+    // Polygon only, block coordinates of the corners in order
+    private final int[] pointsX;
+    private final int[] pointsZ;
+
+    // Optional custom titles, null uses the default
+    private final String enterTitle;
+    private final String enterSubtitle;
+    private final String exitTitle;
+    private final String exitSubtitle;
+
+    private Region(@Nonnull String name, @Nonnull String world, @Nonnull Shape shape, int priority,
+                   @Nonnull Map<RegionFlag, Boolean> flags,
+                   int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                   double centerX, double centerZ, double radius,
+                   @Nullable int[] pointsX, @Nullable int[] pointsZ,
+                   @Nullable String enterTitle, @Nullable String enterSubtitle,
+                   @Nullable String exitTitle, @Nullable String exitSubtitle) {
+        this.name = name;
+        this.world = world;
+        this.shape = shape;
+        this.priority = priority;
+        this.flags = flags;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.pointsX = pointsX;
+        this.pointsZ = pointsZ;
+        this.enterTitle = enterTitle;
+        this.enterSubtitle = enterSubtitle;
+        this.exitTitle = exitTitle;
+        this.exitSubtitle = exitSubtitle;
+    }
+
+    /**
+     * Creates a box between two corner blocks (both inclusive).
+     */
+    @Nonnull
+    public static Region cuboid(@Nonnull String name, @Nonnull String world,
+                                int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new Region(name, world, Shape.CUBOID, 0, new EnumMap<>(RegionFlag.class),
+                Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2),
+                0, 0, 0, null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a vertical cylinder. The center is in world coordinates, so a block center is x + 0.5.
+     */
+    @Nonnull
+    public static Region cylinder(@Nonnull String name, @Nonnull String world,
+                                  double centerX, double centerZ, double radius, int minY, int maxY) {
+        return new Region(name, world, Shape.CYLINDER, 0, new EnumMap<>(RegionFlag.class),
+                (int) Math.floor(centerX - radius), Math.min(minY, maxY), (int) Math.floor(centerZ - radius),
+                (int) Math.floor(centerX + radius), Math.max(minY, maxY), (int) Math.floor(centerZ + radius),
+                centerX, centerZ, radius, null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a polygon prism from corner blocks given in order around the outline.
+     */
+    @Nonnull
+    public static Region polygon(@Nonnull String name, @Nonnull String world,
+                                 @Nonnull int[] pointsX, @Nonnull int[] pointsZ, int minY, int maxY) {
+        if (pointsX.length < 3 || pointsX.length != pointsZ.length) {
+            throw new IllegalArgumentException("A polygon needs at least 3 points");
+        }
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < pointsX.length; i++) {
+            minX = Math.min(minX, pointsX[i]);
+            maxX = Math.max(maxX, pointsX[i]);
+            minZ = Math.min(minZ, pointsZ[i]);
+            maxZ = Math.max(maxZ, pointsZ[i]);
+        }
+        return new Region(name, world, Shape.POLYGON, 0, new EnumMap<>(RegionFlag.class),
+                minX, Math.min(minY, maxY), minZ, maxX, Math.max(minY, maxY), maxZ,
+                0, 0, 0, pointsX.clone(), pointsZ.clone(), null, null, null, null);
+    }
+
+    /**
+     * Returns a copy with a flag set, or cleared when value is null.
+     */
+    @Nonnull
+    public Region withFlag(@Nonnull RegionFlag flag, @Nullable Boolean value) {
+        Map<RegionFlag, Boolean> copy = new EnumMap<>(RegionFlag.class);
+        if (flags != null) {
+            copy.putAll(flags);
+        }
+        if (value == null) {
+            copy.remove(flag);
+        } else {
+            copy.put(flag, value);
+        }
+        return new Region(name, world, shape, priority, copy, minX, minY, minZ, maxX, maxY, maxZ,
+                centerX, centerZ, radius, pointsX, pointsZ, enterTitle, enterSubtitle, exitTitle, exitSubtitle);
+    }
+
+    /**
+     * Returns a copy with a different priority.
+     */
+    @Nonnull
+    public Region withPriority(int priority) {
+        return new Region(name, world, shape, priority, flags, minX, minY, minZ, maxX, maxY, maxZ,
+                centerX, centerZ, radius, pointsX, pointsZ, enterTitle, enterSubtitle, exitTitle, exitSubtitle);
+    }
+
+    /**
+     * Returns a copy with custom enter/exit titles.
+     */
+    @Nonnull
+    public Region withTitles(@Nullable String enterTitle, @Nullable String enterSubtitle,
+                             @Nullable String exitTitle, @Nullable String exitSubtitle) {
+        return new Region(name, world, shape, priority, flags, minX, minY, minZ, maxX, maxY, maxZ,
+                centerX, centerZ, radius, pointsX, pointsZ, enterTitle, enterSubtitle, exitTitle, exitSubtitle);
+    }
+
+    /**
+     * Checks if a block is inside this region.
+     */
+    public boolean contains(int x, int y, int z) {
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            return false;
+        }
+        return switch (shape) {
+            case CUBOID -> true;
+            case CYLINDER -> {
+                double dx = x + 0.5 - centerX;
+                double dz = z + 0.5 - centerZ;
+                yield dx * dx + dz * dz <= radius * radius;
+            }
+            case POLYGON -> containsPolygon(x, z);
+        };
+    }
+
+    /**
+     * Checks that a region loaded from disk has everything its shape needs.
+     */
+    public boolean isValid() {
+        if (name == null || world == null || shape == null) {
+            return false;
+        }
+        return shape != Shape.POLYGON
+                || (pointsX != null && pointsZ != null && pointsX.length >= 3 && pointsX.length == pointsZ.length);
+    }
+
+    /**
+     * Checks if this region's bounding box overlaps a block range in X/Z.
+     */
+    public boolean intersects(int fromX, int fromZ, int toX, int toZ) {
+        return minX <= toX && maxX >= fromX && minZ <= toZ && maxZ >= fromZ;
+    }
+
+    /**
+     * Even-odd ray cast, with the corners at block centers. Blocks on an edge count as inside,
+     * like the faces of a cuboid, since the ray cast alone drops some of them.
+     */
+    private boolean containsPolygon(int x, int z) {
+        boolean inside = false;
+        for (int i = 0, j = pointsX.length - 1; i < pointsX.length; j = i++) {
+            int xi = pointsX[i], zi = pointsZ[i];
+            int xj = pointsX[j], zj = pointsZ[j];
+            if (isOnEdge(x, z, xi, zi, xj, zj)) {
+                return true;
+            }
+            if ((zi > z) != (zj > z) && x < (double) (xj - xi) * (z - zi) / (zj - zi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean isOnEdge(int x, int z, int x1, int z1, int x2, int z2) {
+        long cross = (long) (x2 - x1) * (z - z1) - (long) (z2 - z1) * (x - x1);
+        return cross == 0
+                && x >= Math.min(x1, x2) && x <= Math.max(x1, x2)
+                && z >= Math.min(z1, z2) && z <= Math.max(z1, z2);
+    }
+
+    /**
+     * Gets a flag, or null if this region does not set it.
+     */
+    @Nullable
+    public Boolean getFlag(@Nonnull RegionFlag flag) {
+        return flags != null ? flags.get(flag) : null;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public String getWorld() {
+        return world;
+    }
+
+    @Nonnull
+    public Shape getShape() {
+        return shape;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    @Nonnull
+    public Map<RegionFlag, Boolean> getFlags() {
+        return flags != null ? flags : Map.of();
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinY() {
+        return minY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+
+    @Nonnull
+    public String getEnterTitle() {
+        return enterTitle != null ? enterTitle : "Entering " + name;
+    }
+
+    @Nonnull
+    public String getEnterSubtitle() {
+        return enterSubtitle != null ? enterSubtitle : "";
+    }
+
+    @Nonnull
+    public String getExitTitle() {
+        return exitTitle != null ? exitTitle : "Leaving " + name;
+    }
+
+    @Nonnull
+    public String getExitSubtitle() {
+        return exitSubtitle != null ? exitSubtitle : "";
+    }
+}
@@ -0,0 +1,30 @@
+package com.nhulston.essentials.models;
+
+import javax.annotation.Nullable;
+
+/**
+ * Flags a region can set. A region that does not set a flag leaves it to lower priority regions.
+ */
+public enum RegionFlag {
+    BUILD,          // placing blocks
+    BREAK,          // breaking and mining blocks
+    PVP,            // players damaging players inside the region
+    INVULNERABLE,   // players inside take no damage at all
+    TITLES;         // show enter/exit titles
+
+    /**
+     * Parses a flag name (case-insensitive).
+     */
+    @Nullable
+    public static RegionFlag fromName(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        for (RegionFlag flag : values()) {
+            if (flag.name().equalsIgnoreCase(name)) {
+                return flag;
+            }
+        }
+        return null;
+    }
+}
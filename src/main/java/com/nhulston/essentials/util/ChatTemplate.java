@@ -0,0 +1,92 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chat format split once into literal text and %player% / %message% placeholders,
+ * so formatting a message is a single append pass instead of repeated string replaces.
+ */
+public class ChatTemplate {
+    private static final String PLAYER = "%player%";
+    private static final String MESSAGE = "%message%";
+
+    // Literal parts, with null marking a placeholder; isMessage says which placeholder
+    private final String[] parts;
+    private final boolean[] isMessage;
+    private final String source;
+    private final int literalLength;
+
+    private ChatTemplate(@Nonnull String source, @Nonnull String[] parts, @Nonnull boolean[] isMessage) {
+        this.source = source;
+        this.parts = parts;
+        this.isMessage = isMessage;
+        int length = 0;
+        for (String part : parts) {
+            if (part != null) {
+                length += part.length();
+            }
+        }
+        this.literalLength = length;
+    }
+
+    @Nonnull
+    public static ChatTemplate compile(@Nonnull String format) {
+        List<String> parts = new ArrayList<>();
+        List<Boolean> messageSlots = new ArrayList<>();
+        int start = 0;
+        while (start < format.length()) {
+            int player = format.indexOf(PLAYER, start);
+            int message = format.indexOf(MESSAGE, start);
+            int next = player < 0 ? message : (message < 0 ? player : Math.min(player, message));
+            if (next < 0) {
+                break;
+            }
+            if (next > start) {
+                parts.add(format.substring(start, next));
+                messageSlots.add(false);
+            }
+            boolean isMessage = next == message;
+            parts.add(null);
+            messageSlots.add(isMessage);
+            start = next + (isMessage ? MESSAGE.length() : PLAYER.length());
+        }
+        if (start < format.length()) {
+            parts.add(format.substring(start));
+            messageSlots.add(false);
+        }
+
+        boolean[] isMessage = new boolean[messageSlots.size()];
+        for (int i = 0; i < isMessage.length; i++) {
+            isMessage[i] = messageSlots.get(i);
+        }
+        return new ChatTemplate(format, parts.toArray(new String[0]), isMessage);
+    }
+
+    /**
+     * Fills in the placeholders. The result still contains color codes for ColorUtil.colorize.
+     */
+    @Nonnull
+    public String apply(@Nonnull String prefix, @Nonnull String player, @Nonnull String message) {
+        StringBuilder builder = new StringBuilder(prefix.length() + literalLength + player.length() + message.length());
+        builder.append(prefix);
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part != null) {
+                builder.append(part);
+            } else {
+                builder.append(isMessage[i] ? message : player);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the format this template was compiled from.
+     */
+    @Nonnull
+    public String getSource() {
+        return source;
+    }
+}
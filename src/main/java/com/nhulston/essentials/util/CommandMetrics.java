@@ -0,0 +1,111 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts per command, recorded by TimedPlayerCommand and TimedCommand.
+ * The sync phase is the command's own execution on the world (or command) thread; the async
+ * phase is work a command hands off and tracks, from hand-off until it completes.
+ */
+public final class CommandMetrics {
+    private static final ConcurrentHashMap<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {}
+
+    /**
+     * Timings for one command path, e.g. "/home" or "/essentials stats".
+     */
+    public static class Stats {
+        private final String command;
+        private final LatencyHistogram sync = new LatencyHistogram();
+        private final LatencyHistogram async = new LatencyHistogram();
+        private final LongAdder syncErrors = new LongAdder();
+        private final LongAdder asyncErrors = new LongAdder();
+
+        Stats(@Nonnull String command) {
+            this.command = command;
+        }
+
+        public void recordSync(long nanos, boolean failed) {
+            sync.record(nanos);
+            if (failed) {
+                syncErrors.increment();
+            }
+        }
+
+        /**
+         * Records the time until a future completes, and whether it failed.
+         */
+        @Nonnull
+        public <T> CompletableFuture<T> trackAsync(@Nonnull CompletableFuture<T> future) {
+            long start = System.nanoTime();
+            return future.whenComplete((_, error) -> {
+                async.record(System.nanoTime() - start);
+                if (error != null) {
+                    asyncErrors.increment();
+                }
+            });
+        }
+
+        @Nonnull
+        public String getCommand() {
+            return command;
+        }
+
+        @Nonnull
+        public LatencyHistogram getSync() {
+            return sync;
+        }
+
+        @Nonnull
+        public LatencyHistogram getAsync() {
+            return async;
+        }
+
+        public long getSyncErrors() {
+            return syncErrors.sum();
+        }
+
+        public long getAsyncErrors() {
+            return asyncErrors.sum();
+        }
+
+        void reset() {
+            sync.reset();
+            async.reset();
+            syncErrors.reset();
+            asyncErrors.reset();
+        }
+    }
+
+    @Nonnull
+    public static Stats get(@Nonnull String command) {
+        return STATS.computeIfAbsent(command, Stats::new);
+    }
+
+    /**
+     * Gets the commands that have run since the last reset, busiest first.
+     */
+    @Nonnull
+    public static List<Stats> getUsed() {
+        List<Stats> used = new ArrayList<>();
+        for (Stats stats : STATS.values()) {
+            if (stats.sync.getCount() > 0 || stats.async.getCount() > 0) {
+                used.add(stats);
+            }
+        }
+        used.sort((a, b) -> Long.compare(b.sync.getCount(), a.sync.getCount()));
+        return used;
+    }
+
+    public static void reset() {
+        for (Stats stats : STATS.values()) {
+            stats.reset();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.nhulston.essentials.util;
 
+import com.nhulston.essentials.models.ChatChannel;
 import org.tomlj.Toml;
 import org.tomlj.TomlParseResult;
-import org.tomlj.TomlTable;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -14,92 +14,55 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Loads config.toml into an immutable ConfigSnapshot.
+ * Getters read the current snapshot; a reload parses a whole new snapshot, swaps it in with one
+ * volatile write and then tells reload listeners so managers can rebuild derived state.
+ */
 public class ConfigManager {
-    private static final String DEFAULT_CHAT_FORMAT = "&7%player%&f: %message%";
-    private static final int DEFAULT_SPAWN_PROTECTION_RADIUS = 16;
-    private static final int DEFAULT_TELEPORT_DELAY = 3;
-    private static final int DEFAULT_RTP_COOLDOWN = 300;
+    /**
+     * Called after a new config has been published.
+     */
+    public interface ReloadListener {
+        void onConfigReload(@Nonnull ConfigSnapshot previous, @Nonnull ConfigSnapshot current);
+    }
 
     // Pattern to match section headers like [section], [section-name], or [section.subsection]
     private static final Pattern SECTION_PATTERN = Pattern.compile("^\\[([a-zA-Z0-9_.-]+)]\\s*$");
 
     private final Path configPath;
-
-    // Home limits by permission tier (e.g., essentials.homes.default -> 5)
-    private final HashMap<String, Integer> homeLimits = new HashMap<>();
-
-    // Chat settings
-    private boolean chatEnabled = true;
-    private String chatFallbackFormat = DEFAULT_CHAT_FORMAT;
-    private final LinkedHashMap<String, String> chatFormats = new LinkedHashMap<>();
-
-    // Build settings
-    private boolean disableBuilding = false;
-
-    // Spawn settings
-    private boolean firstJoinSpawnEnabled = true;
-    private boolean everyJoinSpawnEnabled = false;
-    private boolean deathSpawnEnabled = true;
-
-    // Welcome broadcast settings
-    private boolean welcomeBroadcastEnabled = true;
-    private String welcomeBroadcastMessage = "&e%player% &6has joined the server for the first time!";
-
-    // Teleport settings
-    private int teleportDelay = DEFAULT_TELEPORT_DELAY;
-
-    // Spawn protection settings
-    private boolean spawnProtectionEnabled = true;
-    private int spawnProtectionRadius = DEFAULT_SPAWN_PROTECTION_RADIUS;
-    private int spawnProtectionMinY = -1;
-    private int spawnProtectionMaxY = -1;
-    private boolean spawnProtectionInvulnerable = true;
-    private boolean spawnProtectionShowTitles = true;
-    private String spawnProtectionEnterTitle = "Entering Spawn";
-    private String spawnProtectionEnterSubtitle = "This is a protected area";
-    private String spawnProtectionExitTitle = "Leaving Spawn";
-    private String spawnProtectionExitSubtitle = "You can now build";
-
-    // RTP settings
-    private int rtpCooldown = DEFAULT_RTP_COOLDOWN;
-    private String rtpDefaultWorld = "default";
-    private final HashMap<String, Integer> rtpWorlds = new HashMap<>();
-
-    // MOTD settings
-    private boolean motdEnabled = true;
-    private String motdMessage = "&6Welcome to the server, &e%player%&6!";
-
-    // Sleep settings
-    private boolean sleepEnabled = true;
-    private int sleepPercentage = 20;
-
-    // Shout settings
-    private String shoutPrefix = "&0[&7Broadcast&0] &f";
-
-    // Repair settings
-    private int repairCooldown = 43200;
+    private final List<ReloadListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConfigSnapshot snapshot = new ConfigSnapshot(null);
 
     public ConfigManager(@Nonnull Path dataFolder) {
         this.configPath = dataFolder.resolve("config.toml");
-        load();
-    }
-
-    private void load() {
         if (!Files.exists(configPath)) {
             createDefault();
         } else {
             // Check for missing sections and add them
             migrateConfig();
         }
+        ConfigSnapshot loaded = parse();
+        if (loaded != null) {
+            snapshot = loaded;
+            Log.info("Config loaded!");
+        }
+    }
 
+    /**
+     * Parses config.toml into a new snapshot.
+     * @return the snapshot, or null if the file could not be read or has errors
+     */
+    @Nullable
+    private ConfigSnapshot parse() {
         try {
             // Read file as bytes first to handle potential BOM
             byte[] bytes = Files.readAllBytes(configPath);
@@ -116,113 +79,70 @@ public class ConfigManager {
 
             if (config.hasErrors()) {
                 config.errors().forEach(error -> Log.error("Config error: " + error.toString()));
-                Log.warning("Using default config values due to errors.");
-                return;
-            }
-
-            // Homes config - load permission-based limits
-            homeLimits.clear();
-            TomlTable homeLimitsTable = config.getTable("homes.limits");
-            if (homeLimitsTable != null) {
-                for (String tier : homeLimitsTable.keySet()) {
-                    Long limit = homeLimitsTable.getLong(tier);
-                    if (limit != null) {
-                        homeLimits.put(tier.toLowerCase(), limit.intValue());
-                    }
-                }
-            }
-
-            // Chat config
-            chatEnabled = config.getBoolean("chat.enabled", () -> true);
-            chatFallbackFormat = config.getString("chat.fallback-format", () -> DEFAULT_CHAT_FORMAT);
-
-            // Load chat formats (preserve order for priority)
-            chatFormats.clear();
-            TomlTable formatsTable = config.getTable("chat.formats");
-            if (formatsTable != null) {
-                for (String group : formatsTable.keySet()) {
-                    String format = formatsTable.getString(group);
-                    if (format != null) {
-                        chatFormats.put(group.toLowerCase(), format);
-                    }
-                }
+                Log.warning("Keeping the current config values due to errors.");
+                return null;
             }
 
-            // Build config
-            disableBuilding = config.getBoolean("build.disable-building", () -> false);
-
-            // Spawn config
-            firstJoinSpawnEnabled = config.getBoolean("spawn.first-join", () -> true);
-            everyJoinSpawnEnabled = config.getBoolean("spawn.every-join", () -> false);
-            deathSpawnEnabled = config.getBoolean("spawn.death-spawn", () -> true);
-
-            // Welcome broadcast config
-            welcomeBroadcastEnabled = config.getBoolean("welcome-broadcast.enabled", () -> true);
-            welcomeBroadcastMessage = config.getString("welcome-broadcast.message", 
-                    () -> "&e%player% &6has joined the server for the first time!");
-
-            // Teleport config
-            teleportDelay = getIntSafe(config, "teleport.delay", DEFAULT_TELEPORT_DELAY);
-
-            // Spawn protection config
-            spawnProtectionEnabled = config.getBoolean("spawn-protection.enabled", () -> true);
-            spawnProtectionRadius = getIntSafe(config, "spawn-protection.radius", DEFAULT_SPAWN_PROTECTION_RADIUS);
-            spawnProtectionMinY = getIntSafe(config, "spawn-protection.min-y", -1);
-            spawnProtectionMaxY = getIntSafe(config, "spawn-protection.max-y", -1);
-            spawnProtectionInvulnerable = config.getBoolean("spawn-protection.invulnerable", () -> true);
-            spawnProtectionShowTitles = config.getBoolean("spawn-protection.show-titles", () -> true);
-            spawnProtectionEnterTitle = config.getString("spawn-protection.enter-title", () -> "Entering Spawn");
-            spawnProtectionEnterSubtitle = config.getString("spawn-protection.enter-subtitle", () -> "This is a protected area");
-            spawnProtectionExitTitle = config.getString("spawn-protection.exit-title", () -> "Leaving Spawn");
-            spawnProtectionExitSubtitle = config.getString("spawn-protection.exit-subtitle", () -> "You can now build");
-
-            // RTP config
-            rtpCooldown = getIntSafe(config, "rtp.cooldown", DEFAULT_RTP_COOLDOWN);
-            
-            rtpWorlds.clear();
-            TomlTable rtpWorldsTable = config.getTable("rtp.worlds");
-            if (rtpWorldsTable != null) {
-                for (String worldName : rtpWorldsTable.keySet()) {
-                    Long radius = rtpWorldsTable.getLong(worldName);
-                    if (radius != null) {
-                        rtpWorlds.put(worldName, radius.intValue());
-                    }
-                }
+            return new ConfigSnapshot(config);
+        } catch (Exception e) {
+            Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            if (e.getCause() != null) {
+                Log.error("Caused by: " + e.getCause().getClass().getSimpleName() + " - " + e.getCause().getMessage());
             }
+            Log.warning("Keeping the current config values.");
+            return null;
+        }
+    }
 
-            String defaultWorld = config.getString("rtp.default-world");
-            rtpDefaultWorld = defaultWorld != null ? defaultWorld : "default";
-
-            // MOTD config
-            motdEnabled = config.getBoolean("motd.enabled", () -> true);
-            motdMessage = config.getString("motd.message", () -> "&6Welcome to the server, &e%player%&6!");
-
-            // Sleep config
-            sleepEnabled = config.getBoolean("sleep.enabled", () -> true);
-            sleepPercentage = getIntSafe(config, "sleep.percentage", 20);
+    /**
+     * Reloads the configuration from disk. The new snapshot is only published, and listeners only
+     * told, when at least one section actually changed; listeners can use
+     * {@link ConfigSnapshot#sectionChanged} to skip rebuilding sections that did not.
+     * Missing sections are not migrated here, since that only happens after a plugin update (and a restart).
+     * Safe to call from any thread; reloads are serialized.
+     */
+    public synchronized void reload() {
+        if (!Files.exists(configPath)) {
+            Log.warning("config.toml is missing, keeping the current config values.");
+            return;
+        }
 
-            // Shout config
-            shoutPrefix = config.getString("shout.prefix", () -> "&0[&7Broadcast&0] &f");
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot current = parse();
+        if (current == null) {
+            return;
+        }
 
-            // Repair config
-            repairCooldown = getIntSafe(config, "repair.cooldown", 43200);
+        List<String> changed = current.getChangedSections(previous);
+        if (changed.isEmpty()) {
+            Log.info("Config reloaded, no changes.");
+            return;
+        }
 
-            Log.info("Config loaded!");
-        } catch (Exception e) {
-            Log.error("Failed to load config: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            if (e.getCause() != null) {
-                Log.error("Caused by: " + e.getCause().getClass().getSimpleName() + " - " + e.getCause().getMessage());
+        snapshot = current;
+        Log.info("Config reloaded, changed sections: " + String.join(", ", changed));
+        for (ReloadListener listener : listeners) {
+            try {
+                listener.onConfigReload(previous, current);
+            } catch (Exception e) {
+                Log.error("Config reload listener failed: " + e.getMessage());
             }
-            Log.warning("Using default config values.");
         }
     }
 
     /**
-     * Reloads the configuration from disk.
+     * Registers a listener that runs after every reload that changed something, on the reloading thread.
      */
-    public void reload() {
-        Log.info("Reloading config...");
-        load();
+    public void addReloadListener(@Nonnull ReloadListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets the current config. Read it once when several values must come from the same load.
+     */
+    @Nonnull
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -377,18 +297,6 @@ public class ConfigManager {
         return sections;
     }
 
-    /**
-     * Safely gets an integer value from the config, with fallback to default.
-     */
-    private int getIntSafe(@Nonnull TomlParseResult config, @Nonnull String key, int defaultValue) {
-        try {
-            Long value = config.getLong(key);
-            return value != null ? Math.toIntExact(value) : defaultValue;
-        } catch (Exception e) {
-            return defaultValue;
-        }
-    }
-
     private void createDefault() {
         try {
             Files.createDirectories(configPath.getParent());
@@ -412,103 +320,187 @@ public class ConfigManager {
      */
     @Nonnull
     public Map<String, Integer> getHomeLimits() {
-        return homeLimits;
+        return snapshot.homeLimits;
     }
 
     public boolean isChatEnabled() {
-        return chatEnabled;
+        return snapshot.chatEnabled;
     }
 
+    /**
+     * Gets the compiled fallback chat format.
+     */
     @Nonnull
-    public String getChatFallbackFormat() {
-        return chatFallbackFormat;
+    public ChatTemplate getChatFallbackTemplate() {
+        return snapshot.chatFallbackTemplate;
     }
 
+    /**
+     * Gets the compiled chat formats by group, in config order (first match wins).
+     */
     @Nonnull
-    public Map<String, String> getChatFormats() {
-        return chatFormats;
+    public Map<String, ChatTemplate> getChatTemplates() {
+        return snapshot.chatTemplates;
+    }
+
+    public boolean isChatChannelsEnabled() {
+        return snapshot.chatChannelsEnabled;
+    }
+
+    @Nonnull
+    public String getDefaultChatChannel() {
+        return snapshot.defaultChatChannel;
+    }
+
+    /**
+     * Gets the configured chat channels by id, in config order.
+     */
+    @Nonnull
+    public Map<String, ChatChannel> getChatChannels() {
+        return snapshot.chatChannels;
     }
 
     public boolean isBuildingDisabled() {
-        return disableBuilding;
+        return snapshot.disableBuilding;
     }
 
     public boolean isFirstJoinSpawnEnabled() {
-        return firstJoinSpawnEnabled;
+        return snapshot.firstJoinSpawnEnabled;
     }
 
     public boolean isEveryJoinSpawnEnabled() {
-        return everyJoinSpawnEnabled;
+        return snapshot.everyJoinSpawnEnabled;
     }
 
     public boolean isDeathSpawnEnabled() {
-        return deathSpawnEnabled;
+        return snapshot.deathSpawnEnabled;
     }
 
     public boolean isWelcomeBroadcastEnabled() {
-        return welcomeBroadcastEnabled;
+        return snapshot.welcomeBroadcastEnabled;
     }
 
     @Nonnull
     public String getWelcomeBroadcastMessage() {
-        return welcomeBroadcastMessage;
+        return snapshot.welcomeBroadcastMessage;
+    }
+
+    public boolean isJoinAnnouncementsEnabled() {
+        return snapshot.joinAnnouncementsEnabled;
+    }
+
+    public boolean isQuitAnnouncementsEnabled() {
+        return snapshot.quitAnnouncementsEnabled;
+    }
+
+    @Nonnull
+    public String getJoinAnnouncementMessage() {
+        return snapshot.joinAnnouncementMessage;
+    }
+
+    @Nonnull
+    public String getQuitAnnouncementMessage() {
+        return snapshot.quitAnnouncementMessage;
+    }
+
+    /**
+     * Gets how long joins, first joins and quits are collected before they are announced together.
+     */
+    public int getAnnouncementWindowMs() {
+        return snapshot.announcementWindowMs;
+    }
+
+    /**
+     * Gets how many announcements of one kind per window are sent one by one before they are summed up.
+     */
+    public int getAnnouncementIndividualLimit() {
+        return snapshot.announcementIndividualLimit;
+    }
+
+    /**
+     * Gets how many names a summed-up announcement lists before "and N others".
+     */
+    public int getAnnouncementSummaryNames() {
+        return snapshot.announcementSummaryNames;
+    }
+
+    @Nonnull
+    public String getFirstJoinSummary() {
+        return snapshot.firstJoinSummary;
+    }
+
+    @Nonnull
+    public String getJoinSummary() {
+        return snapshot.joinSummary;
+    }
+
+    @Nonnull
+    public String getQuitSummary() {
+        return snapshot.quitSummary;
     }
 
     public int getTeleportDelay() {
-        return teleportDelay;
+        return snapshot.teleportDelay;
+    }
+
+    /**
+     * Gets how many previous locations /back remembers per player.
+     */
+    public int getBackHistorySize() {
+        return snapshot.backHistorySize;
     }
 
     public boolean isSpawnProtectionEnabled() {
-        return spawnProtectionEnabled;
+        return snapshot.spawnProtectionEnabled;
     }
 
     public int getSpawnProtectionRadius() {
-        return spawnProtectionRadius;
+        return snapshot.spawnProtectionRadius;
     }
 
     public boolean isSpawnProtectionInvulnerable() {
-        return spawnProtectionInvulnerable;
+        return snapshot.spawnProtectionInvulnerable;
     }
 
     public int getSpawnProtectionMinY() {
-        return spawnProtectionMinY;
+        return snapshot.spawnProtectionMinY;
     }
 
     public int getSpawnProtectionMaxY() {
-        return spawnProtectionMaxY;
+        return snapshot.spawnProtectionMaxY;
     }
 
     public boolean isSpawnProtectionShowTitles() {
-        return spawnProtectionShowTitles;
+        return snapshot.spawnProtectionShowTitles;
     }
 
     @Nonnull
     public String getSpawnProtectionEnterTitle() {
-        return spawnProtectionEnterTitle;
+        return snapshot.spawnProtectionEnterTitle;
     }
 
     @Nonnull
     public String getSpawnProtectionEnterSubtitle() {
-        return spawnProtectionEnterSubtitle;
+        return snapshot.spawnProtectionEnterSubtitle;
     }
 
     @Nonnull
     public String getSpawnProtectionExitTitle() {
-        return spawnProtectionExitTitle;
+        return snapshot.spawnProtectionExitTitle;
     }
 
     @Nonnull
     public String getSpawnProtectionExitSubtitle() {
-        return spawnProtectionExitSubtitle;
+        return snapshot.spawnProtectionExitSubtitle;
     }
 
     public int getRtpCooldown() {
-        return rtpCooldown;
+        return snapshot.rtpCooldown;
     }
 
     @Nonnull
     public String getRtpDefaultWorld() {
-        return rtpDefaultWorld;
+        return snapshot.rtpDefaultWorld;
     }
 
     /**
@@ -516,32 +508,130 @@ public class ConfigManager {
      */
     @Nullable
     public Integer getRtpRadius(@Nonnull String worldName) {
-        return rtpWorlds.get(worldName);
+        return snapshot.rtpWorlds.get(worldName);
     }
 
     public boolean isMotdEnabled() {
-        return motdEnabled;
+        return snapshot.motdEnabled;
     }
 
     @Nonnull
     public String getMotdMessage() {
-        return motdMessage;
+        return snapshot.motdMessage;
     }
 
     public boolean isSleepEnabled() {
-        return sleepEnabled;
+        return snapshot.sleepEnabled;
     }
 
     public int getSleepPercentage() {
-        return sleepPercentage;
+        return snapshot.sleepPercentage;
     }
 
     @Nonnull
     public String getShoutPrefix() {
-        return shoutPrefix;
+        return snapshot.shoutPrefix;
     }
 
     public int getRepairCooldown() {
-        return repairCooldown;
+        return snapshot.repairCooldown;
+    }
+
+    public boolean isRateLimitEnabled() {
+        return snapshot.rateLimitEnabled;
+    }
+
+    public int getRateLimitMuteAfter() {
+        return snapshot.rateLimitMuteAfter;
+    }
+
+    public int getRateLimitStrikeWindow() {
+        return snapshot.rateLimitStrikeWindow;
+    }
+
+    /**
+     * Gets how many seconds a player must go without a mute before mutes escalate from the first duration again.
+     */
+    public int getRateLimitMuteReset() {
+        return snapshot.rateLimitMuteReset;
+    }
+
+    /**
+     * Gets the escalating mute durations in seconds (first mute, second mute, ...).
+     */
+    @Nonnull
+    public int[] getRateLimitMuteDurations() {
+        return snapshot.rateLimitMuteDurations.clone();
+    }
+
+    /**
+     * Gets the burst capacity for a rate limit bucket (e.g., "chat", "msg", "shout").
+     */
+    public int getRateLimitCapacity(@Nonnull String bucket) {
+        return snapshot.rateLimitCapacities.getOrDefault(bucket, ConfigSnapshot.DEFAULT_RATE_LIMIT_CAPACITY);
+    }
+
+    /**
+     * Gets the refill rate (tokens per second) for a rate limit bucket.
+     */
+    public double getRateLimitRefill(@Nonnull String bucket) {
+        return snapshot.rateLimitRefills.getOrDefault(bucket, ConfigSnapshot.DEFAULT_RATE_LIMIT_REFILL);
+    }
+
+    public boolean isChatLogEnabled() {
+        return snapshot.chatLogEnabled;
+    }
+
+    public boolean isChatLogCompressEnabled() {
+        return snapshot.chatLogCompress;
+    }
+
+    /**
+     * Gets the number of entries the chat log can buffer before dropping. Read once at startup.
+     */
+    public int getChatLogBufferSize() {
+        return snapshot.chatLogBufferSize;
+    }
+
+    public int getChatLogLookupDays() {
+        return snapshot.chatLogLookupDays;
+    }
+
+    public boolean isPlayerArchiveEnabled() {
+        return snapshot.playerArchiveEnabled;
+    }
+
+    /**
+     * Gets how many days a player must be away before their data is archived.
+     */
+    public int getPlayerArchiveInactiveDays() {
+        return snapshot.playerArchiveInactiveDays;
+    }
+
+    public int getPlayerArchiveIntervalHours() {
+        return snapshot.playerArchiveIntervalHours;
+    }
+
+    /**
+     * Gets how many player files an archive pass moves per second at most.
+     */
+    public int getPlayerArchiveFilesPerSecond() {
+        return snapshot.playerArchiveFilesPerSecond;
+    }
+
+    public boolean isWatchFilesEnabled() {
+        return snapshot.watchFiles;
+    }
+
+    public int getReloadDebounceMs() {
+        return snapshot.reloadDebounceMs;
+    }
+
+    /**
+     * Gets cooldown durations set in [cooldowns], by cooldown name, in seconds.
+     */
+    @Nonnull
+    public Map<String, Integer> getCooldowns() {
+        return snapshot.cooldowns;
     }
 }
@@ -0,0 +1,483 @@
+package com.nhulston.essentials.util;
+
+import com.nhulston.essentials.models.ChatChannel;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlTable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One fully parsed, immutable view of config.toml.
+ * ConfigManager builds a new snapshot on every load and publishes it with a single volatile write,
+ * so readers on any thread always see one complete config, never a mix of old and new values.
+ * Values that hot paths use are stored in ready-to-use form (e.g., compiled chat templates).
+ */
+public class ConfigSnapshot {
+    static final String DEFAULT_CHAT_FORMAT = "&7%player%&f: %message%";
+    static final int DEFAULT_SPAWN_PROTECTION_RADIUS = 16;
+    static final int DEFAULT_TELEPORT_DELAY = 3;
+    static final int DEFAULT_BACK_HISTORY_SIZE = 10;
+    static final int MAX_BACK_HISTORY_SIZE = 64;
+    static final int DEFAULT_RTP_COOLDOWN = 300;
+    static final String DEFAULT_CHAT_CHANNEL = "global";
+    static final int DEFAULT_RATE_LIMIT_CAPACITY = 5;
+    static final double DEFAULT_RATE_LIMIT_REFILL = 1.0;
+    static final int DEFAULT_RATE_LIMIT_MUTE_AFTER = 5;
+    static final int DEFAULT_RATE_LIMIT_STRIKE_WINDOW = 30;
+    static final int DEFAULT_RATE_LIMIT_MUTE_RESET = 3600;
+    static final int[] DEFAULT_RATE_LIMIT_MUTE_DURATIONS = {30, 120, 600};
+    static final int DEFAULT_CHAT_LOG_BUFFER_SIZE = 8192;
+    static final int DEFAULT_CHAT_LOG_LOOKUP_DAYS = 3;
+    static final int DEFAULT_RELOAD_DEBOUNCE_MS = 500;
+    static final int DEFAULT_ANNOUNCEMENT_WINDOW_MS = 1000;
+    static final int DEFAULT_ANNOUNCEMENT_INDIVIDUAL_LIMIT = 3;
+    static final int DEFAULT_ANNOUNCEMENT_SUMMARY_NAMES = 2;
+    static final int DEFAULT_PLAYER_ARCHIVE_INACTIVE_DAYS = 180;
+    static final int DEFAULT_PLAYER_ARCHIVE_INTERVAL_HOURS = 24;
+    static final int DEFAULT_PLAYER_ARCHIVE_FILES_PER_SECOND = 50;
+
+    // Raw values of each top-level section, used to tell which sections a reload changed
+    private final Map<String, Object> sections;
+
+    // Home limits by permission tier (e.g., essentials.homes.default -> 5)
+    final Map<String, Integer> homeLimits;
+
+    // Chat settings
+    final boolean chatEnabled;
+    final ChatTemplate chatFallbackTemplate;
+    final Map<String, ChatTemplate> chatTemplates;      // group -> template, in config order
+
+    // Chat channel settings
+    final boolean chatChannelsEnabled;
+    final String defaultChatChannel;
+    final Map<String, ChatChannel> chatChannels;
+
+    // Build settings
+    final boolean disableBuilding;
+
+    // Spawn settings
+    final boolean firstJoinSpawnEnabled;
+    final boolean everyJoinSpawnEnabled;
+    final boolean deathSpawnEnabled;
+
+    // Welcome broadcast settings
+    final boolean welcomeBroadcastEnabled;
+    final String welcomeBroadcastMessage;
+
+    // Join/quit announcement settings
+    final boolean joinAnnouncementsEnabled;
+    final boolean quitAnnouncementsEnabled;
+    final String joinAnnouncementMessage;
+    final String quitAnnouncementMessage;
+    final int announcementWindowMs;
+    final int announcementIndividualLimit;
+    final int announcementSummaryNames;
+    final String firstJoinSummary;
+    final String joinSummary;
+    final String quitSummary;
+
+    // Teleport settings
+    final int teleportDelay;
+    final int backHistorySize;
+
+    // Spawn protection settings
+    final boolean spawnProtectionEnabled;
+    final int spawnProtectionRadius;
+    final int spawnProtectionMinY;
+    final int spawnProtectionMaxY;
+    final boolean spawnProtectionInvulnerable;
+    final boolean spawnProtectionShowTitles;
+    final String spawnProtectionEnterTitle;
+    final String spawnProtectionEnterSubtitle;
+    final String spawnProtectionExitTitle;
+    final String spawnProtectionExitSubtitle;
+
+    // RTP settings
+    final int rtpCooldown;
+    final String rtpDefaultWorld;
+    final Map<String, Integer> rtpWorlds;
+
+    // MOTD settings
+    final boolean motdEnabled;
+    final String motdMessage;
+
+    // Sleep settings
+    final boolean sleepEnabled;
+    final int sleepPercentage;
+
+    // Shout settings
+    final String shoutPrefix;
+
+    // Repair settings
+    final int repairCooldown;
+
+    // Rate limit settings
+    final boolean rateLimitEnabled;
+    final int rateLimitMuteAfter;
+    final int rateLimitStrikeWindow;
+    final int rateLimitMuteReset;
+    final int[] rateLimitMuteDurations;
+    final Map<String, Integer> rateLimitCapacities;
+    final Map<String, Double> rateLimitRefills;
+
+    // Chat log settings
+    final boolean chatLogEnabled;
+    final boolean chatLogCompress;
+    final int chatLogBufferSize;
+    final int chatLogLookupDays;
+
+    // Player data archive settings
+    final boolean playerArchiveEnabled;
+    final int playerArchiveInactiveDays;
+    final int playerArchiveIntervalHours;
+    final int playerArchiveFilesPerSecond;
+
+    // Cooldown overrides by cooldown name (e.g., "rtp", "kit.starter") in seconds
+    final Map<String, Integer> cooldowns;
+
+    // Reload settings
+    final boolean watchFiles;
+    final int reloadDebounceMs;
+
+    /**
+     * Parses a config. A null table gives the built-in defaults.
+     */
+    ConfigSnapshot(@Nullable TomlTable config) {
+        Map<String, Object> rawSections = new HashMap<>();
+        if (config != null) {
+            for (String section : config.keySet()) {
+                rawSections.put(section, toPlainValue(config.get(List.of(section))));
+            }
+        }
+        sections = Collections.unmodifiableMap(rawSections);
+
+        // Homes config - load permission-based limits
+        Map<String, Integer> limits = new HashMap<>();
+        TomlTable homeLimitsTable = getTable(config, "homes.limits");
+        if (homeLimitsTable != null) {
+            for (String tier : homeLimitsTable.keySet()) {
+                Long limit = homeLimitsTable.getLong(tier);
+                if (limit != null) {
+                    limits.put(tier.toLowerCase(), limit.intValue());
+                }
+            }
+        }
+        homeLimits = Collections.unmodifiableMap(limits);
+
+        // Chat config
+        chatEnabled = getBoolean(config, "chat.enabled", true);
+        chatFallbackTemplate = ChatTemplate.compile(getString(config, "chat.fallback-format", DEFAULT_CHAT_FORMAT));
+
+        // Load chat formats (preserve order for priority)
+        Map<String, ChatTemplate> templates = new LinkedHashMap<>();
+        TomlTable formatsTable = getTable(config, "chat.formats");
+        if (formatsTable != null) {
+            for (String group : formatsTable.keySet()) {
+                String format = formatsTable.getString(group);
+                if (format != null) {
+                    templates.put(group.toLowerCase(), ChatTemplate.compile(format));
+                }
+            }
+        }
+        chatTemplates = Collections.unmodifiableMap(templates);
+
+        // Chat channels (preserve order for /channel listing)
+        chatChannelsEnabled = getBoolean(config, "chat.channels.enabled", true);
+        String defaultChannel = getString(config, "chat.channels.default", DEFAULT_CHAT_CHANNEL).toLowerCase();
+        Map<String, ChatChannel> channels = new LinkedHashMap<>();
+        TomlTable channelsTable = getTable(config, "chat.channels");
+        if (channelsTable != null) {
+            for (String name : channelsTable.keySet()) {
+                // Channels are the sub-tables; enabled and default sit beside them
+                if (!(channelsTable.get(List.of(name)) instanceof TomlTable channelTable)) {
+                    continue;
+                }
+                String id = name.toLowerCase();
+                String scopeName = channelTable.getString("scope", () -> "server");
+                ChatChannel.Scope scope = scopeName.equalsIgnoreCase("world")
+                        ? ChatChannel.Scope.WORLD : ChatChannel.Scope.SERVER;
+                String permission = channelTable.getString("permission", () -> "");
+                channels.put(id, new ChatChannel(id,
+                        channelTable.getString("prefix", () -> ""),
+                        scope,
+                        permission.isEmpty() ? null : permission,
+                        channelTable.getBoolean("auto-join", () -> true)));
+            }
+        }
+        if (channels.isEmpty()) {
+            // Always keep a channel everyone can talk in
+            channels.put(DEFAULT_CHAT_CHANNEL,
+                    new ChatChannel(DEFAULT_CHAT_CHANNEL, "", ChatChannel.Scope.SERVER, null, true));
+        }
+        if (!channels.containsKey(defaultChannel)) {
+            String fallback = channels.keySet().iterator().next();
+            Log.warning("Default chat channel '" + defaultChannel + "' does not exist, using '" + fallback + "'.");
+            defaultChannel = fallback;
+        }
+        defaultChatChannel = defaultChannel;
+        chatChannels = Collections.unmodifiableMap(channels);
+
+        // Build config
+        disableBuilding = getBoolean(config, "build.disable-building", false);
+
+        // Spawn config
+        firstJoinSpawnEnabled = getBoolean(config, "spawn.first-join", true);
+        everyJoinSpawnEnabled = getBoolean(config, "spawn.every-join", false);
+        deathSpawnEnabled = getBoolean(config, "spawn.death-spawn", true);
+
+        // Welcome broadcast config
+        welcomeBroadcastEnabled = getBoolean(config, "welcome-broadcast.enabled", true);
+        welcomeBroadcastMessage = getString(config, "welcome-broadcast.message",
+                "&e%player% &6has joined the server for the first time!");
+
+        // Join/quit announcement config
+        joinAnnouncementsEnabled = getBoolean(config, "announcements.join", false);
+        quitAnnouncementsEnabled = getBoolean(config, "announcements.quit", false);
+        joinAnnouncementMessage = getString(config, "announcements.join-message", "&a+ &f%player%");
+        quitAnnouncementMessage = getString(config, "announcements.quit-message", "&c- &f%player%");
+        announcementWindowMs = Math.max(0, getInt(config, "announcements.window-ms", DEFAULT_ANNOUNCEMENT_WINDOW_MS));
+        announcementIndividualLimit = Math.max(0, getInt(config, "announcements.individual-limit",
+                DEFAULT_ANNOUNCEMENT_INDIVIDUAL_LIMIT));
+        announcementSummaryNames = Math.max(0, getInt(config, "announcements.summary-names",
+                DEFAULT_ANNOUNCEMENT_SUMMARY_NAMES));
+        firstJoinSummary = getString(config, "announcements.first-join-summary",
+                "&e%players% &6joined the server for the first time!");
+        joinSummary = getString(config, "announcements.join-summary", "&a+ &f%players%");
+        quitSummary = getString(config, "announcements.quit-summary", "&c- &f%players%");
+
+        // Teleport config
+        teleportDelay = getInt(config, "teleport.delay", DEFAULT_TELEPORT_DELAY);
+        backHistorySize = Math.max(1, Math.min(getInt(config, "teleport.back-history", DEFAULT_BACK_HISTORY_SIZE),
+                MAX_BACK_HISTORY_SIZE));
+
+        // Spawn protection config
+        spawnProtectionEnabled = getBoolean(config, "spawn-protection.enabled", true);
+        spawnProtectionRadius = getInt(config, "spawn-protection.radius", DEFAULT_SPAWN_PROTECTION_RADIUS);
+        spawnProtectionMinY = getInt(config, "spawn-protection.min-y", -1);
+        spawnProtectionMaxY = getInt(config, "spawn-protection.max-y", -1);
+        spawnProtectionInvulnerable = getBoolean(config, "spawn-protection.invulnerable", true);
+        spawnProtectionShowTitles = getBoolean(config, "spawn-protection.show-titles", true);
+        spawnProtectionEnterTitle = getString(config, "spawn-protection.enter-title", "Entering Spawn");
+        spawnProtectionEnterSubtitle = getString(config, "spawn-protection.enter-subtitle", "This is a protected area");
+        spawnProtectionExitTitle = getString(config, "spawn-protection.exit-title", "Leaving Spawn");
+        spawnProtectionExitSubtitle = getString(config, "spawn-protection.exit-subtitle", "You can now build");
+
+        // RTP config
+        rtpCooldown = getInt(config, "rtp.cooldown", DEFAULT_RTP_COOLDOWN);
+
+        Map<String, Integer> worlds = new HashMap<>();
+        TomlTable rtpWorldsTable = getTable(config, "rtp.worlds");
+        if (rtpWorldsTable != null) {
+            for (String worldName : rtpWorldsTable.keySet()) {
+                Long radius = rtpWorldsTable.getLong(worldName);
+                if (radius != null) {
+                    worlds.put(worldName, radius.intValue());
+                }
+            }
+        }
+        rtpWorlds = Collections.unmodifiableMap(worlds);
+        rtpDefaultWorld = getString(config, "rtp.default-world", "default");
+
+        // MOTD config
+        motdEnabled = getBoolean(config, "motd.enabled", true);
+        motdMessage = getString(config, "motd.message", "&6Welcome to the server, &e%player%&6!");
+
+        // Sleep config
+        sleepEnabled = getBoolean(config, "sleep.enabled", true);
+        sleepPercentage = getInt(config, "sleep.percentage", 20);
+
+        // Shout config
+        shoutPrefix = getString(config, "shout.prefix", "&0[&7Broadcast&0] &f");
+
+        // Repair config
+        repairCooldown = getInt(config, "repair.cooldown", 43200);
+
+        // Rate limit config
+        rateLimitEnabled = getBoolean(config, "rate-limit.enabled", true);
+        rateLimitMuteAfter = getInt(config, "rate-limit.mute-after", DEFAULT_RATE_LIMIT_MUTE_AFTER);
+        rateLimitStrikeWindow = getInt(config, "rate-limit.strike-window", DEFAULT_RATE_LIMIT_STRIKE_WINDOW);
+        rateLimitMuteReset = Math.max(0, getInt(config, "rate-limit.mute-reset", DEFAULT_RATE_LIMIT_MUTE_RESET));
+
+        TomlArray muteDurationsArray = config != null ? config.getArray("rate-limit.mute-durations") : null;
+        if (muteDurationsArray != null) {
+            List<Integer> durations = new ArrayList<>();
+            for (int i = 0; i < muteDurationsArray.size(); i++) {
+                Object value = muteDurationsArray.get(i);
+                if (value instanceof Long duration) {
+                    durations.add(duration.intValue());
+                }
+            }
+            rateLimitMuteDurations = durations.stream().mapToInt(Integer::intValue).toArray();
+        } else {
+            rateLimitMuteDurations = DEFAULT_RATE_LIMIT_MUTE_DURATIONS.clone();
+        }
+
+        Map<String, Integer> capacities = new HashMap<>();
+        Map<String, Double> refills = new HashMap<>();
+        TomlTable rateLimitTable = getTable(config, "rate-limit");
+        if (rateLimitTable != null) {
+            for (String bucket : rateLimitTable.keySet()) {
+                // Buckets are the sub-tables; the section's own settings sit beside them
+                if (!(rateLimitTable.get(List.of(bucket)) instanceof TomlTable bucketTable)) {
+                    continue;
+                }
+                String key = bucket.toLowerCase();
+                capacities.put(key, getInt(bucketTable, "capacity", DEFAULT_RATE_LIMIT_CAPACITY));
+                refills.put(key, getDouble(bucketTable, "refill-per-second", DEFAULT_RATE_LIMIT_REFILL));
+            }
+        }
+        rateLimitCapacities = Collections.unmodifiableMap(capacities);
+        rateLimitRefills = Collections.unmodifiableMap(refills);
+
+        // Chat log config
+        chatLogEnabled = getBoolean(config, "chat-log.enabled", true);
+        chatLogCompress = getBoolean(config, "chat-log.compress", true);
+        chatLogBufferSize = getInt(config, "chat-log.buffer-size", DEFAULT_CHAT_LOG_BUFFER_SIZE);
+        chatLogLookupDays = getInt(config, "chat-log.lookup-days", DEFAULT_CHAT_LOG_LOOKUP_DAYS);
+
+        // Player data archive config
+        playerArchiveEnabled = getBoolean(config, "player-archive.enabled", true);
+        playerArchiveInactiveDays = Math.max(1, getInt(config, "player-archive.inactive-days",
+                DEFAULT_PLAYER_ARCHIVE_INACTIVE_DAYS));
+        playerArchiveIntervalHours = Math.max(1, getInt(config, "player-archive.interval-hours",
+                DEFAULT_PLAYER_ARCHIVE_INTERVAL_HOURS));
+        playerArchiveFilesPerSecond = Math.max(1, getInt(config, "player-archive.files-per-second",
+                DEFAULT_PLAYER_ARCHIVE_FILES_PER_SECOND));
+
+        // Cooldown overrides; names may contain dots, so look them up as single keys
+        Map<String, Integer> cooldownOverrides = new HashMap<>();
+        TomlTable cooldownsTable = getTable(config, "cooldowns");
+        if (cooldownsTable != null) {
+            for (String name : cooldownsTable.keySet()) {
+                if (cooldownsTable.get(List.of(name)) instanceof Long seconds) {
+                    cooldownOverrides.put(name.toLowerCase(), (int) Math.max(0, Math.min(seconds, Integer.MAX_VALUE)));
+                }
+            }
+        }
+        cooldowns = Collections.unmodifiableMap(cooldownOverrides);
+
+        // Reload config
+        watchFiles = getBoolean(config, "reload.watch-files", true);
+        reloadDebounceMs = getInt(config, "reload.debounce-ms", DEFAULT_RELOAD_DEBOUNCE_MS);
+    }
+
+    /**
+     * Checks whether a top-level section (e.g., "chat" or "rate-limit") differs from another snapshot.
+     * Sub-tables count as part of their top-level section.
+     */
+    public boolean sectionChanged(@Nonnull ConfigSnapshot other, @Nonnull String section) {
+        return !Objects.equals(sections.get(section), other.sections.get(section));
+    }
+
+    /**
+     * Gets the names of the top-level sections that differ from another snapshot, sorted.
+     */
+    @Nonnull
+    public List<String> getChangedSections(@Nonnull ConfigSnapshot other) {
+        List<String> changed = new ArrayList<>();
+        for (String section : sections.keySet()) {
+            if (sectionChanged(other, section)) {
+                changed.add(section);
+            }
+        }
+        for (String section : other.sections.keySet()) {
+            if (!sections.containsKey(section)) {
+                changed.add(section);
+            }
+        }
+        Collections.sort(changed);
+        return changed;
+    }
+
+    /**
+     * Converts TOML tables and arrays, at any depth, to maps and lists, which compare by content.
+     * TomlTable and TomlArray only compare by identity, so every reload would look like a change.
+     */
+    @Nullable
+    private static Object toPlainValue(@Nullable Object value) {
+        if (value instanceof TomlTable table) {
+            Map<String, Object> map = new HashMap<>();
+            for (String key : table.keySet()) {
+                map.put(key, toPlainValue(table.get(List.of(key))));
+            }
+            return map;
+        }
+        if (value instanceof TomlArray array) {
+            List<Object> list = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                list.add(toPlainValue(array.get(i)));
+            }
+            return list;
+        }
+        return value;
+    }
+
+    @Nullable
+    private static TomlTable getTable(@Nullable TomlTable config, @Nonnull String key) {
+        return config != null ? config.getTable(key) : null;
+    }
+
+    private static boolean getBoolean(@Nullable TomlTable config, @Nonnull String key, boolean defaultValue) {
+        if (config == null) {
+            return defaultValue;
+        }
+        try {
+            Boolean value = config.getBoolean(key);
+            return value != null ? value : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    @Nonnull
+    private static String getString(@Nullable TomlTable config, @Nonnull String key, @Nonnull String defaultValue) {
+        if (config == null) {
+            return defaultValue;
+        }
+        try {
+            String value = config.getString(key);
+            return value != null ? value : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Safely gets an integer value from the config, with fallback to default.
+     */
+    private static int getInt(@Nullable TomlTable config, @Nonnull String key, int defaultValue) {
+        if (config == null) {
+            return defaultValue;
+        }
+        try {
+            Long value = config.getLong(key);
+            return value != null ? Math.toIntExact(value) : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Safely gets a decimal value from the config, accepting whole numbers too.
+     */
+    private static double getDouble(@Nonnull TomlTable config, @Nonnull String key, double defaultValue) {
+        try {
+            if (config.isDouble(key)) {
+                Double value = config.getDouble(key);
+                return value != null ? value : defaultValue;
+            }
+            Long value = config.getLong(key);
+            return value != null ? value.doubleValue() : defaultValue;
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
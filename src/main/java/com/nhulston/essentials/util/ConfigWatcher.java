@@ -0,0 +1,116 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the data folder and reloads config files when they change on disk.
+ * Editors often write a file several times in a row (truncate, write, rename), so changes are
+ * collected until the folder has been quiet for the debounce period and each file is reloaded once.
+ * Reloads run on the watcher thread, never on a world thread.
+ */
+public class ConfigWatcher {
+    private final Path dataFolder;
+    private final long debounceMs;
+    private final Map<String, Runnable> handlers = new LinkedHashMap<>();
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public ConfigWatcher(@Nonnull Path dataFolder, long debounceMs) {
+        this.dataFolder = dataFolder;
+        this.debounceMs = Math.max(50, debounceMs);
+    }
+
+    /**
+     * Registers a reload handler for a file in the data folder. Must be called before {@link #start()}.
+     */
+    public void watch(@Nonnull String fileName, @Nonnull Runnable handler) {
+        handlers.put(fileName, handler);
+    }
+
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dataFolder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Log.warning("Could not watch config files, use /essentials reload instead: " + e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(this::run, "Essentials-ConfigWatcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        Log.info("Watching " + String.join(", ", handlers.keySet()) + " for changes.");
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<String> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                // Keep collecting until no event arrives for a whole debounce period
+                WatchKey key;
+                while ((key = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+
+                for (String fileName : changed) {
+                    try {
+                        handlers.get(fileName).run();
+                    } catch (Exception e) {
+                        Log.error("Failed to reload " + fileName + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void collect(@Nonnull WatchKey key, @Nonnull Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, reload everything to be safe
+                changed.addAll(handlers.keySet());
+            } else if (event.context() instanceof Path path) {
+                String fileName = path.getFileName().toString();
+                if (handlers.containsKey(fileName)) {
+                    changed.add(fileName);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    public void shutdown() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Log.warning("Failed to close config watcher: " + e.getMessage());
+        }
+        try {
+            watcherThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped data files of inactive players, kept out of players/ so it stays small.
+ * Files are spread over subfolders by the first two characters of the UUID. An index log
+ * (index.log, one "+uuid" or "-uuid" line per change) says who is archived without
+ * scanning the folders; it's replayed on first use and rewritten when mostly removals.
+ */
+final class PlayerArchive {
+    private final Path folder;
+    private final Path indexFile;
+    private final Set<UUID> archived = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    PlayerArchive(@Nonnull Path folder) {
+        this.folder = folder;
+        this.indexFile = folder.resolve("index.log");
+    }
+
+    boolean contains(@Nonnull UUID playerUuid) {
+        ensureLoaded();
+        return archived.contains(playerUuid);
+    }
+
+    int size() {
+        ensureLoaded();
+        return archived.size();
+    }
+
+    /**
+     * Archives a player's data file contents.
+     *
+     * @return the size of the archived file in bytes
+     */
+    synchronized long write(@Nonnull UUID playerUuid, @Nonnull byte[] json) throws IOException {
+        ensureLoaded();
+        Path file = getFile(playerUuid);
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            out.write(json);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (archived.add(playerUuid)) {
+            appendIndex("+" + playerUuid);
+        }
+        return Files.size(file);
+    }
+
+    @Nonnull
+    byte[] read(@Nonnull UUID playerUuid) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(getFile(playerUuid)))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Removes a player from the archive, once their data file is back in players/.
+     */
+    synchronized void remove(@Nonnull UUID playerUuid) {
+        ensureLoaded();
+        if (!archived.remove(playerUuid)) {
+            return;
+        }
+        try {
+            appendIndex("-" + playerUuid);
+            Files.deleteIfExists(getFile(playerUuid));
+        } catch (IOException e) {
+            Log.warning("Failed to remove archived player data for " + playerUuid + ": " + e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private Path getFile(@Nonnull UUID playerUuid) {
+        String name = playerUuid.toString();
+        return folder.resolve(name.substring(0, 2)).resolve(name + ".json.gz");
+    }
+
+    private void appendIndex(@Nonnull String line) throws IOException {
+        Files.writeString(indexFile, line + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                loadIndex();
+                loaded = true;
+            }
+        }
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        int lines = 0;
+        try {
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (line.length() < 2) {
+                    continue;
+                }
+                lines++;
+                try {
+                    UUID playerUuid = UUID.fromString(line.substring(1));
+                    if (line.charAt(0) == '+') {
+                        archived.add(playerUuid);
+                    } else {
+                        archived.remove(playerUuid);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // A line cut short by a crash; the rest of the log is still good
+                }
+            }
+        } catch (IOException e) {
+            Log.error("Failed to load player archive index: " + e.getMessage());
+            return;
+        }
+
+        // Restored players leave lines behind; drop them once they're most of the log
+        if (lines > archived.size() * 2 + 1000) {
+            compactIndex();
+        }
+    }
+
+    private void compactIndex() {
+        List<String> lines = new ArrayList<>(archived.size());
+        for (UUID playerUuid : archived) {
+            lines.add("+" + playerUuid);
+        }
+        Path temp = indexFile.resolveSibling("index.log.tmp");
+        try {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.warning("Failed to compact player archive index: " + e.getMessage());
+        }
+    }
+}
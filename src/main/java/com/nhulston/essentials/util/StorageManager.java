@@ -21,30 +21,51 @@ import java.util.concurrent.ConcurrentHashMap;
 public class StorageManager {
     private final Path dataFolder;
     private final Path playersFolder;
+    private final PlayerArchive archive;
     private final Gson gson;
     private final ConcurrentHashMap<UUID, PlayerData> cache;
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> archiving;  // players whose file is being archived
     private final ConcurrentHashMap<String, Warp> warps;
+    private final ConcurrentHashMap<String, String> usernames;  // lowercase username -> UUID
     private volatile Spawn spawn;
+    private volatile boolean usernamesLoaded;
 
     private static final Type WARPS_TYPE = new TypeToken<Map<String, Warp>>(){}.getType();
+    private static final Type USERNAMES_TYPE = new TypeToken<Map<String, String>>(){}.getType();
 
     public StorageManager(@Nonnull Path dataFolder) {
         this.dataFolder = dataFolder;
         this.playersFolder = dataFolder.resolve("players");
+        this.archive = new PlayerArchive(playersFolder.resolve("archive"));
         this.gson = new GsonBuilder().create();
         this.cache = new ConcurrentHashMap<>();
+        this.archiving = new ConcurrentHashMap<>();
         this.warps = new ConcurrentHashMap<>();
+        this.usernames = new ConcurrentHashMap<>();
 
         try {
             Files.createDirectories(this.playersFolder);
         } catch (IOException e) {
             Log.error("Failed to create players folder: " + e.getMessage());
         }
+    }
 
+    /**
+     * Loads warps and the spawn point. Called once during setup, possibly off the setup thread.
+     */
+    public void load() {
         loadWarps();
         loadSpawn();
     }
 
+    /**
+     * Loads data that isn't needed to start the plugin, so it's ready before players look it up.
+     * Lookups still load it on demand if they get there first.
+     */
+    public void warmUp() {
+        ensureUsernamesLoaded();
+    }
+
     // Player data methods
 
     @Nonnull
@@ -52,20 +73,39 @@ public class StorageManager {
         return cache.computeIfAbsent(playerUuid, this::loadPlayerData);
     }
 
+    /**
+     * Checks if a player's data is cached, so getPlayerData() won't read their file.
+     */
+    public boolean isPlayerDataLoaded(@Nonnull UUID playerUuid) {
+        return cache.containsKey(playerUuid);
+    }
+
     public void savePlayerData(@Nonnull UUID playerUuid) {
         PlayerData data = cache.get(playerUuid);
         if (data != null) {
+            data.pruneCooldowns(System.currentTimeMillis());
+            data.packBackHistory();
             savePlayerDataAsync(playerUuid, data);
         }
     }
 
     @Nonnull
     private PlayerData loadPlayerData(@Nonnull UUID playerUuid) {
+        CompletableFuture<Void> moving = archiving.get(playerUuid);
+        if (moving != null) {
+            moving.join();  // Let the archive finish moving the file before looking for it
+        }
         Path file = getPlayerFile(playerUuid);
+        if (archive.contains(playerUuid)) {
+            if (Files.exists(file)) {
+                archive.remove(playerUuid);  // Saved again after it was archived, so the file is newer
+            } else {
+                restorePlayerData(playerUuid, file);
+            }
+        }
         if (Files.exists(file)) {
             try {
-                String json = Files.readString(file);
-                PlayerData data = gson.fromJson(json, PlayerData.class);
+                PlayerData data = fromJson(Files.readString(file));
                 if (data != null) {
                     return data;
                 }
@@ -76,33 +116,119 @@ public class StorageManager {
         return new PlayerData();
     }
 
+    /**
+     * Moves an archived player's data file back into players/.
+     */
+    private void restorePlayerData(@Nonnull UUID playerUuid, @Nonnull Path file) {
+        try {
+            Files.write(file, archive.read(playerUuid));
+            archive.remove(playerUuid);
+        } catch (IOException e) {
+            Log.warning("Failed to restore archived player data for " + playerUuid + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a player's data file into the archive if it hasn't changed since a cutoff.
+     * Players whose data is loaded are left alone. The player is marked as moving in the same
+     * step that checks the cache, and the file is moved after that, so the cache is never locked
+     * for the I/O; a load that starts meanwhile waits for the move and then restores the file.
+     *
+     * @return the data file and archived file sizes, or null if the player was skipped
+     */
+    @Nullable
+    public ArchivedPlayer archivePlayerData(@Nonnull UUID playerUuid, long inactiveSince) {
+        CompletableFuture<Void> moving = new CompletableFuture<>();
+        boolean[] reserved = new boolean[1];
+        cache.compute(playerUuid, (uuid, data) -> {
+            if (data == null) {
+                archiving.put(uuid, moving);
+                reserved[0] = true;
+            }
+            return data;
+        });
+        if (!reserved[0]) {
+            return null;
+        }
+
+        try {
+            Path file = getPlayerFile(playerUuid);
+            if (!Files.exists(file) || Files.getLastModifiedTime(file).toMillis() >= inactiveSince) {
+                return null;
+            }
+            byte[] json = Files.readAllBytes(file);
+            long archivedBytes = archive.write(playerUuid, json);
+            Files.delete(file);
+            return new ArchivedPlayer(json.length, archivedBytes);
+        } catch (IOException e) {
+            Log.warning("Failed to archive player data for " + playerUuid + ": " + e.getMessage());
+            return null;
+        } finally {
+            archiving.remove(playerUuid);
+            moving.complete(null);
+        }
+    }
+
+    /**
+     * Gets how many players are in the archive.
+     */
+    public int getArchivedPlayerCount() {
+        return archive.size();
+    }
+
+    /**
+     * Sizes of a player's data before and after archiving, in bytes.
+     */
+    public record ArchivedPlayer(long dataBytes, long archivedBytes) {}
+
     private void savePlayerDataAsync(@Nonnull UUID playerUuid, @Nonnull PlayerData data) {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("storage.save-player", () -> {
             Path file = getPlayerFile(playerUuid);
             try {
-                String json = gson.toJson(data);
-                Files.writeString(file, json);
+                Files.writeString(file, toJson(data));
             } catch (IOException e) {
                 Log.error("Failed to save player data for " + playerUuid + ": " + e.getMessage());
             }
         });
     }
 
+    /**
+     * Parses a player data file. Package-private, along with toJson, so benchmarks measure
+     * the same serialization the player files use.
+     */
+    @Nullable
+    PlayerData fromJson(@Nonnull String json) {
+        return gson.fromJson(json, PlayerData.class);
+    }
+
+    @Nonnull
+    String toJson(@Nonnull PlayerData data) {
+        return gson.toJson(data);
+    }
+
     @Nonnull
     private Path getPlayerFile(@Nonnull UUID playerUuid) {
         return playersFolder.resolve(playerUuid + ".json");
     }
 
+    /**
+     * Gets the folder player data files are stored in.
+     */
+    @Nonnull
+    public Path getPlayersFolder() {
+        return playersFolder;
+    }
+
     public void unloadPlayer(@Nonnull UUID playerUuid) {
         cache.remove(playerUuid);
     }
 
     /**
-     * Checks if a player has joined the server before (player data file exists).
+     * Checks if a player has joined the server before (player data file exists or was archived).
      */
     public boolean hasPlayerJoined(@Nonnull UUID playerUuid) {
         Path playerFile = getPlayerFile(playerUuid);
-        return Files.exists(playerFile);
+        return Files.exists(playerFile) || archive.contains(playerUuid);
     }
 
     /**
@@ -113,6 +239,68 @@ public class StorageManager {
         savePlayerData(playerUuid);
     }
 
+    // Username methods
+
+    /**
+     * Records a player's current username so they can be found while offline.
+     */
+    public void updateUsername(@Nonnull UUID playerUuid, @Nonnull String username) {
+        ensureUsernamesLoaded();
+        String previous = usernames.put(username.toLowerCase(), playerUuid.toString());
+        if (!playerUuid.toString().equals(previous)) {
+            saveUsernamesAsync();
+        }
+    }
+
+    /**
+     * Looks up the UUID of a player who has joined before (case-insensitive).
+     */
+    @Nullable
+    public UUID getUuidByUsername(@Nonnull String username) {
+        ensureUsernamesLoaded();
+        String uuid = usernames.get(username.toLowerCase());
+        return uuid != null ? UUID.fromString(uuid) : null;
+    }
+
+    private void ensureUsernamesLoaded() {
+        if (usernamesLoaded) {
+            return;
+        }
+        synchronized (usernames) {
+            if (!usernamesLoaded) {
+                loadUsernames();
+                usernamesLoaded = true;
+            }
+        }
+    }
+
+    private void loadUsernames() {
+        Path file = dataFolder.resolve("usernames.json");
+        if (Files.exists(file)) {
+            try {
+                String json = Files.readString(file);
+                Map<String, String> loaded = gson.fromJson(json, USERNAMES_TYPE);
+                if (loaded != null) {
+                    usernames.putAll(loaded);
+                }
+            } catch (IOException e) {
+                Log.warning("Failed to load usernames: " + e.getMessage());
+            }
+        }
+    }
+
+    private void saveUsernamesAsync() {
+        Tasks.runIo("storage.save-usernames", () -> {
+            Path file = dataFolder.resolve("usernames.json");
+            try {
+                String json = gson.toJson(usernames);
+                Files.writeString(file, json);
+            } catch (IOException e) {
+                Log.error("Failed to save usernames: " + e.getMessage());
+            }
+        });
+    }
+
     // Warp methods
     @Nonnull
     public Map<String, Warp> getWarps() {
@@ -152,7 +340,7 @@ public class StorageManager {
     }
 
     private void saveWarpsAsync() {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("storage.save-warps", () -> {
             Path file = dataFolder.resolve("warps.json");
             try {
                 String json = gson.toJson(warps);
@@ -190,7 +378,7 @@ public class StorageManager {
     }
 
     private void saveSpawnAsync() {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("storage.save-spawn", () -> {
             Path file = dataFolder.resolve("spawn.json");
             try {
                 String json = gson.toJson(spawn);
@@ -203,10 +391,13 @@ public class StorageManager {
 
     public void shutdown() {
         // Save player data
+        long now = System.currentTimeMillis();
         for (Map.Entry<UUID, PlayerData> entry : cache.entrySet()) {
             Path file = getPlayerFile(entry.getKey());
+            entry.getValue().pruneCooldowns(now);
+            entry.getValue().packBackHistory();
             try {
-                String json = gson.toJson(entry.getValue());
+                String json = toJson(entry.getValue());
                 Files.writeString(file, json);
             } catch (IOException e) {
                 Log.error("Failed to save player data on shutdown for " + entry.getKey() + ": " + e.getMessage());
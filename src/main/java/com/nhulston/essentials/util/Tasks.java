@@ -0,0 +1,275 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The plugin's own background executors, so its work never runs on the JVM-wide common pool.
+ * Blocking file and network I/O runs on virtual threads; CPU work (parsing, compression) runs on
+ * a small bounded pool. Every task is submitted under a name, and each name tracks how many tasks
+ * ran, failed or were rejected, how long they waited and how long they ran (/essentials stats tasks).
+ * A rejected task (CPU queue full, or submitted after shutdown) runs on the submitting thread,
+ * so saves are never lost. shutdown() lets queued and running tasks finish before the plugin stops.
+ */
+public final class Tasks {
+    /**
+     * Which executor a task runs on.
+     */
+    public enum Pool {
+        IO,     // virtual thread per task
+        CPU     // bounded platform thread pool
+    }
+
+    private static final int CPU_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int CPU_QUEUE_CAPACITY = 1024;
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static volatile ExecutorService io = newIoExecutor();
+    private static volatile ThreadPoolExecutor cpu = newCpuExecutor();
+
+    private Tasks() {}
+
+    /**
+     * Recreates the executors if a previous shutdown() stopped them (e.g., the plugin was reloaded).
+     */
+    public static synchronized void start() {
+        if (io.isShutdown()) {
+            io = newIoExecutor();
+        }
+        if (cpu.isShutdown()) {
+            cpu = newCpuExecutor();
+        }
+    }
+
+    @Nonnull
+    public static CompletableFuture<Void> runIo(@Nonnull String task, @Nonnull Runnable work) {
+        return countFailures(task, CompletableFuture.runAsync(work, executor(Pool.IO, task)));
+    }
+
+    @Nonnull
+    public static <T> CompletableFuture<T> supplyIo(@Nonnull String task, @Nonnull Supplier<T> work) {
+        return countFailures(task, CompletableFuture.supplyAsync(work, executor(Pool.IO, task)));
+    }
+
+    @Nonnull
+    public static CompletableFuture<Void> runCpu(@Nonnull String task, @Nonnull Runnable work) {
+        return countFailures(task, CompletableFuture.runAsync(work, executor(Pool.CPU, task)));
+    }
+
+    @Nonnull
+    public static <T> CompletableFuture<T> supplyCpu(@Nonnull String task, @Nonnull Supplier<T> work) {
+        return countFailures(task, CompletableFuture.supplyAsync(work, executor(Pool.CPU, task)));
+    }
+
+    /**
+     * Gets an executor that runs tasks on a pool under a name, for CompletableFuture's *Async methods.
+     */
+    @Nonnull
+    public static Executor executor(@Nonnull Pool pool, @Nonnull String task) {
+        Stats stats = STATS.computeIfAbsent(task, _ -> new Stats(task, pool));
+        return command -> submit(stats, command);
+    }
+
+    private static void submit(@Nonnull Stats stats, @Nonnull Runnable command) {
+        stats.submitted.increment();
+        long queuedAt = System.nanoTime();
+        Runnable timed = () -> {
+            long start = System.nanoTime();
+            stats.wait.record(start - queuedAt);
+            try {
+                command.run();
+            } catch (RuntimeException | Error e) {
+                stats.failed.increment();
+                throw e;
+            } finally {
+                stats.run.record(System.nanoTime() - start);
+            }
+        };
+
+        try {
+            (stats.pool == Pool.IO ? io : cpu).execute(timed);
+        } catch (RejectedExecutionException e) {
+            stats.rejected.increment();
+            timed.run();
+        }
+    }
+
+    @Nonnull
+    private static <T> CompletableFuture<T> countFailures(@Nonnull String task, @Nonnull CompletableFuture<T> future) {
+        future.whenComplete((_, error) -> {
+            if (error != null) {
+                STATS.get(task).failed.increment();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Creates a single-thread scheduler for a manager's timers, on a named daemon thread.
+     * The manager owns it and shuts it down.
+     */
+    @Nonnull
+    public static ScheduledExecutorService newScheduler(@Nonnull String name) {
+        return Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "Essentials-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an executor that runs blocking I/O one task at a time, in order, on a named virtual thread.
+     * The caller owns it and shuts it down.
+     */
+    @Nonnull
+    public static ExecutorService newSerialIo(@Nonnull String name) {
+        return Executors.newSingleThreadExecutor(Thread.ofVirtual().name("Essentials-" + name).factory());
+    }
+
+    /**
+     * Stops accepting tasks and waits for queued and running ones to finish.
+     *
+     * @return true if everything finished in time
+     */
+    public static synchronized boolean shutdown(long timeout, @Nonnull TimeUnit unit) {
+        ExecutorService ioExecutor = io;
+        ThreadPoolExecutor cpuExecutor = cpu;
+        int pending = cpuExecutor.getQueue().size() + cpuExecutor.getActiveCount();
+        if (pending > 0) {
+            Log.info("Waiting for " + pending + " background tasks to finish...");
+        }
+
+        ioExecutor.shutdown();
+        cpuExecutor.shutdown();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            boolean finished = ioExecutor.awaitTermination(timeout, unit)
+                    & cpuExecutor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!finished) {
+                Log.warning("Background tasks did not finish within " + unit.toSeconds(timeout) + "s; "
+                        + ioExecutor.shutdownNow().size() + " I/O and " + cpuExecutor.shutdownNow().size()
+                        + " CPU tasks were dropped.");
+            }
+            return finished;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets every task name that has run since the last reset, most run time first.
+     */
+    @Nonnull
+    public static List<Stats> getUsed() {
+        List<Stats> used = new ArrayList<>();
+        for (Stats stats : STATS.values()) {
+            if (stats.submitted.sum() > 0) {
+                used.add(stats);
+            }
+        }
+        used.sort(Comparator.comparingLong((Stats stats) -> stats.run.getTotalNanos()).reversed());
+        return used;
+    }
+
+    public static void reset() {
+        for (Stats stats : STATS.values()) {
+            stats.reset();
+        }
+    }
+
+    @Nonnull
+    private static ExecutorService newIoExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Essentials-IO-", 0).factory());
+    }
+
+    @Nonnull
+    private static ThreadPoolExecutor newCpuExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(CPU_THREADS, CPU_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(CPU_QUEUE_CAPACITY), task -> {
+                    Thread thread = new Thread(task, "Essentials-CPU-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Counters and timings for one task name.
+     */
+    public static final class Stats {
+        private final String task;
+        private final Pool pool;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LatencyHistogram wait = new LatencyHistogram();
+        private final LatencyHistogram run = new LatencyHistogram();
+
+        private Stats(@Nonnull String task, @Nonnull Pool pool) {
+            this.task = task;
+            this.pool = pool;
+        }
+
+        @Nonnull
+        public String getTask() {
+            return task;
+        }
+
+        @Nonnull
+        public Pool getPool() {
+            return pool;
+        }
+
+        public long getSubmitted() {
+            return submitted.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * Time from submission until a thread started the task.
+         */
+        @Nonnull
+        public LatencyHistogram getWait() {
+            return wait;
+        }
+
+        @Nonnull
+        public LatencyHistogram getRun() {
+            return run;
+        }
+
+        private void reset() {
+            submitted.reset();
+            failed.reset();
+            rejected.reset();
+            wait.reset();
+            run.reset();
+        }
+    }
+}
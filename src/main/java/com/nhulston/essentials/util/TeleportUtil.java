@@ -21,6 +21,9 @@ import com.nhulston.essentials.models.Spawn;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 public final class TeleportUtil {
 
@@ -30,6 +33,12 @@ public final class TeleportUtil {
     /** Player height in blocks (need 2 air blocks for player to fit) */
     private static final int PLAYER_HEIGHT = 2;
 
+    /** How long to wait for another world's thread to read a player's position */
+    private static final long SNAPSHOT_TIMEOUT_SECONDS = 5;
+
+    /** How many times a queued task follows a player who changes worlds before it runs */
+    private static final int MAX_WORLD_CHANGES = 2;
+
     // Cardinal direction yaw values (in radians)
     private static final float YAW_NORTH = 0f;
     private static final float YAW_EAST = (float) Math.toRadians(-90);   // -π/2
@@ -137,44 +146,81 @@ public final class TeleportUtil {
     }
 
     /**
-     * Teleports one player to another player's location.
+     * Where a player stood when their world's thread was asked, with the rotation already
+     * rounded for teleporting others there.
+     */
+    public record PlayerPosition(@Nonnull World world, @Nonnull Vector3d position, @Nonnull Vector3f rotation) {}
+
+    /**
+     * Reads a player's position on their own world's thread, right away if that is the current
+     * thread's world. Completes with null if the player disconnects first, or if their world
+     * doesn't get to it within a few seconds (e.g., it is shutting down).
      *
-     * @param player The player to teleport
-     * @param target The player to teleport to
+     * @param currentWorld The world whose thread is calling, or null if not on a world thread
      */
-    public static void teleportToPlayer(@Nonnull PlayerRef player, @Nonnull PlayerRef target) {
-        Ref<EntityStore> playerRef = player.getReference();
-        Ref<EntityStore> targetRef = target.getReference();
-        
-        if (playerRef == null || !playerRef.isValid()) {
+    @Nonnull
+    public static CompletableFuture<PlayerPosition> snapshotPosition(@Nonnull PlayerRef player,
+                                                                     @Nullable World currentWorld) {
+        CompletableFuture<PlayerPosition> snapshot = new CompletableFuture<>();
+        runForPlayer(player, currentWorld, (store, ref) -> {
+            TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+            snapshot.complete(transform == null ? null : new PlayerPosition(store.getExternalData().getWorld(),
+                    transform.getPosition().clone(), cardinalRotation(transform.getRotation())));
+        }, () -> snapshot.complete(null));
+        return snapshot.completeOnTimeout(null, SNAPSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs a task with a player's entity on their world's thread, right away if that is the current
+     * thread's world, otherwise queued on it. Follows the player if they change worlds before it
+     * runs, and runs onGone instead if they disconnect.
+     *
+     * @param currentWorld The world whose thread is calling, or null if not on a world thread
+     */
+    public static void runForPlayer(@Nonnull PlayerRef player, @Nullable World currentWorld,
+                                    @Nonnull BiConsumer<Store<EntityStore>, Ref<EntityStore>> task,
+                                    @Nonnull Runnable onGone) {
+        runForPlayer(player, currentWorld, task, onGone, MAX_WORLD_CHANGES);
+    }
+
+    private static void runForPlayer(@Nonnull PlayerRef player, @Nullable World currentWorld,
+                                     @Nonnull BiConsumer<Store<EntityStore>, Ref<EntityStore>> task,
+                                     @Nonnull Runnable onGone, int worldChangesLeft) {
+        // Only the world lookup happens here; the entity is checked again on its own thread
+        Ref<EntityStore> ref = player.getReference();
+        if (ref == null || !ref.isValid()) {
+            onGone.run();
             return;
         }
-        
-        if (targetRef == null || !targetRef.isValid()) {
+        Store<EntityStore> store = ref.getStore();
+        World world = store.getExternalData().getWorld();
+        if (world == currentWorld) {
+            task.accept(store, ref);
             return;
         }
-        
-        Store<EntityStore> playerStore = playerRef.getStore();
-        Store<EntityStore> targetStore = targetRef.getStore();
-        
-        // Get target's position
-        TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
-        if (targetTransform == null) {
-            return;
+
+        try {
+            world.execute(() -> {
+                if (ref.isValid()) {
+                    task.accept(store, ref);
+                } else if (worldChangesLeft > 0) {
+                    runForPlayer(player, world, task, onGone, worldChangesLeft - 1);
+                } else {
+                    onGone.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            onGone.run();
         }
-        
-        Vector3d targetPos = targetTransform.getPosition();
-        
-        // Get target's world
-        EntityStore targetEntityStore = targetStore.getExternalData();
-        World targetWorld = targetEntityStore.getWorld();
-        
-        // Get target's rotation and round to cardinal direction
-        Vector3f rotation = cardinalRotation(targetTransform.getRotation());
+    }
 
-        // Teleport the player
-        Teleport teleport = new Teleport(targetWorld, targetPos, rotation);
-        playerStore.putComponent(playerRef, Teleport.getComponentType(), teleport);
+    /**
+     * Teleports an entity to a position read with snapshotPosition().
+     */
+    public static void teleport(@Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+                                @Nonnull PlayerPosition destination) {
+        Teleport teleport = new Teleport(destination.world(), destination.position(), destination.rotation());
+        store.putComponent(ref, Teleport.getComponentType(), teleport);
     }
 
     /**
@@ -234,49 +280,48 @@ public final class TeleportUtil {
     }
 
     /**
-     * Teleports a player to another player by UUID (for delayed teleports).
-     *
-     * @param store The entity store
-     * @param playerRef The player to teleport
-     * @param targetUuid The UUID of the target player
-     * @return null if successful, error message if failed
+     * The blocks of one x/z column, so the safe position searches don't depend on how
+     * the chunk was loaded (and can be benchmarked against a stub).
      */
-    @Nullable
-    public static String teleportToPlayerByUuid(@Nonnull Store<EntityStore> store,
-                                                @Nonnull Ref<EntityStore> playerRef,
-                                                @Nonnull java.util.UUID targetUuid) {
-        PlayerRef target = Universe.get().getPlayer(targetUuid);
-        if (target == null) {
-            return "Target player is no longer online.";
-        }
+    public interface BlockColumn {
+        boolean isSolid(int y);
 
-        Ref<EntityStore> targetRef = target.getReference();
-        if (targetRef == null || !targetRef.isValid()) {
-            return "Target player is not available.";
-        }
-
-        Store<EntityStore> targetStore = targetRef.getStore();
+        boolean hasFluid(int y);
+    }
 
-        // Get target's position
-        TransformComponent targetTransform = targetStore.getComponent(targetRef, TransformComponent.getComponentType());
-        if (targetTransform == null) {
-            return "Could not get target position.";
+    /**
+     * A column of a loaded world chunk.
+     */
+    private static final class ChunkColumn implements BlockColumn {
+        private final WorldChunk chunk;
+        private final int x;
+        private final int z;
+
+        ChunkColumn(@Nonnull WorldChunk chunk, int x, int z) {
+            this.chunk = chunk;
+            this.x = x;
+            this.z = z;
         }
 
-        Vector3d targetPos = targetTransform.getPosition();
-
-        // Get target's world
-        EntityStore targetEntityStore = targetStore.getExternalData();
-        World targetWorld = targetEntityStore.getWorld();
-
-        // Get target's rotation and round to cardinal direction
-        Vector3f rotation = cardinalRotation(targetTransform.getRotation());
-
-        // Teleport the player
-        Teleport teleport = new Teleport(targetWorld, targetPos, rotation);
-        store.putComponent(playerRef, Teleport.getComponentType(), teleport);
+        @Override
+        public boolean isSolid(int y) {
+            BlockType blockType = chunk.getBlockType(x, y, z);
+            if (blockType == null) {
+                return false; // No block = air = not solid
+            }
+            BlockMaterial material = blockType.getMaterial();
+            return material == BlockMaterial.Solid;
+        }
 
-        return null;
+        /**
+         * Fluids are stored separately from blocks in Hytale.
+         * TODO: Update when Hytale provides non-deprecated fluid API.
+         */
+        @Override
+        @SuppressWarnings("removal")
+        public boolean hasFluid(int y) {
+            return chunk.getFluidId(x, y, z) > 0;
+        }
     }
 
     /**
@@ -291,7 +336,6 @@ public final class TeleportUtil {
      */
     private static double findSafeY(@Nonnull World world, double x, double y, double z) {
         int blockX = (int) Math.floor(x);
-        int blockY = (int) Math.floor(y);
         int blockZ = (int) Math.floor(z);
 
         // Get the chunk at this position
@@ -302,54 +346,43 @@ public final class TeleportUtil {
             return y;
         }
 
+        Integer safeY = findSafeY(new ChunkColumn(chunk, blockX, blockZ), (int) Math.floor(y));
+        return safeY != null ? safeY : y;
+    }
+
+    /**
+     * Searches a column upward from a starting Y for space for a player.
+     *
+     * @return Safe Y coordinate, or null if no safe position found
+     */
+    @Nullable
+    public static Integer findSafeY(@Nonnull BlockColumn column, int startY) {
         // Search upward for a safe position (2 air blocks for player to fit)
         for (int offsetY = 0; offsetY < MAX_SAFE_SEARCH; offsetY++) {
-            int checkY = blockY + offsetY;
+            int checkY = startY + offsetY;
             
-            if (hasSpaceForPlayer(chunk, blockX, checkY, blockZ)) {
+            if (hasSpaceForPlayer(column, checkY)) {
                 // Found safe position
                 return checkY;
             }
         }
 
-        // No safe position found, return original
-        return y;
+        // No safe position found
+        return null;
     }
 
     /**
      * Checks if there's enough space for a player (2 blocks tall) at the given position.
      */
-    private static boolean hasSpaceForPlayer(@Nonnull WorldChunk chunk, int x, int y, int z) {
+    private static boolean hasSpaceForPlayer(@Nonnull BlockColumn column, int y) {
         for (int i = 0; i < PLAYER_HEIGHT; i++) {
-            if (isSolidBlock(chunk, x, y + i, z)) {
+            if (column.isSolid(y + i)) {
                 return false;
             }
         }
         return true;
     }
 
-    /**
-     * Checks if a block at the given position is solid.
-     */
-    private static boolean isSolidBlock(@Nonnull WorldChunk chunk, int x, int y, int z) {
-        BlockType blockType = chunk.getBlockType(x, y, z);
-        if (blockType == null) {
-            return false; // No block = air = not solid
-        }
-        BlockMaterial material = blockType.getMaterial();
-        return material == BlockMaterial.Solid;
-    }
-
-    /**
-     * Checks if a position contains fluid (water or lava).
-     * Fluids are stored separately from blocks in Hytale.
-     * TODO: Update when Hytale provides non-deprecated fluid API.
-     */
-    @SuppressWarnings("removal")
-    private static boolean hasFluid(@Nonnull WorldChunk chunk, int x, int y, int z) {
-        return chunk.getFluidId(x, y, z) > 0;
-    }
-
     /**
      * Finds a safe Y position for RTP by searching from top down.
      * Finds the highest solid block, then checks if player can stand there safely.
@@ -370,39 +403,7 @@ public final class TeleportUtil {
         if (chunk == null) {
             return null; // Chunk not loaded
         }
-
-        // Search from top down to find first solid block
-        int startY = 200;
-        int minY = 0;
-        
-        for (int checkY = startY; checkY >= minY; checkY--) {
-            // Check for fluid at this level - if found, abort this location
-            if (hasFluid(chunk, blockX, checkY, blockZ)) {
-                return null; // Hit water/lava, this location is no good
-            }
-            
-            // Check if this block is solid (ground)
-            if (isSolidBlock(chunk, blockX, checkY, blockZ)) {
-                // Found ground! Player spawns at checkY + 1
-                int spawnY = checkY + 1;
-                
-                // Verify there's space for player (2 blocks) and no fluid
-                if (hasFluid(chunk, blockX, spawnY, blockZ) || 
-                    hasFluid(chunk, blockX, spawnY + 1, blockZ)) {
-                    return null; // Fluid above ground
-                }
-                
-                // Make sure head space isn't blocked
-                if (isSolidBlock(chunk, blockX, spawnY + 1, blockZ)) {
-                    // Only 1 block of space, keep searching down
-                    continue;
-                }
-                
-                return (double) spawnY;
-            }
-        }
-
-        return null; // No solid ground found
+        return findSafeRtpY(new ChunkColumn(chunk, blockX, blockZ));
     }
 
     /**
@@ -425,39 +426,38 @@ public final class TeleportUtil {
             if (chunk == null) {
                 return null; // Chunk not loaded
             }
-            return findSafeRtpYFromChunk(chunk, blockX, blockZ);
+            return findSafeRtpY(new ChunkColumn(chunk, blockX, blockZ));
         });
     }
 
     /**
-     * Finds a safe Y position using an already-loaded chunk.
-     * Internal helper for both sync and async methods.
+     * Finds a safe RTP Y position in a column.
+     * Shared by the sync and async methods.
      */
     @Nullable
-    private static Double findSafeRtpYFromChunk(@Nonnull WorldChunk chunk, int blockX, int blockZ) {
+    public static Double findSafeRtpY(@Nonnull BlockColumn column) {
         // Search from top down to find first solid block
         int startY = 200;
         int minY = 0;
         
         for (int checkY = startY; checkY >= minY; checkY--) {
             // Check for fluid at this level - if found, abort this location
-            if (hasFluid(chunk, blockX, checkY, blockZ)) {
+            if (column.hasFluid(checkY)) {
                 return null; // Hit water/lava, this location is no good
             }
             
             // Check if this block is solid (ground)
-            if (isSolidBlock(chunk, blockX, checkY, blockZ)) {
+            if (column.isSolid(checkY)) {
                 // Found ground! Player spawns at checkY + 1
                 int spawnY = checkY + 1;
                 
                 // Verify there's space for player (2 blocks) and no fluid
-                if (hasFluid(chunk, blockX, spawnY, blockZ) || 
-                    hasFluid(chunk, blockX, spawnY + 1, blockZ)) {
+                if (column.hasFluid(spawnY) || column.hasFluid(spawnY + 1)) {
                     return null; // Fluid above ground
                 }
                 
                 // Make sure head space isn't blocked
-                if (isSolidBlock(chunk, blockX, spawnY + 1, blockZ)) {
+                if (column.isSolid(spawnY + 1)) {
                     // Only 1 block of space, keep searching down
                     continue;
                 }
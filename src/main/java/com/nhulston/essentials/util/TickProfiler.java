@@ -0,0 +1,164 @@
+package com.nhulston.essentials.util;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in profiler for the plugin's ECS systems, toggled with /essentials profile.
+ * Systems bracket their work with start() and stop(). While disabled, start() is one volatile
+ * read and stop() returns immediately, so the probes can stay in the hot tick paths.
+ * While enabled, each call is timed per system and world into a rolling window of
+ * WINDOW_SLOTS histograms, plus lifetime totals since profiling was turned on.
+ */
+public final class TickProfiler {
+    public static final int WINDOW_SECONDS = 60;
+    private static final int WINDOW_SLOTS = 6;
+    private static final long SLOT_NANOS = WINDOW_SECONDS * 1_000_000_000L / WINDOW_SLOTS;
+
+    private static final List<Probe> PROBES = new CopyOnWriteArrayList<>();
+    private static volatile boolean enabled;
+
+    private TickProfiler() {}
+
+    /**
+     * A profiled system. Create one per system class with probe(), as a static final field.
+     */
+    public static final class Probe {
+        private final String system;
+        private final Map<String, Window> worlds = new ConcurrentHashMap<>();
+
+        private Probe(@Nonnull String system) {
+            this.system = system;
+        }
+
+        @Nonnull
+        public String getSystem() {
+            return system;
+        }
+    }
+
+    /**
+     * Stats for one system in one world.
+     */
+    public static final class Window {
+        private final LatencyHistogram[] slots = new LatencyHistogram[WINDOW_SLOTS];
+        private final AtomicLongArray slotEpochs = new AtomicLongArray(WINDOW_SLOTS);
+        private final LongAdder lifetimeCalls = new LongAdder();
+        private final LongAdder lifetimeNanos = new LongAdder();
+
+        private Window() {
+            for (int i = 0; i < WINDOW_SLOTS; i++) {
+                slots[i] = new LatencyHistogram();
+                slotEpochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        private void record(long nowNanos, long nanos) {
+            long epoch = nowNanos / SLOT_NANOS;
+            int index = (int) Math.floorMod(epoch, (long) WINDOW_SLOTS);
+            long slotEpoch = slotEpochs.get(index);
+            if (slotEpoch != epoch && slotEpochs.compareAndSet(index, slotEpoch, epoch)) {
+                // This slot last held samples from a full window ago, so start it over
+                slots[index].reset();
+            }
+            slots[index].record(nanos);
+            lifetimeCalls.increment();
+            lifetimeNanos.add(nanos);
+        }
+
+        /**
+         * Merges the slots still inside the window into one histogram.
+         */
+        @Nonnull
+        public LatencyHistogram getRecent() {
+            long oldest = System.nanoTime() / SLOT_NANOS - WINDOW_SLOTS + 1;
+            LatencyHistogram merged = new LatencyHistogram();
+            for (int i = 0; i < WINDOW_SLOTS; i++) {
+                if (slotEpochs.get(i) >= oldest) {
+                    slots[i].addTo(merged);
+                }
+            }
+            return merged;
+        }
+
+        public long getLifetimeCalls() {
+            return lifetimeCalls.sum();
+        }
+
+        public long getLifetimeNanos() {
+            return lifetimeNanos.sum();
+        }
+    }
+
+    /**
+     * One row of the profile: a system in a world.
+     */
+    public record Entry(@Nonnull String system, @Nonnull String world, @Nonnull Window window) {}
+
+    @Nonnull
+    public static Probe probe(@Nonnull String system) {
+        Probe probe = new Probe(system);
+        PROBES.add(probe);
+        return probe;
+    }
+
+    /**
+     * Starts timing a system call. Returns 0 when profiling is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call started with start(), under the store's world.
+     */
+    public static void stop(@Nonnull Probe probe, @Nonnull Store<EntityStore> store, long start) {
+        if (start == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        String world = store.getExternalData().getWorld().getName();
+        probe.worlds.computeIfAbsent(world, _ -> new Window()).record(now, now - start);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Discards all recorded stats.
+     */
+    public static void reset() {
+        for (Probe probe : PROBES) {
+            probe.worlds.clear();
+        }
+    }
+
+    /**
+     * Gets every system and world profiled since the last reset, most total time first.
+     */
+    @Nonnull
+    public static List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (Probe probe : PROBES) {
+            for (Map.Entry<String, Window> world : probe.worlds.entrySet()) {
+                entries.add(new Entry(probe.system, world.getKey(), world.getValue()));
+            }
+        }
+        entries.sort((a, b) -> Long.compare(b.window.getLifetimeNanos(), a.window.getLifetimeNanos()));
+        return entries;
+    }
+}
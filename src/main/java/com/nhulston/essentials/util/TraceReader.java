@@ -0,0 +1,114 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads traces written by TraceRecorder, one record at a time.
+ */
+public final class TraceReader implements Closeable {
+    private static final TraceRecorder.Type[] TYPES = TraceRecorder.Type.values();
+
+    private final DataInputStream in;
+    private final long startEpochMillis;
+    private final List<String> names = new ArrayList<>();
+    private long micros;
+
+    /**
+     * One replayable record. Fields that a type doesn't use are 0 or null.
+     *
+     * @param micros time since the trace started
+     * @param player anonymized player id, 0 for the console
+     * @param name command path for COMMAND
+     * @param value sync micros for COMMAND, length for CHAT, wait micros for TELEPORT
+     * @param extra 1 if a COMMAND failed, recipient count for CHAT
+     */
+    public record Record(@Nonnull TraceRecorder.Type type, long micros, int player, @Nullable String name,
+                         long value, long extra) {}
+
+    public TraceReader(@Nonnull Path file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)), 1 << 16));
+        try {
+            if (in.readInt() != TraceRecorder.MAGIC) {
+                throw new IOException(file.getFileName() + " is not an Essentials trace");
+            }
+            int version = in.readUnsignedShort();
+            if (version > TraceRecorder.VERSION) {
+                throw new IOException(file.getFileName() + " is trace version " + version
+                        + ", this build reads up to " + TraceRecorder.VERSION);
+            }
+            startEpochMillis = in.readLong();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Reads the next record, or returns null at the end of the trace.
+     */
+    @Nullable
+    public Record next() throws IOException {
+        while (true) {
+            int ordinal = in.read();
+            if (ordinal < 0) {
+                return null;
+            }
+            if (ordinal >= TYPES.length) {
+                throw new IOException("Unknown trace record type " + ordinal);
+            }
+            TraceRecorder.Type type = TYPES[ordinal];
+            if (type == TraceRecorder.Type.NAME) {
+                names.add(in.readUTF());
+                continue;
+            }
+
+            micros += readVarLong();
+            int player = (int) readVarLong();
+            return switch (type) {
+                case COMMAND -> {
+                    String name = names.get((int) readVarLong());
+                    long sync = readVarLong();
+                    yield new Record(type, micros, player, name, sync, in.readByte());
+                }
+                case CHAT -> new Record(type, micros, player, null, readVarLong(), readVarLong());
+                case TELEPORT -> new Record(type, micros, player, null, readVarLong(), 0);
+                default -> new Record(type, micros, player, null, 0, 0);
+            };
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Trace ends mid-record");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed trace varint");
+    }
+}
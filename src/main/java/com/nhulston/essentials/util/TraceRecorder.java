@@ -0,0 +1,279 @@
+package com.nhulston.essentials.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opt-in recorder of plugin-level operations, toggled with /essentials trace.
+ * Commands, chat, joins, quits and teleport completions are written to a compact binary trace
+ * that the load test harness can replay against the managers offline.
+ * Players are recorded as small ids in order of first appearance, and chat only as its length,
+ * so traces hold no UUIDs, names or message text.
+ * While stopped, each hook is one volatile read. While recording, hooks only offer to a bounded
+ * queue, and a single writer thread encodes and gzips the records.
+ */
+public final class TraceRecorder {
+    /**
+     * Kinds of records, written as their ordinal. New kinds are only ever appended.
+     */
+    public enum Type {
+        NAME,       // defines the next string id (command paths, world names)
+        COMMAND,    // string id of the command path, sync micros, failed flag
+        CHAT,       // message length, recipient count
+        JOIN,
+        QUIT,
+        TELEPORT    // micros from queueing to completion (0 when instant)
+    }
+
+    public static final int MAGIC = 0x45535452;     // "ESTR"
+    public static final int VERSION = 1;
+    public static final String SUFFIX = ".trace.gz";
+
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static volatile Session session;
+
+    private TraceRecorder() {}
+
+    /**
+     * Starts recording to a new file in the folder.
+     *
+     * @return error message, or null if recording started
+     */
+    @Nullable
+    public static synchronized String start(@Nonnull Path folder) {
+        if (session != null) {
+            return "A trace is already being recorded to " + session.file.getFileName() + ".";
+        }
+        Path file = folder.resolve("trace-" + FILE_FORMAT.format(LocalDateTime.now()) + SUFFIX);
+        try {
+            Files.createDirectories(folder);
+            session = new Session(file);
+        } catch (IOException e) {
+            Log.error("Failed to start trace: " + e.getMessage());
+            return "Failed to create the trace file. Check the console for details.";
+        }
+        Log.info("Recording trace to " + file);
+        return null;
+    }
+
+    /**
+     * Stops recording after the writer thread writes everything still queued.
+     *
+     * @return the finished trace, or null if nothing was recording
+     */
+    @Nullable
+    public static synchronized Session stop() {
+        Session stopped = session;
+        if (stopped == null) {
+            return null;
+        }
+        session = null;
+        stopped.finish();
+        Log.info("Trace " + stopped.file.getFileName() + " finished: " + stopped.getRecordCount() + " records, "
+                + stopped.getDroppedCount() + " dropped.");
+        return stopped;
+    }
+
+    @Nullable
+    public static Session getSession() {
+        return session;
+    }
+
+    public static void command(@Nullable UUID player, @Nonnull String path, long nanos, boolean failed) {
+        Session current = session;
+        if (current != null) {
+            current.offer(Type.COMMAND, player, path, TimeUnit.NANOSECONDS.toMicros(nanos), failed ? 1 : 0);
+        }
+    }
+
+    public static void chat(@Nonnull UUID player, int length, int recipients) {
+        Session current = session;
+        if (current != null) {
+            current.offer(Type.CHAT, player, null, length, recipients);
+        }
+    }
+
+    public static void join(@Nonnull UUID player) {
+        Session current = session;
+        if (current != null) {
+            current.offer(Type.JOIN, player, null, 0, 0);
+        }
+    }
+
+    public static void quit(@Nonnull UUID player) {
+        Session current = session;
+        if (current != null) {
+            current.offer(Type.QUIT, player, null, 0, 0);
+        }
+    }
+
+    /**
+     * Records a completed teleport.
+     *
+     * @param queuedNanos System.nanoTime() when the teleport was queued, or 0 if it was instant
+     */
+    public static void teleport(@Nonnull UUID player, long queuedNanos) {
+        Session current = session;
+        if (current != null) {
+            long waited = queuedNanos != 0 ? TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - queuedNanos) : 0;
+            current.offer(Type.TELEPORT, player, null, waited, 0);
+        }
+    }
+
+    /**
+     * One recording, from start() to stop().
+     */
+    public static final class Session {
+        private final Path file;
+        private final long startNanos = System.nanoTime();
+        private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final Map<UUID, Integer> playerIds = new ConcurrentHashMap<>();
+        private final AtomicInteger nextPlayerId = new AtomicInteger(1);    // 0 = no player (console)
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder records = new LongAdder();
+        private final Thread writerThread;
+        private volatile boolean running = true;
+
+        // Only touched by the writer thread
+        private final DataOutputStream out;
+        private final Map<String, Integer> nameIds = new HashMap<>();
+        private long lastMicros;
+
+        private Session(@Nonnull Path file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(file)), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+
+            writerThread = new Thread(this::runWriter, "Essentials-Trace");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+
+        @Nonnull
+        public Path getFile() {
+            return file;
+        }
+
+        public long getRecordCount() {
+            return records.sum();
+        }
+
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+
+        public int getPlayerCount() {
+            return nextPlayerId.get() - 1;
+        }
+
+        public long getElapsedSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        }
+
+        private void offer(@Nonnull Type type, @Nullable UUID player, @Nullable String name, long a, long b) {
+            int playerId = player != null
+                    ? playerIds.computeIfAbsent(player, _ -> nextPlayerId.getAndIncrement())
+                    : 0;
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            if (!queue.offer(new Event(type, micros, playerId, name, a, b))) {
+                dropped.increment();
+            }
+        }
+
+        private void finish() {
+            running = false;
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void runWriter() {
+            try (out) {
+                while (running) {
+                    Event event = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (event != null) {
+                        write(event);
+                    }
+                }
+                Event event;
+                while ((event = queue.poll()) != null) {
+                    write(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                Log.error("Failed to write trace " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+
+        private void write(@Nonnull Event event) throws IOException {
+            int nameId = 0;
+            if (event.name != null) {
+                Integer known = nameIds.get(event.name);
+                if (known == null) {
+                    known = nameIds.size();
+                    nameIds.put(event.name, known);
+                    out.writeByte(Type.NAME.ordinal());
+                    out.writeUTF(event.name);
+                }
+                nameId = known;
+            }
+
+            // Threads can enqueue slightly out of order, so never let time run backwards
+            long delta = Math.max(0, event.micros - lastMicros);
+            lastMicros += delta;
+
+            out.writeByte(event.type.ordinal());
+            writeVarLong(out, delta);
+            writeVarLong(out, event.playerId);
+            switch (event.type) {
+                case COMMAND -> {
+                    writeVarLong(out, nameId);
+                    writeVarLong(out, event.a);
+                    out.writeByte((int) event.b);
+                }
+                case CHAT -> {
+                    writeVarLong(out, event.a);
+                    writeVarLong(out, event.b);
+                }
+                case TELEPORT -> writeVarLong(out, event.a);
+                default -> {}
+            }
+            records.increment();
+        }
+    }
+
+    private record Event(@Nonnull Type type, long micros, int playerId, @Nullable String name, long a, long b) {}
+
+    private static void writeVarLong(@Nonnull DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
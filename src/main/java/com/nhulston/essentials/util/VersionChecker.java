@@ -10,7 +10,6 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * Checks CurseForge for new plugin versions using the CFWidget API.
@@ -32,7 +31,7 @@ public class VersionChecker {
      * Call this on startup, results available via getters.
      */
     public void checkForUpdatesAsync() {
-        CompletableFuture.runAsync(() -> {
+        Tasks.runIo("version-check", () -> {
             try {
                 String latest = fetchLatestVersion();
                 if (latest != null) {
@@ -0,0 +1,48 @@
+package com.nhulston.essentials.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionTest {
+    private static final Region SQUARE = Region.polygon("square", "default",
+            new int[] {0, 10, 10, 0}, new int[] {0, 0, 10, 10}, 0, 10);
+    private static final Region TRIANGLE = Region.polygon("triangle", "default",
+            new int[] {0, 10, 0}, new int[] {0, 0, 10}, 0, 10);
+
+    @Test
+    void polygonContainsBlocksOnEveryEdge() {
+        assertTrue(SQUARE.contains(0, 5, 5));
+        assertTrue(SQUARE.contains(5, 5, 0));
+        assertTrue(SQUARE.contains(10, 5, 5));
+        assertTrue(SQUARE.contains(5, 5, 10));
+        assertTrue(SQUARE.contains(10, 5, 10));
+    }
+
+    @Test
+    void polygonMatchesCuboidOnTheMaxEdge() {
+        Region cuboid = Region.cuboid("box", "default", 0, 0, 0, 10, 10, 10);
+        for (int i = 0; i <= 10; i++) {
+            assertTrue(cuboid.contains(10, 5, i));
+            assertTrue(SQUARE.contains(10, 5, i));
+            assertTrue(cuboid.contains(i, 5, 10));
+            assertTrue(SQUARE.contains(i, 5, 10));
+        }
+    }
+
+    @Test
+    void polygonExcludesBlocksJustOutside() {
+        assertFalse(SQUARE.contains(11, 5, 5));
+        assertFalse(SQUARE.contains(5, 5, 11));
+        assertFalse(SQUARE.contains(-1, 5, 5));
+        assertFalse(SQUARE.contains(5, 11, 5));
+    }
+
+    @Test
+    void polygonContainsBlocksOnADiagonalEdge() {
+        assertTrue(TRIANGLE.contains(5, 5, 5));
+        assertTrue(TRIANGLE.contains(4, 5, 5));
+        assertFalse(TRIANGLE.contains(6, 5, 5));
+    }
+}
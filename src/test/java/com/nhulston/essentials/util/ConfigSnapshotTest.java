@@ -0,0 +1,58 @@
+package com.nhulston.essentials.util;
+
+import org.junit.jupiter.api.Test;
+import org.tomlj.Toml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigSnapshotTest {
+    private static final String[] NESTED_SECTIONS = {"chat", "rate-limit", "homes", "rtp", "cooldowns"};
+
+    @Test
+    void reloadingAnUnchangedConfigChangesNoSections() throws IOException {
+        String content = readDefaultConfig();
+        ConfigSnapshot previous = new ConfigSnapshot(Toml.parse(content));
+        ConfigSnapshot reloaded = new ConfigSnapshot(Toml.parse(content));
+
+        for (String section : NESTED_SECTIONS) {
+            assertFalse(reloaded.sectionChanged(previous, section), section);
+        }
+        assertTrue(reloaded.getChangedSections(previous).isEmpty());
+    }
+
+    @Test
+    void changeInsideANestedTableChangesOnlyItsSection() {
+        String base = """
+                [chat]
+                enabled = true
+
+                [chat.channels.global]
+                display-name = "Global"
+                members = ["a", "b"]
+
+                [rate-limit]
+                mute-durations = [30, 60, 300]
+                """;
+        ConfigSnapshot previous = new ConfigSnapshot(Toml.parse(base));
+        ConfigSnapshot reloaded = new ConfigSnapshot(Toml.parse(base.replace("\"b\"", "\"c\"")));
+
+        assertTrue(reloaded.sectionChanged(previous, "chat"));
+        assertFalse(reloaded.sectionChanged(previous, "rate-limit"));
+        assertEquals(List.of("chat"), reloaded.getChangedSections(previous));
+    }
+
+    private static String readDefaultConfig() throws IOException {
+        try (InputStream in = ConfigSnapshotTest.class.getResourceAsStream("/config.toml")) {
+            assertNotNull(in, "config.toml resource");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}